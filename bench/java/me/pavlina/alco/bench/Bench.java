@@ -0,0 +1,248 @@
+// Copyright (c) 2011, Christopher Pavlina. All rights reserved.
+//
+// Bench - compiler speed benchmarks
+
+package me.pavlina.alco.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import com.beust.jcommander.JCommander;
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.ParameterException;
+
+/**
+ * Compiler speed benchmarks. Each stage (see Stages) is measured on every
+ * test in test/ which compiles, and on generated packages of a few sizes.
+ *
+ * Measurement works like JMH's: some warmup iterations, whose results are
+ * thrown away, then measured iterations. Each iteration runs the benchmark
+ * over and over for a fixed time, setting up each invocation untimed, and
+ * scores the average time of one invocation. The result is the mean of the
+ * iteration scores, with their standard deviation.
+ *
+ * Run with "make bench".
+ */
+public class Bench
+{
+
+    /** Command line arguments */
+    static class Args
+    {
+        @Parameter(names = "-warmup")
+        int warmup = 5;
+
+        @Parameter(names = "-iterations")
+        int iterations = 10;
+
+        /** Length of each iteration, in milliseconds */
+        @Parameter(names = "-time")
+        int time = 200;
+
+        /** Only run benchmarks whose "benchmark/input" matches this */
+        @Parameter(names = "-filter")
+        String filter = "";
+
+        /** Directory of test programs to use as inputs */
+        @Parameter(names = "-tests")
+        String tests = "test";
+
+        /** Numbers of methods in the generated inputs */
+        @Parameter(names = "-generated")
+        String generated = "100,1000";
+
+        /** Write the results to this file as JSON */
+        @Parameter(names = "-json")
+        String json;
+
+        @Parameter(names = {"-h", "-help"})
+        boolean help;
+    }
+
+    /** Something computed from every result, so that nothing is optimised
+     * away */
+    static volatile int sink;
+
+    public static void main (String[] argv) throws Exception
+    {
+        Args args = new Args ();
+        JCommander jc = new JCommander (args);
+        jc.setProgramName ("bench");
+        try {
+            jc.parse (argv);
+        } catch (ParameterException e) {
+            System.err.println (e.getMessage ());
+            System.exit (1);
+        }
+        if (args.help) {
+            System.out.println
+                ("Usage: bench [-warmup N] [-iterations N] [-time MS]\n"
+                 + "             [-filter REGEX] [-tests DIR]"
+                 + " [-generated N,N,...]\n"
+                 + "             [-json FILE]");
+            return;
+        }
+
+        List<Input> inputs = loadInputs (args);
+        Pattern filter = Pattern.compile (args.filter);
+        List<Result> results = new ArrayList<Result> ();
+
+        System.out.printf ("%-14s %-32s %7s %14s %12s %10s\n", "Benchmark",
+                           "Input", "Lines", "Score (us/op)", "+- sd",
+                           "Ops");
+        for (Benchmark b: Stages.all ()) {
+            for (Input i: inputs) {
+                if (!filter.matcher (b.getName () + "/" + i.getName ())
+                    .find ())
+                    continue;
+                Result r = measure (b, i, args);
+                r.print (System.out);
+                results.add (r);
+            }
+        }
+
+        if (args.json != null)
+            writeJson (new File (args.json), results);
+    }
+
+    /**
+     * Load the test programs which compile, and generate the large inputs. */
+    static List<Input> loadInputs (Args args) throws IOException
+    {
+        List<Input> inputs = new ArrayList<Input> ();
+        File[] tests = new File (args.tests).listFiles ();
+        if (tests != null) {
+            Arrays.sort (tests);
+            for (File i: tests) {
+                if (!i.getName ().endsWith (".al"))
+                    continue;
+                try {
+                    inputs.add (new Input (i.getName (), i));
+                } catch (Exception e) {
+                    // Tests of compile errors
+                }
+            }
+        }
+
+        for (String i: args.generated.split (",")) {
+            if (i.trim ().length () == 0)
+                continue;
+            int methods = Integer.parseInt (i.trim ());
+            File file = File.createTempFile ("bench", ".al");
+            file.deleteOnExit ();
+            new Generator (methods, 20).write (file);
+            try {
+                inputs.add (new Input ("generated-" + methods, file));
+            } catch (Exception e) {
+                throw new RuntimeException
+                    ("generated input does not compile", e);
+            }
+        }
+        return inputs;
+    }
+
+    /**
+     * Measure one benchmark on one input. */
+    static Result measure (Benchmark b, Input input, Args args)
+        throws Exception
+    {
+        for (int i = 0; i < args.warmup; ++i)
+            iteration (b, input, args.time);
+
+        Result r = new Result (b.getName (), input);
+        r.scores = new double[args.iterations];
+        for (int i = 0; i < args.iterations; ++i) {
+            long[] t = iteration (b, input, args.time);
+            r.scores[i] = t[0] / (double) t[1] / 1000.0;
+            r.ops += t[1];
+        }
+        return r;
+    }
+
+    /**
+     * Run one iteration.
+     * @return {nanoseconds spent in run(), number of invocations} */
+    static long[] iteration (Benchmark b, Input input, int time)
+        throws Exception
+    {
+        long end = System.nanoTime () + time * 1000000L;
+        long spent = 0, ops = 0;
+        do {
+            b.setUp (input);
+            long start = System.nanoTime ();
+            Object o = b.run ();
+            spent += System.nanoTime () - start;
+            sink ^= System.identityHashCode (o);
+            ++ops;
+        } while (System.nanoTime () < end);
+        return new long[] {spent, ops};
+    }
+
+    static void writeJson (File file, List<Result> results)
+        throws IOException
+    {
+        PrintStream out = new PrintStream (file, "UTF-8");
+        try {
+            out.println ("[");
+            for (int i = 0; i < results.size (); ++i) {
+                Result r = results.get (i);
+                out.printf (Locale.ROOT, "  {\"benchmark\": \"%s\", "
+                            + "\"input\": \"%s\", \"lines\": %d, "
+                            + "\"score_us\": %.3f, \"sd_us\": %.3f, "
+                            + "\"ops\": %d}%s\n", r.benchmark,
+                            r.input.getName (), r.input.getLines (),
+                            r.mean (), r.sd (), r.ops,
+                            i + 1 < results.size () ? "," : "");
+            }
+            out.println ("]");
+        } finally {
+            out.close ();
+        }
+    }
+
+    /**
+     * Result of one benchmark on one input. */
+    static class Result
+    {
+        String benchmark;
+        Input input;
+        double[] scores;
+        long ops;
+
+        Result (String benchmark, Input input)
+        {
+            this.benchmark = benchmark;
+            this.input = input;
+        }
+
+        double mean ()
+        {
+            double sum = 0;
+            for (double i: scores)
+                sum += i;
+            return sum / scores.length;
+        }
+
+        double sd ()
+        {
+            if (scores.length < 2)
+                return 0;
+            double mean = this.mean (), sum = 0;
+            for (double i: scores)
+                sum += (i - mean) * (i - mean);
+            return Math.sqrt (sum / (scores.length - 1));
+        }
+
+        void print (PrintStream out)
+        {
+            out.printf ("%-14s %-32s %7d %14.3f %12.3f %10d\n", benchmark,
+                        input.getName (), input.getLines (), this.mean (),
+                        this.sd (), ops);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+// Copyright (c) 2011, Christopher Pavlina. All rights reserved.
+//
+// Benchmark - one measured operation of the compiler
+
+package me.pavlina.alco.bench;
+
+/**
+ * Benchmark of one compiler stage. Every invocation is set up afresh, since
+ * most stages change what they work on (the parser consumes its tokens, the
+ * passes rewrite the AST); only run() is timed.
+ */
+public abstract class Benchmark
+{
+
+    /**
+     * Return the name of the benchmark, as printed and as matched by
+     * -filter. */
+    public abstract String getName ();
+
+    /**
+     * Prepare for one invocation of run(). This is not timed.
+     * @param input Input to work on
+     */
+    public abstract void setUp (Input input) throws Exception;
+
+    /**
+     * Do the measured work once.
+     * @return Something computed from the result, so that the work cannot be
+     * optimised away
+     */
+    public abstract Object run () throws Exception;
+}
@@ -0,0 +1,206 @@
+// Copyright (c) 2011, Christopher Pavlina. All rights reserved.
+//
+// Generator - synthetic Alpha packages for benchmarking
+
+package me.pavlina.alco.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+
+/**
+ * Generator of large, valid Alpha packages. The code does nothing useful,
+ * but exercises the usual statements: locals, arithmetic, loops, conditions
+ * and calls between methods. Each dimension which may affect compile time
+ * can be set on its own:
+ *
+ *  - methods: number of method names
+ *  - overloads: number of methods sharing each name (differing in arity)
+ *  - statements: number of plain statements in each method
+ *  - depth: how deeply blocks are nested in each method, with a local
+ *    declared in each block
+ *  - locals: number of locals declared at the top of each method
+ *  - arrays: number of array literals in each method
+ *  - strings: number of string literals in each method
+ */
+public class Generator
+{
+
+    int methods = 10, overloads = 1, statements = 20, depth = 0, locals = 0;
+    int arrays = 0, strings = 0;
+
+    public Generator ()
+    {
+    }
+
+    /**
+     * @param methods Number of methods
+     * @param statements Number of statements in each method body
+     */
+    public Generator (int methods, int statements)
+    {
+        this.methods = methods;
+        this.statements = statements;
+    }
+
+    public void setMethods (int n) { methods = n; }
+    public void setOverloads (int n) { overloads = Math.max (n, 1); }
+    public void setStatements (int n) { statements = n; }
+    public void setDepth (int n) { depth = n; }
+    public void setLocals (int n) { locals = n; }
+    public void setArrays (int n) { arrays = n; }
+    public void setStrings (int n) { strings = n; }
+
+    /**
+     * Set a dimension by name, as listed above.
+     * @return false if there is no such dimension */
+    public boolean set (String dimension, int n)
+    {
+        if (dimension.equals ("methods")) methods = n;
+        else if (dimension.equals ("overloads")) overloads = Math.max (n, 1);
+        else if (dimension.equals ("statements")) statements = n;
+        else if (dimension.equals ("depth")) depth = n;
+        else if (dimension.equals ("locals")) locals = n;
+        else if (dimension.equals ("arrays")) arrays = n;
+        else if (dimension.equals ("strings")) strings = n;
+        else return false;
+        return true;
+    }
+
+    /**
+     * Write the package to a file. */
+    public void write (File file) throws IOException
+    {
+        PrintStream out = new PrintStream (file);
+        try {
+            this.write (out);
+        } finally {
+            out.close ();
+        }
+        if (out.checkError ())
+            throw new IOException ("write failed: " + file.getPath ());
+    }
+
+    /**
+     * Write the package. */
+    public void write (PrintStream out)
+    {
+        out.println ("package generated;");
+        out.println ("extern void putint (int);");
+        out.println ("extern int puts (u8*);");
+        out.println ();
+        for (int i = 0; i < methods; ++i) {
+            for (int j = 0; j < overloads; ++j)
+                this.writeMethod (out, i, j);
+        }
+    }
+
+    /**
+     * Write one method.
+     * @param n Method name number
+     * @param arity Extra parameters, to tell overloads apart
+     */
+    private void writeMethod (PrintStream out, int n, int arity)
+    {
+        out.printf ("int f%d (int a, int b%s) {\n", n, params (arity, "int "));
+        out.println ("    let x = a + b;");
+
+        for (int i = 0; i < locals; ++i) {
+            out.printf ("    let l%d = x + %d;\n", i, i);
+            if (i > 0)
+                out.printf ("    l%d := l%d + l%d;\n", i, i, i - 1);
+        }
+        if (locals > 0)
+            out.printf ("    x := x + l%d;\n", locals - 1);
+
+        for (int i = 0; i < arrays; ++i) {
+            out.printf ("    let arr%d = {", i);
+            for (int j = 0; j < 8; ++j)
+                out.printf ("%s%d", j == 0 ? "" : ", ", i + j);
+            out.println ("};");
+            out.printf ("    x := x + arr%d[%d];\n", i, i % 8);
+        }
+
+        for (int i = 0; i < strings; ++i)
+            out.printf ("    puts (\"string %d of f%d\");\n", i, n);
+
+        for (int i = 0; i < statements; ++i) {
+            switch (i % 4) {
+            case 0:
+                out.printf ("    let v%d = x * %d + b;\n", i, i + 1);
+                break;
+            case 1:
+                out.printf ("    if (x > %d) { x := x - %d; } else {"
+                            + " x := x + a; }\n", i, i);
+                break;
+            case 2:
+                out.printf ("    for (let i = 0; i < %d; ++i) {"
+                            + " x := x + i; }\n", i);
+                break;
+            case 3:
+                if (n == 0)
+                    out.println ("    putint (x);");
+                else
+                    out.printf ("    x := x + f%d (x, %d%s);\n", n - 1, i,
+                                params (i % overloads, ""));
+                break;
+            }
+        }
+
+        this.writeNested (out, 0);
+        out.println ("    return x;");
+        out.println ("}");
+        out.println ();
+    }
+
+    /**
+     * Write nested blocks, from the given level down to the full depth. Each
+     * level declares a local, which the innermost level uses. */
+    private void writeNested (PrintStream out, int level)
+    {
+        if (level == depth)
+            return;
+        String indent = spaces (4 * (level + 1));
+        String outer = (level == 0) ? "x" : "d" + (level - 1);
+        out.printf ("%slet d%d = %s + %d;\n", indent, level, outer, level);
+        switch (level % 3) {
+        case 0:
+            out.printf ("%sif (d%d > %d) {\n", indent, level, level);
+            break;
+        case 1:
+            out.printf ("%swhile (d%d < %d) {\n", indent, level, level * 2);
+            out.printf ("%s    d%d := d%d + 1;\n", indent, level, level);
+            break;
+        case 2:
+            // Not i%d, which would make type names like i8
+            out.printf ("%sfor (let k%d = 0; k%d < d%d; ++k%d) {\n", indent,
+                        level, level, level, level);
+            break;
+        }
+        if (level + 1 == depth)
+            out.printf ("%s    x := x + d%d;\n", indent, level);
+        this.writeNested (out, level + 1);
+        out.printf ("%s}\n", indent);
+    }
+
+    /**
+     * Return ", T p0, T p1, ..." for n parameters, or ", 0, 1, ..." for n
+     * arguments if type is empty. */
+    private static String params (int n, String type)
+    {
+        StringBuilder sb = new StringBuilder ();
+        for (int i = 0; i < n; ++i) {
+            sb.append (", ").append (type);
+            sb.append (type.length () == 0 ? Integer.toString (i) : "p" + i);
+        }
+        return sb.toString ();
+    }
+
+    private static String spaces (int n)
+    {
+        StringBuilder sb = new StringBuilder ();
+        for (int i = 0; i < n; ++i)
+            sb.append (' ');
+        return sb.toString ();
+    }
+}
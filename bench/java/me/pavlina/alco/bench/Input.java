@@ -0,0 +1,112 @@
+// Copyright (c) 2011, Christopher Pavlina. All rights reserved.
+//
+// Input - a source file for the benchmarks, lexed once
+
+package me.pavlina.alco.bench;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import me.pavlina.alco.ast.AST;
+import me.pavlina.alco.ast.Package;
+import me.pavlina.alco.compiler.Env;
+import me.pavlina.alco.compiler.errors.CError;
+import me.pavlina.alco.language.Resolver;
+import me.pavlina.alco.lex.Lexer;
+import me.pavlina.alco.lex.TokenStream;
+import me.pavlina.alco.passes.ConstantFold;
+import me.pavlina.alco.passes.NewArguments;
+
+/**
+ * Benchmark input. The file is lexed once when loaded; each benchmark gets
+ * its own copy of the tokens and runs the stages before the one it measures.
+ */
+public class Input
+{
+
+    String name;
+    File file;
+    Lexer lexed;
+    int lines;
+
+    /** Stream which throws away everything, for warnings */
+    static final PrintStream NOWHERE = new PrintStream
+        (OutputStream.nullOutputStream ());
+
+    /**
+     * Load an input, checking that it gets through every stage.
+     * @param name Name to report results under
+     * @param file Source file
+     */
+    public Input (String name, File file) throws Exception
+    {
+        this.name = name;
+        this.file = file;
+        lexed = new Lexer (file);
+        lexed.lex ();
+        lines = lexed.length () == 0 ? 0
+            : lexed.get (lexed.length () - 1).line + 1;
+        this.checkTypes (this.newEnv ());
+    }
+
+    public String getName ()
+    {
+        return name;
+    }
+
+    public File getFile ()
+    {
+        return file;
+    }
+
+    /**
+     * Return the number of lines, up to the last token. */
+    public int getLines ()
+    {
+        return lines;
+    }
+
+    /**
+     * Create an environment like the compiler's defaults (64 bits). */
+    public Env newEnv ()
+    {
+        return new Env (NOWHERE, NOWHERE, 64, false);
+    }
+
+    /**
+     * Return a fresh token stream. */
+    public TokenStream tokens ()
+    {
+        return new TokenStream (new Lexer (lexed));
+    }
+
+    /**
+     * Run the stages up to parsing. */
+    public AST parse (Env env) throws CError
+    {
+        return new Package (this.tokens (), env);
+    }
+
+    /**
+     * Run the stages up to constant folding. */
+    public AST constantFold (Env env) throws CError
+    {
+        return ConstantFold.run (this.parse (env));
+    }
+
+    /**
+     * Run the stages up to new-arguments replacement. */
+    public AST newArguments (Env env) throws CError
+    {
+        return NewArguments.run (this.constantFold (env));
+    }
+
+    /**
+     * Run the stages up to type checking. */
+    public AST checkTypes (Env env) throws CError
+    {
+        AST ast = this.newArguments (env);
+        ast.checkTypes (env, new Resolver ());
+        return ast;
+    }
+}
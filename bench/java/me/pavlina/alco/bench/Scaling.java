@@ -0,0 +1,412 @@
+// Copyright (c) 2011, Christopher Pavlina. All rights reserved.
+//
+// Scaling - compile time and memory against input size
+
+package me.pavlina.alco.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import me.pavlina.alco.ast.AST;
+import me.pavlina.alco.ast.Package;
+import me.pavlina.alco.compiler.Env;
+import me.pavlina.alco.language.Resolver;
+import me.pavlina.alco.lex.Lexer;
+import me.pavlina.alco.lex.TokenStream;
+import me.pavlina.alco.llvm.Emitter;
+import me.pavlina.alco.passes.ConstantFold;
+import me.pavlina.alco.passes.NewArguments;
+import com.beust.jcommander.JCommander;
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.ParameterException;
+
+/**
+ * Scaling suite. For each dimension of the Generator, packages of growing
+ * size are compiled (every stage up to rendering the LLVM, in this process)
+ * while the other dimensions stay small. The time of each stage and the
+ * memory allocated are reported, and the growth of each is fitted to n^k
+ * over the largest sizes. Anything growing faster than -threshold is flagged,
+ * as a quadratic path waiting for a big enough package.
+ *
+ * Run with "make scaling".
+ */
+public class Scaling
+{
+
+    static final String[] STAGES = {
+        "lex", "parse", "passes", "checkTypes", "genLLVM"
+    };
+
+    /** Stages faster than this (ms) at the largest size are not flagged */
+    static final double MIN_TIME = 1.0;
+
+    /** Each dimension, and the smallest size tried. Sizes double from there.
+     */
+    static final Object[][] DIMENSIONS = {
+        {"methods", 25},
+        {"overloads", 2},
+        {"statements", 20},
+        {"depth", 4},
+        {"locals", 20},
+        {"arrays", 8},
+        {"strings", 8},
+    };
+
+    /** Command line arguments */
+    static class Args
+    {
+        /** Dimensions to try, separated by commas (default: all) */
+        @Parameter(names = "-dimensions")
+        String dimensions = "";
+
+        /** Number of sizes to try in each dimension */
+        @Parameter(names = "-steps")
+        int steps = 5;
+
+        /** Number of compiles at each size; the fastest counts */
+        @Parameter(names = "-runs")
+        int runs = 5;
+
+        /** Number of compiles to warm up the JIT before measuring */
+        @Parameter(names = "-warmup")
+        int warmup = 20;
+
+        /** Flag growth faster than n^threshold */
+        @Parameter(names = "-threshold")
+        double threshold = 1.3;
+
+        /** Write the results to this file as JSON */
+        @Parameter(names = "-json")
+        String json;
+
+        @Parameter(names = {"-h", "-help"})
+        boolean help;
+    }
+
+    public static void main (String[] argv) throws Exception
+    {
+        Args args = new Args ();
+        JCommander jc = new JCommander (args);
+        jc.setProgramName ("scaling");
+        try {
+            jc.parse (argv);
+        } catch (ParameterException e) {
+            System.err.println (e.getMessage ());
+            System.exit (1);
+        }
+        if (args.help) {
+            System.out.println
+                ("Usage: scaling [-dimensions D,D,...] [-steps N] [-runs N]\n"
+                 + "               [-warmup N] [-threshold K] [-json FILE]\n"
+                 + "Dimensions: methods, overloads, statements, depth,"
+                 + " locals, arrays, strings");
+            return;
+        }
+        if (args.steps < 3) {
+            System.err.println ("-steps must be at least 3");
+            System.exit (1);
+        }
+
+        // Everything is slow until the JIT has compiled the compiler
+        File warm = File.createTempFile ("scaling", ".al");
+        warm.deleteOnExit ();
+        Generator gen = new Generator ();
+        gen.setDepth (4);
+        gen.setLocals (4);
+        gen.setArrays (2);
+        gen.setStrings (2);
+        gen.write (warm);
+        Point scratch = new Point (0);
+        scratch.stages = new double[STAGES.length];
+        for (int i = 0; i < args.warmup; ++i)
+            compile (warm, scratch);
+
+        List<Series> all = new ArrayList<Series> ();
+        int flagged = 0;
+        for (Object[] i: DIMENSIONS) {
+            String name = (String) i[0];
+            if (args.dimensions.length () != 0
+                && !("," + args.dimensions + ",").contains ("," + name + ","))
+                continue;
+            Series s = measure (name, (Integer) i[1], args);
+            s.print (System.out, args.threshold);
+            flagged += s.countFlagged (args.threshold);
+            all.add (s);
+        }
+        if (args.json != null)
+            writeJson (new File (args.json), all, args.threshold);
+        if (flagged != 0)
+            System.out.printf ("%d super-linear growth(s) found\n", flagged);
+    }
+
+    /**
+     * Measure one dimension at growing sizes. */
+    static Series measure (String dimension, int first, Args args)
+        throws Exception
+    {
+        Series s = new Series (dimension);
+        File file = File.createTempFile ("scaling", ".al");
+        file.deleteOnExit ();
+        for (int i = 0, n = first; i < args.steps; ++i, n *= 2) {
+            Generator gen = new Generator ();
+            gen.set (dimension, n);
+            gen.write (file);
+
+            Point p = new Point (n);
+            p.lines = new Input (dimension + "-" + n, file).getLines ();
+            p.stages = new double[STAGES.length];
+            for (int j = 0; j < p.stages.length; ++j)
+                p.stages[j] = Double.MAX_VALUE;
+            p.alloc = Long.MAX_VALUE;
+            for (int run = 0; run < args.runs; ++run)
+                compile (file, p);
+            s.points.add (p);
+        }
+        return s;
+    }
+
+    /**
+     * Compile a file once, keeping the fastest time of each stage and the
+     * least memory allocated. */
+    static void compile (File file, Point p) throws Exception
+    {
+        // Leave garbage from the last compile out of this one's time
+        System.gc ();
+        long alloc = allocatedBytes ();
+        double[] t = new double[STAGES.length];
+        Env env = new Env (Input.NOWHERE, Input.NOWHERE, 64, false);
+
+        long start = System.nanoTime ();
+        Lexer lexer = new Lexer (file);
+        lexer.lex ();
+        t[0] = lap (start);
+
+        start = System.nanoTime ();
+        AST ast = new Package (new TokenStream (lexer), env);
+        t[1] = lap (start);
+
+        start = System.nanoTime ();
+        ast = NewArguments.run (ConstantFold.run (ast));
+        t[2] = lap (start);
+
+        start = System.nanoTime ();
+        ast.checkTypes (env, new Resolver ());
+        t[3] = lap (start);
+
+        start = System.nanoTime ();
+        Emitter emitter = new Emitter ();
+        ast.genLLVM (env, emitter, null);
+        Bench.sink ^= emitter.toString ().length ();
+        t[4] = lap (start);
+
+        for (int i = 0; i < t.length; ++i)
+            p.stages[i] = Math.min (p.stages[i], t[i]);
+        long a = allocatedBytes ();
+        if (alloc >= 0 && a >= 0)
+            p.alloc = Math.min (p.alloc, a - alloc);
+        else
+            p.alloc = -1;
+    }
+
+    /**
+     * Return milliseconds since start (from System.nanoTime()). */
+    static double lap (long start)
+    {
+        return (System.nanoTime () - start) / 1e6;
+    }
+
+    /**
+     * Return the bytes allocated by this thread so far, or -1 if that is not
+     * available. */
+    static long allocatedBytes ()
+    {
+        java.lang.management.ThreadMXBean threads =
+            ManagementFactory.getThreadMXBean ();
+        if (!(threads instanceof com.sun.management.ThreadMXBean))
+            return -1;
+        return ((com.sun.management.ThreadMXBean) threads)
+            .getThreadAllocatedBytes (Thread.currentThread ().getId ());
+    }
+
+    /**
+     * Fit y = c * x^k to the last three points by least squares on the
+     * logarithms, and return k. */
+    static double exponent (double[] x, double[] y)
+    {
+        int from = Math.max (0, x.length - 3);
+        int n = x.length - from;
+        double sx = 0, sy = 0, sxx = 0, sxy = 0;
+        for (int i = from; i < x.length; ++i) {
+            double lx = Math.log (x[i]), ly = Math.log (Math.max (y[i], 1e-6));
+            sx += lx;
+            sy += ly;
+            sxx += lx * lx;
+            sxy += lx * ly;
+        }
+        return (n * sxy - sx * sy) / (n * sxx - sx * sx);
+    }
+
+    static void writeJson (File file, List<Series> all, double threshold)
+        throws IOException
+    {
+        PrintStream out = new PrintStream (file, "UTF-8");
+        try {
+            out.println ("[");
+            for (int i = 0; i < all.size (); ++i) {
+                all.get (i).printJson (out, threshold);
+                out.println (i + 1 < all.size () ? "," : "");
+            }
+            out.println ("]");
+        } finally {
+            out.close ();
+        }
+    }
+
+    /**
+     * One size of one dimension. Times are in milliseconds. */
+    static class Point
+    {
+        int size, lines;
+        double[] stages;
+        long alloc;
+
+        Point (int size)
+        {
+            this.size = size;
+        }
+
+        double total ()
+        {
+            double sum = 0;
+            for (double i: stages)
+                sum += i;
+            return sum;
+        }
+    }
+
+    /**
+     * All sizes of one dimension. */
+    static class Series
+    {
+        String dimension;
+        List<Point> points;
+
+        Series (String dimension)
+        {
+            this.dimension = dimension;
+            points = new ArrayList<Point> ();
+        }
+
+        double[] sizes ()
+        {
+            double[] x = new double[points.size ()];
+            for (int i = 0; i < x.length; ++i)
+                x[i] = points.get (i).size;
+            return x;
+        }
+
+        /**
+         * Return the growth exponent of a stage, or of the total time (-1),
+         * or of the memory allocated (-2). */
+        double growth (int stage)
+        {
+            double[] y = new double[points.size ()];
+            for (int i = 0; i < y.length; ++i) {
+                Point p = points.get (i);
+                if (stage == -2 && p.alloc < 0)
+                    return Double.NaN;
+                y[i] = (stage == -1) ? p.total ()
+                    : (stage == -2) ? p.alloc : p.stages[stage];
+            }
+            return exponent (this.sizes (), y);
+        }
+
+        /**
+         * Return whether growth of a stage (as for growth()) is worth
+         * flagging. Stages taking under a millisecond even at the largest
+         * size are mostly noise. */
+        boolean flagged (int stage, double threshold)
+        {
+            if (!(this.growth (stage) > threshold))
+                return false;
+            Point last = points.get (points.size () - 1);
+            return stage < 0 || last.stages[stage] >= MIN_TIME;
+        }
+
+        int countFlagged (double threshold)
+        {
+            int n = 0;
+            for (int i = -2; i < STAGES.length; ++i) {
+                if (this.flagged (i, threshold))
+                    ++n;
+            }
+            return n;
+        }
+
+        void print (PrintStream out, double threshold)
+        {
+            out.printf ("=== %s\n", dimension);
+            out.printf ("%8s %8s %10s %10s", "size", "lines", "total ms",
+                        "alloc MB");
+            for (String i: STAGES)
+                out.printf (" %10s", i);
+            out.println ();
+            for (Point p: points) {
+                out.printf (Locale.ROOT, "%8d %8d %10.2f %10s", p.size,
+                            p.lines, p.total (), p.alloc < 0 ? "-"
+                            : String.format (Locale.ROOT, "%.2f",
+                                             p.alloc / 1048576.0));
+                for (double i: p.stages)
+                    out.printf (Locale.ROOT, " %10.2f", i);
+                out.println ();
+            }
+            out.print ("growth:");
+            this.printGrowth (out, "total", -1, threshold);
+            this.printGrowth (out, "alloc", -2, threshold);
+            for (int i = 0; i < STAGES.length; ++i)
+                this.printGrowth (out, STAGES[i], i, threshold);
+            out.println ();
+            out.println ();
+        }
+
+        void printGrowth (PrintStream out, String name, int stage,
+                          double threshold)
+        {
+            double k = this.growth (stage);
+            if (Double.isNaN (k))
+                return;
+            out.printf (Locale.ROOT, " %s n^%.2f%s", name, k,
+                        this.flagged (stage, threshold) ? " [SUPER-LINEAR]"
+                        : "");
+        }
+
+        void printJson (PrintStream out, double threshold)
+        {
+            out.printf ("  {\"dimension\": \"%s\", \"points\": [\n",
+                        dimension);
+            for (int i = 0; i < points.size (); ++i) {
+                Point p = points.get (i);
+                out.printf (Locale.ROOT, "    {\"size\": %d, \"lines\": %d, "
+                            + "\"total_ms\": %.3f, \"alloc_bytes\": %d",
+                            p.size, p.lines, p.total (), p.alloc);
+                for (int j = 0; j < STAGES.length; ++j)
+                    out.printf (Locale.ROOT, ", \"%s_ms\": %.3f", STAGES[j],
+                                p.stages[j]);
+                out.println (i + 1 < points.size () ? "}," : "}");
+            }
+            out.print ("  ], \"growth\": {");
+            out.printf (Locale.ROOT, "\"total\": %.3f", this.growth (-1));
+            if (!Double.isNaN (this.growth (-2)))
+                out.printf (Locale.ROOT, ", \"alloc\": %.3f",
+                            this.growth (-2));
+            for (int i = 0; i < STAGES.length; ++i)
+                out.printf (Locale.ROOT, ", \"%s\": %.3f", STAGES[i],
+                            this.growth (i));
+            out.printf ("}, \"flagged\": %d}", this.countFlagged (threshold));
+        }
+    }
+}
@@ -0,0 +1,164 @@
+// Copyright (c) 2011, Christopher Pavlina. All rights reserved.
+//
+// Stages - benchmarks of each compiler stage
+
+package me.pavlina.alco.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import me.pavlina.alco.ast.AST;
+import me.pavlina.alco.ast.Package;
+import me.pavlina.alco.compiler.Env;
+import me.pavlina.alco.language.Resolver;
+import me.pavlina.alco.lex.Lexer;
+import me.pavlina.alco.lex.TokenStream;
+import me.pavlina.alco.llvm.Emitter;
+import me.pavlina.alco.passes.ConstantFold;
+import me.pavlina.alco.passes.NewArguments;
+
+/**
+ * Benchmarks of the front end and back end stages, in compile order. Each
+ * measures one stage alone; everything before it is done in setUp().
+ */
+public class Stages
+{
+
+    /**
+     * Return all stage benchmarks. */
+    public static List<Benchmark> all ()
+    {
+        List<Benchmark> list = new ArrayList<Benchmark> ();
+        list.add (new Lex ());
+        list.add (new Parse ());
+        list.add (new Fold ());
+        list.add (new NewArgs ());
+        list.add (new CheckTypes ());
+        list.add (new GenLLVM ());
+        return list;
+    }
+
+    /**
+     * Lexer.lex(). The file is read in setUp(). */
+    static class Lex extends Benchmark
+    {
+        Lexer lexer;
+
+        public String getName () { return "lex"; }
+
+        public void setUp (Input input) throws Exception
+        {
+            lexer = new Lexer (input.getFile ());
+        }
+
+        public Object run () throws Exception
+        {
+            lexer.lex ();
+            return lexer.length ();
+        }
+    }
+
+    /**
+     * Package construction, which parses the whole file. The tokens are
+     * copied in setUp(). */
+    static class Parse extends Benchmark
+    {
+        TokenStream stream;
+        Env env;
+
+        public String getName () { return "parse"; }
+
+        public void setUp (Input input) throws Exception
+        {
+            stream = input.tokens ();
+            env = input.newEnv ();
+        }
+
+        public Object run () throws Exception
+        {
+            return new Package (stream, env);
+        }
+    }
+
+    /**
+     * ConstantFold.run() */
+    static class Fold extends Benchmark
+    {
+        AST ast;
+
+        public String getName () { return "constantFold"; }
+
+        public void setUp (Input input) throws Exception
+        {
+            ast = input.parse (input.newEnv ());
+        }
+
+        public Object run () throws Exception
+        {
+            return ConstantFold.run (ast);
+        }
+    }
+
+    /**
+     * NewArguments.run() */
+    static class NewArgs extends Benchmark
+    {
+        AST ast;
+
+        public String getName () { return "newArguments"; }
+
+        public void setUp (Input input) throws Exception
+        {
+            ast = input.constantFold (input.newEnv ());
+        }
+
+        public Object run () throws Exception
+        {
+            return NewArguments.run (ast);
+        }
+    }
+
+    /**
+     * Package.checkTypes() with a fresh Resolver */
+    static class CheckTypes extends Benchmark
+    {
+        AST ast;
+        Env env;
+
+        public String getName () { return "checkTypes"; }
+
+        public void setUp (Input input) throws Exception
+        {
+            env = input.newEnv ();
+            ast = input.newArguments (env);
+        }
+
+        public Object run () throws Exception
+        {
+            ast.checkTypes (env, new Resolver ());
+            return ast;
+        }
+    }
+
+    /**
+     * Package.genLLVM() and Emitter.toString(), which renders the module */
+    static class GenLLVM extends Benchmark
+    {
+        AST ast;
+        Env env;
+
+        public String getName () { return "genLLVM"; }
+
+        public void setUp (Input input) throws Exception
+        {
+            env = input.newEnv ();
+            ast = input.checkTypes (env);
+        }
+
+        public Object run () throws Exception
+        {
+            Emitter emitter = new Emitter ();
+            ast.genLLVM (env, emitter, null);
+            return emitter.toString ().length ();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+// NAME Array indexing loops
+
+executable array_index;
+extern void putint (int);
+
+int main (int argc, u8** argv) nomangle {
+    let n = 100000;
+    let a = new int[] (n as unsigned as size);
+    let sum = 0;
+    for (let pass = 0; pass < 200; ++pass) {
+        for (let i = 0; i < n; ++i) {
+            a[i as unsigned as size] := i + pass;
+        }
+        for (let i = 0; i < n; ++i) {
+            sum := sum + a[i as unsigned as size];
+        }
+    }
+    putint (sum);
+    delete a;
+    return 0;
+}
@@ -0,0 +1,18 @@
+// NAME Casts between numeric types
+
+executable casts;
+extern void putint (int);
+
+int main (int argc, u8** argv) nomangle {
+    let sum i64 = 0;
+    let d = 0.0;
+    for (let i = 0; i < 10000000; ++i) {
+        let x = (i as double) * 0.5;
+        d := d + x;
+        let b = i as unsigned as u8;
+        sum := sum + (b as unsigned as u64 as i64) + (x as int as i64);
+    }
+    putint ((sum % 1000000) as int);
+    putint ((d / 1000000.0) as int);
+    return 0;
+}
@@ -0,0 +1,18 @@
+// NAME Multiple return values
+
+executable multiple_return;
+extern void putint (int);
+
+(int, int) divmod (int a, int b) {
+    return (a / b, a % b);
+}
+
+int main (int argc, u8** argv) nomangle {
+    let q = 0, r = 0, sum = 0;
+    for (let i = 1; i < 10000000; ++i) {
+        (q, r) := divmod (i, 7);
+        sum := sum + q - r;
+    }
+    putint (sum);
+    return 0;
+}
@@ -0,0 +1,20 @@
+// NAME Allocation churn with new and delete
+
+executable new_delete;
+extern void putint (int);
+
+int main (int argc, u8** argv) nomangle {
+    let sum = 0;
+    for (let i = 0; i < 1000000; ++i) {
+        let p = new int;
+        *p := i;
+        let arr = new int[] (16);
+        let j = (i % 16) as unsigned as size;
+        arr[j] := *p;
+        sum := sum + arr[j];
+        delete p;
+        delete arr;
+    }
+    putint (sum);
+    return 0;
+}
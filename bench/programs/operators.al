@@ -0,0 +1,27 @@
+// NAME Overloaded operators
+
+executable operators;
+extern void putint (int);
+
+int += (int *a, double b) {
+    return (*a += b as int);
+}
+
+bool + (bool a, bool b) {
+    return a || b;
+}
+
+int main (int argc, u8** argv) nomangle {
+    let x = 0;
+    let flags = 0;
+    for (let i = 0; i < 10000000; ++i) {
+        x += 1.5;
+        let b = (i % 3 == 0) + (i % 5 == 0);
+        if (b) {
+            ++flags;
+        }
+    }
+    putint (x);
+    putint (flags);
+    return 0;
+}
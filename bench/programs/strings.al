@@ -0,0 +1,23 @@
+// NAME String literals
+
+executable strings;
+extern void putint (int);
+
+int length (u8* s) {
+    let n = 0;
+    while (*(s + n) != 0) {
+        ++n;
+    }
+    return n;
+}
+
+int main (int argc, u8** argv) nomangle {
+    let sum = 0;
+    for (let i = 0; i < 1000000; ++i) {
+        sum := sum + length ("The quick brown fox");
+        sum := sum + length ("jumps over the lazy dog");
+        sum := sum + length ("");
+    }
+    putint (sum);
+    return 0;
+}
@@ -0,0 +1,240 @@
+#!/usr/bin/env python
+# Also compatible with Python 3
+# Copyright (c) 2011, Christopher Pavlina. All rights reserved.
+
+# This is the runtime benchmark runner for alco. It compiles every program in
+# bench/programs in each build mode, runs each several times, and reports the
+# median run time, the peak memory use and the size of each binary as JSON.
+# AlCo must be fully compiled already. Run from the top directory, or with
+# "make runtime-bench".
+
+import os, sys, subprocess, json, time, platform
+
+PROGRAMS = "bench/programs"
+WORK = "build/bench/runtime"
+HELPERS = "test/helpers.c"
+
+# Build modes: name and compiler arguments. Modes other than -O<n> build on
+# -O2, so that they show only the cost of the feature they turn off.
+MODES = [
+    ("O0",        ["-O=0"]),
+    ("O1",        ["-O=1"]),
+    ("O2",        ["-O=2"]),
+    ("O3",        ["-O=3"]),
+    ("noboundck", ["-O=2", "-noboundck"]),
+    ("nogc",      ["-O=2", "-nogc"]),
+    ("sm",        ["-O=2", "-sm"]),
+]
+
+def whine (msg):
+    """
+    Python 2/3-compatible version of print (msg, file=sys.stderr)
+    """
+    sys.stderr.write (msg)
+    sys.stderr.write ("\n")
+    sys.stderr.flush ()
+
+def usage ():
+    print ("Runs the runtime benchmarks. Options:")
+    print ("  --help")
+    print ("  --alco PATH       compiler to use (default: ./alco)")
+    print ("  --alco-arg ARG    pass ARG to every compile (repeatable)")
+    print ("  --runs N          runs of each binary (default: 5)")
+    print ("  --modes M,M,...   build modes (default: all: %s)" %
+           ",".join (m[0] for m in MODES))
+    print ("  --programs P,...  programs to run (default: all)")
+    print ("  --output FILE     write the JSON here instead of stdout")
+
+def parse_args (argv):
+    opts = {"alco": "./alco", "alco_args": [], "runs": 5, "modes": None,
+            "programs": None, "output": None}
+    i = 0
+    while i < len (argv):
+        arg = argv[i]
+        if arg == "--help":
+            usage ()
+            sys.exit (0)
+        if i + 1 >= len (argv):
+            whine ("Error: %s needs a value" % arg)
+            sys.exit (1)
+        value = argv[i + 1]
+        if arg == "--alco":
+            opts["alco"] = value
+        elif arg == "--alco-arg":
+            opts["alco_args"].append (value)
+        elif arg == "--runs":
+            opts["runs"] = int (value)
+        elif arg == "--modes":
+            opts["modes"] = value.split (",")
+        elif arg == "--programs":
+            opts["programs"] = value.split (",")
+        elif arg == "--output":
+            opts["output"] = value
+        else:
+            whine ("Error: unknown option %s" % arg)
+            sys.exit (1)
+        i += 2
+    return opts
+
+def read_header (filename):
+    """
+    Read the NAME line from the comment block at the top of a program.
+    """
+    name = ""
+    with open (filename) as f:
+        for line in f:
+            line = line.strip ("\n")
+            if not line.startswith ("// "): break
+            tag, sep, rest = line[3:].partition (" ")
+            if tag == "NAME":
+                name = rest
+    return name
+
+def compile_helpers ():
+    """
+    Compile the C helpers every program links against (as test.py does).
+    """
+    output = os.path.join (WORK, "helpers.o")
+    p = subprocess.Popen (["cc", "-O2", "-fPIC", "-c", HELPERS, "-o", output])
+    if p.wait ():
+        sys.exit (1)
+    return output
+
+def alco_version (alco):
+    p = subprocess.Popen ([alco, "-version"], stdout=subprocess.PIPE,
+                          stderr=subprocess.STDOUT)
+    out = p.communicate ()[0]
+    return out.decode ("utf-8", "replace").strip ()
+
+def run_once (binary):
+    """
+    Run a binary once. Returns (seconds, max RSS in KiB, exit status, stdout).
+    """
+    devnull = open (os.devnull, "w")
+    start = time.time ()
+    p = subprocess.Popen ([binary], stdout=subprocess.PIPE, stderr=devnull)
+    out = p.stdout.read ()
+    pid, status, rusage = os.wait4 (p.pid, 0)
+    elapsed = time.time () - start
+    # Decode the wait status as subprocess does: the exit code, or minus the
+    # signal. os.waitstatus_to_exitcode() would do, but needs Python 3.9.
+    if os.WIFSIGNALED (status):
+        status = -os.WTERMSIG (status)
+    else:
+        status = os.WEXITSTATUS (status)
+    p.returncode = status
+    devnull.close ()
+    return elapsed, rusage.ru_maxrss, status, out.decode ("utf-8", "replace")
+
+def median (values):
+    values = sorted (values)
+    n = len (values)
+    if n % 2:
+        return values[n // 2]
+    return (values[n // 2 - 1] + values[n // 2]) / 2.0
+
+def bench (opts, helpers, program, mode, flags):
+    """
+    Compile and run one program in one mode. Returns its result record.
+    """
+    base = os.path.basename (program)[:-3]
+    binary = os.path.join (WORK, "%s-%s" % (base, mode))
+    result = {"program": base, "name": read_header (program), "mode": mode,
+              "flags": flags}
+
+    cmdline = ([opts["alco"]] + opts["alco_args"] + flags +
+               [program, helpers, "-o", binary])
+    p = subprocess.Popen (cmdline, stdout=subprocess.PIPE,
+                          stderr=subprocess.STDOUT)
+    out = p.communicate ()[0]
+    if p.returncode:
+        whine ("%s (%s): compile failed\n%s" %
+               (base, mode, out.decode ("utf-8", "replace")))
+        result["error"] = "compile failed"
+        return result
+    result["binary_size"] = os.path.getsize (binary)
+
+    times = []
+    rss = 0
+    output = None
+    for i in range (opts["runs"]):
+        elapsed, maxrss, status, out = run_once (binary)
+        if status:
+            if status < 0:
+                result["error"] = "killed by signal %d" % -status
+            else:
+                result["error"] = "exit status %d" % status
+            break
+        times.append (elapsed)
+        rss = max (rss, maxrss)
+        output = out
+    os.unlink (binary)
+    if times:
+        result["runs"] = times
+        result["median_seconds"] = median (times)
+        result["max_rss_kib"] = rss
+        result["output"] = output
+    whine ("%-16s %-10s %10s %10s %10s" % (
+        base, mode,
+        "%.4f" % result["median_seconds"] if times else "-",
+        "%d" % rss if times else "-", result.get ("binary_size", "-")))
+    return result
+
+def main ():
+    opts = parse_args (sys.argv[1:])
+    if not os.path.isdir (WORK):
+        os.makedirs (WORK)
+    helpers = compile_helpers ()
+
+    modes = MODES
+    if opts["modes"]:
+        known = dict (MODES)
+        for m in opts["modes"]:
+            if m not in known:
+                whine ("Error: unknown mode %s" % m)
+                sys.exit (1)
+        modes = [(m, known[m]) for m in opts["modes"]]
+
+    programs = sorted (os.path.join (PROGRAMS, f)
+                       for f in os.listdir (PROGRAMS) if f.endswith (".al"))
+    if opts["programs"]:
+        programs = [p for p in programs
+                    if os.path.basename (p)[:-3] in opts["programs"]]
+
+    whine ("%-16s %-10s %10s %10s %10s" %
+           ("Program", "Mode", "Median s", "RSS KiB", "Size"))
+    results = []
+    failed = False
+    for program in programs:
+        reference = None
+        for mode, flags in modes:
+            r = bench (opts, helpers, program, mode, flags)
+            if "error" in r:
+                failed = True
+            elif reference is None:
+                reference = r["output"]
+            elif r["output"] != reference:
+                # Every mode must compute the same thing
+                r["error"] = "output differs from mode %s" % modes[0][0]
+                whine ("%s (%s): %s" % (r["program"], mode, r["error"]))
+                failed = True
+            results.append (r)
+
+    report = {
+        "alco": alco_version (opts["alco"]),
+        "machine": platform.machine (),
+        "system": platform.platform (),
+        "runs": opts["runs"],
+        "results": results,
+    }
+    text = json.dumps (report, indent=2, sort_keys=True)
+    if opts["output"]:
+        with open (opts["output"], "w") as f:
+            f.write (text + "\n")
+    else:
+        print (text)
+    if failed:
+        sys.exit (1)
+
+if __name__ == '__main__':
+    main ()
@@ -10,6 +10,15 @@ import sys
 import subprocess
 import shutil
 
+# Compile string concatenation to StringBuilder calls, as javac did before
+# Java 9. The newer invokedynamic form generates classes the first time each
+# concatenation runs, which costs more than the whole of a small compile.
+JAVAC_FLAGS = ["-XDstringConcat=inline"]
+
+# Arguments for the compile which trains the class data sharing archive.
+# With -emit-llvm -S no tool is run, but their paths must exist.
+CDS_TRAINING = ["-emit-llvm", "-S", "src/cds/train.al"]
+
 def whine (msg):
     """
     Python 2/3-compatible version of print (msg, file=sys.stderr)
@@ -50,9 +59,11 @@ def do_java_compile (source, classpath, verbose):
     classpath: List of classpaths (jar files, etc)
     """
     if "DEBUG" in os.environ:
-        cmdline = ["javac", "-g", "-classpath", ":".join(classpath), source]
+        cmdline = ["javac", "-g"] + JAVAC_FLAGS + ["-classpath",
+                ":".join(classpath), source]
     else:
-        cmdline = ["javac", "-classpath", ":".join(classpath), source]
+        cmdline = ["javac"] + JAVAC_FLAGS + ["-classpath",
+                ":".join(classpath), source]
     if verbose:
         print (" ".join (cmdline))
     else:
@@ -182,6 +193,61 @@ def build_jar_file (root, inputs, mainclass, filename, verbose):
         sys.exit (1)
     os.chdir (cwd)
 
+def build_cds_archive (jar, archive, verbose):
+    """
+    Create a class data sharing archive for 'jar' by running a training
+    compile with it. The JVM can map the classes from the archive instead of
+    loading and verifying them one by one, which is most of the startup time
+    of a short compile. The archive is only an optimisation: if this JVM
+    cannot create one (before Java 13), carry on without it.
+    """
+    if os.path.exists (archive):
+        os.unlink (archive)
+    output = "build/train.ll"
+    cmdline = ["java", "-XX:ArchiveClassesAtExit=" + archive, "-jar", jar]
+    for tool in ["llc", "llvm-as", "as", "ld"]:
+        cmdline.append ("-path=%s:%s" % (tool, sys.executable))
+    cmdline += CDS_TRAINING + ["-o", output]
+    if verbose:
+        print (" ".join (cmdline))
+    else:
+        print (archive)
+    devnull = open (os.devnull, "w")
+    java = subprocess.Popen (cmdline, stdout=devnull, stderr=devnull)
+    rc = java.wait ()
+    devnull.close ()
+    if os.path.exists (output):
+        os.unlink (output)
+    if rc or not os.path.exists (archive):
+        whine ("Note: cannot create %s with this JVM; alco will start more"
+               " slowly" % archive)
+        if os.path.exists (archive):
+            os.unlink (archive)
+
+def generate_descriptor (cls, classpath, verbose):
+    """
+    Regenerate the JCommander descriptor of 'cls' (a class in src/java) if
+    the class has changed since. The descriptor holds what JCommander would
+    otherwise find by reflection at every start. The class is compiled
+    first, because the generator reads its annotations.
+    """
+    source = "src/java/" + cls.replace (".", "/") + ".java"
+    descriptor = source[:-len(".java")] + "Descriptor.java"
+    if (os.path.exists (descriptor) and
+            os.path.getmtime (descriptor) >= os.path.getmtime (source)):
+        return
+    compile_if_needed (do_java_compile, source, ".java", ".class",
+            classpath, verbose)
+    cmdline = ["java", "-classpath", ":".join (classpath),
+            "com.beust.jcommander.DescriptorGenerator", cls, "src/java"]
+    if verbose:
+        print (" ".join (cmdline))
+    else:
+        print (descriptor)
+    java = subprocess.Popen (cmdline)
+    if java.wait ():
+        sys.exit (1)
+
 def main ():
     if "--help" in sys.argv:
         print ("Compiles AlCo. Options:")
@@ -195,7 +261,9 @@ def main ():
     # Find jar files
     jars = findall ("jars", ".jar")
 
-    # Compile Java files
+    # Generate sources, then compile Java files
+    generate_descriptor ("me.pavlina.alco.compiler.CmdlineArgs",
+            jars + ["src/java"], verbose)
     java_files = recurse (
             "src/java",
             ".java",
@@ -230,6 +298,7 @@ def main ():
     # Move/copy files out
     if java_files:
         os.rename ("build/jar/alco.jar", "alco.jar")
+        build_cds_archive ("alco.jar", "alco.jsa", verbose)
     if c_files:
         shutil.copyfile ("src/c/alco", "alco")
         os.chmod ("alco", 0o755)
@@ -49,7 +49,9 @@ def do_java_compile (source, classpath, verbose):
     source: Source file
     classpath: List of classpaths (jar files, etc)
     """
-    cmdline = ["javac", "-classpath", ":".join(classpath), source]
+    # See JAVAC_FLAGS in ../build.py
+    cmdline = ["javac", "-XDstringConcat=inline", "-classpath",
+            ":".join(classpath), source]
     if verbose:
         print (" ".join (cmdline))
     else:
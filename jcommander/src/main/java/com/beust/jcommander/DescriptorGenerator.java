@@ -0,0 +1,309 @@
+/**
+ * Copyright (C) 2010 the original author or authors.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.beust.jcommander;
+
+import com.beust.jcommander.converters.NoConverter;
+import com.beust.jcommander.converters.StringConverter;
+import com.beust.jcommander.internal.DefaultConverterFactory;
+import com.beust.jcommander.internal.Lists;
+import com.beust.jcommander.validators.NoValidator;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Writes the {@link IParametersDescriptor} of a class, as Java source, so
+ * that the reflection JCommander would do at startup is done at build time
+ * instead. Run as:
+ *
+ *   java com.beust.jcommander.DescriptorGenerator <class> <source dir>
+ *
+ * which writes <source dir>/<package>/<Class>Descriptor.java. The class must
+ * be compiled and on the classpath.
+ *
+ * Converters are chosen as JCommander chooses them at parse time, but only
+ * the default converter factory is known here: a class which needs a factory
+ * added with addConverterFactory() cannot have a descriptor.
+ */
+public class DescriptorGenerator {
+  private final Class<?> m_class;
+  private final List<Field> m_fields = Lists.newArrayList();
+  private final List<Parameter> m_annotations = Lists.newArrayList();
+
+  public DescriptorGenerator(Class<?> cls) {
+    m_class = cls;
+    // Same order as JCommander.addDescription(): this class, then its
+    // superclasses
+    Class<?> c = cls;
+    while (! Object.class.equals(c)) {
+      for (Field f : c.getDeclaredFields()) {
+        Parameter p = f.getAnnotation(Parameter.class);
+        if (p == null) continue;
+        if (Modifier.isPrivate(f.getModifiers()) || Modifier.isFinal(f.getModifiers())) {
+          throw new ParameterException("Field " + f + " cannot be private or final"
+              + " in a class with a descriptor");
+        }
+        m_fields.add(f);
+        m_annotations.add(p);
+      }
+      c = c.getSuperclass();
+    }
+  }
+
+  /**
+   * @return The simple name of the descriptor class
+   */
+  public String getDescriptorName() {
+    return m_class.getSimpleName() + "Descriptor";
+  }
+
+  /**
+   * Write the source of the descriptor.
+   */
+  public void generate(PrintWriter out) {
+    String name = m_class.getSimpleName();
+    Parameters parameters = m_class.getAnnotation(Parameters.class);
+    String separators = parameters != null ? parameters.separators() : " ";
+    String prefixes = parameters != null ? parameters.optionPrefixes()
+        : Parameters.DEFAULT_OPTION_PREFIXES;
+    String bundle = "";
+    if (parameters != null && ! "".equals(parameters.resourceBundle())) {
+      bundle = parameters.resourceBundle();
+    } else {
+      ResourceBundle a = m_class.getAnnotation(ResourceBundle.class);
+      if (a != null) bundle = a.value();
+    }
+
+    out.println("// Generated by " + DescriptorGenerator.class.getName() + " from "
+        + name + ".java.");
+    out.println("// Do not edit: change the annotations there instead.");
+    out.println();
+    if (m_class.getPackage() != null) {
+      out.println("package " + m_class.getPackage().getName() + ";");
+      out.println();
+    }
+    out.println("import com.beust.jcommander.IParameterValidator;");
+    out.println("import com.beust.jcommander.IParametersDescriptor;");
+    out.println("import com.beust.jcommander.IStringConverter;");
+    out.println("import com.beust.jcommander.ParameterSpec;");
+    out.println();
+    out.println("/**");
+    out.println(" * \\@Parameter metadata of " + name + ", so that JCommander does not");
+    out.println(" * need reflection to parse into it.");
+    out.println(" */");
+    out.println("public class " + getDescriptorName() + " implements IParametersDescriptor");
+    out.println("{");
+    out.println("    private static final ParameterSpec[] PARAMETERS = {");
+    for (int i = 0; i < m_fields.size(); i++) {
+      Field f = m_fields.get(i);
+      Parameter p = m_annotations.get(i);
+      ParameterSpec spec = ParameterSpec.fromField(f, p);
+      out.println("        new ParameterSpec (" + quote(f.getName()) + ", "
+          + classLiteral(spec.getType()) + ", " + classLiteral(spec.getElementType()) + ",");
+      out.println("                           " + stringArray(p.names()) + ",");
+      out.println("                           " + quote(p.description()) + ", "
+          + quote(p.descriptionKey()) + ",");
+      out.println("                           " + p.arity() + ", " + p.required() + ", "
+          + p.hidden() + ", " + p.password() + ")"
+          + (i + 1 < m_fields.size() ? "," : ""));
+    }
+    out.println("    };");
+    out.println();
+    printReturn(out, "Class<?>", "getDescribedClass", name + ".class");
+    printReturn(out, "String", "getSeparators", quote(separators));
+    printReturn(out, "String", "getOptionPrefixes", quote(prefixes));
+    printReturn(out, "String", "getResourceBundle", quote(bundle));
+    printReturn(out, "ParameterSpec[]", "getParameters", "PARAMETERS");
+
+    out.println("    public Object get (Object object, int index)");
+    out.println("    {");
+    out.println("        " + name + " o = (" + name + ") object;");
+    out.println("        switch (index) {");
+    for (int i = 0; i < m_fields.size(); i++) {
+      out.println("        case " + i + ": return o." + m_fields.get(i).getName() + ";");
+    }
+    printDefault(out);
+    out.println("    }");
+    out.println();
+
+    out.println("    @SuppressWarnings (\"unchecked\")");
+    out.println("    public void set (Object object, int index, Object value)");
+    out.println("    {");
+    out.println("        " + name + " o = (" + name + ") object;");
+    out.println("        switch (index) {");
+    for (int i = 0; i < m_fields.size(); i++) {
+      Field f = m_fields.get(i);
+      out.println("        case " + i + ": o." + f.getName() + " = (" + castType(f)
+          + ") value; return;");
+    }
+    printDefault(out);
+    out.println("    }");
+    out.println();
+
+    out.println("    public IParameterValidator newValidator (int index)");
+    out.println("    {");
+    out.println("        switch (index) {");
+    for (int i = 0; i < m_fields.size(); i++) {
+      Class<?> v = m_annotations.get(i).validateWith();
+      String result = v == NoValidator.class ? "null" : "new " + v.getCanonicalName() + " ()";
+      out.println("        case " + i + ": return " + result + ";");
+    }
+    printDefault(out);
+    out.println("    }");
+    out.println();
+
+    out.println("    public IStringConverter<?> newConverter (int index, String optionName)");
+    out.println("    {");
+    out.println("        switch (index) {");
+    for (int i = 0; i < m_fields.size(); i++) {
+      out.println("        case " + i + ": return " + converter(i) + ";");
+    }
+    printDefault(out);
+    out.println("    }");
+    out.println("}");
+  }
+
+  /**
+   * @return The expression which makes the converter of field number 'i',
+   * chosen as JCommander.convertValue() would choose it
+   */
+  private String converter(int i) {
+    Field f = m_fields.get(i);
+    Parameter p = m_annotations.get(i);
+    Class<?> type = f.getType();
+    if (p.names().length == 0) {
+      // The main parameter is converted element by element, and only if its
+      // element type is known
+      Type generic = f.getGenericType();
+      if (! (generic instanceof ParameterizedType)) return "null";
+      Type element = ((ParameterizedType) generic).getActualTypeArguments()[0];
+      if (! (element instanceof Class)) return "null";
+      type = (Class<?>) element;
+    }
+
+    Class<?> converterClass = p.converter();
+    if (converterClass == null || converterClass == NoConverter.class) {
+      converterClass = new DefaultConverterFactory().getConverter(type);
+    }
+    if (converterClass == null) {
+      converterClass = StringConverter.class;
+    }
+
+    try {
+      converterClass.getConstructor(String.class);
+      return "new " + converterClass.getCanonicalName() + " (optionName)";
+    } catch (NoSuchMethodException e) {
+      return "new " + converterClass.getCanonicalName() + " ()";
+    }
+  }
+
+  private static void printReturn(PrintWriter out, String type, String method, String value) {
+    out.println("    public " + type + " " + method + " ()");
+    out.println("    {");
+    out.println("        return " + value + ";");
+    out.println("    }");
+    out.println();
+  }
+
+  private static void printDefault(PrintWriter out) {
+    out.println("        default:");
+    out.println("            throw new IndexOutOfBoundsException (\"no parameter \" + index);");
+    out.println("        }");
+  }
+
+  /**
+   * @return The type to cast a value to before storing it in 'f': the
+   * wrapper for primitives, so that the value is unboxed
+   */
+  private static String castType(Field f) {
+    Class<?> type = f.getType();
+    if (type.isPrimitive()) {
+      if (type == boolean.class) return "Boolean";
+      if (type == char.class) return "Character";
+      if (type == int.class) return "Integer";
+      String n = type.getName();
+      return Character.toUpperCase(n.charAt(0)) + n.substring(1);
+    }
+    if (f.getGenericType() instanceof ParameterizedType) {
+      return f.getGenericType().toString().replace('$', '.');
+    }
+    return type.getCanonicalName();
+  }
+
+  private static String classLiteral(Class<?> cls) {
+    return cls == null ? "null" : cls.getCanonicalName() + ".class";
+  }
+
+  private static String stringArray(String[] values) {
+    StringBuilder sb = new StringBuilder("new String[] {");
+    for (int i = 0; i < values.length; i++) {
+      sb.append(i > 0 ? ", " : " ").append(quote(values[i]));
+    }
+    return sb.append(values.length > 0 ? " }" : "}").toString();
+  }
+
+  private static String quote(String s) {
+    StringBuilder sb = new StringBuilder("\"");
+    for (int i = 0; i < s.length(); i++) {
+      char c = s.charAt(i);
+      switch (c) {
+        case '"': sb.append("\\\""); break;
+        case '\\': sb.append("\\\\"); break;
+        case '\n': sb.append("\\n"); break;
+        case '\t': sb.append("\\t"); break;
+        default:
+          if (c < 0x20 || c > 0x7e) {
+            sb.append(String.format("\\u%04x", (int) c));
+          } else {
+            sb.append(c);
+          }
+      }
+    }
+    return sb.append('"').toString();
+  }
+
+  public static void main(String[] args) throws ClassNotFoundException, IOException {
+    if (args.length != 2) {
+      System.err.println("Usage: DescriptorGenerator <class> <source dir>");
+      System.exit(1);
+    }
+    Class<?> cls = Class.forName(args[0]);
+    DescriptorGenerator generator = new DescriptorGenerator(cls);
+    String dir = args[1];
+    if (cls.getPackage() != null) {
+      dir += File.separator + cls.getPackage().getName().replace('.', File.separatorChar);
+    }
+    File file = new File(dir, generator.getDescriptorName() + ".java");
+    PrintWriter out = new PrintWriter(new OutputStreamWriter(new FileOutputStream(file),
+        "UTF-8"));
+    try {
+      generator.generate(out);
+    } finally {
+      out.close();
+    }
+  }
+}
@@ -0,0 +1,78 @@
+/**
+ * Copyright (C) 2010 the original author or authors.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.beust.jcommander;
+
+/**
+ * Precomputed \@Parameter metadata for one class, with code to read and write
+ * its fields. Given one of these, JCommander does not use reflection on the
+ * class at all, which saves most of its startup time.
+ *
+ * Descriptors are normally written by {@link DescriptorGenerator} rather than
+ * by hand, so that they always agree with the annotations.
+ */
+public interface IParametersDescriptor {
+  /**
+   * @return The class described
+   */
+  Class<?> getDescribedClass();
+
+  /**
+   * @return The separators, as in \@Parameters
+   */
+  String getSeparators();
+
+  /**
+   * @return The option prefixes, as in \@Parameters
+   */
+  String getOptionPrefixes();
+
+  /**
+   * @return The resource bundle name, as in \@Parameters or \@ResourceBundle,
+   * or "" for none
+   */
+  String getResourceBundle();
+
+  /**
+   * @return One spec for each annotated field, in the order fields are found
+   * by reflection (this class first, then its superclasses)
+   */
+  ParameterSpec[] getParameters();
+
+  /**
+   * @return The value of field number 'index' of 'object'
+   */
+  Object get(Object object, int index);
+
+  /**
+   * Set field number 'index' of 'object'.
+   */
+  void set(Object object, int index, Object value);
+
+  /**
+   * @return A new validator for field number 'index', or null if it has none
+   */
+  IParameterValidator newValidator(int index);
+
+  /**
+   * @return A new converter for the values of field number 'index'. For the
+   * main parameter, this converts each element, and may be null to use the
+   * strings as they are.
+   */
+  IStringConverter<?> newConverter(int index, String optionName);
+}
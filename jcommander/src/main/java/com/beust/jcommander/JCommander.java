@@ -79,16 +79,6 @@ public class JCommander {
    */
   private Field m_mainParameterField = null;
 
-  /**
-   * The object on which we found the main parameter field.
-   */
-  private Object m_mainParameterObject;
-
-  /**
-   * The annotation found on the main parameter field.
-   */
-  private Parameter m_mainParameterAnnotation;
-
   private ParameterDescription m_mainParameterDescription;
 
   /**
@@ -99,12 +89,18 @@ public class JCommander {
    * then some required fields did not receive a value and an exception is
    * thrown.
    */
-  private Map<Field, ParameterDescription> m_requiredFields = Maps.newHashMap();
+  private Map<Object, ParameterDescription> m_requiredFields = Maps.newHashMap();
 
   /**
-   * A map of all the annotated fields.
+   * A map of all the annotated fields, keyed by ParameterDescription.getKey().
    */
-  private Map<Field, ParameterDescription> m_fields = Maps.newHashMap();
+  private Map<Object, ParameterDescription> m_fields = Maps.newHashMap();
+
+  /**
+   * Descriptors for the objects which have one, so that they are not
+   * reflected over.
+   */
+  private Map<Object, IParametersDescriptor> m_objectDescriptors = Maps.newHashMap();
 
   private ResourceBundle m_bundle;
 
@@ -158,6 +154,16 @@ public class JCommander {
     createDescriptions();
   }
 
+  /**
+   * @param object The arg object expected to contain {@link Parameter} annotations.
+   * @param descriptor Precomputed metadata for the object's class, so that
+   * no reflection is needed.
+   */
+  public JCommander(Object object, IParametersDescriptor descriptor) {
+    addObject(object, descriptor);
+    createDescriptions();
+  }
+
   /**
    * @param object The arg object expected to contain {@link Parameter} annotations.
    * @param bundle The bundle to use for the descriptions. Can be null.
@@ -213,6 +219,19 @@ public class JCommander {
     }
   }
 
+  /**
+   * Adds the provided arg object, with precomputed metadata for its class.
+   * The descriptor must describe exactly the object's class.
+   */
+  public final void addObject(Object object, IParametersDescriptor descriptor) {
+    if (descriptor.getDescribedClass() != object.getClass()) {
+      throw new ParameterException("Descriptor for " + descriptor.getDescribedClass()
+          + " given for an object of " + object.getClass());
+    }
+    m_objects.add(object);
+    m_objectDescriptors.put(object, descriptor);
+  }
+
   /**
    * Sets the {@link ResourceBundle} to use for looking up descriptions.
    * Set this to <code>null</code> to use description text directly.
@@ -277,7 +296,7 @@ public class JCommander {
     }
 
     if (m_mainParameterDescription != null) {
-      if (m_mainParameterDescription.getParameter().required() &&
+      if (m_mainParameterDescription.getSpec().required() &&
           !m_mainParameterDescription.isAssigned()) {
         throw new ParameterException("Main parameters are required (\""
             + m_mainParameterDescription.getDescription() + "\")");
@@ -369,10 +388,7 @@ public class JCommander {
     ParameterDescription pd = getDescriptionFor(args, arg);
 
     // Could be null if only main parameters were passed
-    if (pd != null) {
-      Parameters p = pd.getObject().getClass().getAnnotation(Parameters.class);
-      if (p != null) return p.separators();
-    }
+    if (pd != null) return pd.getSeparators();
 
     return " ";
   }
@@ -381,11 +397,7 @@ public class JCommander {
     ParameterDescription pd = getDescriptionFor(args, arg);
 
     // Could be null if only main parameters were passed
-    if (pd != null) {
-      Parameters p = pd.getObject().getClass()
-          .getAnnotation(Parameters.class);
-      if (p != null) return p.optionPrefixes();
-    }
+    if (pd != null) return pd.getOptionPrefixes();
 
     return Parameters.DEFAULT_OPTION_PREFIXES;
   }
@@ -446,6 +458,11 @@ public class JCommander {
   }
 
   private void addDescription(Object object) {
+    IParametersDescriptor descriptor = m_objectDescriptors.get(object);
+    if (descriptor != null) {
+      addDescription(object, descriptor);
+      return;
+    }
     Class<?> cls = object.getClass();
 
     while (!Object.class.equals(cls)) {
@@ -462,8 +479,6 @@ public class JCommander {
                   + " allowed, found:" + m_mainParameterField + " and " + f);
             }
             m_mainParameterField = f;
-            m_mainParameterObject = object;
-            m_mainParameterAnnotation = p;
             m_mainParameterDescription = new ParameterDescription(object, p, f, m_bundle, this);
           } else {
             for (String name : p.names()) {
@@ -485,8 +500,41 @@ public class JCommander {
     }
   }
 
+  /**
+   * Same as addDescription(Object), but from a descriptor instead of the
+   * annotations.
+   */
+  private void addDescription(Object object, IParametersDescriptor descriptor) {
+    ParameterSpec[] specs = descriptor.getParameters();
+    for (int i = 0; i < specs.length; i++) {
+      ParameterSpec p = specs[i];
+      if (p.names().length == 0) {
+        p("Found main parameter:" + p.getFieldName());
+        if (m_mainParameterDescription != null) {
+          throw new ParameterException("Only one @Parameter with no names attribute is"
+              + " allowed, found:" + m_mainParameterDescription + " and " + p.getFieldName());
+        }
+        m_mainParameterDescription = new ParameterDescription(object, descriptor, i, m_bundle,
+            this);
+      } else {
+        for (String name : p.names()) {
+          if (m_descriptions.containsKey(name)) {
+            throw new ParameterException("Found the option " + name + " multiple times");
+          }
+          p("Adding description for " + name);
+          ParameterDescription pd = new ParameterDescription(object, descriptor, i, m_bundle,
+              this);
+          m_fields.put(pd.getKey(), pd);
+          m_descriptions.put(name, pd);
+
+          if (p.required()) m_requiredFields.put(pd.getKey(), pd);
+        }
+      }
+    }
+  }
+
   private void initializeDefaultValue(ParameterDescription pd) {
-    String optionName = pd.getParameter().names()[0];
+    String optionName = pd.getSpec().names()[0];
     String def = m_defaultProvider.getDefaultValueFor(optionName);
     if (def != null) {
       p("Initializing " + optionName + " with default value:" + def);
@@ -515,7 +563,7 @@ public class JCommander {
         ParameterDescription pd = m_descriptions.get(a);
 
         if (pd != null) {
-          if (pd.getParameter().password()) {
+          if (pd.getSpec().password()) {
             //
             // Password option, use the Console to retrieve the password
             //
@@ -525,18 +573,18 @@ public class JCommander {
             //
             // Regular option
             //
-            Class<?> fieldType = pd.getField().getType();
+            Class<?> fieldType = pd.getSpec().getType();
 
             // Boolean, set to true as soon as we see it, unless it specified
             // an arity of 1, in which case we need to read the next value
             if ((fieldType == boolean.class || fieldType == Boolean.class)
-                && pd.getParameter().arity() == -1) {
+                && pd.getSpec().arity() == -1) {
               pd.addValue("true");
-              m_requiredFields.remove(pd.getField());
+              m_requiredFields.remove(pd.getKey());
             } else {
               // Regular parameter, use the arity to tell use how many values
               // we need to consume
-              int arity = pd.getParameter().arity();
+              int arity = pd.getSpec().arity();
               int n = (arity != -1 ? arity : 1);
 
               // Special case for boolean parameters of arity 0
@@ -544,14 +592,14 @@ public class JCommander {
                   (Boolean.class.isAssignableFrom(fieldType)
                       || boolean.class.isAssignableFrom(fieldType))) {
                 pd.addValue("true");
-                m_requiredFields.remove(pd.getField());
+                m_requiredFields.remove(pd.getKey());
               } else if (i < args.length - 1) {
                 int offset = "--".equals(args[i + 1]) ? 1 : 0;
 
                 if (i + n < args.length) {
                   for (int j = 1; j <= n; j++) {
                     pd.addValue(trim(args[i + j + offset]));
-                    m_requiredFields.remove(pd.getField());
+                    m_requiredFields.remove(pd.getKey());
                   }
                   i += n + offset;
                 } else {
@@ -579,7 +627,9 @@ public class JCommander {
             String value = arg;
             Object convertedValue = value;
 
-            if (m_mainParameterField.getGenericType() instanceof ParameterizedType) {
+            if (m_mainParameterDescription.getDescriptor() != null) {
+              convertedValue = convertValue(m_mainParameterDescription, value);
+            } else if (m_mainParameterField.getGenericType() instanceof ParameterizedType) {
               ParameterizedType p = (ParameterizedType) m_mainParameterField.getGenericType();
               Type cls = p.getActualTypeArguments()[0];
               if (cls instanceof Class) {
@@ -613,7 +663,7 @@ public class JCommander {
     // Mark the parameter descriptions held in m_fields as assigned
     for (ParameterDescription parameterDescription : m_descriptions.values()) {
       if (parameterDescription.isAssigned()) {
-        m_fields.get(parameterDescription.getField()).setAssigned(true);
+        m_fields.get(parameterDescription.getKey()).setAssigned(true);
       }
     }
 
@@ -670,20 +720,23 @@ public class JCommander {
    * error message).
    */
   private List<?> getMainParameter(String arg) {
-    if (m_mainParameterField == null) {
+    if (m_mainParameterDescription == null) {
       throw new ParameterException(
           "Was passed main parameter '" + arg + "' but no main parameter was defined");
     }
 
     try {
-      List result = (List) m_mainParameterField.get(m_mainParameterObject);
+      List result = (List) m_mainParameterDescription.getValue();
       if (result == null) {
         result = Lists.newArrayList();
-        if (! List.class.isAssignableFrom(m_mainParameterField.getType())) {
-          throw new ParameterException("Main parameter field " + m_mainParameterField
-              + " needs to be of type List, not " + m_mainParameterField.getType());
+        Class<?> type = m_mainParameterDescription.getSpec().getType();
+        if (! List.class.isAssignableFrom(type)) {
+          Object field = m_mainParameterField != null ? m_mainParameterField
+              : m_mainParameterDescription.getSpec().getFieldName();
+          throw new ParameterException("Main parameter field " + field
+              + " needs to be of type List, not " + type);
         }
-        m_mainParameterField.set(m_mainParameterObject, result);
+        m_mainParameterDescription.setValue(result);
       }
       return result;
     }
@@ -694,8 +747,8 @@ public class JCommander {
 
   public String getMainParameterDescription() {
     if (m_descriptions == null) createDescriptions();
-    return m_mainParameterAnnotation != null ? m_mainParameterAnnotation.description()
-        : null;
+    return m_mainParameterDescription != null
+        ? m_mainParameterDescription.getSpec().description() : null;
   }
 
   private int longestName(Collection<?> objects) {
@@ -786,8 +839,8 @@ public class JCommander {
     out.append("Usage: " + programName + " [options]");
     if (hasCommands) out.append(" [command] [command options]");
     out.append("\n");
-    if (m_mainParameterAnnotation != null) {
-      out.append(" " + m_mainParameterAnnotation.description() + "\n");
+    if (m_mainParameterDescription != null) {
+      out.append(" " + m_mainParameterDescription.getSpec().description() + "\n");
     }
 
     //
@@ -796,7 +849,7 @@ public class JCommander {
     int longestName = 0;
     List<ParameterDescription> sorted = Lists.newArrayList();
     for (ParameterDescription pd : m_fields.values()) {
-      if (! pd.getParameter().hidden()) {
+      if (! pd.getSpec().hidden()) {
         sorted.add(pd);
         // + to have an extra space between the name and the description
         int length = pd.getNames().length() + 2;
@@ -824,7 +877,7 @@ public class JCommander {
       int spaceCount = longestName - l;
       int start = out.length();
       out.append("  "
-          + (pd.getParameter().required() ? "* " : "  ")
+          + (pd.getSpec().required() ? "* " : "  ")
           + pd.getNames() + s(spaceCount));
       int indent = out.length() - start;
       wrapDescription(out, indent, pd.getDescription());
@@ -917,6 +970,13 @@ public class JCommander {
   }
 
   public Object convertValue(ParameterDescription pd, String value) {
+    IParametersDescriptor descriptor = pd.getDescriptor();
+    if (descriptor != null) {
+      String[] names = pd.getSpec().names();
+      String optionName = names.length > 0 ? names[0] : "[Main class]";
+      IStringConverter<?> converter = descriptor.newConverter(pd.getIndex(), optionName);
+      return converter != null ? converter.convert(value) : value;
+    }
     return convertValue(pd.getField(), pd.getField().getType(), value);
   }
 
@@ -34,6 +34,13 @@ public class ParameterDescription {
   private Object m_object;
   private Parameter m_parameterAnnotation;
   private Field m_field;
+  /** Set instead of the annotation and field when the class has a descriptor */
+  private IParametersDescriptor m_descriptor;
+  private int m_index;
+  private ParameterSpec m_spec;
+  /** The class's \@Parameters, looked up when first needed */
+  private Parameters m_parameters;
+  private boolean m_parametersFound;
   /** Keep track of whether a value was added to flag an error */
   private boolean m_assigned = false;
   private ResourceBundle m_bundle;
@@ -45,7 +52,20 @@ public class ParameterDescription {
 
   public ParameterDescription(Object object, Parameter annotation, Field field,
       ResourceBundle bundle, JCommander jc) {
-    init(object, annotation, field, bundle, jc);
+    m_parameterAnnotation = annotation;
+    m_field = field;
+    init(object, ParameterSpec.fromField(field, annotation), bundle, jc);
+  }
+
+  /**
+   * Describe field number 'index' of a class with a descriptor. No reflection
+   * is used.
+   */
+  public ParameterDescription(Object object, IParametersDescriptor descriptor, int index,
+      ResourceBundle bundle, JCommander jc) {
+    m_descriptor = descriptor;
+    m_index = index;
+    init(object, descriptor.getParameters()[index], bundle, jc);
   }
 
   /**
@@ -56,6 +76,14 @@ public class ParameterDescription {
   private ResourceBundle findResourceBundle(Object o) {
     ResourceBundle result = null;
 
+    if (m_descriptor != null) {
+      String name = m_descriptor.getResourceBundle();
+      if (! isEmpty(name)) {
+        result = ResourceBundle.getBundle(name, Locale.getDefault());
+      }
+      return result;
+    }
+
     Parameters p = o.getClass().getAnnotation(Parameters.class);
     if (p != null && ! isEmpty(p.resourceBundle())) {
       result = ResourceBundle.getBundle(p.resourceBundle(), Locale.getDefault());
@@ -74,21 +102,20 @@ public class ParameterDescription {
     return s == null || "".equals(s);
   }
 
-  private void init(Object object, Parameter annotation, Field field, ResourceBundle bundle,
+  private void init(Object object, ParameterSpec spec, ResourceBundle bundle,
       JCommander jCommander) {
     m_object = object;
-    m_parameterAnnotation = annotation;
-    m_field = field;
+    m_spec = spec;
     m_bundle = bundle;
     if (m_bundle == null) {
       m_bundle = findResourceBundle(object);
     }
     m_jCommander = jCommander;
 
-    m_description = annotation.description();
-    if (! "".equals(annotation.descriptionKey())) {
+    m_description = spec.description();
+    if (! "".equals(spec.descriptionKey())) {
       if (m_bundle != null) {
-        m_description = m_bundle.getString(annotation.descriptionKey());
+        m_description = m_bundle.getString(spec.descriptionKey());
       } else {
 //        System.out.println("Warning: field " + object.getClass() + "." + field.getName()
 //            + " has a descriptionKey but no bundle was defined with @ResourceBundle, using " +
@@ -96,12 +123,12 @@ public class ParameterDescription {
       }
     }
 
-    for (String name : annotation.names()) {
+    for (String name : spec.names()) {
       if (name.length() > m_longestName.length()) m_longestName = name;
     }
 
     try {
-      m_default = m_field.get(m_object);
+      m_default = getValue();
     } catch (Exception e) {
     }
 
@@ -109,7 +136,7 @@ public class ParameterDescription {
     // Validate default values, if any and if applicable
     //
     if (m_default != null) {
-      String[] names = m_parameterAnnotation.names();
+      String[] names = m_spec.names();
       String name = names.length > 0 ? names[0] : "";
       validateParameter(name, m_default.toString());
     }
@@ -133,7 +160,7 @@ public class ParameterDescription {
 
   public String getNames() {
     StringBuilder sb = new StringBuilder();
-    String[] names = m_parameterAnnotation.names();
+    String[] names = m_spec.names();
     for (int i = 0; i < names.length; i++) {
       if (i > 0) sb.append(", ");
       if (names.length == 1 && names[i].startsWith("--")) sb.append("    ");
@@ -142,16 +169,93 @@ public class ParameterDescription {
     return sb.toString();
   }
 
+  /**
+   * @return The annotation, or null if the class has a descriptor. Use
+   * getSpec() for the values of either.
+   */
   public Parameter getParameter() {
     return m_parameterAnnotation;
   }
 
+  public ParameterSpec getSpec() {
+    return m_spec;
+  }
+
+  /**
+   * @return The field, or null if the class has a descriptor
+   */
   public Field getField() {
     return m_field;
   }
 
+  /**
+   * @return The descriptor of the class, or null if it has none
+   */
+  public IParametersDescriptor getDescriptor() {
+    return m_descriptor;
+  }
+
+  /**
+   * @return The index of the field in the descriptor
+   */
+  public int getIndex() {
+    return m_index;
+  }
+
+  /**
+   * @return An object identifying the field, the same for every name of it
+   */
+  public Object getKey() {
+    return m_field != null ? m_field : m_spec;
+  }
+
+  /**
+   * @return The separators from the class's \@Parameters
+   */
+  public String getSeparators() {
+    if (m_descriptor != null) return m_descriptor.getSeparators();
+    Parameters p = findParameters();
+    return p != null ? p.separators() : " ";
+  }
+
+  /**
+   * @return The option prefixes from the class's \@Parameters
+   */
+  public String getOptionPrefixes() {
+    if (m_descriptor != null) return m_descriptor.getOptionPrefixes();
+    Parameters p = findParameters();
+    return p != null ? p.optionPrefixes() : Parameters.DEFAULT_OPTION_PREFIXES;
+  }
+
+  private Parameters findParameters() {
+    if (! m_parametersFound) {
+      m_parameters = m_object.getClass().getAnnotation(Parameters.class);
+      m_parametersFound = true;
+    }
+    return m_parameters;
+  }
+
+  /**
+   * @return The current value of the field
+   */
+  public Object getValue() throws IllegalAccessException {
+    if (m_descriptor != null) return m_descriptor.get(m_object, m_index);
+    return m_field.get(m_object);
+  }
+
+  /**
+   * Set the field, without validating or converting.
+   */
+  public void setValue(Object value) throws IllegalAccessException {
+    if (m_descriptor != null) {
+      m_descriptor.set(m_object, m_index, value);
+    } else {
+      m_field.set(m_object, value);
+    }
+  }
+
   private boolean isMultiOption() {
-    Class<?> fieldType = m_field.getType();
+    Class<?> fieldType = m_spec.getType();
     return fieldType.equals(List.class) || fieldType.equals(Set.class);
   }
 
@@ -178,8 +282,8 @@ public class ParameterDescription {
    */
   public void addValue(String value, boolean isDefault) {
     p("Adding " + (isDefault ? "default " : "") + "value:" + value
-        + " to parameter:" + m_field.getName());
-    String name = m_parameterAnnotation.names()[0];
+        + " to parameter:" + m_spec.getFieldName());
+    String name = m_spec.names()[0];
     if (m_assigned && ! isMultiOption()) {
       throw new ParameterException("Can only specify option " + name
           + " once.");
@@ -187,7 +291,7 @@ public class ParameterDescription {
 
     validateParameter(name, value);
 
-    Class<?> type = m_field.getType();
+    Class<?> type = m_spec.getType();
 
     Object convertedValue = m_jCommander.convertValue(this, value);
     boolean isCollection = Collection.class.isAssignableFrom(type);
@@ -195,10 +299,10 @@ public class ParameterDescription {
     try {
       if (isCollection) {
         @SuppressWarnings("unchecked")
-        Collection<Object> l = (Collection<Object>) m_field.get(m_object);
+        Collection<Object> l = (Collection<Object>) getValue();
         if (l == null || fieldIsSetForTheFirstTime(isDefault)) {
           l = newCollection(type);
-          m_field.set(m_object, l);
+          setValue(l);
         }
         if (convertedValue instanceof Collection) {
           l.addAll((Collection) convertedValue);
@@ -208,7 +312,7 @@ public class ParameterDescription {
 //          l.
         }
       } else {
-        m_field.set(m_object, convertedValue);
+        setValue(convertedValue);
       }
       if (! isDefault) m_assigned = true;
     }
@@ -218,6 +322,14 @@ public class ParameterDescription {
   }
 
   private void validateParameter(String name, String value) {
+    if (m_descriptor != null) {
+      IParameterValidator v = m_descriptor.newValidator(m_index);
+      if (v != null) {
+        p("Validating parameter:" + name + " value:" + value + " validator:" + v.getClass());
+        v.validate(name, value);
+      }
+      return;
+    }
     Class<? extends IParameterValidator> validator = m_parameterAnnotation.validateWith();
     if (validator != NoValidator.class) {
       try {
@@ -257,7 +369,7 @@ public class ParameterDescription {
   }
 
   public boolean isNumber() {
-    Class<?> type = m_field.getType();
+    Class<?> type = m_spec.getType();
     return type.equals(Integer.class) || type.equals(int.class)
         || type.equals(Long.class) || type.equals(long.class);
   }
@@ -270,6 +382,6 @@ public class ParameterDescription {
 
   @Override
   public String toString() {
-    return "[ParameterDescription " + m_field.getName() + "]";
+    return "[ParameterDescription " + m_spec.getFieldName() + "]";
   }
 }
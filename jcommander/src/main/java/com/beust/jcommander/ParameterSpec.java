@@ -0,0 +1,116 @@
+/**
+ * Copyright (C) 2010 the original author or authors.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.beust.jcommander;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
+/**
+ * The values of one \@Parameter annotation, along with the name and type of
+ * the field it is on. JCommander reads these from the annotation, or gets
+ * them precomputed from an {@link IParametersDescriptor}.
+ */
+public class ParameterSpec {
+  private final String m_fieldName;
+  private final Class<?> m_type;
+  private final Class<?> m_elementType;
+  private final String[] m_names;
+  private final String m_description;
+  private final String m_descriptionKey;
+  private final int m_arity;
+  private final boolean m_required;
+  private final boolean m_hidden;
+  private final boolean m_password;
+
+  /**
+   * @param fieldName Name of the field, for messages
+   * @param type Type of the field
+   * @param elementType If the field is a parameterized collection, the type
+   * of its elements, else null
+   */
+  public ParameterSpec(String fieldName, Class<?> type, Class<?> elementType,
+      String[] names, String description, String descriptionKey, int arity,
+      boolean required, boolean hidden, boolean password) {
+    m_fieldName = fieldName;
+    m_type = type;
+    m_elementType = elementType;
+    m_names = names;
+    m_description = description;
+    m_descriptionKey = descriptionKey;
+    m_arity = arity;
+    m_required = required;
+    m_hidden = hidden;
+    m_password = password;
+  }
+
+  /**
+   * Read the spec from an annotated field.
+   */
+  public static ParameterSpec fromField(Field field, Parameter p) {
+    Class<?> elementType = null;
+    if (field.getGenericType() instanceof ParameterizedType) {
+      Type cls = ((ParameterizedType) field.getGenericType()).getActualTypeArguments()[0];
+      if (cls instanceof Class) elementType = (Class<?>) cls;
+    }
+    return new ParameterSpec(field.getName(), field.getType(), elementType, p.names(),
+        p.description(), p.descriptionKey(), p.arity(), p.required(), p.hidden(),
+        p.password());
+  }
+
+  public String getFieldName() {
+    return m_fieldName;
+  }
+
+  public Class<?> getType() {
+    return m_type;
+  }
+
+  public Class<?> getElementType() {
+    return m_elementType;
+  }
+
+  public String[] names() {
+    return m_names;
+  }
+
+  public String description() {
+    return m_description;
+  }
+
+  public String descriptionKey() {
+    return m_descriptionKey;
+  }
+
+  public int arity() {
+    return m_arity;
+  }
+
+  public boolean required() {
+    return m_required;
+  }
+
+  public boolean hidden() {
+    return m_hidden;
+  }
+
+  public boolean password() {
+    return m_password;
+  }
+}
@@ -3,31 +3,215 @@
 #include <unistd.h>
 #include <sys/types.h>
 #include <sys/stat.h>
+#include <sys/socket.h>
+#include <sys/un.h>
 #include <stdio.h>
 #include <alloca.h>
 #include <stdlib.h>
+#include <string.h>
+#include <limits.h>
 
 #define JAVA "java"
 #define ALCOJAR_INSTALLED "/usr/lib/alco.jar"
 #define ALCOJAR_LOCAL     "./alco.jar"
+/* Class data sharing archives made by build.py for each jar. An archive
+ * only works with the jar it was made from. */
+#define ALCOJSA_INSTALLED "/usr/lib/alco.jsa"
+#define ALCOJSA_LOCAL     "./alco.jsa"
+#define SOCKET_NAME       ".alco-server"
+
+/* Frame tags sent by the compile server (see CompileServer.java) */
+#define TAG_OUT   'o'
+#define TAG_ERR   'e'
+#define TAG_EXIT  'x'
+#define TAG_LOCAL 'l'
+
+extern char **environ;
+
+static int write_all (int fd, void const *buf, size_t len) {
+    char const *p = buf;
+    while (len) {
+        ssize_t n = write (fd, p, len);
+        if (n <= 0) return -1;
+        p += n;
+        len -= n;
+    }
+    return 0;
+}
+
+static int read_all (int fd, void *buf, size_t len) {
+    char *p = buf;
+    while (len) {
+        ssize_t n = read (fd, p, len);
+        if (n <= 0) return -1;
+        p += n;
+        len -= n;
+    }
+    return 0;
+}
+
+static int write_u32 (int fd, unsigned long v) {
+    unsigned char b[4];
+    b[0] = (v >> 24) & 0xff;
+    b[1] = (v >> 16) & 0xff;
+    b[2] = (v >> 8) & 0xff;
+    b[3] = v & 0xff;
+    return write_all (fd, b, 4);
+}
+
+static int read_u32 (int fd, unsigned long *v) {
+    unsigned char b[4];
+    if (read_all (fd, b, 4)) return -1;
+    *v = ((unsigned long) b[0] << 24) | ((unsigned long) b[1] << 16)
+        | ((unsigned long) b[2] << 8) | (unsigned long) b[3];
+    return 0;
+}
+
+static int write_string (int fd, char const *s) {
+    return write_all (fd, s, strlen (s) + 1);
+}
+
+/* Try to run the compile on the compile server. Returns the exit status, or
+ * -1 if there is no server (or it wants us to run locally), in which case
+ * nothing has been written to stdout/stderr. */
+static int run_on_server (int argc, char **argv) {
+    struct sockaddr_un addr;
+    char const *path, *home;
+    char cwd[PATH_MAX];
+    char buf[4096];
+    int fd, i, nenv;
+    unsigned long len, rc;
+
+    if (getenv ("ALCO_NOSERVER")) return -1;
+    if (argc > 1 && !strcmp (argv[1], "-server")) return -1;
+
+    memset (&addr, 0, sizeof (addr));
+    addr.sun_family = AF_UNIX;
+    path = getenv ("ALCO_SOCKET");
+    if (path && *path) {
+        if (strlen (path) >= sizeof (addr.sun_path)) return -1;
+        strcpy (addr.sun_path, path);
+    } else {
+        home = getenv ("HOME");
+        if (!home) return -1;
+        if (strlen (home) + strlen (SOCKET_NAME) + 2 > sizeof (addr.sun_path))
+            return -1;
+        sprintf (addr.sun_path, "%s/%s", home, SOCKET_NAME);
+    }
+
+    if (!getcwd (cwd, sizeof (cwd))) return -1;
+    for (nenv = 0; environ[nenv]; ++nenv);
+
+    fd = socket (AF_UNIX, SOCK_STREAM, 0);
+    if (fd == -1) return -1;
+    if (connect (fd, (struct sockaddr *) &addr, sizeof (addr))) {
+        close (fd);
+        return -1;
+    }
+
+    /* Request: count, cwd, environment, empty string, arguments */
+    if (write_u32 (fd, nenv + argc + 1)
+        || write_string (fd, cwd)) {
+        close (fd);
+        return -1;
+    }
+    for (i = 0; i < nenv; ++i) {
+        if (write_string (fd, environ[i])) {
+            close (fd);
+            return -1;
+        }
+    }
+    if (write_string (fd, "")) {
+        close (fd);
+        return -1;
+    }
+    for (i = 1; i < argc; ++i) {
+        if (write_string (fd, argv[i])) {
+            close (fd);
+            return -1;
+        }
+    }
+
+    /* Response: frames until exit or local */
+    for (;;) {
+        unsigned char tag;
+        if (read_all (fd, &tag, 1) || read_u32 (fd, &len)) {
+            fprintf (stderr, "alco: lost connection to compile server\n");
+            close (fd);
+            return 1;
+        }
+        switch (tag) {
+        case TAG_OUT:
+        case TAG_ERR:
+            while (len) {
+                size_t n = len < sizeof (buf) ? len : sizeof (buf);
+                if (read_all (fd, buf, n)) {
+                    fprintf (stderr,
+                             "alco: lost connection to compile server\n");
+                    close (fd);
+                    return 1;
+                }
+                write_all (tag == TAG_OUT ? 1 : 2, buf, n);
+                len -= n;
+            }
+            break;
+        case TAG_EXIT:
+            if (len != 4 || read_u32 (fd, &rc)) rc = 1;
+            close (fd);
+            return (int) rc;
+        case TAG_LOCAL:
+            close (fd);
+            return -1;
+        default:
+            fprintf (stderr, "alco: bad reply from compile server\n");
+            close (fd);
+            return 1;
+        }
+    }
+}
 
 int main (int argc, char **argv) {
-    
+
     struct stat sbuf;
-    char const *alco;
+    char const *alco, *jsa;
+    char *share = NULL;
     char **new_argv;
     size_t i, j;
+    int rc;
 
-    /* Find alco */
-    alco = stat (ALCOJAR_LOCAL, &sbuf) ? ALCOJAR_INSTALLED : ALCOJAR_LOCAL;
+    /* Use the compile server if there is one */
+    rc = run_on_server (argc, argv);
+    if (rc != -1)
+        return rc;
+
+    /* Find alco, and its archive if there is one */
+    if (stat (ALCOJAR_LOCAL, &sbuf)) {
+        alco = ALCOJAR_INSTALLED;
+        jsa = ALCOJSA_INSTALLED;
+    } else {
+        alco = ALCOJAR_LOCAL;
+        jsa = ALCOJSA_LOCAL;
+    }
+    if (!stat (jsa, &sbuf)) {
+        share = alloca (strlen ("-XX:SharedArchiveFile=") + strlen (jsa) + 1);
+        sprintf (share, "-XX:SharedArchiveFile=%s", jsa);
+    }
 
     /* Make a new argv. We need to add two arguments, plus maybe '-ea',
-     * plus a NULL, so make it argc+4 */
-    new_argv = alloca ((argc + 4) * sizeof (*new_argv));
+     * plus maybe four for the archive, plus a NULL, so make it argc+8 */
+    new_argv = alloca ((argc + 8) * sizeof (*new_argv));
     i = 0;
     new_argv[i++] = JAVA;
     if (getenv ("ASSERT"))
       new_argv[i++] = "-ea";
+    if (share) {
+        /* A stale archive (from another build of the jar) is ignored; do
+         * not warn about it. */
+        new_argv[i++] = share;
+        new_argv[i++] = "-Xshare:auto";
+        new_argv[i++] = "-Xlog:cds=off";
+        new_argv[i++] = "-Xlog:cds+dynamic=off";
+    }
     new_argv[i++] = "-jar";
     new_argv[i++] = (char *) alco;
     for (j = 1; j < argc; ++j) {
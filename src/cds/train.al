@@ -0,0 +1,54 @@
+// Training program for the class data sharing archive (see build.py). It is
+// compiled once at build time, so that the classes a typical compile loads
+// are put in alco.jsa. It is never run.
+
+executable train;
+
+extern void putint (int);
+extern int puts (u8*);
+
+int += (int *a, double b) {
+    return (*a += b as int);
+}
+
+(int, int) divmod (int a, int b) {
+    return (a / b, a % b);
+}
+
+int length (u8* s) {
+    let n = 0;
+    while (*(s + n) != 0) {
+        ++n;
+    }
+    return n;
+}
+
+int main (int argc, u8** argv) nomangle {
+    let x = 0, q = 0, r = 0;
+    let d = 0.5;
+    let arr = new int[] (16);
+    let p = new int;
+    for (let i = 0; i < 16; ++i) {
+        let j = i as unsigned as size;
+        arr[j] := i * 2 - 1;
+        if (i % 3 == 0 && i > 2) {
+            continue;
+        } else if (i == 15 || !(i < 0)) {
+            x += d;
+        }
+        (q, r) := divmod (i, 7);
+        *p := (q * 2) | (r & 3) ^ ~x;
+    }
+    do {
+        --x;
+        if (x < -4) {
+            break;
+        }
+    } while (x >= 0);
+    let s i64 = x as i64;
+    putint ((s as int) + length ("training") + *p);
+    puts ("done");
+    delete p;
+    delete arr;
+    return x > 0 ? x : -x;
+}
@@ -14,6 +14,7 @@ import me.pavlina.alco.language.IntLimits;
 import me.pavlina.alco.language.Resolver;
 import me.pavlina.alco.language.Type;
 import me.pavlina.alco.lex.Token;
+import me.pavlina.alco.lex.Symbols;
 import me.pavlina.alco.lex.TokenStream;
 import me.pavlina.alco.llvm.*;
 import me.pavlina.alco.parse.ExpressionParser;
@@ -33,19 +34,19 @@ public class ArrayValue extends Expression
     public ArrayValue (Env env, TokenStream stream, Method method) throws CError
     {
         token = stream.next ();
-        assert token.is (Token.OPER, "{");
+        assert token.is (Token.OPER, Symbols.LBRACE);
         items = new ArrayList<Expression> ();
         isLiteral = new ArrayList<Boolean> ();
         for (;;) {
             Token temp = stream.peek ();
-            if (temp.is (Token.OPER, ",") || temp.is (Token.OPER, "}"))
+            if (temp.is (Token.OPER, Symbols.COMMA) || temp.is (Token.OPER, Symbols.RBRACE))
                 throw Unexpected.at ("expression", stream.last ());
             Expression exp = ExpressionParser.parse (env, stream, method, ",}");
             items.add (exp);
             temp = stream.next ();
-            if (temp.is (Token.OPER, "}"))
+            if (temp.is (Token.OPER, Symbols.RBRACE))
                 break;
-            else if (!temp.is (Token.OPER, ","))
+            else if (!temp.is (Token.OPER, Symbols.COMMA))
                 throw Unexpected.at (", or }", stream.last ());
         }
     }
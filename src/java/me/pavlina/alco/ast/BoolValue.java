@@ -5,6 +5,7 @@ import me.pavlina.alco.compiler.errors.*;
 import me.pavlina.alco.compiler.Env;
 import me.pavlina.alco.lex.TokenStream;
 import me.pavlina.alco.lex.Token;
+import me.pavlina.alco.lex.Symbols;
 import me.pavlina.alco.language.Resolver;
 import me.pavlina.alco.language.Type;
 import me.pavlina.alco.llvm.*;
@@ -23,9 +24,9 @@ public class BoolValue extends Expression
      * Create a BoolValue from the stream */
     public BoolValue (Env env, TokenStream stream) throws CError {
         token = stream.next ();
-        if (token.is (Token.WORD, "true"))
+        if (token.is (Token.WORD, Symbols.TRUE))
             value = true;
-        else if (token.is (Token.WORD, "false"))
+        else if (token.is (Token.WORD, Symbols.FALSE))
             value = false;
         else
             assert false: token;
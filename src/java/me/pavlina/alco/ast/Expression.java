@@ -14,8 +14,8 @@ import me.pavlina.alco.language.HasType;
 /**
  * Expression base class and parser. All actual Expression objects should be
  * a subclass of one of the specialised Expression subclasses.
- * When adding operators, look at the static initialiser for most (only a
- * select few, like function calls, need special wiring). */
+ * When adding operators, see ExpressionParser (only a select few, like
+ * function calls, need special wiring). */
 public abstract class Expression extends AST implements HasType
 {
 
@@ -79,13 +79,4 @@ public abstract class Expression extends AST implements HasType
          * will be null. */
         public abstract void setOperands (Expression left, Expression right);
     }
-
-    /**
-     * Operator creator interface */
-    public static interface OperatorCreator {
-        /**
-         * Create and return an operator, given Env and TokenStream. */
-        public Operator create (Env env, TokenStream stream,
-                                Method method) throws CError;
-    }
 }
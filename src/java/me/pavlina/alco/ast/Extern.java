@@ -5,6 +5,7 @@ import me.pavlina.alco.compiler.Env;
 import me.pavlina.alco.compiler.errors.*;
 import me.pavlina.alco.lex.TokenStream;
 import me.pavlina.alco.lex.Token;
+import me.pavlina.alco.lex.Symbols;
 import me.pavlina.alco.llvm.*;
 import me.pavlina.alco.language.Resolver;
 import me.pavlina.alco.language.Type;
@@ -26,7 +27,7 @@ public class Extern extends FunctionLike
     {
         super ();
         token = stream.next ();
-        assert token.is (Token.WORD, "extern");
+        assert token.is (Token.WORD, Symbols.EXTERN);
 
         this.parse (stream, env, /* allowStatic*/ false,
                     /* allowNomangle */ true, /* allowAllowconflict */ false,
@@ -38,7 +39,7 @@ public class Extern extends FunctionLike
         Token temp = stream.next ();
         if (temp.is (Token.NO_MORE))
             throw UnexpectedEOF.after (";", stream.last ());
-        else if (!temp.is (Token.OPER, ";")) {
+        else if (!temp.is (Token.OPER, Symbols.SEMICOLON)) {
             System.out.println (temp);
             throw Unexpected.after (";", stream.last ());
         }
@@ -58,19 +59,7 @@ public class Extern extends FunctionLike
 
     public void genLLVM (Env env, Emitter emitter, Function function) {
         // Declaration at top of file
-        FDeclare decl = new FDeclare
-            ("@" + this.getMangledName (),
-             LLVMType.getLLVMNameV (this.getType ()));
-        for (Type i: argtypes) {
-            if (i.getEncoding () == Type.Encoding.OBJECT ||
-                i.getEncoding () == Type.Encoding.ARRAY) {
-                decl.addParameter ("i64");
-                decl.addParameter ("i64");
-            } else {
-                decl.addParameter (LLVMType.getLLVMName (i));
-            }
-        }
-        emitter.add (decl);
+        emitter.add (this.makeDeclaration ());
     }
 
     public void print (PrintStream out) {
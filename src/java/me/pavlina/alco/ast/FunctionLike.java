@@ -8,9 +8,13 @@ import me.pavlina.alco.compiler.errors.*;
 import me.pavlina.alco.compiler.Env;
 import me.pavlina.alco.lex.TokenStream;
 import me.pavlina.alco.lex.Token;
+import me.pavlina.alco.lex.Symbols;
+import me.pavlina.alco.llvm.FDeclare;
+import me.pavlina.alco.llvm.LLVMType;
 import me.pavlina.alco.parse.TypeParser;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Map;
 import java.util.HashMap;
@@ -61,6 +65,11 @@ public abstract class FunctionLike extends AST
      * then this will contain an empty string for each unnamed argument. */
     protected List<String> argnames;
 
+    /**
+     * Symbol IDs of the argument names (see Symbols), or NONE for unnamed
+     * arguments. Only set for functions parsed from source. */
+    protected int[] argsyms;
+
     /**
      * Function's package. A function must set this unless it is 'nomangle' */
     protected Package pkg;
@@ -90,7 +99,7 @@ public abstract class FunctionLike extends AST
         Token token = stream.peek ();
 
         // Static?
-        if (token.is (Token.WORD, "static")) {
+        if (token.is (Token.WORD, Symbols.STATIC)) {
             if (allowStatic) {
                 stream.next ();
                 _static = true;
@@ -100,11 +109,11 @@ public abstract class FunctionLike extends AST
         }
 
         // Return type
-        if (token.is (Token.WORD, "void")) {
+        if (token.is (Token.WORD, Symbols.VOID)) {
             stream.next ();
             types = new ArrayList<Type> (0);
             type = Type.getNull ();
-        } else if (token.is (Token.OPER, "(")) {
+        } else if (token.is (Token.OPER, Symbols.LPAREN)) {
             if (!allowMultRet)
                 throw CError.at ("multiple return types not allowed here",
                                  token);
@@ -114,11 +123,11 @@ public abstract class FunctionLike extends AST
                 Type t = TypeParser.parse (stream, env);
                 types.add (t);
                 token = stream.next ();
-                if (token.is (Token.OPER, ")"))
+                if (token.is (Token.OPER, Symbols.RPAREN))
                     break;
                 else if (token.is (Token.NO_MORE))
                     throw UnexpectedEOF.after (") or ,", stream.last ());
-                else if (!token.is (Token.OPER, ","))
+                else if (!token.is (Token.OPER, Symbols.COMMA))
                     throw Unexpected.after (") or ,", stream.last ());
             }
             type = types.get (0);
@@ -131,7 +140,7 @@ public abstract class FunctionLike extends AST
         // Name
         token = stream.next ();
         operator = false;
-        if (token.is (Token.EXTRA, "$$name")) {
+        if (token.is (Token.EXTRA, Symbols.DOLLAR_NAME)) {
             token = stream.next ();
             if (token.is (Token.NO_MORE))
                 throw Unexpected.after ("name", stream.last ());
@@ -142,8 +151,8 @@ public abstract class FunctionLike extends AST
                    Operators.isOverloadable (token.value)) {
             operator = true;
         } else if (!token.is (Token.WORD) ||
-                   Keywords.isKeyword (token.value, true)) {
-            if (token.is (Token.OPER, "(") &&
+                   Keywords.isKeyword (token.sym, true)) {
+            if (token.is (Token.OPER, Symbols.LPAREN) &&
                 type.getEncoding () == Type.Encoding.POINTER) {
                 CError e = Unexpected.at ("name", token);
                 String note =
@@ -158,15 +167,16 @@ public abstract class FunctionLike extends AST
 
         // Opening paren
         token = stream.next ();
-        if (!token.is (Token.OPER, "("))
+        if (!token.is (Token.OPER, Symbols.LPAREN))
             throw Unexpected.after ("(", stream.last ());
         argtypes = new ArrayList<Type> ();
         argnames = new ArrayList<String> ();
+        argsyms = new int[0];
 
         // No args?
         token = stream.peek ();
         boolean hasArgs;
-        if (token.is (Token.OPER, ")")) {
+        if (token.is (Token.OPER, Symbols.RPAREN)) {
             stream.next ();
             hasArgs = false;
         } else {
@@ -177,46 +187,53 @@ public abstract class FunctionLike extends AST
         while (hasArgs) {
             Type type;
             String name = "";
+            int sym = Symbols.NONE;
             type = TypeParser.parse (stream, env);
             token = stream.next ();
-            if (token.is (Token.OPER, ",")) {
+            if (token.is (Token.OPER, Symbols.COMMA)) {
                 if (! allowUnnamed)
                     throw Unexpected.after ("name", stream.last ());
                 else
                     stream.putback (token);
-            } else if (token.is (Token.OPER, ")") && allowUnnamed) {
+            } else if (token.is (Token.OPER, Symbols.RPAREN) && allowUnnamed) {
                 argtypes.add (type);
                 argnames.add (name);
+                argsyms = Arrays.copyOf (argsyms, argsyms.length + 1);
+                argsyms[argsyms.length - 1] = sym;
                 break;
-            } else if (token.is (Token.EXTRA, "$$name")) {
+            } else if (token.is (Token.EXTRA, Symbols.DOLLAR_NAME)) {
                 token = stream.next ();
                 if (token.is (Token.NO_MORE))
                     throw UnexpectedEOF.after ("name", stream.last ());
                 name = token.value;
+                sym = Symbols.intern (name);
             } else if (!token.is (Token.WORD) || Keywords.isKeyword
-                       (token.value, true)) {
+                       (token.sym, true)) {
                 if (allowUnnamed)
                     throw Unexpected.after ("name or comma", stream.last ());
                 else
                     throw Unexpected.after ("name", stream.last ());
             } else {
                 name = token.value;
+                sym = token.sym;
             }
 
             argtypes.add (type);
             argnames.add (name);
+            argsyms = Arrays.copyOf (argsyms, argsyms.length + 1);
+            argsyms[argsyms.length - 1] = sym;
 
             token = stream.next ();
-            if (token.is (Token.OPER, ")"))
+            if (token.is (Token.OPER, Symbols.RPAREN))
                 break;
-            else if (!token.is (Token.OPER, ","))
+            else if (!token.is (Token.OPER, Symbols.COMMA))
                 throw Unexpected.at (", or )", token);
         }
 
         // Attributes
         while (true) {
             token = stream.peek ();
-            if (token.is (Token.WORD, "nomangle")) {
+            if (token.is (Token.WORD, Symbols.NOMANGLE)) {
                 if (! allowNomangle)
                     throw CError.at ("unexpected: nomangle", token);
                 if (nomangleRedundant)
@@ -226,13 +243,13 @@ public abstract class FunctionLike extends AST
                 stream.next ();
                 nomangle = true;
 
-            } else if (token.is (Token.WORD, "allowconflict")) {
+            } else if (token.is (Token.WORD, Symbols.ALLOWCONFLICT)) {
                 if (! allowAllowconflict)
                     throw CError.at ("unexpected: allowconflict", token);
                 stream.next ();
                 allowconflict = true;
 
-            } else if (token.is (Token.WORD, "global")) {
+            } else if (token.is (Token.WORD, Symbols.GLOBAL)) {
                 if (! allowGlobal)
                     throw CError.at ("unexpected: global", token);
                 stream.next ();
@@ -255,6 +272,18 @@ public abstract class FunctionLike extends AST
         return allowconflict;
     }
 
+    /**
+     * Get whether the function is declared global */
+    public boolean isGlobal () {
+        return global;
+    }
+
+    /**
+     * Get whether the function is an operator overload */
+    public boolean isOperator () {
+        return operator;
+    }
+
     /**
      * Get the unmangled name of the method */
     public String getName () {
@@ -338,6 +367,29 @@ public abstract class FunctionLike extends AST
         return Collections.unmodifiableList (argnames);
     }
 
+    /**
+     * Make the LLVM declaration of the function. Return values after the
+     * first are returned through pointer parameters, which come before the
+     * arguments; objects and arrays are passed as two i64s. */
+    protected FDeclare makeDeclaration () {
+        FDeclare decl = new FDeclare
+            ("@" + this.getMangledName (),
+             LLVMType.getLLVMNameV (this.getType ()));
+        for (int i = 1; i < types.size (); ++i) {
+            decl.addParameter (LLVMType.getLLVMName (types.get (i)) + "*");
+        }
+        for (Type i: argtypes) {
+            if (i.getEncoding () == Type.Encoding.OBJECT ||
+                i.getEncoding () == Type.Encoding.ARRAY) {
+                decl.addParameter ("i64");
+                decl.addParameter ("i64");
+            } else {
+                decl.addParameter (LLVMType.getLLVMName (i));
+            }
+        }
+        return decl;
+    }
+
     /**
      * Return whether the declaration is equivalent to another, for purposes
      * of resolution. That is, if it has the same name, mangle status, and
@@ -348,7 +400,7 @@ public abstract class FunctionLike extends AST
         FunctionLike fl = (FunctionLike) other;
         return (name.equals (fl.name) &&
                 nomangle == fl.nomangle &&
-                argtypes.equals (fl.argtypes));
+                getArgTypes ().equals (fl.getArgTypes ()));
     }
 
     /**
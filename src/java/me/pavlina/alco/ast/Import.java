@@ -0,0 +1,132 @@
+// Copyright (c) 2011, Christopher Pavlina. All rights reserved.
+
+package me.pavlina.alco.ast;
+import me.pavlina.alco.compiler.Env;
+import me.pavlina.alco.compiler.InterfaceFile;
+import me.pavlina.alco.compiler.ObjectCache;
+import me.pavlina.alco.compiler.errors.*;
+import me.pavlina.alco.lex.TokenStream;
+import me.pavlina.alco.lex.Token;
+import me.pavlina.alco.lex.Symbols;
+import me.pavlina.alco.llvm.*;
+import me.pavlina.alco.language.Resolver;
+import me.pavlina.alco.language.Keywords;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.ArrayList;
+
+/**
+ * AST import. This declares the functions of another, already compiled
+ * package, from the interface file written when it was compiled:
+ *
+ *     import lists;
+ *
+ * The file is looked for as lists.ali in the directory of the importing
+ * file, then in each -P directory. */
+public class Import extends AST
+{
+    Token token;
+    String name;
+    File dir;
+    InterfaceFile file;
+    List<ImportedFunction> functions;
+
+    /**
+     * Parse and initialise. */
+    public Import (TokenStream stream, Env env) throws CError
+    {
+        token = stream.next ();
+        assert token.is (Token.WORD, Symbols.IMPORT);
+
+        Token temp = stream.next ();
+        if (temp.is (Token.NO_MORE))
+            throw UnexpectedEOF.after ("package name", stream.last ());
+        else if (!temp.is (Token.WORD) || Keywords.isKeyword (temp.sym, true))
+            throw Unexpected.at ("package name", temp);
+        name = temp.value;
+
+        temp = stream.next ();
+        if (temp.is (Token.NO_MORE))
+            throw UnexpectedEOF.after (";", stream.last ());
+        else if (!temp.is (Token.OPER, Symbols.SEMICOLON))
+            throw Unexpected.after (";", stream.last ());
+
+        dir = stream.getLexer ().getFile ().getAbsoluteFile ()
+            .getParentFile ();
+        functions = new ArrayList<ImportedFunction> ();
+    }
+
+    /**
+     * Open the interface file and add its functions to the resolver. Package
+     * does this along with its own functions, before checking any item. */
+    public void register (Env env, Resolver resolver) throws CError {
+        File path = InterfaceFile.find (name, dir, env.getPackageDirs ());
+        if (path == null) {
+            CError e = CError.at ("cannot find interface of package " + name,
+                                  token);
+            e.setNote ("Compile the package with -c, and give the directory"
+                       + " of " + name + InterfaceFile.SUFFIX + " with -P\n");
+            throw e;
+        }
+        try {
+            file = new InterfaceFile (path);
+        } catch (IOException e) {
+            throw CError.at ("cannot read interface: " + e.getMessage (),
+                             token);
+        }
+        if (!file.getName ().equals (name))
+            throw CError.at (path + " is the interface of package "
+                             + file.getName (), token);
+        if (file.getBits () != env.getBits ())
+            throw CError.at ("package " + name + " was compiled for "
+                             + file.getBits () + "-bit", token);
+
+        for (int i = 0; i < file.size (); ++i) {
+            ImportedFunction f = new ImportedFunction (file, i, env, token);
+            f.setParent (this);
+            resolver.addFunction (f, token);
+            functions.add (f);
+        }
+    }
+
+    /**
+     * Add the interface to a cache key. */
+    public void addKey (ObjectCache.Key key) {
+        key.add (name);
+        if (file != null)
+            key.add (file.getContents ());
+    }
+
+    public Token getToken () {
+        return token;
+    }
+
+    public List<AST> getChildren () {
+        return null;
+    }
+
+    public String getName () {
+        return name;
+    }
+
+    public void checkTypes (Env env, Resolver resolver) throws CError {
+        // Done by register()
+    }
+
+    public void genLLVM (Env env, Emitter emitter, Function function) {
+        // Only the functions which were looked at can have been called. With
+        // the fragment cache, methods may be spliced in without having been
+        // checked, so then everything is declared.
+        boolean all = env.getFragmentCache () != null;
+        for (ImportedFunction i: functions) {
+            if (all || i.isLoaded ())
+                i.genLLVM (env, emitter, function);
+        }
+    }
+
+    public void print (PrintStream out) {
+        out.println ("import " + name);
+    }
+}
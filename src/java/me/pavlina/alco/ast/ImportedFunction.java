@@ -0,0 +1,146 @@
+// Copyright (c) 2011, Christopher Pavlina. All rights reserved.
+
+package me.pavlina.alco.ast;
+import me.pavlina.alco.compiler.Env;
+import me.pavlina.alco.compiler.InterfaceFile;
+import me.pavlina.alco.compiler.errors.*;
+import me.pavlina.alco.lex.Token;
+import me.pavlina.alco.llvm.*;
+import me.pavlina.alco.language.MangleReader;
+import me.pavlina.alco.language.Resolver;
+import me.pavlina.alco.language.Type;
+import java.io.PrintStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.ArrayList;
+
+/**
+ * AST imported function. This is a function of another package, declared by
+ * its interface file (see InterfaceFile). Only the name and flags are read
+ * when the file is opened; the rest of the declaration is decoded the first
+ * time it is asked for, which is usually when a call resolves to it. */
+public class ImportedFunction extends FunctionLike
+{
+    Token token;
+    InterfaceFile file;
+    int index;
+    Env env;
+    String mangledName;
+    boolean loaded;
+
+    /**
+     * Initialise from an entry of an interface file.
+     * @param token The import, for messages */
+    public ImportedFunction (InterfaceFile file, int index, Env env,
+                             Token token)
+    {
+        super ();
+        this.file = file;
+        this.index = index;
+        this.env = env;
+        this.token = token;
+        name = file.getSymbol (index);
+        int flags = file.getFlags (index);
+        nomangle = (flags & InterfaceFile.NOMANGLE) != 0;
+        global = (flags & InterfaceFile.GLOBAL) != 0;
+        allowconflict = (flags & InterfaceFile.ALLOWCONFLICT) != 0;
+        operator = (flags & InterfaceFile.OPERATOR) != 0;
+    }
+
+    /**
+     * Decode the declaration, if it has not been yet. Checking may ask from
+     * several threads at once. */
+    private synchronized void load () {
+        if (loaded) return;
+        ByteBuffer in = file.getRecord (index);
+        try {
+            mangledName = InterfaceFile.readString (in);
+            int n = in.getShort ();
+            types = new ArrayList<Type> (n);
+            for (int i = 0; i < n; ++i)
+                types.add (decode (InterfaceFile.readString (in)));
+            type = types.isEmpty () ? Type.getNull () : types.get (0);
+            n = in.getShort ();
+            argtypes = new ArrayList<Type> (n);
+            argnames = new ArrayList<String> (n);
+            for (int i = 0; i < n; ++i) {
+                argtypes.add (decode (InterfaceFile.readString (in)));
+                argnames.add (InterfaceFile.readString (in));
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IllegalStateException
+                ("truncated interface file: " + file.getFile ());
+        }
+        loaded = true;
+    }
+
+    /**
+     * Decode one type of the declaration. */
+    private Type decode (String encoded) {
+        MangleReader reader = new MangleReader (encoded);
+        Type t = Type.fromEncodedName (env, reader);
+        if (t == null || reader.hasMore ())
+            throw new IllegalStateException
+                ("bad type '" + encoded + "' in interface file: "
+                 + file.getFile ());
+        return t;
+    }
+
+    /**
+     * Return whether the declaration has been decoded */
+    public synchronized boolean isLoaded () {
+        return loaded;
+    }
+
+    public String getMangledName () {
+        load ();
+        return mangledName;
+    }
+
+    public Type getType () {
+        load ();
+        return super.getType ();
+    }
+
+    public List<Type> getTypes () {
+        load ();
+        return super.getTypes ();
+    }
+
+    public List<Type> getArgTypes () {
+        load ();
+        return super.getArgTypes ();
+    }
+
+    public List<String> getArgNames () {
+        load ();
+        return super.getArgNames ();
+    }
+
+    public Token getToken () {
+        return token;
+    }
+
+    public List<AST> getChildren () {
+        return null;
+    }
+
+    public void checkTypes (Env env, Resolver resolver) throws CError {
+        // Do nothing
+    }
+
+    public void genLLVM (Env env, Emitter emitter, Function function) {
+        load ();
+        emitter.add (this.makeDeclaration ());
+    }
+
+    public String toString () {
+        load ();
+        return super.toString ();
+    }
+
+    public void print (PrintStream out) {
+        out.println (this.toString ());
+    }
+}
@@ -4,7 +4,9 @@ package me.pavlina.alco.ast;
 import me.pavlina.alco.compiler.Env;
 import me.pavlina.alco.compiler.errors.*;
 import me.pavlina.alco.lex.TokenStream;
+import me.pavlina.alco.lex.Lexer;
 import me.pavlina.alco.lex.Token;
+import me.pavlina.alco.lex.Symbols;
 import me.pavlina.alco.llvm.*;
 import me.pavlina.alco.language.Resolver;
 import me.pavlina.alco.language.Type;
@@ -25,11 +27,30 @@ public class Method extends FunctionLike
     List<String> allocaNames;
     int numberTemps;
 
+    // Where the body starts, while it has not been parsed (see parseBody())
+    Lexer bodyLexer;
+    int bodyStart;
+
+    // Children of the scopes in the body
+    NodeArena arena;
+
     /**
      * Parse and initialise the method. */
     public Method (TokenStream stream, Env env, boolean allowStatic,
                    Package pkg)
         throws CError
+    {
+        this (stream, env, allowStatic, pkg, false);
+    }
+
+    /**
+     * Parse and initialise the method.
+     * @param lazy Whether to only skip over a block body, leaving it to be
+     * parsed by parseBody(). Only the braces are checked until then. The
+     * stream's lexer must keep its tokens (not be streaming). */
+    public Method (TokenStream stream, Env env, boolean allowStatic,
+                   Package pkg, boolean lazy)
+        throws CError
     {
         super ();
         numberTemps = 0;
@@ -45,10 +66,61 @@ public class Method extends FunctionLike
 
         children = new ArrayList<AST> ();
 
+        if (lazy && stream.peek ().is (Token.OPER, Symbols.LBRACE)) {
+            bodyLexer = stream.getLexer ();
+            bodyStart = stream.getPosition ();
+            skipBody (stream);
+            return;
+        }
+
         // Create a Scope for this method. It will parse the code.
+        arena = new NodeArena ();
+        Scope scope = new Scope (env, stream, this);
+        scope.setParent (this);
+        children.add (scope);
+        arena.trim ();
+    }
+
+    /**
+     * Skip a block body, up to its matching close brace. */
+    private static void skipBody (TokenStream stream) throws CError {
+        int depth = 0;
+        do {
+            Token token = stream.next ();
+            if (token.is (Token.NO_MORE))
+                throw UnexpectedEOF.after ("}", stream.last ());
+            else if (token.is (Token.OPER, Symbols.LBRACE))
+                ++depth;
+            else if (token.is (Token.OPER, Symbols.RBRACE))
+                --depth;
+        } while (depth > 0);
+    }
+
+    /**
+     * Return whether the body has been parsed. It is not yet if the method
+     * was parsed lazily. */
+    public boolean isBodyParsed () {
+        return bodyLexer == null;
+    }
+
+    /**
+     * Parse the body of a lazily parsed method, if it has not been. */
+    public void parseBody (Env env) throws CError {
+        if (bodyLexer == null)
+            return;
+        TokenStream stream = new TokenStream (bodyLexer, bodyStart);
+        arena = new NodeArena ();
         Scope scope = new Scope (env, stream, this);
         scope.setParent (this);
         children.add (scope);
+        arena.trim ();
+        bodyLexer = null;
+    }
+
+    /**
+     * Get the arena which holds the children of the scopes in the body. */
+    NodeArena getArena () {
+        return arena;
     }
 
     /**
@@ -94,32 +166,14 @@ public class Method extends FunctionLike
         }
         Resolver newResolver = new Resolver (resolver);
         for (int i = 0; i < argtypes.size (); ++i)
-            newResolver.addVariable (argnames.get (i), argtypes.get (i),
-                                     token);
+            newResolver.addVariable (argsyms[i], argtypes.get (i), token);
         for (AST i: children)
             i.checkTypes (env, newResolver);
     }
 
     public void genLLVM (Env env, Emitter emitter, Function function) {
         // Declaration at top of file
-        FDeclare decl = new FDeclare
-            ("@" + this.getMangledName (),
-             LLVMType.getLLVMNameV (this.getType ()));
-        if (types.size () > 1) {
-            for (int i = 1; i < types.size (); ++i) {
-                decl.addParameter (LLVMType.getLLVMName (types.get (i)) + "*");
-            }
-        }
-        for (Type i: argtypes) {
-            if (i.getEncoding () == Type.Encoding.OBJECT ||
-                i.getEncoding () == Type.Encoding.ARRAY) {
-                decl.addParameter ("i64");
-                decl.addParameter ("i64");
-            } else {
-                decl.addParameter (LLVMType.getLLVMName (i));
-            }
-        }
-        emitter.add (decl);
+        emitter.add (this.makeDeclaration ());
 
         // Method
         Function func = new Function
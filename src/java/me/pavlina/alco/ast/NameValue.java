@@ -5,6 +5,7 @@ import me.pavlina.alco.compiler.errors.*;
 import me.pavlina.alco.compiler.Env;
 import me.pavlina.alco.lex.TokenStream;
 import me.pavlina.alco.lex.Token;
+import me.pavlina.alco.lex.Symbols;
 import me.pavlina.alco.language.Resolver;
 import me.pavlina.alco.language.IntLimits;
 import me.pavlina.alco.language.Type;
@@ -20,26 +21,29 @@ public class NameValue extends Expression
     Token token;
     Type type;
     String name, realName;
+    int sym;
     Instruction instruction;
 
     /**
      * Create a NameValue from the stream */
     public NameValue (Env env, TokenStream stream) throws CError {
         token = stream.next ();
-        if (token.is (Token.EXTRA, "$$name")) {
+        if (token.is (Token.EXTRA, Symbols.DOLLAR_NAME)) {
             // Extrastandard id $$name allows using anything as a name
             Token nextToken = stream.next ();
             if (nextToken.is (Token.NO_MORE))
                 throw UnexpectedEOF.after ("name", token);
             name = nextToken.value;
+            sym = Symbols.intern (name);
 
         } else {
             assert token.is (Token.WORD);
-            if (Keywords.isKeyword (token.value, true))
+            if (Keywords.isKeyword (token.sym, true))
                 throw Unexpected.at ("name", token);
             if (token.value.startsWith ("@"))
                 throw Unexpected.at ("name", token);
             name = token.value;
+            sym = token.sym;
         }
     }
 
@@ -47,6 +51,7 @@ public class NameValue extends Expression
      * Create a NameValue from a name */
     public NameValue (String name) {
         this.name = name;
+        sym = Symbols.intern (name);
     }
 
     public Instruction getInstruction () {
@@ -62,7 +67,7 @@ public class NameValue extends Expression
     }
 
     public void checkTypes (Env env, Resolver resolver) throws CError {
-        Resolver.Variable var = resolver.getVariable (name, token);
+        Resolver.Variable var = resolver.getVariable (sym, token);
         realName = var.getName ();
         type = var.getType ().getNonLiteral ();
     }
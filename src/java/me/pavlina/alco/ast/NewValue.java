@@ -5,6 +5,7 @@ import me.pavlina.alco.compiler.errors.*;
 import me.pavlina.alco.compiler.Env;
 import me.pavlina.alco.lex.TokenStream;
 import me.pavlina.alco.lex.Token;
+import me.pavlina.alco.lex.Symbols;
 import me.pavlina.alco.language.Resolver;
 import me.pavlina.alco.language.IntLimits;
 import me.pavlina.alco.language.Type;
@@ -35,7 +36,7 @@ public class NewValue extends Expression
      * Create a NewValue from the stream */
     public NewValue (Env env, TokenStream stream) throws CError {
         token = stream.next ();
-        assert token.is (Token.WORD, "new");
+        assert token.is (Token.WORD, Symbols.NEW);
         writtenType = TypeParser.parse (stream, env);
     }
 
@@ -0,0 +1,164 @@
+// Copyright (c) 2011, Christopher Pavlina. All rights reserved.
+
+package me.pavlina.alco.ast;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Arena of AST nodes. The children of every Scope in a method are kept in
+ * one array, each scope holding only the range of its own, and the flag of
+ * each child (whether code is generated for it) is packed into a BitSet.
+ * Otherwise each scope would have two lists, each with room for ten items,
+ * and most scopes hold one or two.
+ *
+ * While a method is parsed, the children of each scope are pushed on a stack
+ * and moved into the arena as one range when the scope ends. Scopes nest, so
+ * the children of the scope being parsed are always on top. A range which
+ * grows after that is moved to the end of the arena.
+ *
+ * An arena belongs to one method, which only one thread works on at a time.
+ */
+class NodeArena
+{
+    AST[] nodes;
+    BitSet flags;
+    int size;
+
+    // Children of the scopes being parsed
+    AST[] stack;
+    BitSet stackFlags;
+    int depth;
+
+    NodeArena () {
+        nodes = new AST[16];
+        flags = new BitSet ();
+    }
+
+    /**
+     * Return the top of the stack: where the children of a scope which
+     * starts now will be pushed. */
+    int mark () {
+        return depth;
+    }
+
+    /**
+     * Push a child of the scope being parsed. */
+    void push (AST node, boolean flag) {
+        if (stack == null) {
+            stack = new AST[16];
+            stackFlags = new BitSet ();
+        } else if (depth == stack.length) {
+            stack = Arrays.copyOf (stack, depth * 2);
+        }
+        stack[depth] = node;
+        stackFlags.set (depth, flag);
+        ++depth;
+    }
+
+    /**
+     * Move the children pushed since a mark into the arena.
+     * @return Start of their range */
+    int seal (int mark) {
+        int n = depth - mark;
+        int start = this.reserve (n);
+        if (n > 0)
+            System.arraycopy (stack, mark, nodes, start, n);
+        for (int i = 0; i < n; ++i) {
+            if (stackFlags.get (mark + i))
+                flags.set (start + i);
+        }
+        if (n > 0)
+            Arrays.fill (stack, mark, depth, null);
+        depth = mark;
+        return start;
+    }
+
+    /**
+     * Add a node at the end of a range.
+     * @return New start of the range */
+    int append (int start, int count, AST node, boolean flag) {
+        if (start + count != size) {
+            int to = this.reserve (count);
+            System.arraycopy (nodes, start, nodes, to, count);
+            for (int i = 0; i < count; ++i)
+                flags.set (to + i, flags.get (start + i));
+            Arrays.fill (nodes, start, start + count, null);
+            start = to;
+        }
+        int i = this.reserve (1);
+        nodes[i] = node;
+        flags.set (i, flag);
+        return start;
+    }
+
+    /**
+     * Make room for n more nodes.
+     * @return Index of the first */
+    private int reserve (int n) {
+        if (size + n > nodes.length)
+            nodes = Arrays.copyOf (nodes, Math.max (nodes.length * 2,
+                                                    size + n));
+        int start = size;
+        size += n;
+        return start;
+    }
+
+    /**
+     * Drop the spare room and the stack, once the method has been parsed. */
+    void trim () {
+        if (nodes.length > size)
+            nodes = Arrays.copyOf (nodes, size);
+        if (depth == 0) {
+            stack = null;
+            stackFlags = null;
+        }
+    }
+
+    AST get (int i) {
+        return nodes[i];
+    }
+
+    void set (int i, AST node) {
+        nodes[i] = node;
+    }
+
+    boolean getFlag (int i) {
+        return flags.get (i);
+    }
+
+    /**
+     * Return a List of a range. Like Arrays.asList(), it cannot change in
+     * length, but its elements can be set, which sets them in the arena. */
+    List<AST> view (int start, int count) {
+        return new Range (this, start, count);
+    }
+
+    private static class Range extends AbstractList<AST> {
+        NodeArena arena;
+        int start, count;
+
+        Range (NodeArena arena, int start, int count) {
+            this.arena = arena;
+            this.start = start;
+            this.count = count;
+        }
+
+        public int size () {
+            return count;
+        }
+
+        public AST get (int i) {
+            if (i < 0 || i >= count)
+                throw new IndexOutOfBoundsException (Integer.toString (i));
+            return arena.nodes[start + i];
+        }
+
+        public AST set (int i, AST node) {
+            AST old = this.get (i);
+            arena.nodes[start + i] = node;
+            return old;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import me.pavlina.alco.compiler.errors.*;
 import me.pavlina.alco.compiler.Env;
 import me.pavlina.alco.lex.TokenStream;
 import me.pavlina.alco.lex.Token;
+import me.pavlina.alco.lex.Symbols;
 import me.pavlina.alco.language.Resolver;
 import me.pavlina.alco.language.IntLimits;
 import me.pavlina.alco.language.Type;
@@ -24,7 +25,7 @@ public class NullValue extends Expression
      * Create a NullValue from the stream */
     public NullValue (Env env, TokenStream stream) throws CError {
         token = stream.next ();
-        assert token.is (Token.WORD, "null");
+        assert token.is (Token.WORD, Symbols.NULL);
     }
 
     /**
@@ -19,8 +19,6 @@ public class OpAddress extends Expression.Operator {
     Instruction instruction;
     Type type;
 
-    public static final Expression.OperatorCreator CREATOR;
-
     public OpAddress (Env env, TokenStream stream, Method method)
         throws CError
     {
@@ -90,13 +88,4 @@ public class OpAddress extends Expression.Operator {
     public Token getToken () {
         return token;
     }
-
-    static {
-        CREATOR = new Expression.OperatorCreator () {
-                public Operator create (Env env, TokenStream stream,
-                                        Method method) throws CError {
-                    return new OpAddress (env, stream, method);
-                }
-            };
-    }
 }
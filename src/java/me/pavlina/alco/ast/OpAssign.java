@@ -25,9 +25,6 @@ public class OpAssign extends Expression.Operator {
     Assign assign;
     AssignCall assigncall;
 
-    public static final Expression.OperatorCreator CREATOR;
-
-
     public OpAssign (Env env, TokenStream stream, Method method) throws CError {
         token = stream.next ();
         children = new Expression[2];
@@ -119,13 +116,4 @@ public class OpAssign extends Expression.Operator {
     public Token getToken () {
         return token;
     }
-
-    static {
-        CREATOR = new Expression.OperatorCreator () {
-                public Operator create (Env env, TokenStream stream,
-                                        Method method) throws CError {
-                    return new OpAssign (env, stream, method);
-                }
-            };
-    }
 }
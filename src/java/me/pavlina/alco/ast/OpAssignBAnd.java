@@ -26,8 +26,6 @@ public class OpAssignBAnd extends Expression.Operator {
     Cast cast;
     BitAnd bitand;
 
-    public static final Expression.OperatorCreator CREATOR;
-
     public OpAssignBAnd (Env env, TokenStream stream, Method method)
         throws CError
     {
@@ -144,13 +142,4 @@ public class OpAssignBAnd extends Expression.Operator {
     {
         return null;
     }
-
-    static {
-        CREATOR = new Expression.OperatorCreator () {
-                public Operator create (Env env, TokenStream stream,
-                                        Method method) throws CError {
-                    return new OpAssignBAnd (env, stream, method);
-                }
-            };
-    }
 }
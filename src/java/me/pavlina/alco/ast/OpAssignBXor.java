@@ -26,8 +26,6 @@ public class OpAssignBXor extends Expression.Operator {
     Cast cast;
     BitXor bitxor;
 
-    public static final Expression.OperatorCreator CREATOR;
-
     public OpAssignBXor (Env env, TokenStream stream, Method method)
         throws CError
     {
@@ -142,13 +140,4 @@ public class OpAssignBXor extends Expression.Operator {
     public Instruction getPointer (Env env, Emitter emitter, Function function) {
         return null;
     }
-
-    static {
-        CREATOR = new Expression.OperatorCreator () {
-                public Operator create (Env env, TokenStream stream,
-                                        Method method) throws CError {
-                    return new OpAssignBXor (env, stream, method);
-                }
-            };
-    }
 }
@@ -26,8 +26,6 @@ public class OpAssignDiv extends Expression.Operator {
     Cast cast;
     DivNum divnum;
 
-    public static final Expression.OperatorCreator CREATOR;
-
     public OpAssignDiv (Env env, TokenStream stream, Method method)
         throws CError
     {
@@ -143,13 +141,4 @@ public class OpAssignDiv extends Expression.Operator {
     public Instruction getPointer (Env env, Emitter emitter, Function function) {
         return null;
     }
-
-    static {
-        CREATOR = new Expression.OperatorCreator () {
-                public Operator create (Env env, TokenStream stream,
-                                        Method method) throws CError {
-                    return new OpAssignDiv (env, stream, method);
-                }
-            };
-    }
 }
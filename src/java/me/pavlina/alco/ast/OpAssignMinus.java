@@ -28,8 +28,6 @@ public class OpAssignMinus extends Expression.Operator {
     Sub1Ptr sub1ptr;
     SubNum subnum;
 
-    public static final Expression.OperatorCreator CREATOR;
-
     public OpAssignMinus (Env env, TokenStream stream, Method method)
         throws CError
     {
@@ -177,13 +175,4 @@ public class OpAssignMinus extends Expression.Operator {
     public Instruction getPointer (Env env, Emitter emitter, Function function) {
         return null;
     }
-
-    static {
-        CREATOR = new Expression.OperatorCreator () {
-                public Operator create (Env env, TokenStream stream,
-                                        Method method) throws CError {
-                    return new OpAssignMinus (env, stream, method);
-                }
-            };
-    }
 }
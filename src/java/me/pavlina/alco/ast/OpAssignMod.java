@@ -26,8 +26,6 @@ public class OpAssignMod extends Expression.Operator {
     Cast cast;
     ModNum modnum;
 
-    public static final Expression.OperatorCreator CREATOR;
-
     public OpAssignMod (Env env, TokenStream stream, Method method)
         throws CError
     {
@@ -141,13 +139,4 @@ public class OpAssignMod extends Expression.Operator {
     public Instruction getPointer (Env env, Emitter emitter, Function function) {
         return null;
     }
-
-    static {
-        CREATOR = new Expression.OperatorCreator () {
-                public Operator create (Env env, TokenStream stream,
-                                        Method method) throws CError {
-                    return new OpAssignMod (env, stream, method);
-                }
-            };
-    }
 }
@@ -28,8 +28,6 @@ public class OpAssignPlus extends Expression.Operator {
     AddNum addnum;
     AddPtr addptr;
 
-    public static final Expression.OperatorCreator CREATOR;
-
     public OpAssignPlus (Env env, TokenStream stream, Method method)
         throws CError
     {
@@ -173,13 +171,4 @@ public class OpAssignPlus extends Expression.Operator {
     public Instruction getPointer (Env env, Emitter emitter, Function function) {
         return null;
     }
-
-    static {
-        CREATOR = new Expression.OperatorCreator () {
-                public Operator create (Env env, TokenStream stream,
-                                        Method method) throws CError {
-                    return new OpAssignPlus (env, stream, method);
-                }
-            };
-    }
 }
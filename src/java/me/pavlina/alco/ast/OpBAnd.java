@@ -26,9 +26,6 @@ public class OpBAnd extends Expression.Operator {
     Coerce coerce;
     BitAnd bitand;
 
-    public static final Expression.OperatorCreator CREATOR;
-
-
     public OpBAnd (Env env, TokenStream stream, Method method) throws CError {
         token = stream.next ();
         children = new Expression[2];
@@ -137,13 +134,4 @@ public class OpBAnd extends Expression.Operator {
     public Instruction getPointer (Env env, Emitter emitter, Function function) {
         return null;
     }
-
-    static {
-        CREATOR = new Expression.OperatorCreator () {
-                public Operator create (Env env, TokenStream stream,
-                                        Method method) throws CError {
-                    return new OpBAnd (env, stream, method);
-                }
-            };
-    }
 }
@@ -23,8 +23,6 @@ public class OpBNot extends Expression.Operator {
     CompNum compnum;
     Overload overload;
 
-    public static final Expression.OperatorCreator CREATOR;
-
     public OpBNot (Env env, TokenStream stream, Method method) throws CError {
         token = stream.next ();
         children = new Expression[1];
@@ -113,13 +111,4 @@ public class OpBNot extends Expression.Operator {
     public Token getToken () {
         return token;
     }
-
-    static {
-        CREATOR = new Expression.OperatorCreator () {
-                public Operator create (Env env, TokenStream stream,
-                                        Method method) throws CError {
-                    return new OpBNot (env, stream, method);
-                }
-            };
-    }
 }
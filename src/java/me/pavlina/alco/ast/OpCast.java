@@ -22,8 +22,6 @@ public class OpCast extends Expression.Operator {
     Instruction instruction;
     Cast cast;
 
-    public static final Expression.OperatorCreator CREATOR;
-
     public OpCast (Env env, TokenStream stream, Method method) throws CError {
         children = new Expression[2];
         token = stream.next ();
@@ -97,13 +95,4 @@ public class OpCast extends Expression.Operator {
     public Token getToken () {
         return token;
     }
-
-    static {
-        CREATOR = new Expression.OperatorCreator () {
-                public Operator create (Env env, TokenStream stream,
-                                        Method method) throws CError {
-                    return new OpCast (env, stream, method);
-                }
-            };
-    }
 }
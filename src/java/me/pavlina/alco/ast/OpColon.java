@@ -19,9 +19,6 @@ public class OpColon extends Expression.Operator {
     Token token;
     Expression[] children;
 
-    public static final Expression.OperatorCreator CREATOR;
-
-
     public OpColon (Env env, TokenStream stream, Method method) throws CError {
         token = stream.next ();
         children = new Expression[2];
@@ -101,13 +98,4 @@ public class OpColon extends Expression.Operator {
     public Instruction getPointer (Env env, Emitter emitter, Function function) {
         return null;
     }
-
-    static {
-        CREATOR = new Expression.OperatorCreator () {
-                public Operator create (Env env, TokenStream stream,
-                                        Method method) throws CError {
-                    return new OpColon (env, stream, method);
-                }
-            };
-    }
 }
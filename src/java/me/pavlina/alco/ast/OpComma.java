@@ -19,9 +19,6 @@ public class OpComma extends Expression.Operator {
     Token token;
     Expression[] children;
 
-    public static final Expression.OperatorCreator CREATOR;
-
-
     public OpComma (Env env, TokenStream stream, Method method) throws CError {
         token = stream.next ();
         children = new Expression[2];
@@ -117,13 +114,4 @@ public class OpComma extends Expression.Operator {
     public Instruction getPointer (Env env, Emitter emitter, Function function) {
         return null;
     }
-
-    static {
-        CREATOR = new Expression.OperatorCreator () {
-                public Operator create (Env env, TokenStream stream,
-                                        Method method) throws CError {
-                    return new OpComma (env, stream, method);
-                }
-            };
-    }
 }
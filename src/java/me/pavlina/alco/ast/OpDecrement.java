@@ -25,8 +25,6 @@ public class OpDecrement extends Expression.Operator {
     Overload overload;
     boolean ptrSub;
 
-    public static final Expression.OperatorCreator CREATOR;
-
     public OpDecrement (Env env, TokenStream stream, Method method)
         throws CError
     {
@@ -145,13 +143,4 @@ public class OpDecrement extends Expression.Operator {
     public Instruction getPointer (Env env, Emitter emitter, Function function) {
         return null;
     }
-
-    static {
-        CREATOR = new Expression.OperatorCreator () {
-                public Operator create (Env env, TokenStream stream,
-                                        Method method) throws CError {
-                    return new OpDecrement (env, stream, method);
-                }
-            };
-    }
 }
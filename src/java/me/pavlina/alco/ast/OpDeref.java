@@ -18,8 +18,6 @@ public class OpDeref extends Expression.Operator {
     Expression[] children;
     Instruction instruction;
 
-    public static final Expression.OperatorCreator CREATOR;
-
     public OpDeref (Env env, TokenStream stream, Method method) throws CError {
         token = stream.next ();
         children = new Expression[1];
@@ -90,13 +88,4 @@ public class OpDeref extends Expression.Operator {
     public Token getToken () {
         return token;
     }
-
-    static {
-        CREATOR = new Expression.OperatorCreator () {
-                public Operator create (Env env, TokenStream stream,
-                                        Method method) throws CError {
-                    return new OpDeref (env, stream, method);
-                }
-            };
-    }
 }
@@ -26,9 +26,6 @@ public class OpDiv extends Expression.Operator {
     Coerce coerce;
     DivNum divnum;
 
-    public static final Expression.OperatorCreator CREATOR;
-
-
     public OpDiv (Env env, TokenStream stream, Method method) throws CError {
         token = stream.next ();
         children = new Expression[2];
@@ -136,13 +133,4 @@ public class OpDiv extends Expression.Operator {
     {
         return null;
     }
-
-    static {
-        CREATOR = new Expression.OperatorCreator () {
-                public Operator create (Env env, TokenStream stream,
-                                        Method method) throws CError {
-                    return new OpDiv (env, stream, method);
-                }
-            };
-    }
 }
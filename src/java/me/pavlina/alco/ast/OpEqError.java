@@ -21,8 +21,6 @@ public class OpEqError extends Expression.Operator {
 
     Token token;
 
-    public static final Expression.OperatorCreator CREATOR;
-
     public OpEqError (Env env, TokenStream stream, Method method) throws CError
     {
         token = stream.next ();
@@ -80,13 +78,4 @@ public class OpEqError extends Expression.Operator {
         return null;
     }
 
-    static {
-        CREATOR = new Expression.OperatorCreator () {
-                public Operator create (Env env, TokenStream stream,
-                                        Method method) throws CError {
-                    return new OpEqError (env, stream, method);
-                }
-            };
-    }
-
 }
@@ -26,8 +26,6 @@ public class OpGt extends Expression.Operator {
     Overload overload;
     Instruction instruction;
 
-    public static final Expression.OperatorCreator CREATOR;
-
     public OpGt (Env env, TokenStream stream, Method method) throws CError {
         token = stream.next ();
         children = new Expression[2];
@@ -136,13 +134,4 @@ public class OpGt extends Expression.Operator {
         return null;
     }
 
-    static {
-        CREATOR = new Expression.OperatorCreator () {
-                public Operator create (Env env, TokenStream stream,
-                                        Method method) throws CError {
-                    return new OpGt (env, stream, method);
-                }
-            };
-    }
-
 }
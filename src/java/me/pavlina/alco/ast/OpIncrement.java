@@ -25,8 +25,6 @@ public class OpIncrement extends Expression.Operator {
     Overload overload;
     boolean ptrAdd;
 
-    public static final Expression.OperatorCreator CREATOR;
-
     public OpIncrement (Env env, TokenStream stream, Method method)
         throws CError
     {
@@ -143,13 +141,4 @@ public class OpIncrement extends Expression.Operator {
     public Instruction getPointer (Env env, Emitter emitter, Function function) {
         return null;
     }
-
-    static {
-        CREATOR = new Expression.OperatorCreator () {
-                public Operator create (Env env, TokenStream stream,
-                                        Method method) throws CError {
-                    return new OpIncrement (env, stream, method);
-                }
-            };
-    }
 }
@@ -23,8 +23,6 @@ public class OpLAnd extends Expression.Operator {
     Instruction instruction;
     Cast castL, castR;
 
-    public static final Expression.OperatorCreator CREATOR;
-
     public OpLAnd (Env env, TokenStream stream, Method method) throws CError {
         token = stream.next ();
         children = new Expression[2];
@@ -141,13 +139,4 @@ public class OpLAnd extends Expression.Operator {
     public Instruction getPointer (Env env, Emitter emitter, Function function) {
         return null;
     }
-
-    static {
-        CREATOR = new Expression.OperatorCreator () {
-                public Operator create (Env env, TokenStream stream,
-                                        Method method) throws CError {
-                    return new OpLAnd (env, stream, method);
-                }
-            };
-    }
 }
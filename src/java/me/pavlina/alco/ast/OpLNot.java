@@ -23,8 +23,6 @@ public class OpLNot extends Expression.Operator {
     Instruction instruction;
     Cast cast;
 
-    public static final Expression.OperatorCreator CREATOR;
-
     public OpLNot (Env env, TokenStream stream, Method method) throws CError {
         token = stream.next ();
     }
@@ -109,13 +107,4 @@ public class OpLNot extends Expression.Operator {
     public Instruction getPointer (Env env, Emitter emitter, Function function) {
         return null;
     }
-
-    static {
-        CREATOR = new Expression.OperatorCreator () {
-                public Operator create (Env env, TokenStream stream,
-                                        Method method) throws CError {
-                    return new OpLNot (env, stream, method);
-                }
-            };
-    }
 }
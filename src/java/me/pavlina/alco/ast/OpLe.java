@@ -26,8 +26,6 @@ public class OpLe extends Expression.Operator {
     Overload overload;
     Instruction instruction;
 
-    public static final Expression.OperatorCreator CREATOR;
-
     public OpLe (Env env, TokenStream stream, Method method) throws CError {
         token = stream.next ();
         children = new Expression[2];
@@ -135,13 +133,4 @@ public class OpLe extends Expression.Operator {
         return null;
     }
 
-    static {
-        CREATOR = new Expression.OperatorCreator () {
-                public Operator create (Env env, TokenStream stream,
-                                        Method method) throws CError {
-                    return new OpLe (env, stream, method);
-                }
-            };
-    }
-
 }
@@ -21,8 +21,6 @@ public class OpMember extends Expression.Operator {
     Expression[] children;
     Instruction instruction;
 
-    public static final Expression.OperatorCreator CREATOR;
-
     public OpMember (Env env, TokenStream stream, Method method) throws CError {
         token = stream.next ();
     }
@@ -115,13 +113,4 @@ public class OpMember extends Expression.Operator {
     {
         return null;
     }
-
-    static {
-        CREATOR = new Expression.OperatorCreator () {
-                public Operator create (Env env, TokenStream stream,
-                                        Method method) throws CError {
-                    return new OpMember (env, stream, method);
-                }
-            };
-    }
 }
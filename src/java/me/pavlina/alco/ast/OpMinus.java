@@ -29,8 +29,6 @@ public class OpMinus extends Expression.Operator {
     Type type;
     Instruction instruction;
 
-    public static final Expression.OperatorCreator CREATOR;
-
     public OpMinus (Env env, TokenStream stream, Method method) throws CError {
         token = stream.next ();
         children = new Expression[2];
@@ -91,7 +89,6 @@ public class OpMinus extends Expression.Operator {
             sub2ptr.checkTypes (env, resolver);
             type = sub2ptr.getType ();
 
-
         } else if (lhsE == Type.Encoding.POINTER &&
                    (rhsE == Type.Encoding.UINT ||
                     rhsE == Type.Encoding.SINT)) {
@@ -184,13 +181,4 @@ public class OpMinus extends Expression.Operator {
     public Instruction getPointer (Env env, Emitter emitter, Function function) {
         return null;
     }
-
-    static {
-        CREATOR = new Expression.OperatorCreator () {
-                public Operator create (Env env, TokenStream stream,
-                                        Method method) throws CError {
-                    return new OpMinus (env, stream, method);
-                }
-            };
-    }
 }
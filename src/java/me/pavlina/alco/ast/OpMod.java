@@ -26,9 +26,6 @@ public class OpMod extends Expression.Operator {
     Coerce coerce;
     ModNum modnum;
 
-    public static final Expression.OperatorCreator CREATOR;
-
-
     public OpMod (Env env, TokenStream stream, Method method) throws CError {
         token = stream.next ();
         children = new Expression[2];
@@ -137,13 +134,4 @@ public class OpMod extends Expression.Operator {
     public Instruction getPointer (Env env, Emitter emitter, Function function) {
         return null;
     }
-
-    static {
-        CREATOR = new Expression.OperatorCreator () {
-                public Operator create (Env env, TokenStream stream,
-                                        Method method) throws CError {
-                    return new OpMod (env, stream, method);
-                }
-            };
-    }
 }
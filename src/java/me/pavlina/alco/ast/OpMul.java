@@ -26,9 +26,6 @@ public class OpMul extends Expression.Operator {
     Coerce coerce;
     MulNum mulnum;
 
-    public static final Expression.OperatorCreator CREATOR;
-
-
     public OpMul (Env env, TokenStream stream, Method method) throws CError {
         token = stream.next ();
         children = new Expression[2];
@@ -137,13 +134,4 @@ public class OpMul extends Expression.Operator {
     public Instruction getPointer (Env env, Emitter emitter, Function function) {
         return null;
     }
-
-    static {
-        CREATOR = new Expression.OperatorCreator () {
-                public Operator create (Env env, TokenStream stream,
-                                        Method method) throws CError {
-                    return new OpMul (env, stream, method);
-                }
-            };
-    }
 }
@@ -23,8 +23,6 @@ public class OpNeg extends Expression.Operator {
     NegNum negnum;
     Overload overload;
 
-    public static final Expression.OperatorCreator CREATOR;
-
     public OpNeg (Env env, TokenStream stream, Method method) throws CError {
         token = stream.next ();
         children = new Expression[1];
@@ -113,13 +111,4 @@ public class OpNeg extends Expression.Operator {
     public Token getToken () {
         return token;
     }
-
-    static {
-        CREATOR = new Expression.OperatorCreator () {
-                public Operator create (Env env, TokenStream stream,
-                                        Method method) throws CError {
-                    return new OpNeg (env, stream, method);
-                }
-            };
-    }
 }
@@ -29,9 +29,6 @@ public class OpPlus extends Expression.Operator {
     Type type;
     Instruction instruction;
 
-    public static final Expression.OperatorCreator CREATOR;
-
-
     public OpPlus (Env env, TokenStream stream, Method method) throws CError {
         token = stream.next ();
         this.method = method;
@@ -171,13 +168,4 @@ public class OpPlus extends Expression.Operator {
     public Instruction getPointer (Env env, Emitter emitter, Function function) {
         return null;
     }
-
-    static {
-        CREATOR = new Expression.OperatorCreator () {
-                public Operator create (Env env, TokenStream stream,
-                                        Method method) throws CError {
-                    return new OpPlus (env, stream, method);
-                }
-            };
-    }
 }
@@ -23,8 +23,6 @@ public class OpQuestion extends Expression.Operator {
     Cast cast;
     int coerceSide;
 
-    public static final Expression.OperatorCreator CREATOR;
-
     public OpQuestion (Env env, TokenStream stream, Method method)
         throws CError
     {
@@ -157,13 +155,4 @@ public class OpQuestion extends Expression.Operator {
     public Instruction getPointer (Env env, Emitter emitter, Function function) {
         return null;
     }
-
-    static {
-        CREATOR = new Expression.OperatorCreator () {
-                public Operator create (Env env, TokenStream stream,
-                                        Method method) throws CError {
-                    return new OpQuestion (env, stream, method);
-                }
-            };
-    }
 }
@@ -24,8 +24,6 @@ public class OpREq extends Expression.Operator {
     Type type;
     Instruction instruction;
 
-    public static final Expression.OperatorCreator CREATOR;
-
     public OpREq (Env env, TokenStream stream, Method method) throws CError {
         token = stream.next ();
         children = new Expression[2];
@@ -116,13 +114,4 @@ public class OpREq extends Expression.Operator {
         return null;
     }
 
-    static {
-        CREATOR = new Expression.OperatorCreator () {
-                public Operator create (Env env, TokenStream stream,
-                                        Method method) throws CError {
-                    return new OpREq (env, stream, method);
-                }
-            };
-    }
-
 }
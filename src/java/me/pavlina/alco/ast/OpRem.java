@@ -26,9 +26,6 @@ public class OpRem extends Expression.Operator {
     Coerce coerce;
     RemNum remnum;
 
-    public static final Expression.OperatorCreator CREATOR;
-
-
     public OpRem (Env env, TokenStream stream, Method method) throws CError {
         token = stream.next ();
         children = new Expression[2];
@@ -137,13 +134,4 @@ public class OpRem extends Expression.Operator {
     public Instruction getPointer (Env env, Emitter emitter, Function function) {
         return null;
     }
-
-    static {
-        CREATOR = new Expression.OperatorCreator () {
-                public Operator create (Env env, TokenStream stream,
-                                        Method method) throws CError {
-                    return new OpRem (env, stream, method);
-                }
-            };
-    }
 }
@@ -2,16 +2,24 @@
 
 package me.pavlina.alco.ast;
 import me.pavlina.alco.compiler.Env;
+import me.pavlina.alco.compiler.FragmentCache;
+import me.pavlina.alco.compiler.ObjectCache;
+import me.pavlina.alco.compiler.Timing;
 import me.pavlina.alco.compiler.errors.*;
 import me.pavlina.alco.lex.TokenStream;
 import me.pavlina.alco.lex.Token;
+import me.pavlina.alco.lex.Symbols;
+import me.pavlina.alco.lex.Lexer;
 import me.pavlina.alco.llvm.*;
 import me.pavlina.alco.language.Resolver;
 import me.pavlina.alco.language.Keywords;
 import me.pavlina.alco.language.Type;
 import java.io.PrintStream;
+import java.io.ByteArrayOutputStream;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * AST package. This represents (and parses) an entire file. */
@@ -20,12 +28,40 @@ public class Package extends AST
     String name;
     boolean executable;
     List<AST> children;
+    List<TokenRange> ranges;
     Token token;
+    boolean lazy;
+
+    // Fragment cache state for each child, set by checkTypes
+    String[] fragmentKeys;
+    FragmentCache.Entry[] fragmentHits;
+    byte[][] fragmentMessages;
 
     /**
      * Read a package from the token stream. */
     public Package (TokenStream stream, Env env) throws CError {
+        this (stream, env, false);
+    }
+
+    /**
+     * Read a package from the token stream.
+     *
+     * If there is a worker pool and the lexer holds the whole file, method
+     * bodies are parsed in parallel: the declarations are read first,
+     * skipping each body by matching braces, and then the bodies are parsed
+     * as separate tasks (see parseBodies()). Errors are reported as if the
+     * file had been parsed in order.
+     * @param lazy Whether to leave method bodies unparsed, for users which
+     * only need the declarations. parseBodies() parses them. The stream's
+     * lexer must not be streaming. */
+    public Package (TokenStream stream, Env env, boolean lazy)
+        throws CError
+    {
+        boolean parallel = !lazy && env.getPool () != null
+            && !stream.getLexer ().isStreaming ();
+        this.lazy = lazy || parallel;
         children = new ArrayList<AST> ();
+        ranges = new ArrayList<TokenRange> ();
 
         // Get the first token
         token = stream.peek ();
@@ -35,12 +71,33 @@ public class Package extends AST
         name = Package.readName (stream, env);
 
         // After this come the children
-        while (true) {
-            AST child = readChild (stream, env);
-            if (child == null) break;
-            children.add (child);
-            child.setParent (this);
+        int start = stream.getPosition ();
+        try {
+            while (true) {
+                start = stream.getPosition ();
+                AST child = readChild (stream, env, this.lazy);
+                if (child == null) break;
+                children.add (child);
+                ranges.add (new TokenRange (stream.getLexer (), start,
+                                            stream.getPosition ()));
+                child.setParent (this);
+            }
+        } catch (CError e) {
+            if (!parallel)
+                throw e;
+            // The bodies before the error come first in the file, so their
+            // errors come first too
+            this.parseBodies (env);
+            // A skipped body only had its braces matched, so a syntax error
+            // in it followed by a missing brace shows as an unexpected end
+            // of file. Read the item again with its body, for the error an
+            // in-order parse gives.
+            this.readChild (new TokenStream (stream.getLexer (), start), env,
+                            /* lazy */ false);
+            throw e;
         }
+        if (parallel)
+            this.parseBodies (env);
     }
 
     /**
@@ -52,9 +109,9 @@ public class Package extends AST
         if (token.is (Token.NO_MORE)) {
             throw new CError ("no code in source file " +
                               stream.getLexer ().filename ());
-        } else if (token.is (Token.WORD, "executable")) {
+        } else if (token.is (Token.WORD, Symbols.EXECUTABLE)) {
             return true;
-        } else if (token.is (Token.WORD, "package")) {
+        } else if (token.is (Token.WORD, Symbols.PACKAGE)) {
             return false;
         } else {
             throw Unexpected.at ("'package' or 'executable'", token);
@@ -70,7 +127,7 @@ public class Package extends AST
             throw UnexpectedEOF.after ("name", stream.last ());
         } else if (!token.is (Token.WORD)) {
             throw Unexpected.at ("name", token);
-        } else if (Keywords.isKeyword (token.value, true)) {
+        } else if (Keywords.isKeyword (token.sym, true)) {
             throw Unexpected.at ("name", token);
         }
         name = token.value;
@@ -78,7 +135,7 @@ public class Package extends AST
         token = stream.next ();
         if (token.is (Token.NO_MORE)) {
             throw UnexpectedEOF.after (";", stream.last ());
-        } else if (!token.is (Token.OPER, ";")) {
+        } else if (!token.is (Token.OPER, Symbols.SEMICOLON)) {
             throw Unexpected.after (";", stream.last ());
         }
         return name;
@@ -86,18 +143,57 @@ public class Package extends AST
 
     /**
      * Read one of the items in the file.
+     * @param lazy Whether to leave a method's body unparsed
      * @return Item, or null on EOF. */
-    private AST readChild (TokenStream stream, Env env) throws CError {
+    private AST readChild (TokenStream stream, Env env, boolean lazy)
+        throws CError {
 
         Token token = stream.peek ();
         if (token.is (Token.NO_MORE)) return null;
         
-        else if (token.is (Token.WORD, "extern"))
+        else if (token.is (Token.WORD, Symbols.EXTERN))
             return new Extern (stream, env);
 
+        else if (token.is (Token.WORD, Symbols.IMPORT))
+            return new Import (stream, env);
+
         // No keyword: must be a method
         else
-            return new Method (stream, env, /* allowStatic */ false, this);
+            return new Method (stream, env, /* allowStatic */ false, this,
+                               lazy);
+    }
+
+    /**
+     * Parse the bodies of lazily parsed methods (see Package()), in parallel
+     * if there is a worker pool. Each body is parsed with its own
+     * TokenStream, and its messages are held back and printed in order; the
+     * error from the first failing body is thrown. */
+    public void parseBodies (Env env) throws CError {
+        ForkJoinPool pool = env.getPool ();
+        List<ParseTask> tasks = new ArrayList<ParseTask> ();
+        for (AST i: children) {
+            if (Method.class.isInstance (i) && !((Method) i).isBodyParsed ()) {
+                ParseTask task = new ParseTask ((Method) i, env);
+                if (pool != null)
+                    pool.execute (task);
+                tasks.add (task);
+            }
+        }
+
+        for (int i = 0; i < tasks.size (); ++i) {
+            ParseTask task = tasks.get (i);
+            if (pool != null)
+                task.join ();
+            else
+                task.invoke ();
+            byte[] messages = task.messages.toByteArray ();
+            env.getErr ().write (messages, 0, messages.length);
+            if (task.error != null) {
+                for (int j = i + 1; j < tasks.size (); ++j)
+                    tasks.get (j).cancel (false);
+                throw task.error;
+            }
+        }
     }
 
     public Token getToken () {
@@ -163,13 +259,246 @@ public class Package extends AST
             else if (Extern.class.isInstance (i)) {
                 resolver.addFunction ((Extern) i, i.getToken ());
             }
+            else if (Import.class.isInstance (i)) {
+                ((Import) i).register (env, resolver);
+            }
         }
         if (!foundGenItem) {
             throw new CError ("file must contain code items");
         }
+        if (env.getPool () != null || env.getFragmentCache () != null) {
+            checkTypesEach (env, resolver);
+            return;
+        }
         for (AST i: children) {
             resolver.clear ();
+            Timing.Span span = Timing.span
+                (env.getTiming (), "checkTypes", describe (i));
             i.checkTypes (env, resolver);
+            span.end ();
+        }
+    }
+
+    /**
+     * Describe a child, for the trace. */
+    private static String describe (AST item) {
+        if (FunctionLike.class.isInstance (item))
+            return ((FunctionLike) item).getName ();
+        return item.getClass ().getSimpleName ();
+    }
+
+    /**
+     * Check each child separately, in parallel if there is a worker pool.
+     * Once the functions have been registered, no child depends on another,
+     * so each one is checked with its own Resolver. The results are identical
+     * to checking in one go:
+     *  - Globally available locals are numbered from a block reserved for
+     *    each child in order, so they get the same names.
+     *  - Messages are held back, and printed in child order.
+     *  - The error from the first failing child is thrown, after the messages
+     *    of all children before it.
+     *
+     * Methods found in the fragment cache are not checked at all; their
+     * messages are printed from the cache, and their code is spliced in by
+     * genLLVM.
+     */
+    private void checkTypesEach (Env env, Resolver resolver)
+        throws CError
+    {
+        ForkJoinPool pool = env.getPool ();
+        FragmentCache fragments = env.getFragmentCache ();
+        int globalBase = resolver.getGlobalCount ();
+        int n = children.size ();
+
+        fragmentKeys = new String[n];
+        fragmentHits = new FragmentCache.Entry[n];
+        fragmentMessages = new byte[n][];
+        if (fragments != null)
+            this.makeFragmentKeys (env, globalBase);
+
+        List<CheckTask> tasks = new ArrayList<CheckTask> (n);
+        for (int i = 0; i < n; ++i) {
+            AST child = children.get (i);
+            CheckTask task = null;
+            if (fragmentKeys[i] != null)
+                fragmentHits[i] = fragments.get (fragmentKeys[i]);
+            if (fragmentHits[i] == null) {
+                task = new CheckTask
+                    (child, env, new Resolver (resolver, globalBase));
+                if (pool != null)
+                    pool.execute (task);
+            }
+            globalBase += countGlobalLocals (child);
+            tasks.add (task);
+        }
+
+        for (int i = 0; i < n; ++i) {
+            CheckTask task = tasks.get (i);
+            byte[] messages;
+            if (task == null) {
+                messages = fragmentHits[i].getMessages ();
+            } else {
+                if (pool != null)
+                    task.join ();
+                else
+                    task.invoke ();
+                messages = task.messages.toByteArray ();
+            }
+            env.getErr ().write (messages, 0, messages.length);
+            fragmentMessages[i] = messages;
+            if (task != null && task.error != null) {
+                for (int j = i + 1; j < n; ++j) {
+                    if (tasks.get (j) != null)
+                        tasks.get (j).cancel (false);
+                }
+                throw task.error;
+            }
+        }
+        resolver.setGlobalCount (globalBase);
+    }
+
+    /**
+     * Compute the fragment cache key of each method. Everything its code
+     * depends on goes in:
+     *  - its tokens, with their positions (which appear in messages and in
+     *    bounds checks) and file name
+     *  - the number of its first globally available local
+     *  - the package name and kind, and the Env settings
+     *  - the signature of every function in the package, and the
+     *    interfaces of the imported packages, as these decide what each
+     *    call resolves to
+     * Other items get no key, and are never cached. */
+    private void makeFragmentKeys (Env env, int globalBase) {
+        ObjectCache.Key pkgKey = new ObjectCache.Key ();
+        pkgKey.add (name).add (executable);
+        pkgKey.add (env.getBits ()).add (env.isDebug ());
+        pkgKey.add (env.getBoundCheck ()).add (env.getNullOOM ());
+        pkgKey.add (env.getMalloc ()).add (env.getFree ());
+        for (AST i: children) {
+            if (Import.class.isInstance (i))
+                ((Import) i).addKey (pkgKey);
+            if (!FunctionLike.class.isInstance (i))
+                continue;
+            FunctionLike f = (FunctionLike) i;
+            pkgKey.add (i.getClass ().getName ());
+            pkgKey.add (f.getMangledName ()).add (f.isStatic ());
+            pkgKey.add (f.getTypes ().size ());
+            for (Type j: f.getTypes ())
+                pkgKey.add (j.getEncodedName ());
+            pkgKey.add (f.getArgTypes ().size ());
+            for (Type j: f.getArgTypes ())
+                pkgKey.add (j.getEncodedName ());
+        }
+        String pkgHash = pkgKey.finish ();
+
+        for (int i = 0; i < children.size (); ++i) {
+            AST child = children.get (i);
+            if (Method.class.isInstance (child)) {
+                TokenRange range = ranges.get (i);
+                ObjectCache.Key key = new ObjectCache.Key ();
+                key.add (pkgHash).add (globalBase);
+                key.add (range.lexer.filename ());
+                key.add (range.end - range.start);
+                Lexer lexer = range.lexer;
+                for (int j = range.start; j < range.end; ++j) {
+                    key.add (lexer.getType (j)).add (lexer.getLine (j));
+                    key.add (lexer.getCol (j)).add (lexer.getValue (j));
+                }
+                fragmentKeys[i] = key.finish ();
+            }
+            globalBase += countGlobalLocals (child);
+        }
+    }
+
+    /**
+     * Count the globally available locals declared anywhere in an item. */
+    private static int countGlobalLocals (AST item) {
+        int n = 0;
+        if (StStatic.class.isInstance (item))
+            n += ((StStatic) item).countGlobalLocals ();
+        else if (StConst.class.isInstance (item))
+            n += ((StConst) item).countGlobalLocals ();
+        List<AST> children = item.getChildren ();
+        if (children == null) return n;
+        for (AST i: children) {
+            if (i != null)
+                n += countGlobalLocals (i);
+        }
+        return n;
+    }
+
+    /**
+     * Check the types of one child. Errors and messages are kept, to be
+     * reported in order. */
+    private static class CheckTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        AST item;
+        Env env;
+        Resolver resolver;
+        ByteArrayOutputStream messages;
+        CError error;
+
+        CheckTask (AST item, Env env, Resolver resolver) {
+            this.item = item;
+            this.resolver = resolver;
+            messages = new ByteArrayOutputStream ();
+            this.env = new Env (env, new PrintStream (messages, true));
+        }
+
+        protected void compute () {
+            Timing.Span span = Timing.span
+                (env.getTiming (), "checkTypes", describe (item));
+            try {
+                item.checkTypes (env, resolver);
+            } catch (CError e) {
+                error = e;
+            } finally {
+                span.end ();
+            }
+        }
+    }
+
+    /**
+     * Parse the body of one method. Errors and messages are kept, to be
+     * reported in order. */
+    private static class ParseTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        Method method;
+        Env env;
+        ByteArrayOutputStream messages;
+        CError error;
+
+        ParseTask (Method method, Env env) {
+            this.method = method;
+            messages = new ByteArrayOutputStream ();
+            this.env = new Env (env, new PrintStream (messages, true));
+        }
+
+        protected void compute () {
+            Timing.Span span = Timing.span
+                (env.getTiming (), "parse", method.getName ());
+            try {
+                method.parseBody (env);
+            } catch (CError e) {
+                error = e;
+            } finally {
+                span.end ();
+            }
+        }
+    }
+
+    /**
+     * Tokens of one child. */
+    private static class TokenRange {
+        Lexer lexer;
+        int start, end;
+
+        TokenRange (Lexer lexer, int start, int end) {
+            this.lexer = lexer;
+            this.start = start;
+            this.end = end;
         }
     }
 
@@ -184,6 +513,7 @@ public class Package extends AST
             executable = true;
         }
         children.addAll (other.children);
+        ranges.addAll (other.ranges);
     }
 
     public void genLLVM (Env env, Emitter emitter, Function function) {
@@ -215,8 +545,89 @@ public class Package extends AST
                      .addParameter ("i32").addParameter ("i32")
                      .addParameter ("void(i32,i32)*"));
 
+        if (fragmentKeys != null) {
+            genLLVMEach (env, emitter);
+            return;
+        }
         for (AST i: children) {
+            Timing.Span span = Timing.span
+                (env.getTiming (), "genLLVM", describe (i));
+            emitter.startUnit ();
             i.genLLVM (env, emitter, function);
+            span.end ();
+        }
+    }
+
+    /**
+     * Generate each child separately, after checkTypesEach(), in parallel if
+     * there is a worker pool. Children only share the root of the file, so
+     * each one is generated into its own Emitter, and these are merged in
+     * child order. Unnamed globals are not numbered until the file is output,
+     * so the result is identical to generating in one go.
+     *
+     * Methods which were found in the fragment cache are spliced in from it.
+     * The others are captured into it as they are generated. */
+    private void genLLVMEach (Env env, Emitter emitter) {
+        ForkJoinPool pool = env.getPool ();
+        FragmentCache fragments = env.getFragmentCache ();
+        List<GenTask> tasks = new ArrayList<GenTask> (children.size ());
+        for (int i = 0; i < children.size (); ++i) {
+            GenTask task = null;
+            if (fragmentHits[i] == null) {
+                task = new GenTask (children.get (i), env,
+                                    fragmentKeys[i] != null);
+                if (pool != null)
+                    pool.execute (task);
+            }
+            tasks.add (task);
+        }
+        for (int i = 0; i < children.size (); ++i) {
+            GenTask task = tasks.get (i);
+            emitter.startUnit ();
+            if (task == null) {
+                fragmentHits[i].getFragment ().splice (emitter);
+                continue;
+            }
+            if (pool != null)
+                task.join ();
+            else
+                task.invoke ();
+            if (task.fragment == null) {
+                emitter.add (task.emitter);
+            } else {
+                task.fragment.splice (emitter);
+                fragments.put (fragmentKeys[i], new FragmentCache.Entry
+                               (task.fragment, fragmentMessages[i]));
+            }
+        }
+    }
+
+    /**
+     * Generate the code for one child into its own Emitter, and optionally
+     * capture it as a fragment. */
+    private static class GenTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        AST item;
+        Env env;
+        Emitter emitter;
+        boolean capture;
+        Fragment fragment;
+
+        GenTask (AST item, Env env, boolean capture) {
+            this.item = item;
+            this.env = env;
+            this.capture = capture;
+            emitter = new Emitter ();
+        }
+
+        protected void compute () {
+            Timing.Span span = Timing.span
+                (env.getTiming (), "genLLVM", describe (item));
+            item.genLLVM (env, emitter, null);
+            if (capture)
+                fragment = Fragment.capture (emitter);
+            span.end ();
         }
     }
 
@@ -5,6 +5,7 @@ import me.pavlina.alco.compiler.Env;
 import me.pavlina.alco.compiler.errors.*;
 import me.pavlina.alco.lex.TokenStream;
 import me.pavlina.alco.lex.Token;
+import me.pavlina.alco.lex.Symbols;
 import me.pavlina.alco.language.Resolver;
 import me.pavlina.alco.llvm.Emitter;
 import me.pavlina.alco.llvm.Function;
@@ -12,22 +13,28 @@ import me.pavlina.alco.parse.ExpressionParser;
 import me.pavlina.alco.parse.StatementParser;
 import java.io.PrintStream;
 import java.util.List;
-import java.util.ArrayList;
 
 /**
- * AST scope. This holds variables and parses code. */
+ * AST scope. This holds variables and parses code.
+ *
+ * The children, and whether code is generated for each, are kept in the
+ * NodeArena of the method. Until the scope has been parsed, they are on the
+ * arena's stack; after, they are a range of the arena. */
 public class Scope extends AST
 {
     Token token;
-    List<AST> children;
-    List<Boolean> gencode;
+    NodeArena arena;
+    int mark;           // Top of the arena's stack when the scope started
+    int start, count;   // Range of the children, or start = -1 until parsed
 
     /**
-     * Initialise the scope without parsing */
-    public Scope (Token token) {
+     * Initialise the scope without parsing. Items may be added, and then
+     * parse() must be called. */
+    public Scope (Token token, Method method) {
         this.token = token;
-        children = new ArrayList<AST> ();
-        gencode = new ArrayList<Boolean> ();
+        arena = (method == null) ? new NodeArena () : method.getArena ();
+        mark = arena.mark ();
+        start = -1;
     }
 
     /**
@@ -36,9 +43,7 @@ public class Scope extends AST
     public Scope (Env env, TokenStream stream, Method method)
         throws CError
     {
-        this.token = stream.peek ();
-        children = new ArrayList<AST> ();
-        gencode = new ArrayList<Boolean> ();
+        this (stream.peek (), method);
         parse (env, stream, method);
     }
 
@@ -46,24 +51,33 @@ public class Scope extends AST
      * Parse the scope */
     public void parse (Env env, TokenStream stream, Method method)
         throws CError
+    {
+        parseItems (env, stream, method);
+        count = arena.mark () - mark;
+        start = arena.seal (mark);
+    }
+
+    /**
+     * Parse the items of the scope, adding them */
+    private void parseItems (Env env, TokenStream stream, Method method)
+        throws CError
     {
         Token token = stream.peek ();
-        if (token.is (Token.OPER, "{")) {
+        if (token.is (Token.OPER, Symbols.LBRACE)) {
             // Block scope
             stream.next ();
             while (true) {
                 token = stream.next ();
-                if (token.is (Token.OPER, "}"))
+                if (token.is (Token.OPER, Symbols.RBRACE))
                     break;
                 else if (token.is (Token.NO_MORE))
                     throw UnexpectedEOF.after ("}", stream.last ());
                 stream.putback (token);
 
-                if (token.is (Token.OPER, "{")) {
+                if (token.is (Token.OPER, Symbols.LBRACE)) {
                     // Nested scope
                     Scope scope = new Scope (env, stream, method);
-                    children.add (scope);
-                    gencode.add (true);
+                    add (scope, true);
                     scope.setParent (this);
                     continue;
                 }
@@ -72,8 +86,7 @@ public class Scope extends AST
                 Statement statement = StatementParser.parse
                     (env, stream, method);
                 if (statement != null) {
-                    children.add (statement);
-                    gencode.add (true);
+                    add (statement, true);
                     statement.setParent (this);
                     continue;
                 }
@@ -85,10 +98,9 @@ public class Scope extends AST
                     token = stream.next ();
                     if (token.is (Token.NO_MORE))
                         throw UnexpectedEOF.after (";", stream.last ());
-                    else if (!token.is (Token.OPER, ";"))
+                    else if (!token.is (Token.OPER, Symbols.SEMICOLON))
                         throw Unexpected.after (";", stream.last ());
-                    children.add (expression);
-                    gencode.add (true);
+                    add (expression, true);
                     expression.setParent (this);
                     continue;
                 }
@@ -100,8 +112,7 @@ public class Scope extends AST
             // Try a statement
             Statement statement = StatementParser.parse (env, stream, method);
             if (statement != null) {
-                children.add (statement);
-                gencode.add (true);
+                add (statement, true);
                 statement.setParent (this);
                 return;
             }
@@ -113,10 +124,9 @@ public class Scope extends AST
                 token = stream.next ();
                 if (token.is (Token.NO_MORE))
                     throw UnexpectedEOF.after (";", stream.last ());
-                else if (!token.is (Token.OPER, ";"))
+                else if (!token.is (Token.OPER, Symbols.SEMICOLON))
                     throw Unexpected.after (";", stream.last ());
-                children.add (expression);
-                gencode.add (true);
+                add (expression, true);
                 expression.setParent (this);
                 return;
             }
@@ -131,8 +141,12 @@ public class Scope extends AST
      * @param item Item to add
      * @param gencode Whether code should be generated for this item */
     public void add (AST item, boolean gencode) {
-        children.add (item);
-        this.gencode.add (gencode);
+        if (start < 0) {
+            arena.push (item, gencode);
+        } else {
+            start = arena.append (start, count, item, gencode);
+            ++count;
+        }
     }
 
     public Token getToken ()
@@ -142,32 +156,31 @@ public class Scope extends AST
 
     public List<AST> getChildren ()
     {
-        return children;
+        assert start >= 0 : "scope not parsed";
+        return arena.view (start, count);
     }
 
     public void checkTypes (Env env, Resolver resolver) throws CError
     {
         // Because this is a scope, we need to create a new Resolver to descend.
         Resolver newResolver = new Resolver (resolver);
-        for (AST i: children)
-            i.checkTypes (env, newResolver);
+        for (int i = start; i < start + count; ++i)
+            arena.get (i).checkTypes (env, newResolver);
     }
 
     public void genLLVM (Env env, Emitter emitter, Function function) {
-        for (int i = 0; i < children.size (); ++i) {
-            if (gencode.get (i).booleanValue ())
-                children.get (i).genLLVM (env, emitter, function);
+        for (int i = start; i < start + count; ++i) {
+            if (arena.getFlag (i))
+                arena.get (i).genLLVM (env, emitter, function);
         }
     }
 
     public void print (PrintStream out)
     {
         out.print ("(");
-        boolean first = true;
-        for (AST i: children) {
-            if (first) first = false;
-            else out.print (" ");
-            i.print (out, 2);
+        for (int i = start; i < start + count; ++i) {
+            if (i != start) out.print (" ");
+            arena.get (i).print (out, 2);
             out.println ();
         }
         out.print ("   )");
@@ -5,6 +5,7 @@ import me.pavlina.alco.compiler.Env;
 import me.pavlina.alco.compiler.errors.*;
 import me.pavlina.alco.lex.TokenStream;
 import me.pavlina.alco.lex.Token;
+import me.pavlina.alco.lex.Symbols;
 import me.pavlina.alco.language.Keywords;
 import me.pavlina.alco.language.Type;
 import me.pavlina.alco.language.HasType;
@@ -28,10 +29,10 @@ public class StBreak extends Statement
 
     public StBreak (Env env, TokenStream stream, Method method) throws CError {
         token = stream.next ();
-        assert token.is (Token.WORD, "break");
+        assert token.is (Token.WORD, Symbols.BREAK);
 
         Token temp = stream.next ();
-        if (temp.is (Token.OPER, ";")) {
+        if (temp.is (Token.OPER, Symbols.SEMICOLON)) {
             n = 1;
             return;
         } else if (temp.is (Token.INT)) {
@@ -42,7 +43,7 @@ public class StBreak extends Statement
             }
             tNum = temp;
             temp = stream.next ();
-            if (!temp.is (Token.OPER, ";"))
+            if (!temp.is (Token.OPER, Symbols.SEMICOLON))
                 throw Unexpected.after (";", tNum);
         } else {
             throw Unexpected.after ("; or number", token);
@@ -88,15 +89,4 @@ public class StBreak extends Statement
     public void print (java.io.PrintStream out) {
         out.print ("(break)");
     }
-
-    public static final Statement.StatementCreator CREATOR;
-    static {
-        CREATOR = new Statement.StatementCreator () {
-                public Statement create (Env env, TokenStream stream,
-                                         Method method) throws CError
-                {
-                    return new StBreak (env, stream, method);
-                }
-            };
-    }
 }
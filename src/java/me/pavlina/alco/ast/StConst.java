@@ -5,6 +5,7 @@ import me.pavlina.alco.compiler.Env;
 import me.pavlina.alco.compiler.errors.*;
 import me.pavlina.alco.lex.TokenStream;
 import me.pavlina.alco.lex.Token;
+import me.pavlina.alco.lex.Symbols;
 import me.pavlina.alco.language.Keywords;
 import me.pavlina.alco.language.Type;
 import me.pavlina.alco.language.HasType;
@@ -25,6 +26,7 @@ public class StConst extends Statement
 {
     private Token token;
     private List<String> names;
+    private List<Integer> syms;
     private List<String> realNames;
     private List<Type> types;
     private List<Expression> expressions;
@@ -33,15 +35,17 @@ public class StConst extends Statement
         Token token;
 
         this.token = stream.next ();
-        assert this.token.is (Token.WORD, "const");
+        assert this.token.is (Token.WORD, Symbols.CONST);
 
         names = new ArrayList<String> ();
+        syms = new ArrayList<Integer> ();
         realNames = new ArrayList<String> ();
         types = new ArrayList<Type> ();
         expressions = new ArrayList<Expression> ();
 
         while (true) {
             String name;
+            int sym;
             Type type;
             Expression value;
 
@@ -50,17 +54,18 @@ public class StConst extends Statement
             if (token.is (Token.NO_MORE))
                 throw UnexpectedEOF.after ("name", stream.last ());
             else if (!token.is (Token.WORD) ||
-                Keywords.isKeyword (token.value, true))
+                Keywords.isKeyword (token.sym, true))
                 throw Unexpected.at ("name", token);
             else if (token.value.startsWith ("@"))
                 throw Unexpected.at ("name", token);
             name = token.value;
+            sym = token.sym;
 
             // Type and colon
             token = stream.next ();
             if (token.is (Token.NO_MORE))
                 throw UnexpectedEOF.after ("= or type", stream.last ());
-            else if (token.is (Token.OPER, "="))
+            else if (token.is (Token.OPER, Symbols.EQUALS))
                 type = null;
             else {
                 stream.putback (token);
@@ -68,7 +73,7 @@ public class StConst extends Statement
                 token = stream.next ();
                 if (token.is (Token.NO_MORE))
                     throw UnexpectedEOF.after ("=", stream.last ());
-                else if (!token.is (Token.OPER, "="))
+                else if (!token.is (Token.OPER, Symbols.EQUALS))
                     throw Unexpected.after ("=", stream.last ());
             }
 
@@ -78,15 +83,16 @@ public class StConst extends Statement
                 throw Unexpected.after ("expression", token);
 
             names.add (name);
+            syms.add (sym);
             realNames.add (null);
             types.add (type);
             expressions.add (value);
             value.setParent (this);
 
             token = stream.next ();
-            if (token.is (Token.OPER, ";"))
+            if (token.is (Token.OPER, Symbols.SEMICOLON))
                 break;
-            else if (!token.is (Token.OPER, ","))
+            else if (!token.is (Token.OPER, Symbols.COMMA))
                 throw Unexpected.after (", or ;", stream.last ());
 
         }
@@ -96,6 +102,13 @@ public class StConst extends Statement
         return token;
     }
 
+    /**
+     * Return the number of globally available locals this declares (see
+     * Resolver.addGlobalLocal()). */
+    public int countGlobalLocals () {
+        return names.size ();
+    }
+
     @SuppressWarnings("unchecked") // :-( I'm sorry
     public List<AST> getChildren () {
         return (List) expressions;
@@ -116,7 +129,7 @@ public class StConst extends Statement
             }
             realNames.set
                 (i, resolver.addGlobalLocal
-                 (names.get (i), types.get (i), token).getName ());
+                 (syms.get (i), types.get (i), token).getName ());
         }
             
     }
@@ -157,7 +170,7 @@ public class StConst extends Statement
                                  "internal"));
             
                 String initialisedVar =
-                    "@.INITIALISED." + realNames.get (i).substring (1);
+                    "@.INITIALISED" + realNames.get (i).substring (1);
 
                 emitter.add
                     (new Global (initialisedVar,
@@ -218,16 +231,4 @@ public class StConst extends Statement
         }
         out.print (" )");
     }
-
-    public static final Statement.StatementCreator CREATOR;
-    static {
-        CREATOR = new Statement.StatementCreator () {
-                public Statement create (Env env, TokenStream stream,
-                                         Method method)
-                    throws CError
-                {
-                    return new StConst (env, stream, method);
-                }
-            };
-    }
 }
@@ -5,6 +5,7 @@ import me.pavlina.alco.compiler.Env;
 import me.pavlina.alco.compiler.errors.*;
 import me.pavlina.alco.lex.TokenStream;
 import me.pavlina.alco.lex.Token;
+import me.pavlina.alco.lex.Symbols;
 import me.pavlina.alco.language.Keywords;
 import me.pavlina.alco.language.Type;
 import me.pavlina.alco.language.HasType;
@@ -29,10 +30,10 @@ public class StContinue extends Statement
     public StContinue (Env env, TokenStream stream, Method method) throws CError
     {
         token = stream.next ();
-        assert token.is (Token.WORD, "continue");
+        assert token.is (Token.WORD, Symbols.CONTINUE);
 
         Token temp = stream.next ();
-        if (temp.is (Token.OPER, ";")) {
+        if (temp.is (Token.OPER, Symbols.SEMICOLON)) {
             n = 1;
             return;
         } else if (temp.is (Token.INT)) {
@@ -43,7 +44,7 @@ public class StContinue extends Statement
             }
             tNum = temp;
             temp = stream.next ();
-            if (!temp.is (Token.OPER, ";"))
+            if (!temp.is (Token.OPER, Symbols.SEMICOLON))
                 throw Unexpected.after (";", tNum);
         } else {
             throw Unexpected.after ("; or number", token);
@@ -89,15 +90,4 @@ public class StContinue extends Statement
     public void print (java.io.PrintStream out) {
         out.print ("(continue)");
     }
-
-    public static final Statement.StatementCreator CREATOR;
-    static {
-        CREATOR = new Statement.StatementCreator () {
-                public Statement create (Env env, TokenStream stream,
-                                         Method method) throws CError
-                {
-                    return new StContinue (env, stream, method);
-                }
-            };
-    }
 }
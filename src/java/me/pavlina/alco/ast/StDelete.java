@@ -5,6 +5,7 @@ import me.pavlina.alco.compiler.Env;
 import me.pavlina.alco.compiler.errors.*;
 import me.pavlina.alco.lex.TokenStream;
 import me.pavlina.alco.lex.Token;
+import me.pavlina.alco.lex.Symbols;
 import me.pavlina.alco.language.Keywords;
 import me.pavlina.alco.language.Type;
 import static me.pavlina.alco.language.Type.Encoding;
@@ -28,7 +29,7 @@ public class StDelete extends Statement
 
     public StDelete (Env env, TokenStream stream, Method method) throws CError {
         token = stream.next ();
-        assert token.is (Token.WORD, "delete");
+        assert token.is (Token.WORD, Symbols.DELETE);
 
         values = new ArrayList<Expression> ();
 
@@ -40,9 +41,9 @@ public class StDelete extends Statement
             Token temp = stream.next ();
             if (temp.is (Token.NO_MORE))
                 throw UnexpectedEOF.after ("; or ,", stream.last ());
-            else if (temp.is (Token.OPER, ";"))
+            else if (temp.is (Token.OPER, Symbols.SEMICOLON))
                 break;
-            else if (!temp.is (Token.OPER, ","))
+            else if (!temp.is (Token.OPER, Symbols.COMMA))
                 throw UnexpectedEOF.after ("; or ,", stream.last ());
         }
     }
@@ -90,16 +91,4 @@ public class StDelete extends Statement
         }
         out.print (")");
     }
-
-    public static final Statement.StatementCreator CREATOR;
-    static {
-        CREATOR = new Statement.StatementCreator () {
-                public Statement create (Env env, TokenStream stream,
-                                         Method method)
-                    throws CError
-                {
-                    return new StDelete (env, stream, method);
-                }
-            };
-    }
 }
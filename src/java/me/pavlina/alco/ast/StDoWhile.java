@@ -5,6 +5,7 @@ import me.pavlina.alco.compiler.Env;
 import me.pavlina.alco.compiler.errors.*;
 import me.pavlina.alco.lex.TokenStream;
 import me.pavlina.alco.lex.Token;
+import me.pavlina.alco.lex.Symbols;
 import me.pavlina.alco.language.Keywords;
 import me.pavlina.alco.language.Type;
 import me.pavlina.alco.language.HasType;
@@ -29,7 +30,7 @@ public class StDoWhile extends Loop
     public StDoWhile (Env env, TokenStream stream, Method method) throws CError
     {
         token = stream.next ();
-        assert token.is (Token.WORD, "do");
+        assert token.is (Token.WORD, Symbols.DO);
         
         values = new AST[2];
         
@@ -43,12 +44,12 @@ public class StDoWhile extends Loop
         Token temp = stream.next ();
         if (temp.is (Token.NO_MORE))
             throw UnexpectedEOF.after ("while", stream.last ());
-        else if (!temp.is (Token.WORD, "while"))
+        else if (!temp.is (Token.WORD, Symbols.WHILE))
             throw Unexpected.after ("while", stream.last ());
         temp = stream.next ();
         if (temp.is (Token.NO_MORE))
             throw UnexpectedEOF.after ("(", stream.last ());
-        else if (!temp.is (Token.OPER, "("))
+        else if (!temp.is (Token.OPER, Symbols.LPAREN))
             throw Unexpected.after ("(", stream.last ());
         values[0] = (AST) ExpressionParser.parse (env, stream, method, ")");
         if (values[0] == null)
@@ -57,13 +58,13 @@ public class StDoWhile extends Loop
         temp = stream.next ();
         if (temp.is (Token.NO_MORE))
             throw UnexpectedEOF.after (")", stream.last ());
-        else if (!temp.is (Token.OPER, ")"))
+        else if (!temp.is (Token.OPER, Symbols.RPAREN))
             throw Unexpected.after (")", stream.last ());
 
         temp = stream.next ();
         if (temp.is (Token.NO_MORE))
             throw UnexpectedEOF.after (";", stream.last ());
-        else if (!temp.is (Token.OPER, ";"))
+        else if (!temp.is (Token.OPER, Symbols.SEMICOLON))
             throw Unexpected.after (";", stream.last ());
     }
 
@@ -135,15 +136,4 @@ public class StDoWhile extends Loop
         values[1].print (out);
         out.println (")");
     }
-
-    public static final Statement.StatementCreator CREATOR;
-    static {
-        CREATOR = new Statement.StatementCreator () {
-                public Statement create (Env env, TokenStream stream,
-                                         Method method) throws CError
-                {
-                    return new StDoWhile (env, stream, method);
-                }
-            };
-    }
 }
@@ -5,6 +5,7 @@ import me.pavlina.alco.compiler.Env;
 import me.pavlina.alco.compiler.errors.*;
 import me.pavlina.alco.lex.TokenStream;
 import me.pavlina.alco.lex.Token;
+import me.pavlina.alco.lex.Symbols;
 import me.pavlina.alco.language.Keywords;
 import me.pavlina.alco.language.Type;
 import me.pavlina.alco.language.HasType;
@@ -30,24 +31,24 @@ public class StFor extends Loop
     public StFor (Env env, TokenStream stream, Method method) throws CError
     {
         token = stream.next ();
-        assert token.is (Token.WORD, "for");
+        assert token.is (Token.WORD, Symbols.FOR);
         
         values = new AST[4];
         
         Token temp = stream.next ();
         if (temp.is (Token.NO_MORE))
             throw UnexpectedEOF.after ("(", stream.last ());
-        else if (!temp.is (Token.OPER, "("))
+        else if (!temp.is (Token.OPER, Symbols.LPAREN))
             throw Unexpected.after ("(", stream.last ());
         
-        Scope scope = new Scope (token);
+        Scope scope = new Scope (token, method);
         values[3] = scope;
         scope.setParent (this);
 
         temp = stream.peek ();
         if (temp.is (Token.NO_MORE))
             throw UnexpectedEOF.after ("expression or let", stream.last ());
-        else if (temp.is (Token.WORD, "let")) {
+        else if (temp.is (Token.WORD, Symbols.LET)) {
             values[0] = new StLet (env, stream, method);
         } else {
             // Allow null
@@ -55,7 +56,7 @@ public class StFor extends Loop
             temp = stream.next ();
             if (temp.is (Token.NO_MORE))
                 throw UnexpectedEOF.after (";", stream.last ());
-            else if (!temp.is (Token.OPER, ";"))
+            else if (!temp.is (Token.OPER, Symbols.SEMICOLON))
                 throw Unexpected.after (";", stream.last ());
         }
         if (values[0] != null) {
@@ -68,7 +69,7 @@ public class StFor extends Loop
         temp = stream.next ();
         if (temp.is (Token.NO_MORE))
             throw UnexpectedEOF.after (";", stream.last ());
-        else if (!temp.is (Token.OPER, ";"))
+        else if (!temp.is (Token.OPER, Symbols.SEMICOLON))
             throw Unexpected.after (";", stream.last ());
         if (values[1] != null) {
             scope.add (values[1], false);
@@ -79,7 +80,7 @@ public class StFor extends Loop
         temp = stream.next ();
         if (temp.is (Token.NO_MORE))
             throw UnexpectedEOF.after (")", stream.last ());
-        else if (!temp.is (Token.OPER, ")"))
+        else if (!temp.is (Token.OPER, Symbols.RPAREN))
             throw UnexpectedEOF.after (")", stream.last ());
         if (values[2] != null) {
             scope.add (values[2], false);
@@ -177,15 +178,4 @@ public class StFor extends Loop
         }
         out.println (")");
     }
-
-    public static final Statement.StatementCreator CREATOR;
-    static {
-        CREATOR = new Statement.StatementCreator () {
-                public Statement create (Env env, TokenStream stream,
-                                         Method method) throws CError
-                {
-                    return new StFor (env, stream, method);
-                }
-            };
-    }
 }
@@ -5,6 +5,7 @@ import me.pavlina.alco.compiler.Env;
 import me.pavlina.alco.compiler.errors.*;
 import me.pavlina.alco.lex.TokenStream;
 import me.pavlina.alco.lex.Token;
+import me.pavlina.alco.lex.Symbols;
 import me.pavlina.alco.language.Keywords;
 import me.pavlina.alco.language.Type;
 import me.pavlina.alco.language.HasType;
@@ -28,7 +29,7 @@ public class StIf extends Statement
 
     public StIf (Env env, TokenStream stream, Method method) throws CError {
         token = stream.next ();
-        assert token.is (Token.WORD, "if");
+        assert token.is (Token.WORD, Symbols.IF);
 
         values = new AST[3];
 
@@ -36,7 +37,7 @@ public class StIf extends Statement
         Token temp = stream.next ();
         if (temp.is (Token.NO_MORE))
             throw UnexpectedEOF.after ("(", stream.last ());
-        else if (!temp.is (Token.OPER, "("))
+        else if (!temp.is (Token.OPER, Symbols.LPAREN))
             throw Unexpected.after ("(", stream.last ());
         values[0] = (AST) ExpressionParser.parse (env, stream, method, ")");
         if (values[0] == null)
@@ -45,7 +46,7 @@ public class StIf extends Statement
         temp = stream.next ();
         if (temp.is (Token.NO_MORE))
             throw UnexpectedEOF.after (")", stream.last ());
-        else if (!temp.is (Token.OPER, ")"))
+        else if (!temp.is (Token.OPER, Symbols.RPAREN))
             throw Unexpected.after (")", stream.last ());
 
         // Body
@@ -57,7 +58,7 @@ public class StIf extends Statement
 
         // Else?
         temp = stream.peek ();
-        if (!temp.is (Token.WORD, "else")) {
+        if (!temp.is (Token.WORD, Symbols.ELSE)) {
             values[2] = null;
             return;
         }
@@ -139,15 +140,4 @@ public class StIf extends Statement
         }
         out.println (")");
     }
-
-    public static final Statement.StatementCreator CREATOR;
-    static {
-        CREATOR = new Statement.StatementCreator () {
-                public Statement create (Env env, TokenStream stream,
-                                         Method method) throws CError
-                {
-                    return new StIf (env, stream, method);
-                }
-            };
-    }
 }
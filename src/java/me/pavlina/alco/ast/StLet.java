@@ -5,6 +5,7 @@ import me.pavlina.alco.compiler.Env;
 import me.pavlina.alco.compiler.errors.*;
 import me.pavlina.alco.lex.TokenStream;
 import me.pavlina.alco.lex.Token;
+import me.pavlina.alco.lex.Symbols;
 import me.pavlina.alco.language.Keywords;
 import me.pavlina.alco.language.Type;
 import me.pavlina.alco.language.HasType;
@@ -14,7 +15,7 @@ import me.pavlina.alco.parse.TypeParser;
 import me.pavlina.alco.llvm.*;
 import me.pavlina.alco.codegen.Cast;
 import java.util.List;
-import java.util.ArrayList;
+import java.util.Arrays;
 
 /**
  * Variable assignment. Syntax:
@@ -24,34 +25,37 @@ import java.util.ArrayList;
 public class StLet extends Statement
 {
     Token token;
-    List<String> names;
-    List<String> realNames;
-    List<Type> types;
-    List<Expression> expressions;
+    // One entry per variable. Nearly every let has just one, so these are
+    // arrays of exactly that size rather than lists.
+    String[] names;
+    int[] syms;
+    String[] realNames;
+    Type[] types;
+    Expression[] expressions;
     Method method;
     boolean _volatile;
-    List<Cast> casts;
+    Cast[] casts;
 
     public StLet (Env env, TokenStream stream, Method method) throws CError {
         Token token;
 
         this.token = stream.next ();
-        assert this.token.is (Token.WORD, "let");
+        assert this.token.is (Token.WORD, Symbols.LET);
 
-        if (stream.peek ().is (Token.WORD, "volatile")) {
+        if (stream.peek ().is (Token.WORD, Symbols.VOLATILE)) {
             stream.next ();
             _volatile = true;
         }
 
         this.method = method;
-        names = new ArrayList<String> ();
-        realNames = new ArrayList<String> ();
-        types = new ArrayList<Type> ();
-        expressions = new ArrayList<Expression> ();
-        casts = new ArrayList<Cast> ();
+        names = new String[0];
+        syms = new int[0];
+        types = new Type[0];
+        expressions = new Expression[0];
 
         while (true) {
             String name;
+            int sym;
             Type type;
             Expression value;
 
@@ -60,17 +64,18 @@ public class StLet extends Statement
             if (token.is (Token.NO_MORE))
                 throw UnexpectedEOF.after ("name", stream.last ());
             else if (!token.is (Token.WORD) ||
-                Keywords.isKeyword (token.value, true))
+                Keywords.isKeyword (token.sym, true))
                 throw Unexpected.at ("name", token);
             else if (token.value.startsWith ("@"))
                 throw Unexpected.at ("name", token);
             name = token.value;
+            sym = token.sym;
 
             // Type and colon
             token = stream.next ();
             if (token.is (Token.NO_MORE))
                 throw UnexpectedEOF.after ("= or type", stream.last ());
-            else if (token.is (Token.OPER, "="))
+            else if (token.is (Token.OPER, Symbols.EQUALS))
                 type = null;
             else {
                 stream.putback (token);
@@ -78,7 +83,7 @@ public class StLet extends Statement
                 token = stream.next ();
                 if (token.is (Token.NO_MORE))
                     throw UnexpectedEOF.after ("=", stream.last ());
-                else if (!token.is (Token.OPER, "="))
+                else if (!token.is (Token.OPER, Symbols.EQUALS))
                     throw Unexpected.after ("=", stream.last ());
             }
 
@@ -87,19 +92,26 @@ public class StLet extends Statement
             if (value == null)
                 throw Unexpected.after ("expression", token);
 
-            names.add (name);
-            realNames.add (null);
-            types.add (type == null ? null : type.getNonLiteral ());
-            expressions.add (value);
+            int n = names.length;
+            names = Arrays.copyOf (names, n + 1);
+            syms = Arrays.copyOf (syms, n + 1);
+            types = Arrays.copyOf (types, n + 1);
+            expressions = Arrays.copyOf (expressions, n + 1);
+            names[n] = name;
+            syms[n] = sym;
+            types[n] = (type == null ? null : type.getNonLiteral ());
+            expressions[n] = value;
             value.setParent (this);
 
             token = stream.next ();
-            if (token.is (Token.OPER, ";"))
+            if (token.is (Token.OPER, Symbols.SEMICOLON))
                 break;
-            else if (!token.is (Token.OPER, ","))
+            else if (!token.is (Token.OPER, Symbols.COMMA))
                 throw Unexpected.after (", or ;", stream.last ());
 
         }
+        realNames = new String[names.length];
+        casts = new Cast[names.length];
     }
 
     public Token getToken () {
@@ -108,7 +120,7 @@ public class StLet extends Statement
 
     @SuppressWarnings("unchecked") // :-( I'm sorry
     public List<AST> getChildren () {
-        return (List) expressions;
+        return (List) Arrays.asList (expressions);
     }
 
     public void checkTypes (Env env, Resolver resolver) throws CError {
@@ -116,30 +128,29 @@ public class StLet extends Statement
             i.checkTypes (env, resolver);
         }
 
-        for (int i = 0; i < names.size (); ++i) {
-            if (types.get (i) == null) {
-                types.set (i, expressions.get (i).getType ());
+        for (int i = 0; i < names.length; ++i) {
+            if (types[i] == null) {
+                types[i] = expressions[i].getType ();
             }
             if (_volatile)
-                types.set (i, types.get (i).getVolatile ());
-            realNames.set
-                (i, resolver.addVariable
-                 (names.get (i), types.get (i), token).getName ());
-            casts.add (new Cast (token)
-                       .type (expressions.get (i).getType ())
-                       .dest (types.get (i)));
-            casts.get (i).checkTypes (env, resolver);
+                types[i] = types[i].getVolatile ();
+            realNames[i] = resolver.addVariable
+                (syms[i], types[i], token).getName ();
+            casts[i] = new Cast (token)
+                .type (expressions[i].getType ())
+                .dest (types[i]);
+            casts[i].checkTypes (env, resolver);
                        
-            method.addAlloca (LLVMType.getLLVMName (types.get (i)),
-                              realNames.get (i));
+            method.addAlloca (LLVMType.getLLVMName (types[i]),
+                              realNames[i]);
         }
             
     }
 
     public void genLLVM (Env env, Emitter emitter, Function function) {
-        for (int i = 0; i < names.size (); ++i) {
-            expressions.get (i).genLLVM (env, emitter, function);
-            Type.Encoding enc = types.get (i).getEncoding ();
+        for (int i = 0; i < names.length; ++i) {
+            expressions[i].genLLVM (env, emitter, function);
+            Type.Encoding enc = types[i].getEncoding ();
 
             // Simple assign
             if (enc == Type.Encoding.UINT ||
@@ -148,57 +159,45 @@ public class StLet extends Statement
                 enc == Type.Encoding.POINTER ||
                 enc == Type.Encoding.BOOL) {
                 
-                Instruction val = expressions.get (i).getInstruction ();
-                Cast c = casts.get (i).value (val);
+                Instruction val = expressions[i].getInstruction ();
+                Cast c = casts[i].value (val);
                 c.genLLVM (env, emitter, function);
                 function.add
                     (new STORE ()
-                     .pointer (realNames.get (i))
+                     .pointer (realNames[i])
                      .value (c.getInstruction ())
-                     ._volatile (_volatile || types.get (i).isVolatile ()));
+                     ._volatile (_volatile || types[i].isVolatile ()));
             }
 
             // Null assign
-            else if (NullValue.class.isInstance (expressions.get (i))) {
+            else if (NullValue.class.isInstance (expressions[i])) {
                 function.add
                     (new STORE ()
-                     .type ("i8*").value ("null").pointer (realNames.get (i))
-                     ._volatile (_volatile || types.get (i).isVolatile ()));
+                     .type ("i8*").value ("null").pointer (realNames[i])
+                     ._volatile (_volatile || types[i].isVolatile ()));
             }
 
             // Obj/arr assign
             else if (enc == Type.Encoding.ARRAY ||
                      enc == Type.Encoding.OBJECT) {
-                Instruction val = expressions.get (i).getInstruction ();
+                Instruction val = expressions[i].getInstruction ();
                 function.add
                     (new STORE ()
-                     .type ("i8*").value (val).pointer (realNames.get (i))
-                     ._volatile (_volatile || types.get (i).isVolatile ()));
+                     .type ("i8*").value (val).pointer (realNames[i])
+                     ._volatile (_volatile || types[i].isVolatile ()));
             }
         }
     }
 
     public void print (java.io.PrintStream out) {
         out.println ("(let");
-        for (int i = 0; i < names.size (); ++i) {
+        for (int i = 0; i < names.length; ++i) {
             out.print ("  (");
-            out.print (names.get (i));
+            out.print (names[i]);
             out.print (" ");
-            expressions.get (i).print (out);
+            expressions[i].print (out);
             out.println (")");
         }
         out.print (" )");
     }
-
-    public static final Statement.StatementCreator CREATOR;
-    static {
-        CREATOR = new Statement.StatementCreator () {
-                public Statement create (Env env, TokenStream stream,
-                                         Method method)
-                    throws CError
-                {
-                    return new StLet (env, stream, method);
-                }
-            };
-    }
 }
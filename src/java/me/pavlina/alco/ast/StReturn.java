@@ -5,6 +5,7 @@ import me.pavlina.alco.compiler.Env;
 import me.pavlina.alco.compiler.errors.*;
 import me.pavlina.alco.lex.TokenStream;
 import me.pavlina.alco.lex.Token;
+import me.pavlina.alco.lex.Symbols;
 import me.pavlina.alco.language.Keywords;
 import me.pavlina.alco.language.Type;
 import me.pavlina.alco.language.HasType;
@@ -31,7 +32,7 @@ public class StReturn extends Statement
     public StReturn (Env env, TokenStream stream, Method method) throws CError {
         this.method = method;
         token = stream.next ();
-        assert token.is (Token.WORD, "return");
+        assert token.is (Token.WORD, Symbols.RETURN);
 
         value = new Expression[]
             {ExpressionParser.parse (env, stream, method, ";")}; // Allow null
@@ -39,7 +40,7 @@ public class StReturn extends Statement
         Token temp = stream.next ();
         if (temp.is (Token.NO_MORE))
             throw UnexpectedEOF.after (";", stream.last ());
-        else if (!temp.is (Token.OPER, ";"))
+        else if (!temp.is (Token.OPER, Symbols.SEMICOLON))
             throw Unexpected.after (";", stream.last ());
     }
 
@@ -124,16 +125,4 @@ public class StReturn extends Statement
             out.print (")");
         }
     }
-
-    public static final Statement.StatementCreator CREATOR;
-    static {
-        CREATOR = new Statement.StatementCreator () {
-                public Statement create (Env env, TokenStream stream,
-                                         Method method)
-                    throws CError
-                {
-                    return new StReturn (env, stream, method);
-                }
-            };
-    }
 }
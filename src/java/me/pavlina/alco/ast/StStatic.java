@@ -5,6 +5,7 @@ import me.pavlina.alco.compiler.Env;
 import me.pavlina.alco.compiler.errors.*;
 import me.pavlina.alco.lex.TokenStream;
 import me.pavlina.alco.lex.Token;
+import me.pavlina.alco.lex.Symbols;
 import me.pavlina.alco.language.Keywords;
 import me.pavlina.alco.language.Type;
 import me.pavlina.alco.language.HasType;
@@ -26,6 +27,7 @@ public class StStatic extends Statement
 {
     Token token;
     List<String> names;
+    List<Integer> syms;
     List<String> realNames;
     List<Type> types;
     List<Expression> expressions;
@@ -36,13 +38,13 @@ public class StStatic extends Statement
         Token token;
 
         this.token = stream.next ();
-        assert this.token.is (Token.WORD, "static");
+        assert this.token.is (Token.WORD, Symbols.STATIC);
 
         while (true) {
-            if (stream.peek ().is (Token.WORD, "threadlocal")) {
+            if (stream.peek ().is (Token.WORD, Symbols.THREADLOCAL)) {
                 threadlocal = true;
                 stream.next ();
-            } else if (stream.peek ().is (Token.WORD, "volatile")) {
+            } else if (stream.peek ().is (Token.WORD, Symbols.VOLATILE)) {
                 _volatile = true;
                 stream.next ();
             } else
@@ -50,12 +52,14 @@ public class StStatic extends Statement
         }
 
         names = new ArrayList<String> ();
+        syms = new ArrayList<Integer> ();
         realNames = new ArrayList<String> ();
         types = new ArrayList<Type> ();
         expressions = new ArrayList<Expression> ();
 
         while (true) {
             String name;
+            int sym;
             Type type;
             Expression value;
 
@@ -64,17 +68,18 @@ public class StStatic extends Statement
             if (token.is (Token.NO_MORE))
                 throw UnexpectedEOF.after ("name", stream.last ());
             else if (!token.is (Token.WORD) ||
-                Keywords.isKeyword (token.value, true))
+                Keywords.isKeyword (token.sym, true))
                 throw Unexpected.at ("name", token);
             else if (token.value.startsWith ("@"))
                 throw Unexpected.at ("name", token);
             name = token.value;
+            sym = token.sym;
 
             // Type and colon
             token = stream.next ();
             if (token.is (Token.NO_MORE))
                 throw UnexpectedEOF.after ("= or type", stream.last ());
-            else if (token.is (Token.OPER, "="))
+            else if (token.is (Token.OPER, Symbols.EQUALS))
                 type = null;
             else {
                 stream.putback (token);
@@ -82,7 +87,7 @@ public class StStatic extends Statement
                 token = stream.next ();
                 if (token.is (Token.NO_MORE))
                     throw UnexpectedEOF.after ("=", stream.last ());
-                else if (!token.is (Token.OPER, "="))
+                else if (!token.is (Token.OPER, Symbols.EQUALS))
                     throw Unexpected.after ("=", stream.last ());
             }
 
@@ -92,15 +97,16 @@ public class StStatic extends Statement
                 throw Unexpected.after ("expression", token);
 
             names.add (name);
+            syms.add (sym);
             realNames.add (null);
             types.add (type == null ? null : type.getNonLiteral ());
             expressions.add (value);
             value.setParent (this);
 
             token = stream.next ();
-            if (token.is (Token.OPER, ";"))
+            if (token.is (Token.OPER, Symbols.SEMICOLON))
                 break;
-            else if (!token.is (Token.OPER, ","))
+            else if (!token.is (Token.OPER, Symbols.COMMA))
                 throw Unexpected.after (", or ;", stream.last ());
 
         }
@@ -110,6 +116,13 @@ public class StStatic extends Statement
         return token;
     }
 
+    /**
+     * Return the number of globally available locals this declares (see
+     * Resolver.addGlobalLocal()). */
+    public int countGlobalLocals () {
+        return names.size ();
+    }
+
     @SuppressWarnings("unchecked") // :-( I'm sorry
     public List<AST> getChildren () {
         return (List) expressions;
@@ -130,7 +143,7 @@ public class StStatic extends Statement
 
             realNames.set
                 (i, resolver.addGlobalLocal
-                 (names.get (i), types.get (i), token).getName ());
+                 (syms.get (i), types.get (i), token).getName ());
         }
 
         for (Expression i: expressions) {
@@ -241,16 +254,4 @@ public class StStatic extends Statement
         }
         out.print (" )");
     }
-
-    public static final Statement.StatementCreator CREATOR;
-    static {
-        CREATOR = new Statement.StatementCreator () {
-                public Statement create (Env env, TokenStream stream,
-                                         Method method)
-                    throws CError
-                {
-                    return new StStatic (env, stream, method);
-                }
-            };
-    }
 }
@@ -5,6 +5,7 @@ import me.pavlina.alco.compiler.Env;
 import me.pavlina.alco.compiler.errors.*;
 import me.pavlina.alco.lex.TokenStream;
 import me.pavlina.alco.lex.Token;
+import me.pavlina.alco.lex.Symbols;
 import me.pavlina.alco.language.Keywords;
 import me.pavlina.alco.language.Type;
 import me.pavlina.alco.language.HasType;
@@ -28,7 +29,7 @@ public class StWhile extends Loop
 
     public StWhile (Env env, TokenStream stream, Method method) throws CError {
         token = stream.next ();
-        assert token.is (Token.WORD, "while");
+        assert token.is (Token.WORD, Symbols.WHILE);
 
         values = new AST[2];
 
@@ -36,7 +37,7 @@ public class StWhile extends Loop
         Token temp = stream.next ();
         if (temp.is (Token.NO_MORE))
             throw UnexpectedEOF.after ("(", stream.last ());
-        else if (!temp.is (Token.OPER, "("))
+        else if (!temp.is (Token.OPER, Symbols.LPAREN))
             throw Unexpected.after ("(", stream.last ());
         values[0] = (AST) ExpressionParser.parse (env, stream, method, ")");
         if (values[0] == null)
@@ -45,7 +46,7 @@ public class StWhile extends Loop
         temp = stream.next ();
         if (temp.is (Token.NO_MORE))
             throw UnexpectedEOF.after (")", stream.last ());
-        else if (!temp.is (Token.OPER, ")"))
+        else if (!temp.is (Token.OPER, Symbols.RPAREN))
             throw Unexpected.after (")", stream.last ());
 
         // Body
@@ -126,15 +127,4 @@ public class StWhile extends Loop
         values[1].print (out);
         out.println (")");
     }
-
-    public static final Statement.StatementCreator CREATOR;
-    static {
-        CREATOR = new Statement.StatementCreator () {
-                public Statement create (Env env, TokenStream stream,
-                                         Method method) throws CError
-                {
-                    return new StWhile (env, stream, method);
-                }
-            };
-    }
 }
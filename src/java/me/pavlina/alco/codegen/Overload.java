@@ -8,6 +8,7 @@ import me.pavlina.alco.llvm.*;
 import me.pavlina.alco.language.Type;
 import me.pavlina.alco.language.Resolver;
 import me.pavlina.alco.lex.Token;
+import java.io.PrintStream;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -50,15 +51,16 @@ public class Overload {
             fun = resolver.getFunction (operator, Arrays.asList (children),
                                         token);
         } catch (CError e) {
-            System.err.println
+            PrintStream err = env.getErr ();
+            err.println
                 ("########################################################");
-            System.err.println
+            err.println
                 ("###     Cannot resolve operator as overload call     ###");
-            e.print (System.err);
-            System.err.println ();
-            System.err.println
+            e.print (err);
+            err.println ();
+            err.println
                 ("########################################################");
-            System.err.println
+            err.println
                 ("###         Cannot resolve standard operator         ###");
             return false;
         }
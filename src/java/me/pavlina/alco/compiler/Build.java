@@ -0,0 +1,354 @@
+// Copyright (c) 2011, Christopher Pavlina. All rights reserved.
+//
+// Build - build several packages from a manifest
+
+package me.pavlina.alco.compiler;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Build of several packages described by a manifest (-build). Each line of
+ * the manifest is a rule:
+ *
+ *   OUTPUT: ARGUMENTS...
+ *
+ * which is built by running the compiler with ARGUMENTS followed by
+ * "-o OUTPUT". Anything after a '#' is a comment. Paths are relative to the
+ * directory holding the manifest. For example:
+ *
+ *   # Packages first, then the program which uses them
+ *   lists.o: lists.al -c
+ *   maps.o:  maps.al -c
+ *   prog:    prog.al lists.o maps.o -O 2
+ *
+ * A rule depends on every rule whose output appears in its arguments. Rules
+ * are built as soon as everything they depend on is built, several at once,
+ * all in this JVM. The packages share one worker pool for their parallel
+ * stages, and the number of external tools running at once is limited. The
+ * messages from each package are printed together once it is finished.
+ */
+public class Build
+{
+
+    File                manifest;
+    PrintStream         out, err;
+    Map<String, String> environ;
+    FragmentCache       fragments;
+    File                cacheDir;
+    int                 cacheSize;
+    int                 threads, jobs;
+    Map<String, Rule>   rules;
+
+    /**
+     * Create a build.
+     * @param manifest Manifest file
+     * @param out Standard output stream
+     * @param err Standard error stream
+     * @param environ Environment variables
+     * @param threads Number of packages to compile at once. This is also the
+     * size of the shared worker pool.
+     * @param jobs Maximum number of external tools to run at once
+     */
+    public Build (File manifest, PrintStream out, PrintStream err,
+                  Map<String, String> environ, int threads, int jobs)
+    {
+        this.manifest = manifest;
+        this.out = out;
+        this.err = err;
+        this.environ = environ;
+        this.threads = threads;
+        this.jobs = jobs;
+        rules = new LinkedHashMap<String, Rule> ();
+    }
+
+    /**
+     * Use a cache of generated methods for all packages. */
+    public void setFragmentCache (FragmentCache fragments)
+    {
+        this.fragments = fragments;
+    }
+
+    /**
+     * Cache compiled files for all packages, as -cache-dir and -cache-size
+     * would. A rule may still give its own. */
+    public void setCache (File dir, int size)
+    {
+        cacheDir = dir;
+        cacheSize = size;
+    }
+
+    /**
+     * Read the manifest and build everything.
+     * @return nonzero on error
+     */
+    public int run ()
+    {
+        try {
+            this.read ();
+        } catch (IOException e) {
+            err.println ("Error: cannot read " + manifest.getPath () + ": "
+                         + e.getMessage ());
+            return 1;
+        }
+        if (rules.isEmpty ()) {
+            err.println ("Error: no rules in " + manifest.getPath ());
+            return 1;
+        }
+        if (this.link () != 0) return 1;
+
+        ForkJoinPool pool = new ForkJoinPool (threads);
+        ExecutorService executor = Executors.newFixedThreadPool (threads);
+        Semaphore tools = new Semaphore (jobs, true);
+        try {
+            return this.schedule (pool, executor, tools);
+        } finally {
+            executor.shutdown ();
+            pool.shutdown ();
+        }
+    }
+
+    /**
+     * Read the rules from the manifest. */
+    private void read () throws IOException
+    {
+        BufferedReader reader = new BufferedReader (new FileReader (manifest));
+        try {
+            String line;
+            int lineNum = 0;
+            while ((line = reader.readLine ()) != null) {
+                ++lineNum;
+                int idx = line.indexOf ('#');
+                if (idx != -1)
+                    line = line.substring (0, idx);
+                line = line.trim ();
+                if (line.length () == 0)
+                    continue;
+
+                idx = line.indexOf (':');
+                String output = (idx == -1) ? "" : line.substring (0, idx)
+                    .trim ();
+                if (output.length () == 0)
+                    throw new IOException ("line " + lineNum
+                                           + ": expected OUTPUT: ARGUMENTS");
+                String rest = line.substring (idx + 1).trim ();
+                String[] arguments = (rest.length () == 0) ? new String[0]
+                    : rest.split ("\\s+");
+                if (rules.containsKey (output))
+                    throw new IOException ("line " + lineNum + ": "
+                                           + output + " is built twice");
+                rules.put (output, new Rule (output, arguments));
+            }
+        } finally {
+            reader.close ();
+        }
+    }
+
+    /**
+     * Find the dependencies of each rule, and check that they do not go
+     * round in a circle.
+     * @return nonzero on error */
+    private int link ()
+    {
+        for (Rule i: rules.values ()) {
+            for (String j: i.arguments) {
+                Rule dep = rules.get (j);
+                if (dep != null && dep != i && !i.deps.contains (dep)) {
+                    i.deps.add (dep);
+                    dep.users.add (i);
+                }
+            }
+        }
+
+        // Take away rules with no dependencies left until there are none. If
+        // any are left over, they are in a cycle.
+        List<Rule> ready = new ArrayList<Rule> ();
+        for (Rule i: rules.values ()) {
+            i.waiting = i.deps.size ();
+            if (i.waiting == 0)
+                ready.add (i);
+        }
+        int done = 0;
+        while (!ready.isEmpty ()) {
+            Rule i = ready.remove (ready.size () - 1);
+            ++done;
+            for (Rule j: i.users) {
+                if (--j.waiting == 0)
+                    ready.add (j);
+            }
+        }
+        if (done != rules.size ()) {
+            err.print ("Error: circular dependency between");
+            for (Rule i: rules.values ()) {
+                if (i.waiting != 0)
+                    err.print (" " + i.output);
+            }
+            err.println ();
+            return 1;
+        }
+        return 0;
+    }
+
+    /**
+     * Build all rules, each as soon as its dependencies are built.
+     * @return nonzero on error */
+    private int schedule (ForkJoinPool pool, ExecutorService executor,
+                          Semaphore tools)
+    {
+        CompletionService<Rule> done =
+            new ExecutorCompletionService<Rule> (executor);
+        int running = 0, failed = 0, finished = 0;
+        for (Rule i: rules.values ()) {
+            i.waiting = i.deps.size ();
+            if (i.waiting == 0) {
+                done.submit (new Task (i, pool, tools));
+                ++running;
+            }
+        }
+
+        while (running != 0) {
+            Rule rule;
+            try {
+                rule = done.take ().get ();
+            } catch (InterruptedException e) {
+                err.println (e);
+                return 1;
+            } catch (ExecutionException e) {
+                // Compiler.run() only lets unchecked exceptions out
+                throw new RuntimeException (e.getCause ());
+            }
+            --running;
+            ++finished;
+
+            if (rule.rc == 0)
+                err.printf ("[%d/%d] %s\n", finished, rules.size (),
+                            rule.output);
+            else
+                err.printf ("[%d/%d] %s FAILED\n", finished, rules.size (),
+                            rule.output);
+            try {
+                rule.stdout.writeTo (out);
+                rule.stderr.writeTo (err);
+            } catch (IOException e) {
+                err.println (e);
+            }
+            out.flush ();
+            err.flush ();
+
+            if (rule.rc != 0) {
+                ++failed;
+                continue;
+            }
+            for (Rule i: rule.users) {
+                if (--i.waiting == 0) {
+                    done.submit (new Task (i, pool, tools));
+                    ++running;
+                }
+            }
+        }
+
+        if (finished != rules.size ()) {
+            err.print ("Not built because of errors:");
+            for (Rule i: rules.values ()) {
+                if (i.stdout == null)
+                    err.print (" " + i.output);
+            }
+            err.println ();
+        }
+        return (failed == 0 && finished == rules.size ()) ? 0 : 1;
+    }
+
+    /**
+     * One rule from the manifest. */
+    private static class Rule
+    {
+        String output;
+        String[] arguments;
+        List<Rule> deps, users;
+        int waiting, rc;
+        ByteArrayOutputStream stdout, stderr;
+
+        Rule (String output, String[] arguments)
+        {
+            this.output = output;
+            this.arguments = arguments;
+            deps = new ArrayList<Rule> ();
+            users = new ArrayList<Rule> ();
+        }
+    }
+
+    /**
+     * Task which compiles one rule, keeping its messages. */
+    private class Task implements Callable<Rule>
+    {
+        Rule rule;
+        ForkJoinPool pool;
+        Semaphore tools;
+
+        Task (Rule rule, ForkJoinPool pool, Semaphore tools)
+        {
+            this.rule = rule;
+            this.pool = pool;
+            this.tools = tools;
+        }
+
+        public Rule call ()
+        {
+            ByteArrayOutputStream stdout = new ByteArrayOutputStream ();
+            ByteArrayOutputStream stderr = new ByteArrayOutputStream ();
+            PrintStream cout = new PrintStream (stdout, true);
+            PrintStream cerr = new PrintStream (stderr, true);
+
+            // The cache options go first, so the rule can override them
+            List<String> argv = new ArrayList<String> ();
+            if (cacheDir != null) {
+                argv.add ("-cache-dir");
+                argv.add (cacheDir.getPath ());
+                argv.add ("-cache-size");
+                argv.add (Integer.toString (cacheSize));
+            }
+            argv.addAll (Arrays.asList (rule.arguments));
+            argv.add ("-o");
+            argv.add (rule.output);
+
+            Compiler compiler = new Compiler
+                (cout, cerr, manifest.getAbsoluteFile ().getParentFile (),
+                 environ);
+            compiler.setFragmentCache (fragments);
+            compiler.setPool (pool);
+            compiler.setToolSlots (tools, jobs);
+            try {
+                rule.rc = compiler.run
+                    (argv.toArray (new String[argv.size ()]));
+            } catch (RuntimeException e) {
+                e.printStackTrace (cerr);
+                rule.rc = 1;
+            } catch (AssertionError e) {
+                e.printStackTrace (cerr);
+                rule.rc = 1;
+            }
+            cout.flush ();
+            cerr.flush ();
+            rule.stdout = stdout;
+            rule.stderr = stderr;
+            return rule;
+        }
+    }
+}
@@ -114,6 +114,51 @@ public class CmdlineArgs
     @Parameter(names = "-free")
     public String       free           = "";
 
+    /** Use &lt;n&gt; threads for parallel stages (0: one per processor) */
+    @Parameter(names = "-threads", validateWith = ThreadsValidator.class)
+    public int          threads        = 0;
+
+    /**
+     * Split the generated code into &lt;n&gt; modules and compile them with
+     * that many llc processes at once (0: one per processor). Only used when
+     * producing an object file or linking. With -build, this is the most
+     * external tools to run at once, by default as many as -threads. */
+    @Parameter(names = "-j", validateWith = ThreadsValidator.class)
+    public int          jobs           = 1;
+
+    /**
+     * Pass intermediate files between the tools as temporary files, and keep
+     * them, instead of piping from one tool to the next. */
+    @Parameter(names = "-save-temps")
+    public boolean      save_temps     = false;
+
+    /**
+     * Cache compiled files in &lt;dir&gt;, and reuse them for identical
+     * compiles. The default is $ALCO_CACHE_DIR; without either, nothing is
+     * cached. */
+    @Parameter(names = "-cache-dir")
+    public String       cache_dir;
+
+    /** Limit the cache to &lt;n&gt; megabytes (0: default) */
+    @Parameter(names = "-cache-size", validateWith = ThreadsValidator.class)
+    public int          cache_size     = 0;
+
+    /** Print cache statistics and exit */
+    @Parameter(names = "-cache-stats")
+    public boolean      cache_stats    = false;
+
+    /** Print the time and memory used by each compile stage */
+    @Parameter(names = "-time-passes")
+    public boolean      time_passes    = false;
+
+    /** Print the retained heap, by class family, after each stage */
+    @Parameter(names = "-mem-report")
+    public boolean      mem_report     = false;
+
+    /** Write a trace of the compile to &lt;file&gt;, in Chrome's format */
+    @Parameter(names = "-trace")
+    public String       trace;
+
     /**
      * Run in debug mode. Currently, this means that the compiler will pause and
      * allow inspection of temporary files before processing them.
@@ -137,7 +182,27 @@ public class CmdlineArgs
     @Parameter(names = "-pre-ast")
     public boolean      pre_ast        = false;
 
+    /** List the declarations without parsing method bodies, and quit */
+    @Parameter(names = "-symbols")
+    public boolean      symbols        = false;
+
     /** Force compiling on an unsupported platform */
     @Parameter(names = "-force-platform")
     public boolean      force_platform = false;
+
+    /** Compile, then compile again whenever a source changes */
+    @Parameter(names = "-watch")
+    public boolean      watch          = false;
+
+    /** Build the packages described by the manifest &lt;file&gt; */
+    @Parameter(names = "-build")
+    public String       build;
+
+    /** Run as a compile server for the launcher */
+    @Parameter(names = "-server")
+    public boolean      server         = false;
+
+    /** Stop the running compile server */
+    @Parameter(names = "-stop-server")
+    public boolean      stop_server    = false;
 }
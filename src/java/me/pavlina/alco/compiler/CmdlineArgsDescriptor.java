@@ -0,0 +1,447 @@
+// Generated by com.beust.jcommander.DescriptorGenerator from CmdlineArgs.java.
+// Do not edit: change the annotations there instead.
+
+package me.pavlina.alco.compiler;
+
+import com.beust.jcommander.IParameterValidator;
+import com.beust.jcommander.IParametersDescriptor;
+import com.beust.jcommander.IStringConverter;
+import com.beust.jcommander.ParameterSpec;
+
+/**
+ * \@Parameter metadata of CmdlineArgs, so that JCommander does not
+ * need reflection to parse into it.
+ */
+public class CmdlineArgsDescriptor implements IParametersDescriptor
+{
+    private static final ParameterSpec[] PARAMETERS = {
+        new ParameterSpec ("sources", java.util.List.class, java.lang.String.class,
+                           new String[] {},
+                           "", "",
+                           -1, false, false, false),
+        new ParameterSpec ("help", boolean.class, null,
+                           new String[] { "-h", "-help" },
+                           "", "",
+                           -1, false, false, false),
+        new ParameterSpec ("version", boolean.class, null,
+                           new String[] { "-version" },
+                           "", "",
+                           -1, false, false, false),
+        new ParameterSpec ("output", java.lang.String.class, null,
+                           new String[] { "-o" },
+                           "", "",
+                           -1, false, false, false),
+        new ParameterSpec ("verbose", boolean.class, null,
+                           new String[] { "-v", "-verbose" },
+                           "", "",
+                           -1, false, false, false),
+        new ParameterSpec ("paths", java.util.List.class, java.lang.String.class,
+                           new String[] { "-path" },
+                           "", "",
+                           -1, false, false, false),
+        new ParameterSpec ("list_paths", boolean.class, null,
+                           new String[] { "-list-paths" },
+                           "", "",
+                           -1, false, false, false),
+        new ParameterSpec ("debug", boolean.class, null,
+                           new String[] { "-g" },
+                           "", "",
+                           -1, false, false, false),
+        new ParameterSpec ("optlevel", int.class, null,
+                           new String[] { "-O" },
+                           "", "",
+                           -1, false, false, false),
+        new ParameterSpec ("machine", int.class, null,
+                           new String[] { "-m" },
+                           "", "",
+                           -1, false, false, false),
+        new ParameterSpec ("fpic", boolean.class, null,
+                           new String[] { "-fPIC" },
+                           "", "",
+                           -1, false, false, false),
+        new ParameterSpec ("libs", java.util.List.class, java.lang.String.class,
+                           new String[] { "-l" },
+                           "", "",
+                           -1, false, false, false),
+        new ParameterSpec ("lib_dirs", java.util.List.class, java.lang.String.class,
+                           new String[] { "-L" },
+                           "", "",
+                           -1, false, false, false),
+        new ParameterSpec ("pkg_dirs", java.util.List.class, java.lang.String.class,
+                           new String[] { "-P" },
+                           "", "",
+                           -1, false, false, false),
+        new ParameterSpec ("llc_opts", java.util.List.class, java.lang.String.class,
+                           new String[] { "-llc" },
+                           "", "",
+                           -1, false, false, false),
+        new ParameterSpec ("as_opts", java.util.List.class, java.lang.String.class,
+                           new String[] { "-as" },
+                           "", "",
+                           -1, false, false, false),
+        new ParameterSpec ("ld_opts", java.util.List.class, java.lang.String.class,
+                           new String[] { "-ld" },
+                           "", "",
+                           -1, false, false, false),
+        new ParameterSpec ("emit_llvm", boolean.class, null,
+                           new String[] { "-emit-llvm" },
+                           "", "",
+                           -1, false, false, false),
+        new ParameterSpec ("assembly", boolean.class, null,
+                           new String[] { "-S" },
+                           "", "",
+                           -1, false, false, false),
+        new ParameterSpec ("objfile", boolean.class, null,
+                           new String[] { "-c" },
+                           "", "",
+                           -1, false, false, false),
+        new ParameterSpec ("nogc", boolean.class, null,
+                           new String[] { "-nogc" },
+                           "", "",
+                           -1, false, false, false),
+        new ParameterSpec ("nomemabort", boolean.class, null,
+                           new String[] { "-nomemabort" },
+                           "", "",
+                           -1, false, false, false),
+        new ParameterSpec ("noboundck", boolean.class, null,
+                           new String[] { "-noboundck" },
+                           "", "",
+                           -1, false, false, false),
+        new ParameterSpec ("sm", boolean.class, null,
+                           new String[] { "-sm" },
+                           "", "",
+                           -1, false, false, false),
+        new ParameterSpec ("malloc", java.lang.String.class, null,
+                           new String[] { "-malloc" },
+                           "", "",
+                           -1, false, false, false),
+        new ParameterSpec ("free", java.lang.String.class, null,
+                           new String[] { "-free" },
+                           "", "",
+                           -1, false, false, false),
+        new ParameterSpec ("threads", int.class, null,
+                           new String[] { "-threads" },
+                           "", "",
+                           -1, false, false, false),
+        new ParameterSpec ("jobs", int.class, null,
+                           new String[] { "-j" },
+                           "", "",
+                           -1, false, false, false),
+        new ParameterSpec ("save_temps", boolean.class, null,
+                           new String[] { "-save-temps" },
+                           "", "",
+                           -1, false, false, false),
+        new ParameterSpec ("cache_dir", java.lang.String.class, null,
+                           new String[] { "-cache-dir" },
+                           "", "",
+                           -1, false, false, false),
+        new ParameterSpec ("cache_size", int.class, null,
+                           new String[] { "-cache-size" },
+                           "", "",
+                           -1, false, false, false),
+        new ParameterSpec ("cache_stats", boolean.class, null,
+                           new String[] { "-cache-stats" },
+                           "", "",
+                           -1, false, false, false),
+        new ParameterSpec ("time_passes", boolean.class, null,
+                           new String[] { "-time-passes" },
+                           "", "",
+                           -1, false, false, false),
+        new ParameterSpec ("mem_report", boolean.class, null,
+                           new String[] { "-mem-report" },
+                           "", "",
+                           -1, false, false, false),
+        new ParameterSpec ("trace", java.lang.String.class, null,
+                           new String[] { "-trace" },
+                           "", "",
+                           -1, false, false, false),
+        new ParameterSpec ("debug_mode", boolean.class, null,
+                           new String[] { "-debug-mode" },
+                           "", "",
+                           -1, false, false, false),
+        new ParameterSpec ("error_trace", boolean.class, null,
+                           new String[] { "-error-trace" },
+                           "", "",
+                           -1, false, false, false),
+        new ParameterSpec ("tokens", boolean.class, null,
+                           new String[] { "-tokens" },
+                           "", "",
+                           -1, false, false, false),
+        new ParameterSpec ("ast", boolean.class, null,
+                           new String[] { "-ast" },
+                           "", "",
+                           -1, false, false, false),
+        new ParameterSpec ("pre_ast", boolean.class, null,
+                           new String[] { "-pre-ast" },
+                           "", "",
+                           -1, false, false, false),
+        new ParameterSpec ("symbols", boolean.class, null,
+                           new String[] { "-symbols" },
+                           "", "",
+                           -1, false, false, false),
+        new ParameterSpec ("force_platform", boolean.class, null,
+                           new String[] { "-force-platform" },
+                           "", "",
+                           -1, false, false, false),
+        new ParameterSpec ("watch", boolean.class, null,
+                           new String[] { "-watch" },
+                           "", "",
+                           -1, false, false, false),
+        new ParameterSpec ("build", java.lang.String.class, null,
+                           new String[] { "-build" },
+                           "", "",
+                           -1, false, false, false),
+        new ParameterSpec ("server", boolean.class, null,
+                           new String[] { "-server" },
+                           "", "",
+                           -1, false, false, false),
+        new ParameterSpec ("stop_server", boolean.class, null,
+                           new String[] { "-stop-server" },
+                           "", "",
+                           -1, false, false, false)
+    };
+
+    public Class<?> getDescribedClass ()
+    {
+        return CmdlineArgs.class;
+    }
+
+    public String getSeparators ()
+    {
+        return "=";
+    }
+
+    public String getOptionPrefixes ()
+    {
+        return "-";
+    }
+
+    public String getResourceBundle ()
+    {
+        return "";
+    }
+
+    public ParameterSpec[] getParameters ()
+    {
+        return PARAMETERS;
+    }
+
+    public Object get (Object object, int index)
+    {
+        CmdlineArgs o = (CmdlineArgs) object;
+        switch (index) {
+        case 0: return o.sources;
+        case 1: return o.help;
+        case 2: return o.version;
+        case 3: return o.output;
+        case 4: return o.verbose;
+        case 5: return o.paths;
+        case 6: return o.list_paths;
+        case 7: return o.debug;
+        case 8: return o.optlevel;
+        case 9: return o.machine;
+        case 10: return o.fpic;
+        case 11: return o.libs;
+        case 12: return o.lib_dirs;
+        case 13: return o.pkg_dirs;
+        case 14: return o.llc_opts;
+        case 15: return o.as_opts;
+        case 16: return o.ld_opts;
+        case 17: return o.emit_llvm;
+        case 18: return o.assembly;
+        case 19: return o.objfile;
+        case 20: return o.nogc;
+        case 21: return o.nomemabort;
+        case 22: return o.noboundck;
+        case 23: return o.sm;
+        case 24: return o.malloc;
+        case 25: return o.free;
+        case 26: return o.threads;
+        case 27: return o.jobs;
+        case 28: return o.save_temps;
+        case 29: return o.cache_dir;
+        case 30: return o.cache_size;
+        case 31: return o.cache_stats;
+        case 32: return o.time_passes;
+        case 33: return o.mem_report;
+        case 34: return o.trace;
+        case 35: return o.debug_mode;
+        case 36: return o.error_trace;
+        case 37: return o.tokens;
+        case 38: return o.ast;
+        case 39: return o.pre_ast;
+        case 40: return o.symbols;
+        case 41: return o.force_platform;
+        case 42: return o.watch;
+        case 43: return o.build;
+        case 44: return o.server;
+        case 45: return o.stop_server;
+        default:
+            throw new IndexOutOfBoundsException ("no parameter " + index);
+        }
+    }
+
+    @SuppressWarnings ("unchecked")
+    public void set (Object object, int index, Object value)
+    {
+        CmdlineArgs o = (CmdlineArgs) object;
+        switch (index) {
+        case 0: o.sources = (java.util.List<java.lang.String>) value; return;
+        case 1: o.help = (Boolean) value; return;
+        case 2: o.version = (Boolean) value; return;
+        case 3: o.output = (java.lang.String) value; return;
+        case 4: o.verbose = (Boolean) value; return;
+        case 5: o.paths = (java.util.List<java.lang.String>) value; return;
+        case 6: o.list_paths = (Boolean) value; return;
+        case 7: o.debug = (Boolean) value; return;
+        case 8: o.optlevel = (Integer) value; return;
+        case 9: o.machine = (Integer) value; return;
+        case 10: o.fpic = (Boolean) value; return;
+        case 11: o.libs = (java.util.List<java.lang.String>) value; return;
+        case 12: o.lib_dirs = (java.util.List<java.lang.String>) value; return;
+        case 13: o.pkg_dirs = (java.util.List<java.lang.String>) value; return;
+        case 14: o.llc_opts = (java.util.List<java.lang.String>) value; return;
+        case 15: o.as_opts = (java.util.List<java.lang.String>) value; return;
+        case 16: o.ld_opts = (java.util.List<java.lang.String>) value; return;
+        case 17: o.emit_llvm = (Boolean) value; return;
+        case 18: o.assembly = (Boolean) value; return;
+        case 19: o.objfile = (Boolean) value; return;
+        case 20: o.nogc = (Boolean) value; return;
+        case 21: o.nomemabort = (Boolean) value; return;
+        case 22: o.noboundck = (Boolean) value; return;
+        case 23: o.sm = (Boolean) value; return;
+        case 24: o.malloc = (java.lang.String) value; return;
+        case 25: o.free = (java.lang.String) value; return;
+        case 26: o.threads = (Integer) value; return;
+        case 27: o.jobs = (Integer) value; return;
+        case 28: o.save_temps = (Boolean) value; return;
+        case 29: o.cache_dir = (java.lang.String) value; return;
+        case 30: o.cache_size = (Integer) value; return;
+        case 31: o.cache_stats = (Boolean) value; return;
+        case 32: o.time_passes = (Boolean) value; return;
+        case 33: o.mem_report = (Boolean) value; return;
+        case 34: o.trace = (java.lang.String) value; return;
+        case 35: o.debug_mode = (Boolean) value; return;
+        case 36: o.error_trace = (Boolean) value; return;
+        case 37: o.tokens = (Boolean) value; return;
+        case 38: o.ast = (Boolean) value; return;
+        case 39: o.pre_ast = (Boolean) value; return;
+        case 40: o.symbols = (Boolean) value; return;
+        case 41: o.force_platform = (Boolean) value; return;
+        case 42: o.watch = (Boolean) value; return;
+        case 43: o.build = (java.lang.String) value; return;
+        case 44: o.server = (Boolean) value; return;
+        case 45: o.stop_server = (Boolean) value; return;
+        default:
+            throw new IndexOutOfBoundsException ("no parameter " + index);
+        }
+    }
+
+    public IParameterValidator newValidator (int index)
+    {
+        switch (index) {
+        case 0: return null;
+        case 1: return null;
+        case 2: return null;
+        case 3: return null;
+        case 4: return null;
+        case 5: return null;
+        case 6: return null;
+        case 7: return null;
+        case 8: return new me.pavlina.alco.compiler.OptimisationValidator ();
+        case 9: return new me.pavlina.alco.compiler.MachineValidator ();
+        case 10: return null;
+        case 11: return null;
+        case 12: return null;
+        case 13: return null;
+        case 14: return null;
+        case 15: return null;
+        case 16: return null;
+        case 17: return null;
+        case 18: return null;
+        case 19: return null;
+        case 20: return null;
+        case 21: return null;
+        case 22: return null;
+        case 23: return null;
+        case 24: return null;
+        case 25: return null;
+        case 26: return new me.pavlina.alco.compiler.ThreadsValidator ();
+        case 27: return new me.pavlina.alco.compiler.ThreadsValidator ();
+        case 28: return null;
+        case 29: return null;
+        case 30: return new me.pavlina.alco.compiler.ThreadsValidator ();
+        case 31: return null;
+        case 32: return null;
+        case 33: return null;
+        case 34: return null;
+        case 35: return null;
+        case 36: return null;
+        case 37: return null;
+        case 38: return null;
+        case 39: return null;
+        case 40: return null;
+        case 41: return null;
+        case 42: return null;
+        case 43: return null;
+        case 44: return null;
+        case 45: return null;
+        default:
+            throw new IndexOutOfBoundsException ("no parameter " + index);
+        }
+    }
+
+    public IStringConverter<?> newConverter (int index, String optionName)
+    {
+        switch (index) {
+        case 0: return new com.beust.jcommander.converters.StringConverter ();
+        case 1: return new com.beust.jcommander.converters.BooleanConverter (optionName);
+        case 2: return new com.beust.jcommander.converters.BooleanConverter (optionName);
+        case 3: return new com.beust.jcommander.converters.StringConverter ();
+        case 4: return new com.beust.jcommander.converters.BooleanConverter (optionName);
+        case 5: return new com.beust.jcommander.converters.StringConverter ();
+        case 6: return new com.beust.jcommander.converters.BooleanConverter (optionName);
+        case 7: return new com.beust.jcommander.converters.BooleanConverter (optionName);
+        case 8: return new com.beust.jcommander.converters.IntegerConverter (optionName);
+        case 9: return new com.beust.jcommander.converters.IntegerConverter (optionName);
+        case 10: return new com.beust.jcommander.converters.BooleanConverter (optionName);
+        case 11: return new com.beust.jcommander.converters.StringConverter ();
+        case 12: return new com.beust.jcommander.converters.StringConverter ();
+        case 13: return new com.beust.jcommander.converters.StringConverter ();
+        case 14: return new com.beust.jcommander.converters.StringConverter ();
+        case 15: return new com.beust.jcommander.converters.StringConverter ();
+        case 16: return new com.beust.jcommander.converters.StringConverter ();
+        case 17: return new com.beust.jcommander.converters.BooleanConverter (optionName);
+        case 18: return new com.beust.jcommander.converters.BooleanConverter (optionName);
+        case 19: return new com.beust.jcommander.converters.BooleanConverter (optionName);
+        case 20: return new com.beust.jcommander.converters.BooleanConverter (optionName);
+        case 21: return new com.beust.jcommander.converters.BooleanConverter (optionName);
+        case 22: return new com.beust.jcommander.converters.BooleanConverter (optionName);
+        case 23: return new com.beust.jcommander.converters.BooleanConverter (optionName);
+        case 24: return new com.beust.jcommander.converters.StringConverter ();
+        case 25: return new com.beust.jcommander.converters.StringConverter ();
+        case 26: return new com.beust.jcommander.converters.IntegerConverter (optionName);
+        case 27: return new com.beust.jcommander.converters.IntegerConverter (optionName);
+        case 28: return new com.beust.jcommander.converters.BooleanConverter (optionName);
+        case 29: return new com.beust.jcommander.converters.StringConverter ();
+        case 30: return new com.beust.jcommander.converters.IntegerConverter (optionName);
+        case 31: return new com.beust.jcommander.converters.BooleanConverter (optionName);
+        case 32: return new com.beust.jcommander.converters.BooleanConverter (optionName);
+        case 33: return new com.beust.jcommander.converters.BooleanConverter (optionName);
+        case 34: return new com.beust.jcommander.converters.StringConverter ();
+        case 35: return new com.beust.jcommander.converters.BooleanConverter (optionName);
+        case 36: return new com.beust.jcommander.converters.BooleanConverter (optionName);
+        case 37: return new com.beust.jcommander.converters.BooleanConverter (optionName);
+        case 38: return new com.beust.jcommander.converters.BooleanConverter (optionName);
+        case 39: return new com.beust.jcommander.converters.BooleanConverter (optionName);
+        case 40: return new com.beust.jcommander.converters.BooleanConverter (optionName);
+        case 41: return new com.beust.jcommander.converters.BooleanConverter (optionName);
+        case 42: return new com.beust.jcommander.converters.BooleanConverter (optionName);
+        case 43: return new com.beust.jcommander.converters.StringConverter ();
+        case 44: return new com.beust.jcommander.converters.BooleanConverter (optionName);
+        case 45: return new com.beust.jcommander.converters.BooleanConverter (optionName);
+        default:
+            throw new IndexOutOfBoundsException ("no parameter " + index);
+        }
+    }
+}
@@ -3,6 +3,7 @@
 // Command line helpers - usage string, etc.
 
 package me.pavlina.alco.compiler;
+import java.io.PrintStream;
 import me.pavlina.alco.ProgramInfo;
 
 /**
@@ -44,13 +45,38 @@ public class CmdlineHelpers {
       + "    -sm               enable systems programming mode\n"
       + "    -malloc <func>    use <func> as the allocator\n"
       + "    -free <func>      use <func> as the deallocator\n"
+      + "    -threads <n>      use <n> threads for parallel stages (default:\n"
+      + "                      one per processor)\n"
+      + "    -j <n>            run <n> code generators at once on parts of\n"
+      + "                      the package (0: one per processor). Only\n"
+      + "                      for object files and linked output\n"
+      + "    -save-temps       keep intermediate files, instead of piping\n"
+      + "                      them between tools\n"
+      + "    -cache-dir <dir>  reuse compiled files cached in <dir> (default:\n"
+      + "                      $ALCO_CACHE_DIR)\n"
+      + "    -cache-size <n>   limit the cache to <n> megabytes (default: 512)\n"
+      + "    -cache-stats      print cache statistics and exit\n"
+      + "    -time-passes      print the time and memory used by each stage\n"
+      + "    -mem-report       print the heap retained after each stage\n"
+      + "    -trace <file>     write a trace of the compile to <file>, for\n"
+      + "                      chrome://tracing\n"
       + "------------------------------------------------------------------\n"
       + "    -debug-mode       run in debug mode\n"
       + "    -error-trace      print a stack trace for compiler errors\n"
       + "    -tokens           dump the token list after lexing, and quit\n"
       + "    -ast              dump the AST after parsing, and quit\n"
       + "    -pre-ast          dump the AST before type checking, and quit\n"
-      + "    -force-platform   force compiling on an unsupported platform\n";
+      + "    -symbols          list the declared methods and externs, without\n"
+      + "                      parsing method bodies, and quit\n"
+      + "    -force-platform   force compiling on an unsupported platform\n"
+      + "------------------------------------------------------------------\n"
+      + "    -watch            compile, then compile again whenever a source\n"
+      + "                      changes, until killed\n"
+      + "    -build <file>     build the packages listed in the manifest\n"
+      + "                      <file>, <threads> at once, running at most\n"
+      + "                      -j (default: <threads>) tools at once\n"
+      + "    -server           run as a compile server for the launcher\n"
+      + "    -stop-server      stop the running compile server\n";
 
     /**
      * Short usage string, to be printed on invalid option */
@@ -74,22 +100,27 @@ public class CmdlineHelpers {
     /**
      * Check for the "dump and quit" options, and run them. This handles -help,
      * -version, and -paths=help.
+     * @param args Parsed arguments
+     * @param err Stream to print to
+     * @return Whether an option was handled, and the compiler should quit
      */
-    public static void handle_dump_options (CmdlineArgs args)
+    public static boolean handle_dump_options (CmdlineArgs args,
+                                               PrintStream err)
     {
         if (args.help) {
-            System.err.print (CmdlineHelpers.usage);
-            System.exit (0);
+            err.print (CmdlineHelpers.usage);
+            return true;
         }
         if (args.version) {
-            System.err.printf (CmdlineHelpers.version_string,
-                               ProgramInfo.version, ProgramInfo.copyrightyear,
-                               ProgramInfo.copyrightcredit);
-            System.exit (0);
+            err.printf (CmdlineHelpers.version_string,
+                        ProgramInfo.version, ProgramInfo.copyrightyear,
+                        ProgramInfo.copyrightcredit);
+            return true;
         }
         if (args.paths.contains ("help")) {
-            System.err.print (CmdlineHelpers.paths_help);
-            System.exit (0);
+            err.print (CmdlineHelpers.paths_help);
+            return true;
         }
+        return false;
     }
 }
@@ -0,0 +1,325 @@
+// Copyright (c) 2011, Christopher Pavlina. All rights reserved.
+//
+// CompileServer - long-running compile server for the launcher
+
+package me.pavlina.alco.compiler;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Map;
+import java.util.HashMap;
+import java.util.Arrays;
+import me.pavlina.alco.language.Keywords;
+import me.pavlina.alco.language.Operators;
+import me.pavlina.alco.language.Type;
+import me.pavlina.alco.lex.Symbols;
+
+/**
+ * Compile server. Starting a JVM for every compile is slow, so the launcher
+ * (src/c/alco.c) first tries to hand its arguments to one of these over a Unix
+ * socket. The server keeps all of AlCo's classes and static tables loaded,
+ * and runs each compile with a fresh Compiler.
+ *
+ * Protocol. The client sends a request:
+ *   - count (u32, big endian)
+ *   - count strings, each terminated by a NUL byte:
+ *     - working directory
+ *     - the client's environment, one NAME=value string per variable
+ *     - an empty string, ending the environment
+ *     - the arguments (argv[1] onwards)
+ * Each compile sees the client's environment, not the server's, so that it
+ * gives the same result as it would have without the server.
+ *
+ * The server answers with frames: a tag byte, a length (u32, big endian), and
+ * that many bytes of data. The tags are:
+ *   - 'o' data for standard output
+ *   - 'e' data for standard error
+ *   - 'x' exit status (data is a u32); this is the final frame
+ *   - 'l' the compile must be run locally (no data); this is the final frame
+ *
+ * Requests are handled one at a time. The code generated for each method is
+ * kept between requests (see FragmentCache), so that recompiling a package
+ * after a small change only has to redo the methods which changed.
+ */
+public class CompileServer
+{
+
+    public static final int TAG_OUT = 'o';
+    public static final int TAG_ERR = 'e';
+    public static final int TAG_EXIT = 'x';
+    public static final int TAG_LOCAL = 'l';
+
+    File          socketFile;
+    PrintStream   out, err;
+    boolean       running;
+    FragmentCache fragments;
+
+    /** Memory to spend on caching generated methods, in characters */
+    static final long FRAGMENT_CACHE_SIZE = 64L * 1024 * 1024;
+
+    /**
+     * Create the server. This does not start listening.
+     * @param socketFile Path of the Unix socket to listen on
+     * @param out Stream for log messages
+     * @param err Stream for error messages
+     */
+    public CompileServer (File socketFile, PrintStream out, PrintStream err)
+    {
+        this.socketFile = socketFile;
+        this.out = out;
+        this.err = err;
+        fragments = new FragmentCache (FRAGMENT_CACHE_SIZE);
+    }
+
+    /**
+     * Return the socket path to use. This is $ALCO_SOCKET if set, otherwise
+     * ~/.alco-server. The launcher uses the same rule.
+     */
+    public static File socketFile (Map<String, String> environ)
+    {
+        String path = environ.get ("ALCO_SOCKET");
+        if (path != null && path.length () != 0)
+            return new File (path);
+        return new File (System.getProperty ("user.home"), ".alco-server");
+    }
+
+    /**
+     * Listen for and handle requests until asked to stop.
+     * @return nonzero on error
+     */
+    public int serve ()
+    {
+        ServerSocketChannel server;
+        try {
+            if (socketFile.exists ()) {
+                if (isAlive ()) {
+                    err.println ("Error: a compile server is already running"
+                                 + " on " + socketFile.getPath ());
+                    return 1;
+                }
+                // Stale socket from a server which died
+                socketFile.delete ();
+            }
+            server = ServerSocketChannel.open (StandardProtocolFamily.UNIX);
+            server.bind (UnixDomainSocketAddress.of (socketFile.getPath ()));
+        } catch (IOException e) {
+            err.println (e);
+            return 1;
+        }
+
+        CompileServer.warmUp ();
+        out.println ("alco: compile server listening on "
+                     + socketFile.getPath ());
+
+        running = true;
+        try {
+            while (running) {
+                SocketChannel client = server.accept ();
+                try {
+                    this.handle (client);
+                } catch (IOException e) {
+                    // The client went away. That is its problem, not ours.
+                    err.println (e);
+                } finally {
+                    client.close ();
+                }
+            }
+        } catch (IOException e) {
+            err.println (e);
+            return 1;
+        } finally {
+            try {
+                server.close ();
+            } catch (IOException e) {}
+            socketFile.delete ();
+        }
+        return 0;
+    }
+
+    /**
+     * Return whether a server is answering on the socket. */
+    private boolean isAlive ()
+    {
+        try {
+            SocketChannel ch = SocketChannel.open
+                (UnixDomainSocketAddress.of (socketFile.getPath ()));
+            ch.close ();
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Load and initialise the classes every compile needs, so that the first
+     * request does not pay for it. */
+    private static void warmUp ()
+    {
+        Keywords.isKeyword ("", true);
+        Operators.isOverloadable ("");
+        Type.getNull ();
+        try {
+            Class.forName ("me.pavlina.alco.parse.ExpressionParser");
+            Class.forName ("me.pavlina.alco.parse.StatementParser");
+        } catch (ClassNotFoundException e) {
+            assert false: e;
+        }
+    }
+
+    /**
+     * Handle a single request. */
+    private void handle (SocketChannel client) throws IOException
+    {
+        DataInputStream in = new DataInputStream
+            (Channels.newInputStream (client));
+        DataOutputStream frames = new DataOutputStream
+            (new BufferedOutputStream (Channels.newOutputStream (client)));
+
+        int count = in.readInt ();
+        if (count < 2)
+            throw new IOException ("malformed compile request");
+        String[] strings = new String[count];
+        for (int i = 0; i < count; ++i)
+            strings[i] = readString (in);
+
+        File cwd = new File (strings[0]);
+        Map<String, String> environ = new HashMap<String, String> ();
+        int i;
+        for (i = 1; i < count && strings[i].length () != 0; ++i) {
+            int eq = strings[i].indexOf ('=');
+            if (eq < 1)
+                throw new IOException ("malformed compile request");
+            environ.put (strings[i].substring (0, eq),
+                         strings[i].substring (eq + 1));
+        }
+        if (i == count)
+            throw new IOException ("malformed compile request");
+        String[] argv = Arrays.copyOfRange (strings, i + 1, count);
+
+        // Stop request
+        if (Arrays.asList (argv).contains ("-stop-server")) {
+            running = false;
+            out.println ("alco: compile server stopping");
+            sendExit (frames, 0);
+            return;
+        }
+
+        // -debug-mode reads from the terminal, which we do not have, and
+        // -watch would keep the server from answering anyone else
+        if (Arrays.asList (argv).contains ("-debug-mode")
+            || Arrays.asList (argv).contains ("-watch")) {
+            frames.writeByte (TAG_LOCAL);
+            frames.writeInt (0);
+            frames.flush ();
+            return;
+        }
+
+        PrintStream cout = new PrintStream
+            (new FrameOutputStream (frames, TAG_OUT), true);
+        PrintStream cerr = new PrintStream
+            (new FrameOutputStream (frames, TAG_ERR), true);
+
+        // Some code still prints directly to System.out and System.err. Since
+        // requests are handled one at a time, it is safe to swap them.
+        PrintStream sysOut = System.out, sysErr = System.err;
+        System.setOut (cout);
+        System.setErr (cerr);
+        int rc;
+        try {
+            Compiler compiler = new Compiler (cout, cerr, cwd, environ);
+            compiler.setFragmentCache (fragments);
+            rc = compiler.run (argv);
+        } catch (RuntimeException e) {
+            e.printStackTrace (cerr);
+            rc = 1;
+        } catch (AssertionError e) {
+            e.printStackTrace (cerr);
+            rc = 1;
+        } finally {
+            System.setOut (sysOut);
+            System.setErr (sysErr);
+            // Nothing from this compile is kept but the generated code, so
+            // the identifiers it saw need not be
+            Symbols.reset ();
+        }
+        cout.flush ();
+        cerr.flush ();
+        sendExit (frames, rc);
+    }
+
+    /**
+     * Send the final exit status frame. */
+    private static void sendExit (DataOutputStream frames, int rc)
+        throws IOException
+    {
+        frames.writeByte (TAG_EXIT);
+        frames.writeInt (4);
+        frames.writeInt (rc);
+        frames.flush ();
+    }
+
+    /**
+     * Read a NUL-terminated UTF-8 string. */
+    private static String readString (InputStream in) throws IOException
+    {
+        ByteArrayOutputStream buf = new ByteArrayOutputStream ();
+        while (true) {
+            int b = in.read ();
+            if (b == -1)
+                throw new IOException ("malformed compile request");
+            if (b == 0)
+                break;
+            buf.write (b);
+        }
+        return buf.toString ("UTF-8");
+    }
+
+    /**
+     * Output stream which sends everything written to it as frames with a
+     * given tag. */
+    private static class FrameOutputStream extends OutputStream
+    {
+        DataOutputStream frames;
+        int tag;
+
+        FrameOutputStream (DataOutputStream frames, int tag)
+        {
+            this.frames = frames;
+            this.tag = tag;
+        }
+
+        public void write (int b) throws IOException
+        {
+            write (new byte[] {(byte) b}, 0, 1);
+        }
+
+        public void write (byte[] b, int off, int len) throws IOException
+        {
+            if (len == 0) return;
+            synchronized (frames) {
+                frames.writeByte (tag);
+                frames.writeInt (len);
+                frames.write (b, off, len);
+            }
+        }
+
+        public void flush () throws IOException
+        {
+            synchronized (frames) {
+                frames.flush ();
+            }
+        }
+    }
+}
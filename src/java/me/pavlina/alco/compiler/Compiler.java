@@ -7,25 +7,44 @@ package me.pavlina.alco.compiler;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.PrintStream;
 import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.nio.file.attribute.PosixFileAttributeView;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.TreeMap;
+import java.util.Properties;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Scanner;
+import java.util.Base64;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.Semaphore;
+import me.pavlina.alco.ProgramInfo;
 import me.pavlina.alco.ast.AST;
+import me.pavlina.alco.ast.FunctionLike;
 import me.pavlina.alco.ast.Package;
 import me.pavlina.alco.compiler.errors.CError;
 import me.pavlina.alco.lex.Token;
 import me.pavlina.alco.lex.TokenStream;
 import me.pavlina.alco.lex.Lexer;
+import me.pavlina.alco.lex.Symbols;
 import me.pavlina.alco.language.Resolver;
 import me.pavlina.alco.llvm.Emitter;
 import me.pavlina.alco.passes.*;
 import com.beust.jcommander.JCommander;
+import com.beust.jcommander.ParameterDescription;
 import com.beust.jcommander.ParameterException;
 
 /**
@@ -41,32 +60,191 @@ public class Compiler
     Map<String, String>        paths;
     Map<File, TokenStream>     streams;
     int                        bits;
+    Emitter                    emitter;
     File                       lastFile, llFile, bcFile, sFile, oFile, xFile;
+    List<File>                 partObjects;
+    List<File>                 tempFiles;
+    PrintStream                out, err;
+    File                       cwd;
+    Map<String, String>        environ;
+    ForkJoinPool               pool;
+    boolean                    ownPool;
+    Semaphore                  toolSlots;
+    int                        maxToolSlots;
+    ObjectCache                cache;
+    FragmentCache              fragments;
+    Map<File, Lexer>           lexers;
+    Timing                     timing;
+    String                     cacheKey;
+    ByteArrayOutputStream      messages;
+    String                     pkgName;
+    boolean                    pkgExecutable;
+    byte[]                     pkgInterface;
+
+    /**
+     * Machine word length detected by detect_machine(), or zero if it has not
+     * been detected yet. This does not change while the JVM is running, so
+     * it is only detected once per process (which matters for the compile
+     * server). */
+    private static int         detectedBits = 0;
+
+    /** Stamp of the compiler's own code, from codeStamp() */
+    private static String      codeStamp = null;
+
+    /**
+     * Smallest and largest source file (in bytes) whose method bodies are
+     * parsed in parallel. The parallel parse needs the whole token table,
+     * about four times the size of the file, instead of the small window a
+     * streaming lexer keeps; below the minimum there is too little to gain,
+     * and above the maximum the table costs more memory than is worth
+     * spending. */
+    static final long          PARALLEL_PARSE_MIN = 32 * 1024;
+    static final long          PARALLEL_PARSE_MAX = 4 * 1024 * 1024;
+
+    /**
+     * Create a compiler which uses the standard streams, the process working
+     * directory and the process environment.
+     */
+    public Compiler ()
+    {
+        this (System.out, System.err, null, System.getenv ());
+    }
+
+    /**
+     * Create a compiler with the given I/O context. This is used by the
+     * compile server to run a compile on behalf of a client.
+     * @param out Standard output stream
+     * @param err Standard error stream
+     * @param cwd Directory against which relative paths are resolved, or null
+     * for the process working directory
+     * @param environ Environment variables
+     */
+    public Compiler (PrintStream out, PrintStream err, File cwd,
+                     Map<String, String> environ)
+    {
+        this.out = out;
+        this.err = err;
+        this.cwd = cwd;
+        this.environ = environ;
+        tempFiles = new ArrayList<File> ();
+    }
+
+    /**
+     * Use a cache of generated methods, kept between compiles. Only worth it
+     * for a compiler which lives longer than one compile.
+     */
+    public void setFragmentCache (FragmentCache fragments)
+    {
+        this.fragments = fragments;
+    }
+
+    /**
+     * Keep the tokens of each file between compiles, and only lex files
+     * which are not in the map. The caller must remove files which change.
+     */
+    public void setLexerCache (Map<File, Lexer> lexers)
+    {
+        this.lexers = lexers;
+    }
+
+    /**
+     * Use a worker pool shared with other compilers for the parallel stages,
+     * instead of creating one. It is not shut down when the compile is
+     * finished.
+     */
+    public void setPool (ForkJoinPool pool)
+    {
+        this.pool = pool;
+    }
+
+    /**
+     * Share a limit on the number of external tools run at once with other
+     * compilers. Each tool (or pipeline of tools) takes a permit while it
+     * runs.
+     * @param toolSlots Semaphore holding the permits
+     * @param maxToolSlots Total number of permits
+     */
+    public void setToolSlots (Semaphore toolSlots, int maxToolSlots)
+    {
+        this.toolSlots = toolSlots;
+        this.maxToolSlots = maxToolSlots;
+    }
 
     /**
      * Run the compiler.
      * @param argv Command line arguments
      */
     public int run (String[] argv)
+    {
+        int rc = 1;
+        try {
+            rc = this.runStages (argv);
+        } finally {
+            if (timing != null && timing.finish (err) != 0 && rc == 0)
+                rc = 1;
+            if (args != null && args.save_temps)
+                this.keepTempFiles ();
+            else
+                this.deleteTempFiles ();
+            if (ownPool) {
+                pool.shutdown ();
+                pool = null;
+                ownPool = false;
+            }
+        }
+        return rc;
+    }
+
+    /**
+     * Parse the arguments and run all compile stages.
+     * @param argv Command line arguments
+     */
+    private int runStages (String[] argv)
     {
         // Read arguments
         args = new CmdlineArgs ();
-        JCommander jc = new JCommander (args);
+        // The generated descriptor spares JCommander reflecting over the
+        // annotations of CmdlineArgs on every start (see build.py)
+        JCommander jc = new JCommander (args, new CmdlineArgsDescriptor ());
         jc.setProgramName ("alco");
         try {
             jc.parse (argv);
         } catch (ParameterException e) {
-            System.err.print (CmdlineHelpers.short_usage);
-            System.err.println (e.getMessage ());
+            err.print (CmdlineHelpers.short_usage);
+            err.println (e.getMessage ());
+            return 1;
+        }
+        if (CmdlineHelpers.handle_dump_options (args, err))
+            return 0;
+
+        if (args.server)
+            return new CompileServer
+                (CompileServer.socketFile (environ), out, err).serve ();
+        if (args.stop_server) {
+            err.println ("Error: no compile server is running");
             return 1;
         }
-        CmdlineHelpers.handle_dump_options (args);
+        if (args.build != null) {
+            // Without -j, run as many tools at once as packages
+            int jobs = isGiven (jc, "-j") ? this.jobs () : this.threads ();
+            Build build = new Build (resolve (args.build), out, err, environ,
+                                     this.threads (), jobs);
+            build.setFragmentCache (fragments);
+            if (args.cache_dir != null)
+                build.setCache (resolve (args.cache_dir).getAbsoluteFile (),
+                               args.cache_size);
+            return build.run ();
+        }
+        timing = new Timing (args.time_passes,
+                             args.trace == null ? null : resolve (args.trace));
+        if (args.mem_report)
+            timing.setMemoryReport (new MemoryReport ());
 
         // Detect -ea and mention it
         boolean haveAssert = false;
         assert haveAssert = true;
         if (haveAssert)
-            System.err.println ("Note: Assertions enabled");
+            err.println ("Note: Assertions enabled");
 
         // Setup
         int rc;
@@ -76,39 +254,77 @@ public class Compiler
             this.list_paths ();
             return 0;
         }
+        if ((rc = this.open_cache ()) != 0) return rc;
+        if (args.cache_stats)
+            return this.cache_stats ();
         if (args.sources.isEmpty ()) {
-            System.err.println ("Error: no sources to compile");
+            err.println ("Error: no sources to compile");
             return 1;
         }
         for (String i: args.sources) {
             if (!i.endsWith (".al") && !i.endsWith (".o")) {
-                System.err.println ("Unknown source type: " + i);
+                err.println ("Unknown source type: " + i);
                 return 1;
             }
         }
         if ((rc = this.check_paths ()) != 0) return rc;
 
+        if (args.watch) {
+            List<File> sources = new ArrayList<File> ();
+            for (String i: args.sources)
+                sources.add (resolve (i));
+            List<String> watchArgv = new ArrayList<String> ();
+            for (String i: argv) {
+                if (!i.equals ("-watch"))
+                    watchArgv.add (i);
+            }
+            Watch watch = new Watch
+                (watchArgv.toArray (new String[watchArgv.size ()]), sources,
+                 out, err, cwd, environ);
+            watch.setFragmentCache (fragments);
+            return watch.run ();
+        }
+
         // Compile
         this.create_env ();
+        timing.start ("lex");
         if ((rc = this.lex ()) != 0) return rc;
         if (args.tokens) {
             // Debug option: dump tokens and quit
             return this.dump_tokens ();
         }
+
+        // Reuse an identical compile?
+        if (cache != null && !args.pre_ast && !args.ast && !args.symbols) {
+            timing.start ("object cache");
+            ObjectCache.Entry entry = this.lookupCache ();
+            if (entry != null)
+                return this.useCached (entry);
+        }
+
+        timing.start ("parse");
         if ((rc = this.parse ()) != 0) return rc;
 
+        if (args.symbols) {
+            // Debug option: list declarations and quit
+            return this.dump_symbols ();
+        }
+
         if (args.pre_ast) {
             // Debug option: dump AST and quit
             return this.dump_ast ();
         }
 
         // Constant arithmetic folding
+        timing.start ("constantFold");
         if ((rc = this.constantFold ()) != 0) return rc;
 
         // New-argument replacement
+        timing.start ("newArguments");
         if ((rc = this.newArguments ()) != 0) return rc;
 
         // Resolution/checking
+        timing.start ("checkTypes");
         if ((rc = this.checkTypes ()) != 0) return rc;
 
         if (args.ast) {
@@ -117,25 +333,372 @@ public class Compiler
         }
 
         // Generate LLVM
+        timing.start ("genLLVM");
         if ((rc = this.genLLVM ()) != 0) return rc;
 
-        // Compile
+        // Compile. Debug mode needs files to inspect.
+        if (args.debug_mode)
+            rc = this.compileWithTemps ();
+        else if (this.jobs () > 1 && !args.emit_llvm && !args.assembly)
+            rc = this.compileSplit ();
+        else if (args.save_temps)
+            rc = this.compileWithTemps ();
+        else
+            rc = this.compileStreamed ();
+
+        if (rc == 0)
+            pkgInterface = this.makeInterface ();
+        if (rc == 0 && cache != null && this.finalFile ().isFile ()) {
+            // Nothing to keep from a device or a pipe
+            timing.start ("object cache");
+            this.storeCache ();
+        }
+        if (rc == 0 && pkgInterface != null)
+            this.writeInterface ();
+        return rc;
+    }
+
+    /**
+     * Compile the generated LLVM, passing temporary files from one tool to
+     * the next.
+     * @return nonzero on error
+     */
+    private int compileWithTemps ()
+    {
+        int rc;
+        if ((rc = this.writeLLVM ()) != 0) return rc;
         if ((rc = this.genBitcode ()) != 0) return rc;
         if ((rc = this.genAssembly ()) != 0) return rc;
         if ((rc = this.genObject ()) != 0) return rc;
         if ((rc = this.genLinked ()) != 0) return rc;
+        return this.moveFinalFile ();
+    }
+
+    /**
+     * Compile the generated LLVM, piping it through the tools instead of
+     * writing temporary files. Only linking needs one, because the linker
+     * cannot read its input from a pipe. The output is written next to its
+     * destination and renamed into place (see partFile()).
+     * @return nonzero on error
+     */
+    private int compileStreamed ()
+    {
+        File outFile = this.finalFile ();
+        File partFile = this.partFile (outFile);
 
-        if ((rc = this.moveFinalFile ()) != 0) return rc;
+        timing.start ("emit");
+        String ir = emitter.toString ();
 
+        int rc;
+        try {
+            if (args.emit_llvm && args.assembly) {
+                PrintStream llStream = new PrintStream (partFile);
+                llStream.print (ir);
+                llStream.close ();
+                rc = llStream.checkError () ? 1 : 0;
+            } else if (args.emit_llvm) {
+                rc = this.execPipe
+                    (ir, this.llvmAsCommand ("-", partFile.getPath ()));
+            } else if (args.assembly) {
+                rc = this.execPipe
+                    (ir, this.llcCommand ("-", partFile.getPath ()));
+            } else if (args.objfile) {
+                rc = this.execPipe
+                    (ir, this.llcCommand ("-", "-"),
+                     this.asCommand (null, partFile.getPath ()));
+            } else {
+                oFile = this.createTempFile (".o");
+                rc = this.execPipe
+                    (ir, this.llcCommand ("-", "-"),
+                     this.asCommand (null, oFile.getPath ()));
+                if (rc == 0) {
+                    xFile = partFile;
+                    rc = this.genLinked ();
+                }
+            }
+        } catch (IOException e) {
+            err.println (e);
+            return 1;
+        }
+        if (rc != 0) return rc;
+        return this.renameFinalFile (partFile, outFile);
+    }
+
+    /**
+     * Compile the generated LLVM as several modules at once (-j). The code is
+     * split between the modules so that each has about the same number of
+     * instructions, and each module gets its own llc, which writes an object
+     * file directly (there is no need for as). The objects are then linked
+     * together, or for -c, merged into one by a relocatable link.
+     * @return nonzero on error
+     */
+    private int compileSplit ()
+    {
+        timing.start ("emit");
+        int jobs = this.jobs ();
+        if (toolSlots != null)
+            jobs = Math.min (jobs, maxToolSlots);
+        List<Emitter> parts = emitter.split (jobs);
+        if (parts.size () < 2) {
+            // Not enough methods to split
+            return args.save_temps ? this.compileWithTemps ()
+                : this.compileStreamed ();
+        }
+        List<String> irs = new ArrayList<String> (parts.size ());
+        for (Emitter i: parts)
+            irs.add (i.toString ());
+
+        File outFile = this.finalFile ();
+        File partFile = this.partFile (outFile);
+
+        int rc;
+        try {
+            partObjects = new ArrayList<File> (irs.size ());
+            List<String[]> cmds = new ArrayList<String[]> (irs.size ());
+            for (String ir: irs) {
+                File obj = this.createTempFile (".o");
+                String input = "-";
+                if (args.save_temps) {
+                    // Keep each module where it can be looked at
+                    File ll = this.createTempFile (".ll");
+                    PrintStream llStream = new PrintStream (ll);
+                    llStream.print (ir);
+                    llStream.close ();
+                    if (llStream.checkError ())
+                        throw new IOException ("write failed: "
+                                               + ll.getPath ());
+                    input = ll.getPath ();
+                }
+                String[] llc = this.llcCommand (input, obj.getPath ());
+                String[] cmd = Arrays.copyOf (llc, llc.length + 1);
+                cmd[llc.length] = "-filetype=obj";
+                cmds.add (cmd);
+                partObjects.add (obj);
+            }
+            rc = this.execParallel (args.save_temps ? null : irs, cmds);
+            if (rc != 0) return rc;
+
+            if (args.objfile) {
+                List<String> ldArgs = new ArrayList<String> ();
+                ldArgs.add (paths.get ("ld"));
+                ldArgs.add ("-m");
+                ldArgs.add (this.emulation ());
+                ldArgs.add ("-r");
+                for (File i: partObjects)
+                    ldArgs.add (i.getPath ());
+                ldArgs.add ("-o");
+                ldArgs.add (partFile.getPath ());
+                rc = this.exec (ldArgs.toArray (new String[ldArgs.size ()]));
+            } else {
+                xFile = partFile;
+                rc = this.genLinked ();
+            }
+        } catch (IOException e) {
+            err.println (e);
+            return 1;
+        }
+        if (rc != 0) return rc;
+        return this.renameFinalFile (partFile, outFile);
+    }
+
+    /**
+     * Return the file to write the final file to. This is a hidden file next
+     * to the destination, renamed into place when it is finished, so that a
+     * failed compile does not leave a partial file behind. That is only done
+     * if the destination is a regular file or does not exist yet; anything
+     * else (a device such as /dev/null, a pipe, or a symbolic link) is
+     * written to directly, as it would be without AlCo in the way.
+     */
+    private File partFile (File outFile)
+    {
+        Path path = outFile.toPath ();
+        if (Files.exists (path, LinkOption.NOFOLLOW_LINKS)
+            && !Files.isRegularFile (path, LinkOption.NOFOLLOW_LINKS))
+            return outFile;
+        File partFile = new File
+            (outFile.getAbsoluteFile ().getParentFile (),
+             "." + outFile.getName () + "." + ProcessHandle.current ().pid ()
+             + ".part");
+        tempFiles.add (partFile);
+        return partFile;
+    }
+
+    /**
+     * Move a finished output file from next to its destination into place.
+     * An existing destination keeps its permissions and owner; if they
+     * cannot be given to the new file, it is copied into the old one
+     * instead.
+     * @return nonzero on error
+     */
+    private int renameFinalFile (File partFile, File outFile)
+    {
+        timing.start ("moveFinalFile");
+        if (partFile.equals (outFile)) {
+            // Written directly
+            return 0;
+        }
+        if (outFile.exists () && !copyAttributes (outFile, partFile)) {
+            try {
+                this.copyFile (partFile, outFile);
+            } catch (IOException e) {
+                err.println (e);
+                return 1;
+            }
+        } else {
+            if (args.verbose)
+                out.println (partFile.getPath () + " -> "
+                             + outFile.getPath ());
+            if (!partFile.renameTo (outFile)) {
+                err.println ("Error: could not rename " + partFile.getPath ()
+                             + " to " + outFile.getPath ());
+                return 1;
+            }
+        }
+        if (this.isFinalExecutable ())
+            outFile.setExecutable (true, false);
         return 0;
     }
 
+    /**
+     * Give a file the permissions, owner and group of another.
+     * @return false if they could not all be given
+     */
+    private static boolean copyAttributes (File from, File to)
+    {
+        try {
+            PosixFileAttributes attrs = Files.readAttributes
+                (from.toPath (), PosixFileAttributes.class);
+            PosixFileAttributeView view = Files.getFileAttributeView
+                (to.toPath (), PosixFileAttributeView.class);
+            PosixFileAttributes toAttrs = view.readAttributes ();
+            // Owner first: changing it may clear the set-user-ID bit
+            if (!attrs.owner ().equals (toAttrs.owner ()))
+                view.setOwner (attrs.owner ());
+            if (!attrs.group ().equals (toAttrs.group ()))
+                view.setGroup (attrs.group ());
+            view.setPermissions (attrs.permissions ());
+            return true;
+        } catch (IOException e) {
+            return false;
+        } catch (UnsupportedOperationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Return whether an option was given on the command line, rather than
+     * left at its default. */
+    private static boolean isGiven (JCommander jc, String name)
+    {
+        for (ParameterDescription i: jc.getParameters ()) {
+            if (i.getLongestName ().equals (name))
+                return i.isAssigned ();
+        }
+        return false;
+    }
+
+    /**
+     * Resolve a path given on the command line against the working
+     * directory. */
+    private File resolve (String path)
+    {
+        File f = new File (path);
+        if (cwd == null || f.isAbsolute ())
+            return f;
+        return new File (cwd, path);
+    }
+
+    /**
+     * Return the number of threads to use for parallel stages. */
+    private int threads ()
+    {
+        if (args.threads != 0)
+            return args.threads;
+        return Runtime.getRuntime ().availableProcessors ();
+    }
+
+    /**
+     * Return the number of modules to compile at once (-j). */
+    private int jobs ()
+    {
+        if (args.jobs != 0)
+            return args.jobs;
+        return Runtime.getRuntime ().availableProcessors ();
+    }
+
+    /**
+     * Return the worker pool for parallel stages, creating it if needed. */
+    private ForkJoinPool pool ()
+    {
+        if (pool == null) {
+            pool = new ForkJoinPool (this.threads ());
+            ownPool = true;
+        }
+        return pool;
+    }
+
+    /**
+     * Create a temporary file, which will be deleted when the compile is
+     * finished. */
+    private File createTempFile (String suffix) throws IOException
+    {
+        File f = File.createTempFile ("alco", suffix, this.tempDir ());
+        tempFiles.add (f);
+        return f;
+    }
+
+    /**
+     * Return the directory for temporary files: $TMPDIR if set, otherwise
+     * null for the JVM's default. This reads the compile's environment, not
+     * the process's, so that the compile server uses its client's. */
+    private File tempDir ()
+    {
+        String dir = environ.get ("TMPDIR");
+        if (dir == null || dir.length () == 0)
+            return null;
+        return resolve (dir);
+    }
+
+    /**
+     * Return a ProcessBuilder for a tool, run in the compile's working
+     * directory and environment. Under the compile server these are the
+     * client's, not the server's. */
+    private ProcessBuilder processBuilder (String[] cmd)
+    {
+        ProcessBuilder pb = new ProcessBuilder (cmd).directory (cwd);
+        pb.environment ().clear ();
+        pb.environment ().putAll (environ);
+        return pb;
+    }
+
+    /**
+     * Keep all temporary files created by this compile (-save-temps), and
+     * say where they are. */
+    private void keepTempFiles ()
+    {
+        for (File f: tempFiles) {
+            if (f.exists ())
+                err.println ("Kept " + f.getPath ());
+        }
+        tempFiles.clear ();
+    }
+
+    /**
+     * Delete all temporary files created by this compile. The compile server
+     * never exits, so File.deleteOnExit() is not good enough. */
+    private void deleteTempFiles ()
+    {
+        for (File f: tempFiles)
+            f.delete ();
+        tempFiles.clear ();
+    }
+
     private void copyFile (File sourceFile, File destFile)
         throws IOException
     {
         if (args.verbose) {
-            System.out.println (sourceFile.getPath () + " -> " +
-                                destFile.getPath ());
+            out.println (sourceFile.getPath () + " -> " +
+                         destFile.getPath ());
         }
 
         destFile.createNewFile ();
@@ -162,21 +725,23 @@ public class Compiler
     {
         if (!System.getProperty ("os.name").equals ("Linux")) {
             if (args.force_platform) {
-                System.err.println ("Warning: -force-platform: "
-                                    + "compiling on non-supported OS "
-                                    + System.getProperty ("os.name"));
+                err.println ("Warning: -force-platform: "
+                             + "compiling on non-supported OS "
+                             + System.getProperty ("os.name"));
                 if (args.machine == 0) {
-                    System.err.println ("Error: -force-platform: "
-                                        + "specify machine with -m");
+                    err.println ("Error: -force-platform: "
+                                 + "specify machine with -m");
                     return 1;
                 } else {
                     bits = args.machine;
                 }
             } else {
-                System.err.println ("Error: compiling on non-supported OS "
-                                    + System.getProperty ("os.name"));
+                err.println ("Error: compiling on non-supported OS "
+                             + System.getProperty ("os.name"));
                 return 1;
             }
+        } else if (args.machine == 0 && detectedBits != 0) {
+            bits = detectedBits;
         } else if (args.machine == 0) {
             // Detect machine on Linux
             String mach;
@@ -187,7 +752,7 @@ public class Compiler
                 int read = in.read (b);
                 mach = new String (b, 0, read);
             } catch (Exception e) {
-                System.err.println (e);
+                err.println (e);
                 return 1;
             }
             if (mach.equals ("x86_64\n")) {
@@ -196,9 +761,10 @@ public class Compiler
                        && mach.endsWith ("86\n")) {
                 bits = 32;
             } else {
-                System.err.println ("Error: cannot detect machine");
+                err.println ("Error: cannot detect machine");
                 return 1;
             }
+            detectedBits = bits;
         } else {
             bits = args.machine;
         }
@@ -218,23 +784,24 @@ public class Compiler
 
         // Load config files
         File ofdc_config = new File ("/etc/ofdc/config");
-        if ((config_file = System.getenv ("OFDC_CONFIG")) != null) {
-            if (ConfigFile.read (new File (config_file), paths) != 0) return 1;
+        if ((config_file = environ.get ("OFDC_CONFIG")) != null) {
+            if (ConfigFile.read (resolve (config_file), paths, err) != 0)
+                return 1;
         } else if (ofdc_config.exists ()) {
-            if (ConfigFile.read (ofdc_config, paths) != 0) return 1;
+            if (ConfigFile.read (ofdc_config, paths, err) != 0) return 1;
         }
 
         // Load command line arguments
         for (String i: args.paths) {
             int idx = i.indexOf (':');
             if (idx == -1) {
-                System.err.println ("Warning: malformed -path argument " + i);
+                err.println ("Warning: malformed -path argument " + i);
                 continue;
             }
             String key = i.substring (0, idx);
             String val = i.substring (idx + 1);
             if (key.length () == 0 || val.length () == 0) {
-                System.err.println ("Warning: malformed -path argument " + i);
+                err.println ("Warning: malformed -path argument " + i);
                 continue;
             }
             paths.put (key, val);
@@ -268,7 +835,7 @@ public class Compiler
         for (String key: keys_all) {
             File f = new File (paths.get (key));
             if (!f.exists ()) {
-                System.err.println ("Error: missing path " + f.toString ());
+                err.println ("Error: missing path " + f.toString ());
                 return 1;
             }
         }
@@ -276,7 +843,7 @@ public class Compiler
         for (String key: keys_link) {
             File f = new File (paths.get (key));
             if (!f.exists ()) {
-                System.err.println ("Error: missing path " + f.toString ());
+                err.println ("Error: missing path " + f.toString ());
                 return 1;
             }
         }
@@ -295,9 +862,9 @@ public class Compiler
         for (String key: keys) {
             File f = new File (paths.get (key));
             if (f.exists ()) {
-                System.out.printf ("%-10s (PRESENT): %s\n", key, f.toString ());
+                out.printf ("%-10s (PRESENT): %s\n", key, f.toString ());
             } else {
-                System.out.printf ("%-10s (MISSING): %s\n", key, f.toString ());
+                out.printf ("%-10s (MISSING): %s\n", key, f.toString ());
             }
         }
     }
@@ -308,7 +875,7 @@ public class Compiler
      */
     private void create_env ()
     {
-        env = new Env (System.out, System.err, bits, args.debug);
+        env = new Env (out, err, bits, args.debug);
         if (args.nogc) {
             env.setMalloc ("malloc");
             env.setFree ("free");
@@ -325,39 +892,389 @@ public class Compiler
             env.setMalloc (args.malloc);
         if (!args.free.equals (""))
             env.setFree (args.free);
+        if (this.threads () > 1)
+            env.setPool (this.pool ());
+        if (timing.isTracing ())
+            env.setTiming (timing);
+        // -ast must show every method checked
+        if (fragments != null && !args.ast)
+            env.setFragmentCache (fragments);
+        for (String i: args.pkg_dirs)
+            env.addPackageDir (resolve (i));
     }
 
     /**
-     * Run the lex stage. Note that this really only prepares the lexers; AlCo
-     * uses a lazy lexer that reads each token as requested.
+     * Open the object cache, if one is configured. Debug mode never uses
+     * it, as the LLVM may be modified by hand. All messages are recorded
+     * from here on, so that they can be repeated when the result is reused.
+     * @return nonzero on error
+     */
+    private int open_cache ()
+    {
+        String dir = args.cache_dir;
+        if (dir == null)
+            dir = environ.get ("ALCO_CACHE_DIR");
+        if (dir == null || dir.length () == 0) {
+            if (args.cache_stats) {
+                err.println ("Error: no cache directory (use -cache-dir or"
+                             + " $ALCO_CACHE_DIR)");
+                return 1;
+            }
+            return 0;
+        }
+        if (args.debug_mode && !args.cache_stats)
+            return 0;
+
+        long size = (args.cache_size == 0) ? 512 : args.cache_size;
+        try {
+            cache = new ObjectCache (resolve (dir), size * 1048576);
+        } catch (IOException e) {
+            err.println ("Error: " + e.getMessage ());
+            return 1;
+        }
+
+        messages = new ByteArrayOutputStream ();
+        err = new PrintStream (new TeeOutputStream (err, messages), true);
+        return 0;
+    }
+
+    /**
+     * Print cache statistics.
+     * @return nonzero on error
+     */
+    private int cache_stats ()
+    {
+        try {
+            cache.printStats (out);
+        } catch (IOException e) {
+            err.println (e);
+            return 1;
+        }
+        return 0;
+    }
+
+    /**
+     * Compute the cache key: a hash of everything which affects the output.
+     */
+    private String cacheKey () throws IOException
+    {
+        ObjectCache.Key key = new ObjectCache.Key ();
+        key.add (ProgramInfo.version);
+        key.add (codeStamp ());
+
+        // Options
+        key.add (args.emit_llvm).add (args.assembly).add (args.objfile);
+        key.add (bits).add (args.optlevel).add (args.fpic).add (args.debug);
+        key.add (args.nogc).add (args.nomemabort).add (args.noboundck);
+        key.add (args.sm).add (args.malloc).add (args.free);
+        // The -j given, not the number of modules it came to: with -j 0 that
+        // depends on the machine, and a shared cache would never hit
+        // between machines with different processors.
+        key.add (args.jobs);
+        List<List<String>> lists = new ArrayList<List<String>> ();
+        lists.add (args.libs);
+        lists.add (args.lib_dirs);
+        lists.add (args.pkg_dirs);
+        lists.add (args.llc_opts);
+        lists.add (args.as_opts);
+        lists.add (args.ld_opts);
+        for (List<String> i: lists) {
+            key.add (i.size ());
+            for (String j: i)
+                key.add (j);
+        }
+
+        // Tools
+        Map<String, String> sortedPaths = new TreeMap<String, String> (paths);
+        for (Map.Entry<String, String> i: sortedPaths.entrySet ()) {
+            key.add (i.getKey ());
+            key.addStamp (new File (i.getValue ()));
+        }
+
+        // Sources. Token positions and file names go into messages, so
+        // they count too.
+        key.add (streams.size ());
+        for (TokenStream i: streams.values ()) {
+            Lexer lexer = i.getLexer ();
+            key.add (lexer.filename ());
+            key.add (lexer.length ());
+            for (int j = 0; j < lexer.length (); ++j) {
+                key.add (lexer.getType (j)).add (lexer.getLine (j));
+                key.add (lexer.getCol (j)).add (lexer.getValue (j));
+            }
+            // Interfaces of imported packages. A word "import" which is not
+            // an import only adds to the key.
+            File dir = lexer.getFile ().getAbsoluteFile ().getParentFile ();
+            for (int j = 0; j + 1 < lexer.length (); ++j) {
+                if (lexer.getSym (j) != Symbols.IMPORT
+                    || lexer.getType (j + 1) != Token.WORD)
+                    continue;
+                File iface = InterfaceFile.find
+                    (lexer.getValue (j + 1), dir, env.getPackageDirs ());
+                key.add (iface != null);
+                if (iface != null)
+                    key.addContents (iface);
+            }
+        }
+        for (String i: args.sources) {
+            if (i.endsWith (".o"))
+                key.addContents (resolve (i));
+        }
+        return key.finish ();
+    }
+
+    /**
+     * Return a stamp of the compiler's own code: the jar or class files it
+     * was loaded from. A rebuilt compiler may keep its version string, and
+     * must not reuse what the old one compiled. This is computed once, as the
+     * code in use cannot change while the JVM runs.
+     */
+    private static synchronized String codeStamp () throws IOException
+    {
+        if (codeStamp != null)
+            return codeStamp;
+        ObjectCache.Key key = new ObjectCache.Key ();
+        java.security.CodeSource source =
+            Compiler.class.getProtectionDomain ().getCodeSource ();
+        if (source != null) {
+            File code;
+            try {
+                code = new File (source.getLocation ().toURI ());
+            } catch (java.net.URISyntaxException e) {
+                throw new IOException (e);
+            }
+            addCodeStamps (key, code);
+        }
+        codeStamp = key.finish ();
+        return codeStamp;
+    }
+
+    private static void addCodeStamps (ObjectCache.Key key, File file)
+    {
+        File[] files = file.listFiles ();
+        if (files == null) {
+            key.addStamp (file);
+            return;
+        }
+        Arrays.sort (files);
+        for (File i: files)
+            addCodeStamps (key, i);
+    }
+
+    /**
+     * Look up this compile in the cache. If the cache fails, it is
+     * disabled for the rest of the compile.
+     * @return The cache entry, or null
+     */
+    private ObjectCache.Entry lookupCache ()
+    {
+        try {
+            cacheKey = this.cacheKey ();
+            ObjectCache.Entry entry = cache.lookup
+                (cacheKey, this.createTempFile (".cached"));
+            if (args.verbose)
+                out.println ("cache " + (entry == null ? "miss" : "hit")
+                             + ": " + cacheKey);
+            return entry;
+        } catch (IOException e) {
+            err.println ("Warning: object cache disabled: " + e);
+            cache = null;
+            return null;
+        }
+    }
+
+    /**
+     * Finish the compile with a cached result: repeat its messages, then
+     * move it to the destination.
+     * @return nonzero on error
+     */
+    private int useCached (ObjectCache.Entry entry)
+    {
+        Properties info = entry.getInfo ();
+        err.print (info.getProperty ("messages", ""));
+        err.flush ();
+        pkgName = info.getProperty ("package");
+        pkgExecutable = Boolean.parseBoolean (info.getProperty ("executable"));
+        String iface = info.getProperty ("interface");
+        if (iface != null)
+            pkgInterface = Base64.getDecoder ().decode (iface);
+        lastFile = entry.getFile ();
+        int rc = this.moveFinalFile ();
+        if (rc == 0 && pkgInterface != null)
+            this.writeInterface ();
+        return rc;
+    }
+
+    /**
+     * Store the final file in the cache. Failing to do so is not an error.
+     */
+    private void storeCache ()
+    {
+        Properties info = new Properties ();
+        info.setProperty ("package", pkgName);
+        info.setProperty ("executable", Boolean.toString (pkgExecutable));
+        info.setProperty ("messages", messages.toString ());
+        if (pkgInterface != null)
+            info.setProperty ("interface", Base64.getEncoder ().encodeToString
+                              (pkgInterface));
+        try {
+            cache.store (cacheKey, this.finalFile (), info);
+        } catch (IOException e) {
+            err.println ("Warning: could not store in object cache: " + e);
+        }
+    }
+
+    /**
+     * Output stream which writes everything to two others. */
+    private static class TeeOutputStream extends OutputStream
+    {
+        OutputStream a, b;
+
+        TeeOutputStream (OutputStream a, OutputStream b)
+        {
+            this.a = a;
+            this.b = b;
+        }
+
+        public void write (int c) throws IOException
+        {
+            a.write (c);
+            b.write (c);
+        }
+
+        public void write (byte[] buf, int off, int len) throws IOException
+        {
+            a.write (buf, off, len);
+            b.write (buf, off, len);
+        }
+
+        public void flush () throws IOException
+        {
+            a.flush ();
+            b.flush ();
+        }
+    }
+
+    /**
+     * Run the lex stage. Note that this usually only prepares the lexers; AlCo
+     * uses a lazy lexer that reads each token as the parser asks for it, and
+     * forgets it once passed. Files are lexed whole here only when all of the
+     * tokens are needed: for the object cache key, the fragment cache, when
+     * the tokens are kept for the next compile, or when method bodies are
+     * skipped and parsed later (-symbols, or parsing them in parallel: see
+     * parseInParallel()).
+     *
+     * Files are lexed in parallel. The streams are kept in command line order,
+     * and if several files have errors, the first one on the command line is
+     * reported.
      * @return nonzero on error
      */
     private int lex ()
     {
-        streams = new HashMap<File, TokenStream> ();
+        streams = new LinkedHashMap<File, TokenStream> ();
+        List<LexTask> tasks = new ArrayList<LexTask> ();
+        boolean whole = lexers != null || cache != null || fragments != null
+            || args.symbols;
         for (String i: args.sources) {
             if (!i.endsWith (".al")) continue;
-            File file = new File (i);
-            Lexer lexer;
-            TokenStream stream;
-            try {
-                lexer = new Lexer (file);
-            } catch (IOException e) {
-                System.err.println (e);
+            File file = resolve (i);
+            tasks.add (new LexTask (file, lexers == null ? null
+                                    : lexers.get (file), lexers != null,
+                                    whole || this.parseInParallel (file)));
+        }
+
+        boolean parallel = tasks.size () > 1 && this.threads () > 1;
+        if (parallel) {
+            for (LexTask i: tasks)
+                this.pool ().execute (i);
+        }
+
+        for (int i = 0; i < tasks.size (); ++i) {
+            LexTask task = tasks.get (i);
+            if (parallel)
+                task.join ();
+            else
+                task.invoke ();
+
+            if (task.ioError != null || task.error != null) {
+                for (int j = i + 1; j < tasks.size (); ++j)
+                    tasks.get (j).cancel (false);
                 streams.clear ();
+                if (task.ioError != null) {
+                    err.println (task.ioError);
+                } else {
+                    task.error.print (err);
+                    if (args.error_trace) task.error.printStackTrace ();
+                }
                 return 1;
             }
+            if (!streams.containsKey (task.file))
+                streams.put (task.file, new TokenStream (task.lexer));
+            if (lexers != null)
+                lexers.put (task.file, task.lexed);
+        }
+        return 0;
+    }
+
+    /**
+     * Return whether to lex a file whole so that Package parses its method
+     * bodies in parallel: only with more than one thread, and only for a
+     * file between PARALLEL_PARSE_MIN and PARALLEL_PARSE_MAX. Otherwise the
+     * file is streamed and parsed on one thread.
+     */
+    private boolean parseInParallel (File file)
+    {
+        long size = file.length ();
+        return this.threads () > 1 && size >= PARALLEL_PARSE_MIN
+            && size <= PARALLEL_PARSE_MAX;
+    }
+
+    /**
+     * Lex a single file. Errors are kept rather than thrown, so that they can
+     * be reported in command line order. */
+    private static class LexTask extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        File file;
+        Lexer lexer, lexed;
+        boolean keep, whole;
+        IOException ioError;
+        CError error;
+
+        /**
+         * @param file File to lex
+         * @param lexed The file's tokens from an earlier compile, or null
+         * @param keep Whether the tokens will be kept for a later compile. If
+         * so, the parser gets a copy, since it may rewrite them.
+         * @param whole Whether to lex the whole file now. If not, the lexer
+         * streams: the parser lexes as it goes, and meets any lexical error.
+         */
+        LexTask (File file, Lexer lexed, boolean keep, boolean whole)
+        {
+            this.file = file;
+            this.lexed = lexed;
+            this.keep = keep;
+            this.whole = whole || keep;
+        }
+
+        protected void compute ()
+        {
             try {
-                lexer.lex ();
+                if (lexed == null) {
+                    lexed = new Lexer (file);
+                    if (whole)
+                        lexed.lex ();
+                    else
+                        lexed.setStreaming ();
+                }
+                lexer = keep ? new Lexer (lexed) : lexed;
+            } catch (IOException e) {
+                ioError = e;
             } catch (CError e) {
-                e.print (System.err);
-                if (args.error_trace) e.printStackTrace ();
-                return 1;
+                error = e;
             }
-            stream = new TokenStream (lexer);
-            streams.put (file, stream);
         }
-        return 0;
     }
 
     /**
@@ -368,7 +1285,7 @@ public class Compiler
     {
         try {
             for (Map.Entry<File, TokenStream> i: streams.entrySet ()) {
-                Package pkg = new Package (i.getValue (), env);
+                Package pkg = new Package (i.getValue (), env, args.symbols);
                 if (ast == null)
                     ast = pkg;
                 else {
@@ -376,10 +1293,12 @@ public class Compiler
                 }
             }
         } catch (CError e) {
-            e.print (System.err);
+            e.print (err);
             if (args.error_trace) e.printStackTrace ();
             return 1;
         }
+        pkgName = ((Package) ast).getName ();
+        pkgExecutable = ((Package) ast).isExecutable ();
         return 0;
     }
 
@@ -393,7 +1312,7 @@ public class Compiler
             Resolver resolver = new Resolver ();
             ast.checkTypes (env, resolver);
         } catch (CError e) {
-            e.print (System.err);
+            e.print (err);
             if (args.error_trace) e.printStackTrace ();
             return 1;
         }
@@ -409,7 +1328,7 @@ public class Compiler
         try {
             ast = ConstantFold.run (ast);
         } catch (CError e) {
-            e.print (System.err);
+            e.print (err);
             if (args.error_trace) e.printStackTrace ();
             return 1;
         }
@@ -425,7 +1344,7 @@ public class Compiler
         try {
             ast = NewArguments.run (ast);
         } catch (CError e) {
-            e.print (System.err);
+            e.print (err);
             if (args.error_trace) e.printStackTrace ();
             return 1;
         }
@@ -437,18 +1356,23 @@ public class Compiler
      */
     private int genLLVM ()
     {
-        // Generate LLVM code
-        Emitter emitter = new Emitter ();
+        emitter = new Emitter ();
         ast.genLLVM (env, emitter, null);
+        return 0;
+    }
 
-        // Emit it to a temporary file
+    /**
+     * Write the generated LLVM to a temporary file.
+     */
+    private int writeLLVM ()
+    {
+        timing.start ("emit");
         PrintStream llStream;
         try {
-            lastFile = llFile = File.createTempFile ("alco", ".ll");
-            llFile.deleteOnExit ();
+            lastFile = llFile = this.createTempFile (".ll");
             llStream = new PrintStream (llFile);
         } catch (IOException e) {
-            System.err.println (e);
+            err.println (e);
             return 1;
         }
         llStream.print (emitter);
@@ -456,8 +1380,8 @@ public class Compiler
 
         // Inspect?
         if (args.debug_mode) {
-            System.out.println ("LLVM is at " + llFile.getPath ());
-            System.out.println ("Inspect/modify, then press enter.");
+            out.println ("LLVM is at " + llFile.getPath ());
+            out.println ("Inspect/modify, then press enter.");
             Scanner sc = new Scanner (System.in);
             while (!sc.nextLine ().equals (""));
         }
@@ -473,13 +1397,12 @@ public class Compiler
         if (!(args.emit_llvm && !args.assembly)) return 0;
 
         try {
-            lastFile = bcFile = File.createTempFile ("alco", ".bc");
-            bcFile.deleteOnExit ();
-            int rc = this.exec (paths.get ("llvm-as"), llFile.getPath (), "-o",
-                              bcFile.getPath ());
+            lastFile = bcFile = this.createTempFile (".bc");
+            int rc = this.exec (this.llvmAsCommand (llFile.getPath (),
+                                                    bcFile.getPath ()));
             return rc;
         } catch (IOException e) {
-            System.err.println (e);
+            err.println (e);
             return 1;
         }
     }
@@ -490,39 +1413,13 @@ public class Compiler
     {
         if (args.emit_llvm) return 0;
 
-        String march, optlevel;
-        if (bits == 32)
-            march = "x86";
-        else if (bits == 64)
-            march = "x86-64";
-        else {
-            assert false: bits;
-            return 1;
-        }
-        switch (args.optlevel) {
-        case 0: optlevel = "-O=0"; break;
-        case 1: optlevel = "-O=1"; break;
-        case 2: optlevel = "-O=2"; break;
-        case 3: optlevel = "-O=3"; break;
-        default:
-            assert false: args.optlevel;
-            return 1;
-        }
-
         try {
-            lastFile = sFile = File.createTempFile ("alco", ".s");
-            int rc;
-            sFile.deleteOnExit ();
-            if (args.fpic || !((Package) ast).isExecutable ())
-                rc = this.exec (paths.get ("llc"), llFile.getPath (), "-o",
-                                sFile.getPath (), "-march", march,
-                                "-relocation-model=pic", optlevel);
-            else
-                rc = this.exec (paths.get ("llc"), llFile.getPath (), "-o",
-                                sFile.getPath (), "-march", march, optlevel);
+            lastFile = sFile = this.createTempFile (".s");
+            int rc = this.exec (this.llcCommand (llFile.getPath (),
+                                                 sFile.getPath ()));
             return rc;
         } catch (IOException e) {
-            System.err.println (e);
+            err.println (e);
             return 1;
         }
     }
@@ -533,24 +1430,13 @@ public class Compiler
     {
         if (args.emit_llvm || args.assembly) return 0;
 
-        String wordSzArg;
-        if (bits == 32)
-            wordSzArg = "--32";
-        else if (bits == 64)
-            wordSzArg = "--64";
-        else {
-            assert false: bits;
-            return 1;
-        }
-
         try {
-            lastFile = oFile = File.createTempFile ("alco", ".o");
-            oFile.deleteOnExit ();
-            int rc = this.exec (paths.get ("as"), sFile.getPath (), "-o",
-                                oFile.getPath (), wordSzArg);
+            lastFile = oFile = this.createTempFile (".o");
+            int rc = this.exec (this.asCommand (sFile.getPath (),
+                                                oFile.getPath ()));
             return rc;
         } catch (IOException e) {
-            System.err.println (e);
+            err.println (e);
             return 1;
         }
     }
@@ -561,33 +1447,27 @@ public class Compiler
     {
         if (args.objfile || args.assembly || args.emit_llvm) return 0;
 
-        String emul;
-        if (bits == 32)
-            emul = "elf_i386";
-        else if (bits == 64)
-            emul = "elf_x86_64";
-        else {
-            assert false: bits;
-            return 1;
-        }
-
         List<String> ldArgs = new ArrayList<String> ();
 
         boolean isExecutable = ((Package) ast).isExecutable ();
         try {
-            lastFile = xFile = File.createTempFile
-                ("alco", isExecutable ? null : ".so");
-            xFile.deleteOnExit ();
+            if (xFile == null)
+                xFile = this.createTempFile (isExecutable ? null : ".so");
+            lastFile = xFile;
             ldArgs.add (paths.get ("ld"));
             ldArgs.add ("-m");
-            ldArgs.add (emul);
+            ldArgs.add (this.emulation ());
             if (isExecutable)
                 ldArgs.add (paths.get ("crt1"));
             ldArgs.add (paths.get ("crti"));
-            ldArgs.add (oFile.getPath ());
+            if (partObjects != null) {
+                for (File i: partObjects)
+                    ldArgs.add (i.getPath ());
+            } else
+                ldArgs.add (oFile.getPath ());
             for (String i: args.sources) {
                 if (i.endsWith (".o"))
-                    ldArgs.add (i);
+                    ldArgs.add (resolve (i).getPath ());
             }
             ldArgs.add (paths.get ("crtn"));
             ldArgs.add ("-lc");
@@ -605,27 +1485,95 @@ public class Compiler
             int rc = this.exec (ldArgs.toArray (new String[ldArgs.size ()]));
             return rc;
         } catch (IOException e) {
-            System.err.println (e);
+            err.println (e);
             return 1;
         }
     }
 
     /**
-     * Move the final file to its destination */
-    private int moveFinalFile ()
+     * Return the ld emulation for the target. */
+    private String emulation ()
+    {
+        if (bits == 32)
+            return "elf_i386";
+        else {
+            assert bits == 64: bits;
+            return "elf_x86_64";
+        }
+    }
+
+    /**
+     * Build the llvm-as command line.
+     * @param input Input file, or "-" for standard input
+     * @param output Output file */
+    private String[] llvmAsCommand (String input, String output)
     {
-        String fileName, pkgName;
-        boolean executable = false;
+        return new String[] {paths.get ("llvm-as"), input, "-o", output};
+    }
+
+    /**
+     * Build the llc command line.
+     * @param input Input file, or "-" for standard input
+     * @param output Output file, or "-" for standard output */
+    private String[] llcCommand (String input, String output)
+    {
+        String march;
+        if (bits == 32)
+            march = "x86";
+        else {
+            assert bits == 64: bits;
+            march = "x86-64";
+        }
+        assert args.optlevel >= 0 && args.optlevel <= 3: args.optlevel;
+        String optlevel = "-O=" + Integer.toString (args.optlevel);
+
+        if (args.fpic || !((Package) ast).isExecutable ())
+            return new String[] {paths.get ("llc"), input, "-o", output,
+                                 "-march", march, "-relocation-model=pic",
+                                 optlevel};
+        else
+            return new String[] {paths.get ("llc"), input, "-o", output,
+                                 "-march", march, optlevel};
+    }
+
+    /**
+     * Build the as command line.
+     * @param input Input file, or null for standard input
+     * @param output Output file */
+    private String[] asCommand (String input, String output)
+    {
+        String wordSzArg;
+        if (bits == 32)
+            wordSzArg = "--32";
+        else {
+            assert bits == 64: bits;
+            wordSzArg = "--64";
+        }
+        if (input == null)
+            return new String[] {paths.get ("as"), "-o", output, wordSzArg};
+        else
+            return new String[] {paths.get ("as"), input, "-o", output,
+                                 wordSzArg};
+    }
+
+    /**
+     * Return whether the final file is a linked executable or library. */
+    private boolean isFinalExecutable ()
+    {
+        return !args.objfile && !args.emit_llvm && !args.assembly;
+    }
+
+    /**
+     * Return the destination of the final file. */
+    private File finalFile ()
+    {
+        String fileName;
 
-        pkgName = ((Package) ast).getName ();
         if (args.output != null) {
-            if (!args.objfile && !args.emit_llvm && !args.assembly)
-                executable = true;
             fileName = args.output;
         } else {
             if (!args.objfile && !args.emit_llvm && !args.assembly) {
-                executable = true;
-                if (((Package) ast).isExecutable ())
+                if (pkgExecutable)
                     fileName = pkgName;
                 else
                     fileName = pkgName + ".alpha.so";
@@ -639,69 +1587,351 @@ public class Compiler
                 fileName = pkgName + ".ll";
             } else {
                 assert false;
-                return 1;
+                fileName = pkgName;
             }
         }
+        return resolve (fileName);
+    }
 
-        File outFile = new File (fileName);
+    /**
+     * Move the final file to its destination */
+    private int moveFinalFile ()
+    {
+        timing.start ("moveFinalFile");
+        File outFile = this.finalFile ();
 
         try {
             this.copyFile (lastFile, outFile); 
         } catch (IOException e) {
-            System.err.println (e);
+            err.println (e);
             return 1;
         }
         
-        if (executable)
+        if (this.isFinalExecutable () && outFile.isFile ())
             outFile.setExecutable (true, false);
 
         return 0;
     }
 
+    /**
+     * Make the interface file of the package, if it gets one: a package
+     * compiled to an object or a library can be imported, an executable or
+     * LLVM or assembly output cannot.
+     * @return The contents of the file, or null
+     */
+    private byte[] makeInterface ()
+    {
+        if (pkgExecutable || args.emit_llvm || args.assembly)
+            return null;
+        return InterfaceFile.make ((Package) ast, bits);
+    }
+
+    /**
+     * Write the interface file next to the final file, as PKGNAME.ali. If
+     * the final file is not a regular file (-o /dev/null), there is nothing
+     * to import, and no interface is written. Failing to write it is not an
+     * error.
+     */
+    private void writeInterface ()
+    {
+        timing.start ("writeInterface");
+        File outFile = this.finalFile ().getAbsoluteFile ();
+        if (!outFile.isFile ())
+            return;
+        File file = new File (outFile.getParentFile (),
+                              pkgName + InterfaceFile.SUFFIX);
+        try {
+            InterfaceFile.write (file, pkgInterface);
+        } catch (IOException e) {
+            err.println ("Warning: could not write interface: " + e);
+        }
+    }
+
     private int exec (String... args) throws IOException
     {
+        timing.start (new File (args[0]).getName ());
         if (this.args.verbose) {
             boolean first = true;
             for (String i: args) {
                 if (first) first = false;
-                else System.out.print (" ");
-                System.out.print (i);
+                else out.print (" ");
+                out.print (i);
             }
-            System.out.println ();
+            out.println ();
         }
-        Process cmd = new ProcessBuilder (args)
-            .redirectErrorStream (true)
-            .start ();
-        InputStream inp = cmd.getInputStream ();
-        while (true) {
-            int ch = inp.read ();
-            if (ch == -1) break;
-            System.err.write (ch);
+        if (!this.acquireToolSlots (1))
+            return 1;
+        try {
+            Process cmd = this.processBuilder (args)
+                .redirectErrorStream (true)
+                .start ();
+            cmd.getOutputStream ().close ();
+            Drain drain = new Drain (cmd.getInputStream ());
+            drain.start ();
+            int rc;
+            try {
+                rc = cmd.waitFor ();
+                drain.join ();
+            } catch (InterruptedException e) {
+                err.println (e);
+                return 1;
+            } finally {
+                Thread.interrupted ();
+            }
+            err.write (drain.data.toByteArray ());
+            err.flush ();
+            return rc;
+        } finally {
+            this.releaseToolSlots (1);
         }
-        System.err.flush ();
-        int rc;
+    }
+
+    /**
+     * Take permits to run external tools, waiting until they are free. There
+     * is no limit unless one was set with setToolSlots().
+     * @return false if interrupted */
+    private boolean acquireToolSlots (int n)
+    {
+        if (toolSlots == null)
+            return true;
         try {
-            rc = cmd.waitFor ();
+            toolSlots.acquire (n);
+            return true;
         } catch (InterruptedException e) {
-            System.err.println (e);
+            err.println (e);
+            return false;
+        }
+    }
+
+    private void releaseToolSlots (int n)
+    {
+        if (toolSlots != null)
+            toolSlots.release (n);
+    }
+
+    /**
+     * Run a pipeline of commands. The given object is printed to the standard
+     * input of the first, and the standard output of each one is piped into
+     * the next. As with exec(), messages from the commands are printed, in
+     * order once they are all finished.
+     * @return zero if all commands succeeded, otherwise the first nonzero
+     * exit status */
+    private int execPipe (Object input, String[]... cmds) throws IOException
+    {
+        StringBuilder stage = new StringBuilder ();
+        for (String[] i: cmds) {
+            if (stage.length () != 0) stage.append (" | ");
+            stage.append (new File (i[0]).getName ());
+        }
+        timing.start (stage.toString ());
+
+        if (this.args.verbose) {
+            for (int i = 0; i < cmds.length; ++i) {
+                if (i != 0) out.print (" | ");
+                for (int j = 0; j < cmds[i].length; ++j) {
+                    if (j != 0) out.print (" ");
+                    out.print (cmds[i][j]);
+                }
+            }
+            out.println ();
+        }
+
+        if (!this.acquireToolSlots (1))
+            return 1;
+        try {
+            return this.execPipeStarted (input, cmds);
+        } finally {
+            this.releaseToolSlots (1);
+        }
+    }
+
+    private int execPipeStarted (Object input, String[]... cmds)
+        throws IOException
+    {
+        List<ProcessBuilder> builders = new ArrayList<ProcessBuilder> ();
+        for (String[] i: cmds)
+            builders.add (this.processBuilder (i));
+        builders.get (cmds.length - 1).redirectErrorStream (true);
+        List<Process> procs = ProcessBuilder.startPipeline (builders);
+
+        // The last command's output is merged with its errors, like exec()
+        List<Drain> drains = new ArrayList<Drain> ();
+        for (int i = 0; i < procs.size (); ++i) {
+            Process proc = procs.get (i);
+            Drain drain = new Drain (i == procs.size () - 1
+                                     ? proc.getInputStream ()
+                                     : proc.getErrorStream ());
+            drain.start ();
+            drains.add (drain);
+        }
+
+        // If the first command dies early, the write fails (PrintStream keeps
+        // quiet about it). Its messages say why, so carry on and report them.
+        PrintStream stdin = new PrintStream (procs.get (0).getOutputStream ());
+        stdin.print (input);
+        stdin.close ();
+
+        int rc = 0;
+        try {
+            for (int i = 0; i < procs.size (); ++i) {
+                int procRc = procs.get (i).waitFor ();
+                drains.get (i).join ();
+                err.write (drains.get (i).data.toByteArray ());
+                if (rc == 0)
+                    rc = procRc;
+            }
+        } catch (InterruptedException e) {
+            err.println (e);
+            return 1;
+        } finally {
+            Thread.interrupted ();
+        }
+        err.flush ();
+        return rc;
+    }
+
+    /**
+     * Run several commands at once. As with exec(), messages from the
+     * commands are printed, in order once they are all finished.
+     * @param inputs Objects to print to the standard input of each command,
+     * or null if they read no input
+     * @return zero if all commands succeeded, otherwise the first nonzero
+     * exit status */
+    private int execParallel (List<String> inputs, List<String[]> cmds)
+        throws IOException
+    {
+        timing.start (new File (cmds.get (0)[0]).getName () + " x "
+                      + cmds.size ());
+
+        if (this.args.verbose) {
+            for (String[] i: cmds) {
+                for (int j = 0; j < i.length; ++j) {
+                    if (j != 0) out.print (" ");
+                    out.print (i[j]);
+                }
+                out.println (" &");
+            }
+        }
+
+        // All at once, or two compilers could each hold half of the permits
+        // and wait for the rest forever
+        if (!this.acquireToolSlots (cmds.size ()))
+            return 1;
+        try {
+            return this.execParallelStarted (inputs, cmds);
+        } finally {
+            this.releaseToolSlots (cmds.size ());
+        }
+    }
+
+    private int execParallelStarted (List<String> inputs,
+                                     List<String[]> cmds) throws IOException
+    {
+        List<Process> procs = new ArrayList<Process> ();
+        List<Drain> drains = new ArrayList<Drain> ();
+        try {
+            for (String[] i: cmds) {
+                Process proc = this.processBuilder (i)
+                    .redirectErrorStream (true)
+                    .start ();
+                procs.add (proc);
+                Drain drain = new Drain (proc.getInputStream ());
+                drain.start ();
+                drains.add (drain);
+            }
+        } catch (IOException e) {
+            for (Process i: procs)
+                i.destroy ();
+            throw e;
+        }
+
+        // Each process starts work once it has all of its input, so feeding
+        // them one after another keeps them all busy.
+        for (int i = 0; i < procs.size (); ++i) {
+            if (inputs != null) {
+                PrintStream stdin = new PrintStream
+                    (procs.get (i).getOutputStream ());
+                stdin.print (inputs.get (i));
+                stdin.close ();
+            } else
+                procs.get (i).getOutputStream ().close ();
+        }
+
+        int rc = 0;
+        try {
+            for (int i = 0; i < procs.size (); ++i) {
+                int procRc = procs.get (i).waitFor ();
+                drains.get (i).join ();
+                err.write (drains.get (i).data.toByteArray ());
+                if (rc == 0)
+                    rc = procRc;
+            }
+        } catch (InterruptedException e) {
+            err.println (e);
             return 1;
         } finally {
             Thread.interrupted ();
         }
+        err.flush ();
         return rc;
     }
 
+    /**
+     * Thread which reads a stream to the end, keeping what it read. */
+    private static class Drain extends Thread
+    {
+        InputStream in;
+        ByteArrayOutputStream data;
+
+        Drain (InputStream in)
+        {
+            this.in = in;
+            data = new ByteArrayOutputStream ();
+        }
+
+        public void run ()
+        {
+            byte[] buf = new byte[4096];
+            try {
+                int n;
+                while ((n = in.read (buf)) != -1)
+                    data.write (buf, 0, n);
+            } catch (IOException e) {
+                // The process went away; it has said all it will
+            }
+        }
+    }
+
     /**
      * Print out a list of all tokens.
      * @return nonzero on error
      */
     private int dump_tokens ()
     {
-        for (TokenStream stream: streams.values ()) {
-            Token token;
-            while (!(token = stream.next ()).is (Token.NO_MORE)) {
-                System.out.println (token);
+        try {
+            for (TokenStream stream: streams.values ()) {
+                Token token;
+                while (!(token = stream.next ()).is (Token.NO_MORE)) {
+                    out.println (token);
+                }
             }
+        } catch (CError e) {
+            e.print (err);
+            if (args.error_trace) e.printStackTrace ();
+            return 1;
+        }
+        return 0;
+    }
+
+    /**
+     * Print out the declarations of the package's methods and externs.
+     * @return zero
+     */
+    private int dump_symbols ()
+    {
+        for (AST i: ast.getChildren ()) {
+            if (FunctionLike.class.isInstance (i))
+                out.println (i);
         }
         return 0;
     }
@@ -712,7 +1942,7 @@ public class Compiler
      */
     private int dump_ast ()
     {
-        ast.print (System.out);
+        ast.print (out);
         return 0;
     }
 
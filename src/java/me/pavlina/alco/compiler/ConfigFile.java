@@ -6,6 +6,7 @@ package me.pavlina.alco.compiler;
 
 import java.io.*;
 import java.util.Map;
+import java.util.HashMap;
 
 /**
  * Configuration file reader.
@@ -13,6 +14,15 @@ import java.util.Map;
 public class ConfigFile
 {
 
+    /**
+     * Contents of each file read so far, keyed by path. A long-running compile
+     * server would otherwise re-read the same file for every compile. */
+    private static final Map<String, ConfigFile> cache
+        = new HashMap<String, ConfigFile> ();
+
+    private long modified, length;
+    private Map<String, String> entries;
+
     /**
      * Actual reader method. This reads a configuration file into a map.
      * @param file File name to read
@@ -52,20 +62,41 @@ public class ConfigFile
 
     /**
      * Reader method to call. This reads a configuration file into a map, and
-     * prints a message on error.
+     * prints a message on error. The file is only read again if it has
+     * changed since the last call.
      * @param file File name to read
      * @param paths Map to read into
+     * @param err Stream to print errors to
      * @return nonzero on error
      */
-    public static int read (File file, Map<String, String> paths)
+    public static int read (File file, Map<String, String> paths,
+                            PrintStream err)
     {
+        String key = file.getAbsolutePath ();
+        synchronized (cache) {
+            ConfigFile cached = cache.get (key);
+            if (cached != null && cached.modified == file.lastModified ()
+                && cached.length == file.length ()) {
+                paths.putAll (cached.entries);
+                return 0;
+            }
+        }
+
+        ConfigFile cf = new ConfigFile ();
+        cf.modified = file.lastModified ();
+        cf.length = file.length ();
+        cf.entries = new HashMap<String, String> ();
         try {
-            ConfigFile._read (file, paths);
+            ConfigFile._read (file, cf.entries);
         } catch (java.io.IOException e) {
-            System.err.println ("Error: cannot read config file "
-                                + file.getPath ());
+            err.println ("Error: cannot read config file "
+                         + file.getPath ());
             return 1;
         }
+        synchronized (cache) {
+            cache.put (key, cf);
+        }
+        paths.putAll (cf.entries);
         return 0;
     }
 
@@ -2,7 +2,11 @@
 
 package me.pavlina.alco.compiler;
 
+import java.io.File;
 import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import me.pavlina.alco.lex.Token;
 
 /**
@@ -16,6 +20,10 @@ public class Env
     int         bits;
     boolean     debug, boundck, nulloom;
     String      malloc_fn, free_fn;
+    ForkJoinPool pool;
+    FragmentCache fragments;
+    Timing timing;
+    List<File> pkgDirs;
 
     /**
      * Initialise the compilation environment.
@@ -34,6 +42,87 @@ public class Env
         malloc_fn = "GC_malloc";
         free_fn = "GC_free";
         boundck = true;
+        pkgDirs = new ArrayList<File> ();
+    }
+
+    /**
+     * Create a copy of an environment which prints messages to a different
+     * stream. This is used to hold back the messages from work done in
+     * parallel, so they can be printed in order.
+     * @param other Environment to copy
+     * @param err Standard error stream
+     */
+    public Env (Env other, PrintStream err)
+    {
+        this.out = other.out;
+        this.err = err;
+        bits = other.bits;
+        debug = other.debug;
+        boundck = other.boundck;
+        nulloom = other.nulloom;
+        malloc_fn = other.malloc_fn;
+        free_fn = other.free_fn;
+        pool = other.pool;
+        fragments = other.fragments;
+        timing = other.timing;
+        pkgDirs = other.pkgDirs;
+    }
+
+    /**
+     * Return the standard error stream */
+    public PrintStream getErr () {
+        return err;
+    }
+
+    /**
+     * Return the worker pool for parallel stages, or null if everything
+     * should run sequentially. */
+    public ForkJoinPool getPool () {
+        return pool;
+    }
+
+    /**
+     * Set the worker pool for parallel stages. */
+    public void setPool (ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Return the cache of generated methods, or null if methods should not be
+     * cached. */
+    public FragmentCache getFragmentCache () {
+        return fragments;
+    }
+
+    /**
+     * Set the cache of generated methods. */
+    public void setFragmentCache (FragmentCache fragments) {
+        this.fragments = fragments;
+    }
+
+    /**
+     * Return the timing to record spans in, or null if not tracing. */
+    public Timing getTiming () {
+        return timing;
+    }
+
+    /**
+     * Set the timing to record spans in. */
+    public void setTiming (Timing timing) {
+        this.timing = timing;
+    }
+
+    /**
+     * Return the directories to search for the interfaces of imported
+     * packages, after the directory of the importing file. */
+    public List<File> getPackageDirs () {
+        return pkgDirs;
+    }
+
+    /**
+     * Add a directory to search for the interfaces of imported packages. */
+    public void addPackageDir (File dir) {
+        pkgDirs.add (dir);
     }
 
     /**
@@ -0,0 +1,109 @@
+// Copyright (c) 2011, Christopher Pavlina. All rights reserved.
+//
+// FragmentCache - in-memory cache of the code generated for each method
+
+package me.pavlina.alco.compiler;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import me.pavlina.alco.llvm.Fragment;
+
+/**
+ * Cache of the code generated for single methods, kept in memory between
+ * compiles by a long-running compiler (the compile server). When one method
+ * of a large package changes, the others are not checked or generated again;
+ * their code is spliced in from here.
+ *
+ * Keys are made by Package, from everything the method's code depends on: its
+ * tokens, the signatures of all functions it could call, and the Env
+ * settings. The cache is limited in size, and forgets the least recently used
+ * fragments first. It may be used from several threads.
+ */
+public class FragmentCache
+{
+
+    LinkedHashMap<String, Entry> entries;
+    long size, maxSize;
+    long hits, misses;
+
+    /**
+     * Create an empty cache.
+     * @param maxSize Maximum total size of the fragments, in characters
+     */
+    public FragmentCache (long maxSize)
+    {
+        this.maxSize = maxSize;
+        entries = new LinkedHashMap<String, Entry> (16, 0.75f, true);
+    }
+
+    /**
+     * Look up a fragment, counting a hit or a miss.
+     * @return The entry, or null if there is none
+     */
+    public synchronized Entry get (String key)
+    {
+        Entry e = entries.get (key);
+        if (e == null)
+            ++misses;
+        else
+            ++hits;
+        return e;
+    }
+
+    /**
+     * Store a fragment, then forget old ones until the cache fits. */
+    public synchronized void put (String key, Entry entry)
+    {
+        Entry old = entries.put (key, entry);
+        if (old != null)
+            size -= old.size ();
+        size += entry.size ();
+
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet ().iterator ();
+        while (size > maxSize && it.hasNext ()) {
+            size -= it.next ().getValue ().size ();
+            it.remove ();
+        }
+    }
+
+    public synchronized long getHits ()
+    {
+        return hits;
+    }
+
+    public synchronized long getMisses ()
+    {
+        return misses;
+    }
+
+    /**
+     * Cached method: its code, and the messages printed while checking it.
+     */
+    public static class Entry
+    {
+        Fragment fragment;
+        byte[] messages;
+
+        public Entry (Fragment fragment, byte[] messages)
+        {
+            this.fragment = fragment;
+            this.messages = messages;
+        }
+
+        public Fragment getFragment ()
+        {
+            return fragment;
+        }
+
+        public byte[] getMessages ()
+        {
+            return messages;
+        }
+
+        int size ()
+        {
+            return fragment.size () + messages.length;
+        }
+    }
+}
@@ -0,0 +1,283 @@
+// Copyright (c) 2011, Christopher Pavlina. All rights reserved.
+//
+// InterfaceFile - declarations of a compiled package, for importing it
+
+package me.pavlina.alco.compiler;
+
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import me.pavlina.alco.ast.AST;
+import me.pavlina.alco.ast.FunctionLike;
+import me.pavlina.alco.ast.Method;
+import me.pavlina.alco.ast.Package;
+import me.pavlina.alco.language.Type;
+
+/**
+ * Interface file (.ali) of a package: the declaration of every method it
+ * defines, so that another package can import it and call them without
+ * lexing or parsing its source. It is written next to the object or library
+ * when a package (not an executable) is compiled to one.
+ *
+ * Format, all big-endian:
+ *   magic     int, "ALI" and the format version
+ *   bits      byte, the word length the package was compiled for
+ *   package   string
+ *   count     int
+ *   index     'count' entries of: name (string), flags (byte),
+ *             offset of the record (int, from the first record)
+ *   records   for each entry: mangled name (string), return types (short
+ *             count, then each encoded type), arguments (short count, then
+ *             each encoded type and name)
+ * Strings are a short length and the text, as DataOutput.writeUTF() writes
+ * them. Types are encoded with Type.getEncodedName().
+ *
+ * The file is mapped rather than read, and opening it only reads the index.
+ * Each record is decoded when its function is first looked at (see
+ * ImportedFunction), so an import costs little more than the functions
+ * which are actually used.
+ */
+public class InterfaceFile
+{
+    public static final String SUFFIX = ".ali";
+    static final int MAGIC = 0x414c4901;
+    static final Charset UTF8 = Charset.forName ("UTF-8");
+
+    /**
+     * @name Flags of an index entry
+     * @{
+     */
+    public static final int NOMANGLE      = 1;
+    public static final int GLOBAL        = 2;
+    public static final int ALLOWCONFLICT = 4;
+    public static final int OPERATOR      = 8;
+    /** @} */
+
+    File file;
+    ByteBuffer buffer;
+    int bits;
+    String name;
+    String[] symbols;
+    int[] flags;
+    int[] offsets;
+    int recordStart;
+
+    /**
+     * Map an interface file and read its index.
+     * @throws IOException if the file cannot be read, or is not a valid
+     * interface file
+     */
+    public InterfaceFile (File file) throws IOException
+    {
+        this.file = file;
+        RandomAccessFile raf = new RandomAccessFile (file, "r");
+        try {
+            // The mapping stays valid after the file is closed
+            buffer = raf.getChannel ().map
+                (FileChannel.MapMode.READ_ONLY, 0, raf.length ());
+        } finally {
+            raf.close ();
+        }
+
+        try {
+            if (buffer.getInt () != MAGIC)
+                throw new IOException ("not an interface file: " + file);
+            bits = buffer.get ();
+            name = readString (buffer);
+            int count = buffer.getInt ();
+            if (count < 0)
+                throw new IOException ("bad interface file: " + file);
+            symbols = new String[count];
+            flags = new int[count];
+            offsets = new int[count];
+            for (int i = 0; i < count; ++i) {
+                symbols[i] = readString (buffer);
+                flags[i] = buffer.get ();
+                offsets[i] = buffer.getInt ();
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IOException ("truncated interface file: " + file);
+        }
+        recordStart = buffer.position ();
+        for (int i: offsets) {
+            if (i < 0 || i >= buffer.limit () - recordStart)
+                throw new IOException ("bad interface file: " + file);
+        }
+    }
+
+    /**
+     * Find the interface file of a package: first in 'dir' (the directory
+     * of the importing file), then in each of 'dirs'.
+     * @return The file, or null if there is none
+     */
+    public static File find (String name, File dir, List<File> dirs)
+    {
+        File file = new File (dir, name + SUFFIX);
+        if (file.isFile ())
+            return file;
+        for (File i: dirs) {
+            file = new File (i, name + SUFFIX);
+            if (file.isFile ())
+                return file;
+        }
+        return null;
+    }
+
+    /**
+     * Make the interface file of a package. Every method is declared,
+     * except the out-of-memory and out-of-bounds handlers; extern
+     * declarations are left to the importing package.
+     * @param bits Word length the package is compiled for
+     */
+    public static byte[] make (Package pkg, int bits)
+    {
+        List<FunctionLike> functions = new ArrayList<FunctionLike> ();
+        for (AST i: pkg.getChildren ()) {
+            if (!Method.class.isInstance (i))
+                continue;
+            String name = ((Method) i).getName ();
+            if (!name.equals ("@oom") && !name.equals ("@bounds"))
+                functions.add ((Method) i);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream ();
+        ByteArrayOutputStream recordBytes = new ByteArrayOutputStream ();
+        DataOutputStream out = new DataOutputStream (bytes);
+        DataOutputStream records = new DataOutputStream (recordBytes);
+        try {
+            out.writeInt (MAGIC);
+            out.writeByte (bits);
+            out.writeUTF (pkg.getName ());
+            out.writeInt (functions.size ());
+            for (FunctionLike i: functions) {
+                int f = 0;
+                if (!i.isMangled ()) f |= NOMANGLE;
+                if (i.isGlobal ()) f |= GLOBAL;
+                if (i.isAllowConflict ()) f |= ALLOWCONFLICT;
+                if (i.isOperator ()) f |= OPERATOR;
+                out.writeUTF (i.getName ());
+                out.writeByte (f);
+                out.writeInt (records.size ());
+
+                records.writeUTF (i.getMangledName ());
+                records.writeShort (i.getTypes ().size ());
+                for (Type j: i.getTypes ())
+                    records.writeUTF (j.getEncodedName ());
+                List<Type> argtypes = i.getArgTypes ();
+                List<String> argnames = i.getArgNames ();
+                records.writeShort (argtypes.size ());
+                for (int j = 0; j < argtypes.size (); ++j) {
+                    records.writeUTF (argtypes.get (j).getEncodedName ());
+                    records.writeUTF (argnames.get (j));
+                }
+            }
+            records.flush ();
+            recordBytes.writeTo (out);
+            out.flush ();
+        } catch (IOException e) {
+            // Byte arrays do not fail
+            assert false: e;
+        }
+        return bytes.toByteArray ();
+    }
+
+    /**
+     * Write an interface file. It is written under a temporary name and
+     * then renamed, so that a compile reading the old file at the same time
+     * never sees half of the new one.
+     */
+    public static void write (File file, byte[] contents) throws IOException
+    {
+        File dir = file.getAbsoluteFile ().getParentFile ();
+        File temp = File.createTempFile (file.getName (), ".tmp", dir);
+        try {
+            OutputStream os = new FileOutputStream (temp);
+            try {
+                os.write (contents);
+            } finally {
+                os.close ();
+            }
+            if (!temp.renameTo (file))
+                throw new IOException ("cannot rename " + temp + " to "
+                                       + file);
+        } finally {
+            temp.delete ();
+        }
+    }
+
+    /**
+     * Read a string written by DataOutput.writeUTF(). Names are ASCII, so
+     * this is the same as UTF-8. */
+    public static String readString (ByteBuffer in)
+    {
+        int length = in.getShort () & 0xffff;
+        byte[] b = new byte[length];
+        in.get (b);
+        return new String (b, UTF8);
+    }
+
+    /**
+     * Get the file this was read from */
+    public File getFile ()
+    {
+        return file;
+    }
+
+    /**
+     * Get the name of the package */
+    public String getName ()
+    {
+        return name;
+    }
+
+    /**
+     * Get the word length the package was compiled for */
+    public int getBits ()
+    {
+        return bits;
+    }
+
+    /**
+     * Get the number of functions declared */
+    public int size ()
+    {
+        return symbols.length;
+    }
+
+    /**
+     * Get the unmangled name of a function */
+    public String getSymbol (int i)
+    {
+        return symbols[i];
+    }
+
+    /**
+     * Get the flags of a function */
+    public int getFlags (int i)
+    {
+        return flags[i];
+    }
+
+    /**
+     * Get the record of a function, as a buffer of its own positioned at
+     * the start of it. Any number of threads may read records at once. */
+    public ByteBuffer getRecord (int i)
+    {
+        ByteBuffer in = buffer.duplicate ();
+        in.position (recordStart + offsets[i]);
+        return in;
+    }
+
+    /**
+     * Get the whole contents of the file, for cache keys. */
+    public ByteBuffer getContents ()
+    {
+        ByteBuffer in = buffer.duplicate ();
+        in.clear ();
+        return in;
+    }
+}
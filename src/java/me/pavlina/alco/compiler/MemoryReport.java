@@ -0,0 +1,205 @@
+// Copyright (c) 2011, Christopher Pavlina. All rights reserved.
+//
+// MemoryReport - retained heap after each stage (-mem-report)
+
+package me.pavlina.alco.compiler;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Retained heap after each compile stage, by family of classes. After each
+ * stage, the JVM is asked for a histogram of live objects (as "jcmd
+ * GC.class_histogram" prints), which collects garbage first, so what is left
+ * is what the compiler still holds. Classes are sorted into families:
+ *
+ *  - tokens: everything in me.pavlina.alco.lex (Lexer, Token, ...)
+ *  - ast: AST nodes, me.pavlina.alco.ast
+ *  - types: language.Type and its nested classes
+ *  - resolver: language.Resolver and its variables
+ *  - llvm: everything in me.pavlina.alco.llvm
+ *  - strings: String and the arrays which hold their characters
+ *  - util: java.util collections, whichever of the above owns them
+ *  - other: the rest, including the JVM's and JCommander's own objects
+ *
+ * Arrays count with their element class: Token[] is a token. Containers
+ * cannot be told apart by owner, so the lists of AST children and the maps
+ * of the Resolver are all in "util"; the source bytes kept by the
+ * lexer are in "strings", and the arrays of its token table in "other". The
+ * Resolver is dropped when checkTypes ends, so its column only shows
+ * variables which AST nodes still refer to.
+ *
+ * Where the histogram is not available (not a HotSpot JVM), only the total
+ * heap in use after System.gc() is reported.
+ */
+public class MemoryReport
+{
+
+    static final String[] FAMILIES = {
+        "tokens", "ast", "types", "resolver", "llvm", "strings", "util",
+        "other" };
+    static final int OTHER = FAMILIES.length - 1;
+
+    List<String> stages;
+    List<long[]> bytes;
+    List<long[]> counts;
+    boolean histogramFailed;
+
+    public MemoryReport ()
+    {
+        stages = new ArrayList<String> ();
+        bytes = new ArrayList<long[]> ();
+        counts = new ArrayList<long[]> ();
+    }
+
+    /**
+     * Measure the retained heap now, and record it as that after the given
+     * stage. This collects garbage, so it is slow; do not call it inside
+     * anything being timed. */
+    public void snapshot (String stage)
+    {
+        long[] b = new long[FAMILIES.length];
+        long[] c = new long[FAMILIES.length];
+        String histogram = histogramFailed ? null : histogram ();
+        if (histogram == null) {
+            histogramFailed = true;
+            Runtime rt = Runtime.getRuntime ();
+            System.gc ();
+            b[OTHER] = rt.totalMemory () - rt.freeMemory ();
+        } else {
+            parse (histogram, b, c);
+        }
+        stages.add (stage);
+        bytes.add (b);
+        counts.add (c);
+    }
+
+    /**
+     * Print the report: one row per stage, one column per family, and the
+     * total of each row. The same again for the number of objects. */
+    public void print (PrintStream err)
+    {
+        err.println ("===---------------------------------------------------"
+                     + "---===");
+        err.println ("                AlCo retained heap report (KB)");
+        err.println ("===---------------------------------------------------"
+                     + "---===");
+        if (histogramFailed)
+            err.println ("Note: no class histogram; 'other' is all of the"
+                         + " heap");
+        StringBuilder sb = new StringBuilder ();
+        sb.append (String.format ("%-13s", "After"));
+        for (String i: FAMILIES)
+            sb.append (String.format (" %8s", i));
+        sb.append (String.format (" %8s", "total"));
+        String header = sb.toString ();
+        err.println (header);
+
+        for (int i = 0; i < stages.size (); ++i) {
+            long[] b = bytes.get (i);
+            long total = 0;
+            sb.setLength (0);
+            sb.append (String.format ("%-13s", stages.get (i)));
+            for (long j: b) {
+                sb.append (String.format (" %8d", j / 1024));
+                total += j;
+            }
+            sb.append (String.format (" %8d", total / 1024));
+            err.println (sb);
+        }
+
+        if (histogramFailed)
+            return;
+        err.println ("Objects:");
+        err.println (header);
+        for (int i = 0; i < stages.size (); ++i) {
+            long total = 0;
+            sb.setLength (0);
+            sb.append (String.format ("%-13s", stages.get (i)));
+            for (long j: counts.get (i)) {
+                sb.append (String.format (" %8d", j));
+                total += j;
+            }
+            sb.append (String.format (" %8d", total));
+            err.println (sb);
+        }
+    }
+
+    /**
+     * Return the live object histogram from the DiagnosticCommand MBean, or
+     * null if there is none. */
+    private static String histogram ()
+    {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer ();
+            ObjectName name =
+                new ObjectName ("com.sun.management:type=DiagnosticCommand");
+            Object result = server.invoke
+                (name, "gcClassHistogram", new Object[] { new String[0] },
+                 new String[] { String[].class.getName () });
+            return (result instanceof String) ? (String) result : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Add up a histogram by family. Its lines look like:
+     *   "   1:         12345        1234567  java.lang.String (java.base)"
+     */
+    private static void parse (String histogram, long[] bytes, long[] counts)
+    {
+        for (String line: histogram.split ("\n")) {
+            String[] fields = line.trim ().split ("\\s+");
+            if (fields.length < 4 || !fields[0].endsWith (":"))
+                continue;
+            try {
+                int family = family (fields[3]);
+                counts[family] += Long.parseLong (fields[1]);
+                bytes[family] += Long.parseLong (fields[2]);
+            } catch (NumberFormatException e) {
+                continue;
+            }
+        }
+    }
+
+    /**
+     * Return the family of a class, by its name as the histogram gives it. */
+    static int family (String name)
+    {
+        // Arrays: "[B", "[[I", "[Lme.pavlina.alco.lex.Token;"
+        int dims = 0;
+        while (dims < name.length () && name.charAt (dims) == '[')
+            ++dims;
+        if (dims > 0) {
+            if (name.startsWith ("L", dims) && name.endsWith (";"))
+                name = name.substring (dims + 1, name.length () - 1);
+            else if (name.equals ("[B") || name.equals ("[C"))
+                return 5;
+            else
+                return OTHER;
+        }
+
+        if (name.startsWith ("me.pavlina.alco.lex."))
+            return 0;
+        if (name.startsWith ("me.pavlina.alco.ast."))
+            return 1;
+        if (name.equals ("me.pavlina.alco.language.Type")
+            || name.startsWith ("me.pavlina.alco.language.Type$"))
+            return 2;
+        if (name.equals ("me.pavlina.alco.language.Resolver")
+            || name.startsWith ("me.pavlina.alco.language.Resolver$"))
+            return 3;
+        if (name.startsWith ("me.pavlina.alco.llvm."))
+            return 4;
+        if (name.equals ("java.lang.String"))
+            return 5;
+        if (name.startsWith ("java.util."))
+            return 6;
+        return OTHER;
+    }
+}
@@ -0,0 +1,447 @@
+// Copyright (c) 2011, Christopher Pavlina. All rights reserved.
+//
+// ObjectCache - cache of compiled files, keyed by everything that went in
+
+package me.pavlina.alco.compiler;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.RandomAccessFile;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cache of compiled files. Each entry is keyed by a hash of everything which
+ * affects the output (tokens, options, tools), so identical compiles can skip
+ * straight to copying the result out. The cache is a directory holding, for
+ * each key:
+ *   - KEY       the compiled file
+ *   - KEY.info  properties describing it (package name, messages, ...)
+ *
+ * plus "stats" (hit and miss counts) and "lock" (locked while the directory
+ * is being changed, as several compilers may share it). A file lock only
+ * keeps out other processes, and Java refuses to take it twice in one JVM,
+ * so compilers in the same JVM (-build) also share a lock for each
+ * directory.
+ *
+ * The cache is kept under a size limit by deleting the least recently used
+ * entries. Using an entry updates the modification time of its file.
+ */
+public class ObjectCache
+{
+
+    File dir;
+    long maxSize;
+    ReentrantLock jvmLock;
+
+    /** Lock for each cache directory (by canonical path) in this JVM */
+    static final ConcurrentMap<String, ReentrantLock> jvmLocks =
+        new ConcurrentHashMap<String, ReentrantLock> ();
+
+    /**
+     * Open a cache. The directory is created if needed.
+     * @param dir Cache directory
+     * @param maxSize Maximum total size of the entries, in bytes
+     */
+    public ObjectCache (File dir, long maxSize) throws IOException
+    {
+        this.dir = dir;
+        this.maxSize = maxSize;
+        if (!dir.isDirectory () && !dir.mkdirs ())
+            throw new IOException ("cannot create cache directory "
+                                   + dir.getPath ());
+        String path = dir.getCanonicalPath ();
+        jvmLocks.putIfAbsent (path, new ReentrantLock ());
+        jvmLock = jvmLocks.get (path);
+    }
+
+    /**
+     * Look up an entry, counting a hit or a miss. A hit is copied out while
+     * the cache is locked, as another compiler may evict it as soon as the
+     * lock is released.
+     * @param key Key, from Key.finish()
+     * @param copy File to copy the compiled file of a hit to
+     * @return The entry, or null if there is none
+     */
+    public Entry lookup (String key, File copy) throws IOException
+    {
+        File file = new File (dir, key);
+        File info = new File (dir, key + ".info");
+        Entry entry = null;
+        FileLock lock = this.lock ();
+        try {
+            if (file.isFile () && info.isFile ()) {
+                Properties props = readProperties (info);
+                copy (file, copy);
+                entry = new Entry (copy, props);
+                file.setLastModified (System.currentTimeMillis ());
+            }
+            this.count (entry != null ? "hits" : "misses");
+        } finally {
+            this.unlock (lock);
+        }
+        return entry;
+    }
+
+    /**
+     * Store an entry, then evict old entries until the cache fits.
+     * @param key Key, from Key.finish()
+     * @param file Compiled file. This is copied into the cache.
+     * @param info Properties to keep with the entry
+     */
+    public void store (String key, File file, Properties info)
+        throws IOException
+    {
+        // Copy in under temporary names, so that nobody can see a half
+        // written entry.
+        File tmpFile = File.createTempFile (key, ".tmp", dir);
+        File tmpInfo = File.createTempFile (key, ".tmp", dir);
+        try {
+            copy (file, tmpFile);
+            OutputStream os = new FileOutputStream (tmpInfo);
+            try {
+                info.store (os, "AlCo cache entry");
+            } finally {
+                os.close ();
+            }
+
+            FileLock lock = this.lock ();
+            try {
+                if (!tmpInfo.renameTo (new File (dir, key + ".info")) ||
+                    !tmpFile.renameTo (new File (dir, key)))
+                    throw new IOException ("cannot store cache entry " + key);
+                this.evict ();
+            } finally {
+                this.unlock (lock);
+            }
+        } finally {
+            tmpFile.delete ();
+            tmpInfo.delete ();
+        }
+    }
+
+    /**
+     * Print statistics. */
+    public void printStats (PrintStream out) throws IOException
+    {
+        Properties stats;
+        File[] entries;
+        FileLock lock = this.lock ();
+        try {
+            stats = readProperties (new File (dir, "stats"));
+            entries = this.entries ();
+        } finally {
+            this.unlock (lock);
+        }
+        long size = 0;
+        for (File i: entries)
+            size += entrySize (i);
+        out.printf ("cache directory: %s\n", dir.getPath ());
+        out.printf ("hits:            %s\n", stats.getProperty ("hits", "0"));
+        out.printf ("misses:          %s\n",
+                    stats.getProperty ("misses", "0"));
+        out.printf ("entries:         %d\n", entries.length);
+        out.printf ("size:            %.1f MB of %.1f MB\n",
+                    size / 1048576.0, maxSize / 1048576.0);
+    }
+
+    /**
+     * Delete the least recently used entries until the cache fits. The lock
+     * must be held. */
+    private void evict ()
+    {
+        File[] entries = this.entries ();
+        long size = 0;
+        for (File i: entries)
+            size += entrySize (i);
+        if (size <= maxSize)
+            return;
+
+        Arrays.sort (entries, new Comparator<File> () {
+                public int compare (File a, File b) {
+                    long ma = a.lastModified (), mb = b.lastModified ();
+                    return (ma < mb) ? -1 : ((ma == mb) ? 0 : 1);
+                }
+            });
+        for (File i: entries) {
+            if (size <= maxSize)
+                break;
+            size -= entrySize (i);
+            new File (dir, i.getName () + ".info").delete ();
+            i.delete ();
+        }
+    }
+
+    /**
+     * List the compiled files of all entries. Info files whose compiled file
+     * is missing are deleted. */
+    private File[] entries ()
+    {
+        File[] files = dir.listFiles ();
+        if (files == null)
+            return new File[0];
+        int n = 0;
+        for (File i: files) {
+            String name = i.getName ();
+            if (name.endsWith (".info")) {
+                File file = new File
+                    (dir, name.substring (0, name.length () - 5));
+                if (!file.exists ())
+                    i.delete ();
+            } else if (Key.isKey (name)) {
+                files[n++] = i;
+            }
+        }
+        return Arrays.copyOf (files, n);
+    }
+
+    /**
+     * Return the size of an entry, including its info file. */
+    private static long entrySize (File file)
+    {
+        return file.length () + new File (file.getPath () + ".info").length ();
+    }
+
+    /**
+     * Add one to a statistic. The lock must be held. */
+    private void count (String name) throws IOException
+    {
+        File file = new File (dir, "stats");
+        Properties stats = readProperties (file);
+        long n = Long.parseLong (stats.getProperty (name, "0"));
+        stats.setProperty (name, Long.toString (n + 1));
+        OutputStream os = new FileOutputStream (file);
+        try {
+            stats.store (os, "AlCo cache statistics");
+        } finally {
+            os.close ();
+        }
+    }
+
+    /**
+     * Lock the cache directory against other compilers: first those in this
+     * JVM, then other processes. */
+    private FileLock lock () throws IOException
+    {
+        jvmLock.lock ();
+        FileChannel ch = null;
+        FileLock lock = null;
+        try {
+            ch = new RandomAccessFile (new File (dir, "lock"), "rw")
+                .getChannel ();
+            lock = ch.lock ();
+            return lock;
+        } finally {
+            if (lock == null) {
+                jvmLock.unlock ();
+                if (ch != null)
+                    ch.close ();
+            }
+        }
+    }
+
+    private void unlock (FileLock lock) throws IOException
+    {
+        try {
+            lock.release ();
+            lock.channel ().close ();
+        } finally {
+            jvmLock.unlock ();
+        }
+    }
+
+    /**
+     * Read a properties file. A missing file reads as empty. */
+    private static Properties readProperties (File file) throws IOException
+    {
+        Properties props = new Properties ();
+        if (!file.exists ())
+            return props;
+        InputStream is = new FileInputStream (file);
+        try {
+            props.load (is);
+        } finally {
+            is.close ();
+        }
+        return props;
+    }
+
+    private static void copy (File source, File dest) throws IOException
+    {
+        FileChannel src = null, dst = null;
+        try {
+            src = new FileInputStream (source).getChannel ();
+            dst = new FileOutputStream (dest).getChannel ();
+            dst.transferFrom (src, 0, src.size ());
+        } finally {
+            if (src != null)
+                src.close ();
+            if (dst != null)
+                dst.close ();
+        }
+    }
+
+    /**
+     * Cache entry. */
+    public static class Entry
+    {
+        File file;
+        Properties info;
+
+        Entry (File file, Properties info)
+        {
+            this.file = file;
+            this.info = info;
+        }
+
+        /**
+         * Return the compiled file: the copy made by lookup(). */
+        public File getFile ()
+        {
+            return file;
+        }
+
+        /**
+         * Return the properties stored with the entry. */
+        public Properties getInfo ()
+        {
+            return info;
+        }
+    }
+
+    /**
+     * Cache key builder. Everything which affects the output must be added;
+     * each item is added with its type and length, so that different
+     * sequences of items never hash the same way.
+     */
+    public static class Key
+    {
+        MessageDigest digest;
+
+        public Key ()
+        {
+            try {
+                digest = MessageDigest.getInstance ("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                // Every Java platform is required to have SHA-256
+                throw new RuntimeException (e);
+            }
+        }
+
+        public Key add (String s)
+        {
+            if (s == null) {
+                digest.update ((byte) 'n');
+                return this;
+            }
+            byte[] b;
+            try {
+                b = s.getBytes ("UTF-8");
+            } catch (java.io.UnsupportedEncodingException e) {
+                assert false: s;
+                return this;
+            }
+            digest.update ((byte) 's');
+            this.addLength (b.length);
+            digest.update (b);
+            return this;
+        }
+
+        public Key add (long n)
+        {
+            digest.update ((byte) 'i');
+            this.addLength (n);
+            return this;
+        }
+
+        public Key add (boolean b)
+        {
+            digest.update ((byte) (b ? 't' : 'f'));
+            return this;
+        }
+
+        /**
+         * Add the bytes of a buffer, from its position to its limit. */
+        public Key add (ByteBuffer buf)
+        {
+            digest.update ((byte) 'b');
+            this.addLength (buf.remaining ());
+            digest.update (buf.duplicate ());
+            return this;
+        }
+
+        /**
+         * Add the contents of a file. */
+        public Key addContents (File file) throws IOException
+        {
+            digest.update ((byte) 'c');
+            this.addLength (file.length ());
+            InputStream is = new FileInputStream (file);
+            try {
+                byte[] buf = new byte[8192];
+                int n;
+                while ((n = is.read (buf)) != -1)
+                    digest.update (buf, 0, n);
+            } finally {
+                is.close ();
+            }
+            return this;
+        }
+
+        /**
+         * Add the identity of a file: its path, size and modification time.
+         * This is used for tools, which are too big to hash every time. */
+        public Key addStamp (File file)
+        {
+            this.add (file.getPath ());
+            this.add (file.length ());
+            this.add (file.lastModified ());
+            return this;
+        }
+
+        private void addLength (long n)
+        {
+            for (int i = 56; i >= 0; i -= 8)
+                digest.update ((byte) (n >>> i));
+        }
+
+        /**
+         * Return the key, as hex. Nothing more may be added after this. */
+        public String finish ()
+        {
+            byte[] hash = digest.digest ();
+            StringBuilder sb = new StringBuilder ();
+            for (byte i: hash)
+                sb.append (String.format ("%02x", i & 0xff));
+            return sb.toString ();
+        }
+
+        /**
+         * Return whether a file name is a key. */
+        static boolean isKey (String name)
+        {
+            if (name.length () != 64)
+                return false;
+            for (int i = 0; i < name.length (); ++i) {
+                char c = name.charAt (i);
+                if (!(c >= '0' && c <= '9') && !(c >= 'a' && c <= 'f'))
+                    return false;
+            }
+            return true;
+        }
+    }
+}
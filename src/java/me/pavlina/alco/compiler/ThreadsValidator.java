@@ -0,0 +1,32 @@
+// Copyright (c) 2011, Christopher Pavlina. All rights reserved.
+//
+// ThreadsValidator - whine if a thread/job count or size is negative
+
+package me.pavlina.alco.compiler;
+
+import com.beust.jcommander.IParameterValidator;
+import com.beust.jcommander.ParameterException;
+
+/**
+ * Validator for thread and job count command line arguments, and other
+ * counts where zero means "pick automatically"
+ */
+public class ThreadsValidator implements IParameterValidator
+{
+
+    /**
+     * Whine if the count is negative. Zero means "pick automatically".
+     * @param name Argument name (-threads, -cache-size)
+     * @param value Argument value
+     * @throws ParameterException if invalid
+     */
+    @Override
+    public void validate (String name, String value) throws ParameterException
+    {
+        int n = Integer.parseInt (value);
+        if (n < 0)
+            throw new ParameterException ("Argument for " + name
+                                          + " must not be negative (found "
+                                          + value + ")");
+    }
+}
@@ -0,0 +1,349 @@
+// Copyright (c) 2011, Christopher Pavlina. All rights reserved.
+//
+// Timing - stage timing (-time-passes) and trace output (-trace)
+
+package me.pavlina.alco.compiler;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Timing of the compile. There are two kinds of measurement:
+ *
+ *  - Stages (lex, parse, ..., and each external tool) run one after another
+ *    on the compiler's main thread. For each one, the wall time, the CPU time
+ *    and the bytes allocated by the whole compiler (all threads) are
+ *    measured. These are printed as a table for -time-passes. CPU time and
+ *    allocations do not include the external tools themselves.
+ *
+ *  - Spans are finer: one for checking each method, one for generating each,
+ *    and so on. They may overlap, and come from any thread. Along with the
+ *    stages, they are written out for -trace in the Chrome trace event format,
+ *    which can be loaded into chrome://tracing or Perfetto.
+ *
+ * Spans are only kept when tracing; the static span() gives a span which
+ * does nothing otherwise, so code can always use them.
+ *
+ * A MemoryReport (-mem-report) may also be given, which measures the heap at
+ * the end of every stage, outside the stage's own time.
+ */
+public class Timing
+{
+
+    boolean timePasses;
+    File traceFile;
+    long origin;
+    List<Stage> stages;
+    Stage current;
+    List<Span> spans;
+    Map<Long, String> threadNames;
+    MemoryReport memoryReport;
+
+    static final Span NO_SPAN = new Span (null, null, null);
+
+    /**
+     * Start timing. The origin of the trace is now.
+     * @param timePasses Whether to time stages (-time-passes)
+     * @param traceFile File to write the trace to (-trace), or null
+     */
+    public Timing (boolean timePasses, File traceFile)
+    {
+        this.timePasses = timePasses;
+        this.traceFile = traceFile;
+        origin = System.nanoTime ();
+        stages = new ArrayList<Stage> ();
+        spans = new ArrayList<Span> ();
+        threadNames = new HashMap<Long, String> ();
+    }
+
+    /**
+     * Measure the retained heap after each stage, into the given report. */
+    public void setMemoryReport (MemoryReport report)
+    {
+        memoryReport = report;
+    }
+
+    /**
+     * Return whether spans are being kept. */
+    public boolean isTracing ()
+    {
+        return traceFile != null;
+    }
+
+    /**
+     * Start a stage, stopping the current one if there is one. */
+    public void start (String name)
+    {
+        if (!timePasses && traceFile == null && memoryReport == null)
+            return;
+        this.stop ();
+        current = new Stage (name);
+        current.span = span (this, "stage", name);
+        current.begin ();
+    }
+
+    /**
+     * Stop the current stage, if there is one. */
+    public void stop ()
+    {
+        if (current == null)
+            return;
+        current.end ();
+        current.span.end ();
+        stages.add (current);
+        if (memoryReport != null)
+            memoryReport.snapshot (current.name);
+        current = null;
+    }
+
+    /**
+     * Begin a span.
+     * @param timing Timing to record the span in, or null
+     * @param category Category, for example "checkTypes"
+     * @param name Name, for example the method name
+     * @return The span. Call end() on it when finished.
+     */
+    public static Span span (Timing timing, String category, String name)
+    {
+        if (timing == null || timing.traceFile == null)
+            return NO_SPAN;
+        return new Span (timing, category, name);
+    }
+
+    /**
+     * Finish: stop the current stage, print the stage table if wanted, and
+     * write the trace if wanted.
+     * @param err Stream for the table and for errors
+     * @return nonzero on error
+     */
+    public int finish (PrintStream err)
+    {
+        this.stop ();
+        if (timePasses)
+            this.printStages (err);
+        if (memoryReport != null)
+            memoryReport.print (err);
+        if (traceFile != null) {
+            try {
+                this.writeTrace ();
+            } catch (IOException e) {
+                err.println ("Error: cannot write trace: " + e.getMessage ());
+                return 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Print the stage table. */
+    private void printStages (PrintStream err)
+    {
+        Stage total = new Stage ("total");
+        total.cpu = total.alloc = 0;
+        for (Stage i: stages) {
+            total.wall += i.wall;
+            if (total.cpu >= 0)
+                total.cpu = (i.cpu < 0) ? -1 : total.cpu + i.cpu;
+            if (total.alloc >= 0)
+                total.alloc = (i.alloc < 0) ? -1 : total.alloc + i.alloc;
+        }
+
+        err.println ("===---------------------------------------------------"
+                     + "---===");
+        err.println ("                    AlCo stage timing report");
+        err.println ("===---------------------------------------------------"
+                     + "---===");
+        err.println ("   Wall (ms)     CPU (ms)   Allocated  Stage");
+        for (Stage i: stages)
+            i.print (err);
+        total.print (err);
+    }
+
+    /**
+     * Write the trace file. */
+    private void writeTrace () throws IOException
+    {
+        PrintStream out = new PrintStream (traceFile, "UTF-8");
+        try {
+            out.print ("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[\n");
+            boolean first = true;
+            List<Span> all;
+            synchronized (this) {
+                all = new ArrayList<Span> (spans);
+                for (Map.Entry<Long, String> i: threadNames.entrySet ()) {
+                    if (!first) out.print (",\n");
+                    first = false;
+                    out.printf (Locale.ROOT,
+                                "{\"name\":\"thread_name\",\"ph\":\"M\","
+                                + "\"pid\":1,\"tid\":%d,"
+                                + "\"args\":{\"name\":%s}}",
+                                i.getKey (), quote (i.getValue ()));
+                }
+            }
+            for (Span i: all) {
+                if (!first) out.print (",\n");
+                first = false;
+                // Locale.ROOT: elsewhere the decimal point may be a comma
+                out.printf (Locale.ROOT,
+                            "{\"name\":%s,\"cat\":%s,\"ph\":\"X\",\"pid\":1,"
+                            + "\"tid\":%d,\"ts\":%.3f,\"dur\":%.3f}",
+                            quote (i.name), quote (i.category), i.thread,
+                            (i.start - origin) / 1000.0,
+                            (i.stop - i.start) / 1000.0);
+            }
+            out.print ("\n]}\n");
+        } finally {
+            out.close ();
+        }
+        if (out.checkError ())
+            throw new IOException ("write failed: " + traceFile.getPath ());
+    }
+
+    /**
+     * Quote a string for JSON. */
+    private static String quote (String s)
+    {
+        StringBuilder sb = new StringBuilder ();
+        sb.append ('"');
+        for (int i = 0; i < s.length (); ++i) {
+            char c = s.charAt (i);
+            if (c == '"' || c == '\\')
+                sb.append ('\\').append (c);
+            else if (c < ' ')
+                sb.append (String.format (Locale.ROOT, "\\u%04x", (int) c));
+            else
+                sb.append (c);
+        }
+        sb.append ('"');
+        return sb.toString ();
+    }
+
+    /**
+     * Record a finished span. */
+    private synchronized void add (Span span)
+    {
+        spans.add (span);
+        if (!threadNames.containsKey (span.thread))
+            threadNames.put (span.thread, Thread.currentThread ().getName ());
+    }
+
+    /**
+     * Return the CPU time used by the whole process so far, in nanoseconds,
+     * or -1 if it is not available. */
+    private static long processCpuTime ()
+    {
+        java.lang.management.OperatingSystemMXBean os =
+            ManagementFactory.getOperatingSystemMXBean ();
+        if (os instanceof com.sun.management.OperatingSystemMXBean)
+            return ((com.sun.management.OperatingSystemMXBean) os)
+                .getProcessCpuTime ();
+        return -1;
+    }
+
+    /**
+     * Return the number of bytes allocated by all live threads so far, or -1
+     * if it is not available. Threads which have ended are not counted, but
+     * the compiler's worker threads live until it is finished. */
+    private static long allocatedBytes ()
+    {
+        java.lang.management.ThreadMXBean threads =
+            ManagementFactory.getThreadMXBean ();
+        if (!(threads instanceof com.sun.management.ThreadMXBean))
+            return -1;
+        com.sun.management.ThreadMXBean t =
+            (com.sun.management.ThreadMXBean) threads;
+        if (!t.isThreadAllocatedMemorySupported ()
+            || !t.isThreadAllocatedMemoryEnabled ())
+            return -1;
+        long total = 0;
+        for (long i: t.getThreadAllocatedBytes (t.getAllThreadIds ())) {
+            if (i > 0)
+                total += i;
+        }
+        return total;
+    }
+
+    /**
+     * One stage. Times are in nanoseconds; -1 means not available. */
+    private static class Stage
+    {
+        String name;
+        long wall, cpu, alloc;
+        Span span;
+
+        Stage (String name)
+        {
+            this.name = name;
+        }
+
+        void begin ()
+        {
+            alloc = allocatedBytes ();
+            cpu = processCpuTime ();
+            wall = System.nanoTime ();
+        }
+
+        void end ()
+        {
+            wall = System.nanoTime () - wall;
+            long c = processCpuTime ();
+            cpu = (cpu < 0 || c < 0) ? -1 : c - cpu;
+            long a = allocatedBytes ();
+            alloc = (alloc < 0 || a < 0) ? -1 : a - alloc;
+        }
+
+        void print (PrintStream err)
+        {
+            err.printf (Locale.ROOT, "%12.3f %12s %11s  %s\n", wall / 1e6,
+                        (cpu < 0) ? "-"
+                        : String.format (Locale.ROOT, "%.3f", cpu / 1e6),
+                        (alloc < 0) ? "-" : formatBytes (alloc), name);
+        }
+
+        static String formatBytes (long n)
+        {
+            if (n < 1024)
+                return Long.toString (n) + " B";
+            else if (n < 1024 * 1024)
+                return String.format (Locale.ROOT, "%.1f KB", n / 1024.0);
+            else
+                return String.format (Locale.ROOT, "%.1f MB", n / 1048576.0);
+        }
+    }
+
+    /**
+     * One span in the trace. */
+    public static class Span
+    {
+        Timing timing;
+        String category, name;
+        long start, stop, thread;
+
+        Span (Timing timing, String category, String name)
+        {
+            this.timing = timing;
+            this.category = category;
+            this.name = name;
+            thread = Thread.currentThread ().getId ();
+            start = System.nanoTime ();
+        }
+
+        /**
+         * End the span. This must be called on the thread which began it.
+         */
+        public void end ()
+        {
+            if (timing == null)
+                return;
+            stop = System.nanoTime ();
+            timing.add (this);
+        }
+    }
+}
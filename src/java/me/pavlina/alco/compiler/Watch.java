@@ -0,0 +1,194 @@
+// Copyright (c) 2011, Christopher Pavlina. All rights reserved.
+//
+// Watch - recompile whenever the sources change (-watch)
+
+package me.pavlina.alco.compiler;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import me.pavlina.alco.lex.Lexer;
+import me.pavlina.alco.lex.Symbols;
+
+/**
+ * Watch mode. The package is compiled, then compiled again every time one of
+ * its sources changes, until the process is killed. Between compiles, the
+ * tokens of each file and the code generated for each method are kept, so
+ * only changed files are lexed again, and only changed methods are checked
+ * and generated again (see FragmentCache). Every compile prints what changed
+ * and how long the rebuild took.
+ */
+public class Watch
+{
+
+    String[]            argv;
+    List<File>          sources;
+    PrintStream         out, err;
+    File                cwd;
+    Map<String, String> environ;
+    FragmentCache       fragments;
+    Map<File, Lexer>    lexers;
+    long                hits, misses;
+
+    /** Time to wait for more changes after one, in milliseconds. Editors
+     * often save a file in several steps. */
+    static final long SETTLE_TIME = 100;
+
+    /**
+     * Create a watch.
+     * @param argv Arguments for each compile (without -watch)
+     * @param sources The sources to watch, resolved against the working
+     * directory
+     * @param out Standard output stream
+     * @param err Standard error stream
+     * @param cwd Working directory, or null for the process working directory
+     * @param environ Environment variables
+     */
+    public Watch (String[] argv, List<File> sources, PrintStream out,
+                  PrintStream err, File cwd, Map<String, String> environ)
+    {
+        this.argv = argv;
+        this.sources = sources;
+        this.out = out;
+        this.err = err;
+        this.cwd = cwd;
+        this.environ = environ;
+        lexers = new HashMap<File, Lexer> ();
+    }
+
+    /**
+     * Use an existing cache of generated methods. Otherwise one is created.
+     */
+    public void setFragmentCache (FragmentCache fragments)
+    {
+        this.fragments = fragments;
+    }
+
+    /**
+     * Compile, then watch and recompile. This only returns on error.
+     * @return nonzero on error
+     */
+    public int run ()
+    {
+        if (fragments == null)
+            fragments = new FragmentCache (CompileServer.FRAGMENT_CACHE_SIZE);
+
+        WatchService watcher;
+        Map<WatchKey, Path> dirs = new HashMap<WatchKey, Path> ();
+        Map<Path, File> watched = new HashMap<Path, File> ();
+        try {
+            watcher = FileSystems.getDefault ().newWatchService ();
+            for (File i: sources) {
+                Path dir = i.getAbsoluteFile ().toPath ().getParent ();
+                if (dirs.containsValue (dir))
+                    continue;
+                WatchKey key = dir.register
+                    (watcher, StandardWatchEventKinds.ENTRY_CREATE,
+                     StandardWatchEventKinds.ENTRY_MODIFY);
+                dirs.put (key, dir);
+            }
+        } catch (IOException e) {
+            err.println ("Error: cannot watch sources: " + e.getMessage ());
+            return 1;
+        }
+        for (File i: sources)
+            watched.put (i.getAbsoluteFile ().toPath (), i);
+
+        this.build (null, System.nanoTime ());
+        try {
+            while (true) {
+                Set<File> changed = new LinkedHashSet<File> ();
+                WatchKey key = watcher.take ();
+                long detected = System.nanoTime ();
+                while (key != null) {
+                    Path dir = dirs.get (key);
+                    for (WatchEvent<?> i: key.pollEvents ()) {
+                        if (i.kind () == StandardWatchEventKinds.OVERFLOW) {
+                            // Lost track; assume everything changed
+                            changed.addAll (watched.values ());
+                            continue;
+                        }
+                        Path path = dir.resolve ((Path) i.context ());
+                        File file = watched.get (path);
+                        if (file != null)
+                            changed.add (file);
+                    }
+                    key.reset ();
+                    key = watcher.poll (SETTLE_TIME, TimeUnit.MILLISECONDS);
+                }
+                if (changed.isEmpty ())
+                    continue;
+
+                StringBuilder reason = new StringBuilder ();
+                for (File i: changed) {
+                    lexers.remove (i);
+                    if (reason.length () != 0)
+                        reason.append (", ");
+                    reason.append (i.getName ());
+                }
+                reason.append (" changed");
+                this.build (reason.toString (), detected);
+            }
+        } catch (InterruptedException e) {
+            return 0;
+        } finally {
+            try {
+                watcher.close ();
+            } catch (IOException e) {}
+        }
+    }
+
+    /**
+     * Run one compile, and say how long it took.
+     * @param reason Why, printed before compiling, or null for the first
+     * compile
+     * @param start When the change was noticed (System.nanoTime())
+     */
+    private void build (String reason, long start)
+    {
+        if (reason == null)
+            out.println ("alco: building");
+        else
+            out.println ("alco: " + reason + ", rebuilding");
+        if (Symbols.size () > Symbols.WATCH_LIMIT) {
+            // Identifiers from old versions of the sources pile up. The
+            // kept tokens use their IDs, so they go too.
+            Symbols.reset ();
+            lexers.clear ();
+        }
+        Compiler compiler = new Compiler (out, err, cwd, environ);
+        compiler.setFragmentCache (fragments);
+        compiler.setLexerCache (lexers);
+        int rc;
+        try {
+            rc = compiler.run (argv);
+        } catch (RuntimeException e) {
+            e.printStackTrace (err);
+            rc = 1;
+        } catch (AssertionError e) {
+            e.printStackTrace (err);
+            rc = 1;
+        }
+        long ms = (System.nanoTime () - start) / 1000000;
+        out.printf ("alco: %s in %d ms (%d of %d methods reused)\n",
+                    rc != 0 ? "build failed" : reason == null ? "built"
+                    : "rebuilt", ms,
+                    fragments.getHits () - hits, fragments.getHits ()
+                    - hits + fragments.getMisses () - misses);
+        hits = fragments.getHits ();
+        misses = fragments.getMisses ();
+        out.println ("alco: watching for changes");
+    }
+}
@@ -4,32 +4,17 @@
 
 package me.pavlina.alco.language;
 
+import me.pavlina.alco.lex.Symbols;
+
 /**
- * List of all Alpha keywords
+ * List of all Alpha keywords. The keywords and special type names are the
+ * first fixed symbols (see Symbols), so checking a symbol is a range test.
  */
 public class Keywords
 {
 
     private Keywords () {}
 
-    /**
-     * List of all Alpha keywords, excluding type names
-     */
-    static final String[] KEYWORDS = {
-        "class", "method", "extern",
-        "let", "const", "static", "volatile", "threadlocal", "nomangle",
-        "null", "allowconflict", "global",
-        "record", "switch", "case", "default", "if", "else", "for",
-        "foreach", "do", "while", "return", "as", "true", "false"};
-
-    /**
-     * List of all Alpha special type names
-     */
-    static final String[] TYPES = {
-        "i8", "i16", "i32", "i64", "ssize", "int",
-        "u8", "u16", "u32", "u64", "size", "unsigned",
-        "float", "double", "var", "void", "bool"};
-
     /**
      * Check if a word is a keyword (excluding type names)
      * @param word Potential keyword to check
@@ -48,14 +33,28 @@ public class Keywords
      */
     public static boolean isKeyword (String word, boolean includeTypes)
     {
-        for (String i: Keywords.KEYWORDS) {
-            if (i.equals (word)) return true;
-        }
-        if (includeTypes) {
-            for (String i: Keywords.TYPES) {
-                if (i.equals (word)) return true;
-            }
-        }
-        return false;
+        return Keywords.isKeyword (Symbols.lookup (word), includeTypes);
+    }
+
+    /**
+     * Check if a symbol is a keyword (excluding type names)
+     * @param sym Symbol ID of the potential keyword (see Symbols)
+     * @return Whether it is a keyword
+     */
+    public static boolean isKeyword (int sym)
+    {
+        return Keywords.isKeyword (sym, false);
+    }
+
+    /**
+     * Check if a symbol is a keyword
+     * @param sym Symbol ID of the potential keyword (see Symbols)
+     * @param includeTypes Whether to include special type names as keywords
+     * @return Whether it is a keyword
+     */
+    public static boolean isKeyword (int sym, boolean includeTypes)
+    {
+        return sym >= Symbols.ALLOWCONFLICT
+            && sym <= (includeTypes ? Symbols.VOID : Symbols.WHILE);
     }
 }
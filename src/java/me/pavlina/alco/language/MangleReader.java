@@ -66,7 +66,6 @@ public class MangleReader
                 value += (chs[pos] - '0');
                 break;
             default:
-                --pos;
                 breakFor = true;
             }
             if (breakFor) break;
@@ -7,21 +7,21 @@ package me.pavlina.alco.language;
 import me.pavlina.alco.ast.FunctionLike;
 import me.pavlina.alco.ast.Expression;
 import me.pavlina.alco.lex.Token;
+import me.pavlina.alco.lex.Symbols;
+import me.pavlina.alco.lex.SymbolMap;
 import me.pavlina.alco.compiler.errors.*;
-import java.util.Map;
-import java.util.HashMap;
 import java.util.List;
 import java.util.ArrayList;
 
 /**
  * Variable and method name resolver. This stores names as found, and then
- * looks them up.
+ * looks them up. Variables are kept by symbol ID (see Symbols).
  */
 public class Resolver
 {
-    Map<String, Integer> variableCounts;
-    Map<String, Token> declared;
-    Map<String, Variable> variables;
+    SymbolMap<Integer> variableCounts;
+    SymbolMap<Token> declared;
+    SymbolMap<Variable> variables;
     List<FunctionLike> functions;
     boolean handler_oom, handler_oob;
     int[] globalCounter;
@@ -29,9 +29,9 @@ public class Resolver
     /**
      * Create a brand new resolver, with no names at all */
     public Resolver () {
-        declared = new HashMap<String, Token> ();
-        variables = new HashMap<String, Variable> ();
-        variableCounts = new HashMap<String, Integer> ();
+        declared = new SymbolMap<Token> ();
+        variables = new SymbolMap<Variable> ();
+        variableCounts = new SymbolMap<Integer> ();
         functions = new ArrayList<FunctionLike> ();
         globalCounter = new int[] {0};
     }
@@ -42,14 +42,47 @@ public class Resolver
      * resolver. This is used for descending into scopes. */
     public Resolver (Resolver other) {
         variableCounts = other.variableCounts;
-        declared = new HashMap<String, Token> ();
-        variables = new HashMap<String, Variable> (other.variables);
+        declared = new SymbolMap<Token> ();
+        variables = new SymbolMap<Variable> (other.variables);
         functions = new ArrayList<FunctionLike> (other.functions);
         globalCounter = other.globalCounter;
         handler_oom = other.handler_oom;
         handler_oob = other.handler_oob;
     }
 
+    /**
+     * Create a resolver for checking one method independently of all others,
+     * for example on another thread. It contains all the names in the given
+     * resolver, but shares nothing that can change: it has its own variable
+     * counts, and numbers globally available locals from its own counter,
+     * starting at globalBase.
+     * @param other Resolver holding the package-level names
+     * @param globalBase First number to give to a globally available local
+     */
+    public Resolver (Resolver other, int globalBase) {
+        variableCounts = new SymbolMap<Integer> ();
+        declared = new SymbolMap<Token> ();
+        variables = new SymbolMap<Variable> (other.variables);
+        functions = new ArrayList<FunctionLike> (other.functions);
+        globalCounter = new int[] {globalBase};
+        handler_oom = other.handler_oom;
+        handler_oob = other.handler_oob;
+    }
+
+    /**
+     * Return the number that will be given to the next globally available
+     * local. */
+    public int getGlobalCount () {
+        return globalCounter[0];
+    }
+
+    /**
+     * Set the number that will be given to the next globally available
+     * local. */
+    public void setGlobalCount (int n) {
+        globalCounter[0] = n;
+    }
+
     /**
      * Clear the resolver's list of visible functions. This is done before
      * running on a method. */
@@ -82,28 +115,30 @@ public class Resolver
     }
 
     /**
-     * Add the variable to the resolver. */
-    public Variable addVariable (String name, Type type, Token token)
+     * Add the variable to the resolver.
+     * @param sym Symbol ID of the variable's name (see Symbols) */
+    public Variable addVariable (int sym, Type type, Token token)
         throws CError
     {
-        Token lastDeclare = declared.get (name);
+        String name = Symbols.name (sym);
+        Token lastDeclare = declared.get (sym);
         if (lastDeclare != null) {
             throw CError.at
                 (String.format ("variable '%s' already declared at %d:%d",
                                 name, lastDeclare.line+1, lastDeclare.col+1),
                  token);
         } else {
-            declared.put (name, token);
-            Integer count = variableCounts.get (name);
+            declared.put (sym, token);
+            Integer count = variableCounts.get (sym);
             Variable var;
             if (count == null) {
                 var = new Variable (name, 0, type);
-                variableCounts.put (name, 1);
-                variables.put (name, var);
+                variableCounts.put (sym, 1);
+                variables.put (sym, var);
             } else {
                 var = new Variable (name, count.intValue (), type);
-                variableCounts.put (name, count.intValue () + 1);
-                variables.put (name, var);
+                variableCounts.put (sym, count.intValue () + 1);
+                variables.put (sym, var);
             }
             return var;
         }
@@ -112,30 +147,37 @@ public class Resolver
     /**
      * Add a globally available local variable to the resolver. This is a
      * variable whose name is only resolvable locally, but whose pointer can
-     * be accessed globally. It is technically a global with a numeric name.
+     * be accessed globally. It is technically a global, named
+     * @.local.NAME.N with N unique in the package. It is named rather than
+     * numbered: LLVM needs the numbered globals of a module to run from 0
+     * without gaps, which they would not once the code is split into
+     * several modules (-j), nor alongside the unnamed globals.
+     * @param sym Symbol ID of the variable's name (see Symbols)
      */
-    public Variable addGlobalLocal (String name, Type type, Token token)
+    public Variable addGlobalLocal (int sym, Type type, Token token)
         throws CError
     {
         int num = globalCounter[0]++;
-        Token lastDeclare = declared.get (name);
+        String name = Symbols.name (sym);
+        Token lastDeclare = declared.get (sym);
         if (lastDeclare != null) {
             throw CError.at
                 (String.format ("variable '%s' already declared at %d:%d",
                                 name, lastDeclare.line+1, lastDeclare.col+1),
                  token);
         } else {
-            declared.put (name, token);
-            Variable var = new Variable (Integer.toString (num), 0, type, "@");
-            variables.put (name, var);
+            declared.put (sym, token);
+            Variable var = new Variable (name, num, type, "@.local.");
+            variables.put (sym, var);
             return var;
         }
     }
 
     /**
-     * Resolve the variable, returning an instance of Resolver.Variable */
-    public Variable getVariable (String name, Token token) throws CError {
-        Variable var = variables.get (name);
+     * Resolve the variable, returning an instance of Resolver.Variable
+     * @param sym Symbol ID of the name (see Symbols) */
+    public Variable getVariable (int sym, Token token) throws CError {
+        Variable var = variables.get (sym);
         if (var == null) throw CError.at ("cannot resolve name", token);
         return var;
     }
@@ -202,8 +244,8 @@ public class Resolver
             argTypes.add (i.getType ());
 
         for (FunctionLike i: functions) {
-            List<Type> iArgs = i.getArgTypes ();
             if (! i.getName ().equals (name)) continue;
+            List<Type> iArgs = i.getArgTypes ();
             candidates.add (i);
 
             // Level 0: Nomangle
@@ -9,8 +9,6 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.ArrayList;
-import java.util.Map;
-import java.util.HashMap;
 import java.math.BigInteger;
 import static me.pavlina.alco.language.IntLimits.*;
 
@@ -112,8 +110,8 @@ public class Type implements HasType {
      * Basic type initialiser */
     private void baseType (Env env, String name, List<Type> args) {
         this.name = name;
-        Encoding enc = this.PRIMITIVE_ENCODINGS.get (name);
-        if (enc == null) {
+        int primitive = Arrays.binarySearch (PRIMITIVE_NAMES, name);
+        if (primitive < 0) {
             // Object type
             this.size = Type.OBJECT_SIZE;
             this.encoding = Encoding.OBJECT;
@@ -122,10 +120,10 @@ public class Type implements HasType {
             else
                 this.subtypes = new ArrayList<Type> (args);
         } else {
-            this.size = Type.PRIMITIVE_SIZES.get (name);
+            this.size = PRIMITIVE_SIZES[primitive];
             if (this.size == -1)
                 this.size = env.getBits () / 8;
-            this.encoding = enc;
+            this.encoding = PRIMITIVE_ENCODINGS[primitive];
             this.subtypes = null;
         }
     }
@@ -323,7 +321,7 @@ public class Type implements HasType {
             case 1: return prefix + "E";
             case 2: return prefix + "F";
             case 4: return prefix + "G";
-            case 5: return prefix + "H";
+            case 8: return prefix + "H";
             }
         } else if (encoding == Encoding.FLOAT) {
             switch (size) {
@@ -366,6 +364,7 @@ public class Type implements HasType {
             case 'K':
                 {
                     Type baseType = Type.fromEncodedName (env, reader);
+                    if (baseType == null) return null;
                     return baseType.getConst ();
                 }
             case 'P':
@@ -747,44 +746,20 @@ public class Type implements HasType {
      * Type modifiers */
     public enum Modifier { ARRAY, POINTER, CONST, VOLATILE }
 
-    private static Map<String, Encoding> PRIMITIVE_ENCODINGS;
-    private static Map<String, Integer> PRIMITIVE_SIZES;
     public static final int OBJECT_SIZE = 8;
-    static {
-        PRIMITIVE_ENCODINGS = new HashMap<String, Encoding> ();
-        PRIMITIVE_SIZES = new HashMap<String, Integer> ();
-
-        PRIMITIVE_ENCODINGS.put ("i8",       Encoding.SINT);
-        PRIMITIVE_ENCODINGS.put ("i16",      Encoding.SINT);
-        PRIMITIVE_ENCODINGS.put ("i32",      Encoding.SINT);
-        PRIMITIVE_ENCODINGS.put ("i64",      Encoding.SINT);
-        PRIMITIVE_ENCODINGS.put ("u8",       Encoding.UINT);
-        PRIMITIVE_ENCODINGS.put ("u16",      Encoding.UINT);
-        PRIMITIVE_ENCODINGS.put ("u32",      Encoding.UINT);
-        PRIMITIVE_ENCODINGS.put ("u64",      Encoding.UINT);
-        PRIMITIVE_ENCODINGS.put ("int",      Encoding.SINT);
-        PRIMITIVE_ENCODINGS.put ("unsigned", Encoding.UINT);
-        PRIMITIVE_ENCODINGS.put ("size",     Encoding.UINT);
-        PRIMITIVE_ENCODINGS.put ("ssize",    Encoding.SINT);
-        PRIMITIVE_ENCODINGS.put ("bool",     Encoding.BOOL);
-        PRIMITIVE_ENCODINGS.put ("float",    Encoding.FLOAT);
-        PRIMITIVE_ENCODINGS.put ("double",   Encoding.FLOAT);
-
-        PRIMITIVE_SIZES.put ("i8",       1);
-        PRIMITIVE_SIZES.put ("i16",      2);
-        PRIMITIVE_SIZES.put ("i32",      4);
-        PRIMITIVE_SIZES.put ("i64",      8);
-        PRIMITIVE_SIZES.put ("u8",       1);
-        PRIMITIVE_SIZES.put ("u16",      2);
-        PRIMITIVE_SIZES.put ("u32",      4);
-        PRIMITIVE_SIZES.put ("u64",      8);
-        PRIMITIVE_SIZES.put ("int",      4);
-        PRIMITIVE_SIZES.put ("unsigned", 4);
-        PRIMITIVE_SIZES.put ("size",    -1);
-        PRIMITIVE_SIZES.put ("ssize",   -1);
-        PRIMITIVE_SIZES.put ("bool",     1);
-        PRIMITIVE_SIZES.put ("float",    4);
-        PRIMITIVE_SIZES.put ("double",   8);
-    }
+
+    /* Primitive types, sorted for Arrays.binarySearch(). The tables are
+     * plain constant arrays so that loading Type does no work. A size of -1
+     * means the size of a pointer. */
+    private static final String[] PRIMITIVE_NAMES = {
+        "bool", "double", "float", "i16", "i32", "i64", "i8", "int",
+        "size", "ssize", "u16", "u32", "u64", "u8", "unsigned" };
+    private static final Encoding[] PRIMITIVE_ENCODINGS = {
+        Encoding.BOOL, Encoding.FLOAT, Encoding.FLOAT, Encoding.SINT,
+        Encoding.SINT, Encoding.SINT, Encoding.SINT, Encoding.SINT,
+        Encoding.UINT, Encoding.SINT, Encoding.UINT, Encoding.UINT,
+        Encoding.UINT, Encoding.UINT, Encoding.UINT };
+    private static final int[] PRIMITIVE_SIZES = {
+        1, 8, 4, 2, 4, 8, 1, 4, -1, -1, 2, 4, 8, 1, 4 };
 }
 
@@ -5,180 +5,624 @@
 package me.pavlina.alco.lex;
 
 import java.io.*;
-import java.util.ArrayList;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.BitSet;
 import me.pavlina.alco.compiler.ErrorAnnotator;
 import me.pavlina.alco.compiler.errors.*;
 
+/**
+ * Lexer. The file is read into one byte array, which is scanned directly as
+ * UTF-8: everything outside of comments must be ASCII, so no characters need
+ * to be decoded, and token text is copied straight out of the bytes. Lines
+ * are only known by where they start; the text of a line is made into a
+ * String only when an error message prints it.
+ *
+ * Tokens are kept as a table of parallel arrays (type, offset, length, line,
+ * column and symbol of each) rather than as Token objects. get() makes a
+ * Token when the parser asks for one. Words and operators are interned as
+ * they are lexed (see Symbols), so tokens with the same text share one
+ * String.
+ *
+ * Tokens are lexed as the TokenStream asks for them (see have()), so lexing
+ * and parsing go along together, and a lexical error is found when the
+ * parser reaches it. lex() lexes the rest of the file at once, for users
+ * which need every token. A streaming lexer (setStreaming()) also forgets
+ * the tokens the parser has passed, so its table stays small however long
+ * the file is.
+ */
 public class Lexer implements ErrorAnnotator
 {
-    ArrayList<String> lines;
-    ArrayList<Token> tokens;
-    StringCollector collector;
+    static final Charset UTF8 = Charset.forName ("UTF-8");
+    static final Charset LATIN1 = Charset.forName ("ISO-8859-1");
+
+    byte[] src;
+    int[] lineStarts;
+    int nlines;
+    BitSet nonAscii;
     File file;
-    int col;
-    int line;
-    
+
+    // Token table. Row 'r' holds token 'base + r'; in a streaming lexer the
+    // tokens before 'base' have been dropped.
+    int base;
+    int ntokens;
+    boolean done;
+    boolean streaming;
+    byte[] types;
+    int[] starts;
+    int[] lengths;
+    int[] lines;
+    int[] cols;
+    int[] syms;
+    // Tokens given to set(), by row, or null if none. Bodies of one file may
+    // be parsed on several threads at once (see Package), each setting its
+    // own rows, so this is allocated under a lock.
+    volatile Token[] rewritten;
+
+    int line;       // Current line
+    int lineStart;  // Offset of the first byte of the current line
+    int lineEnd;    // Offset of its terminator, or the end of the file
+    int pos;        // Offset of the current byte
+
+    // Symbols already seen in this file, by a hash of their bytes (open
+    // addressing; NONE is empty), so most words need not take the lock in
+    // Symbols.intern()
+    int[] symCache;
+    int nsymCache;
+
     /**
      * Initialise the lexer. This does not lex, but it reads in the entire file,
      * so the fill will be closed after it finishes. */
     public Lexer (File file) throws java.io.IOException
     {
-        String line;
         this.file = file;
-        this.line = 0;
-        this.col = 0;
-        lines = new ArrayList<String> ();
-        tokens = new ArrayList<Token> ();
-        collector = new StringCollector ();
-
-        // Open the file and read each line into 'lines'
-        BufferedReader reader = new BufferedReader (new FileReader (file));
-        while ((line = reader.readLine ()) != null) {
-            lines.add (line);
+        line = -1;
+
+        // Read the whole file into 'src'
+        InputStream in = new FileInputStream (file);
+        try {
+            src = new byte[(int) file.length ()];
+            int n = 0, got;
+            while (n < src.length &&
+                   (got = in.read (src, n, src.length - n)) > 0)
+                n += got;
+            if (n < src.length)
+                src = Arrays.copyOf (src, n);
+        } finally {
+            in.close ();
+        }
+        findLines ();
+    }
+
+    /**
+     * Copy a lexer which has already lexed (with lex()). Parsing may rewrite
+     * tokens, so a lexer which is to be parsed more than once must be copied
+     * each time. The token table is never written after lexing, so it is
+     * shared; only rewritten tokens are copied. */
+    public Lexer (Lexer other)
+    {
+        assert other.done && other.base == 0;
+        done = true;
+        file = other.file;
+        src = other.src;
+        lineStarts = other.lineStarts;
+        nlines = other.nlines;
+        nonAscii = other.nonAscii;
+        ntokens = other.ntokens;
+        types = other.types;
+        starts = other.starts;
+        lengths = other.lengths;
+        lines = other.lines;
+        cols = other.cols;
+        syms = other.syms;
+        if (other.rewritten != null) {
+            rewritten = new Token[ntokens];
+            for (int i = 0; i < ntokens; ++i) {
+                Token t = other.rewritten[i];
+                if (t != null)
+                    rewritten[i] = new Token (t.type, t.value, t.sym, t.line,
+                                              t.col, t.annotator == other
+                                              ? this : t.annotator);
+            }
+        }
+    }
+
+    /**
+     * Find where each line starts, and which lines have characters other
+     * than ASCII. Lines end where BufferedReader.readLine() would end them:
+     * at "\n", "\r" or "\r\n". */
+    private void findLines ()
+    {
+        lineStarts = new int[64];
+        nonAscii = new BitSet ();
+        nlines = 0;
+        int start = 0;
+        for (int i = 0; i < src.length; ++i) {
+            byte b = src[i];
+            if (b < 0) {
+                nonAscii.set (nlines);
+            } else if (b == '\n' || b == '\r') {
+                if (b == '\r' && i + 1 < src.length && src[i + 1] == '\n')
+                    ++i;
+                addLine (start);
+                start = i + 1;
+            }
         }
-        reader.close ();
+        // A last line with no terminator
+        if (start < src.length)
+            addLine (start);
+    }
+
+    private void addLine (int start)
+    {
+        if (nlines == lineStarts.length)
+            lineStarts = Arrays.copyOf (lineStarts, nlines * 2);
+        lineStarts[nlines++] = start;
+    }
+
+    /**
+     * Return the offset of the terminator of a line. */
+    private int lineEnd (int line)
+    {
+        int end = (line + 1 < nlines) ? lineStarts[line + 1] : src.length;
+        if (end > lineStarts[line] && src[end - 1] == '\n')
+            --end;
+        if (end > lineStarts[line] && src[end - 1] == '\r')
+            --end;
+        return end;
+    }
+
+    /**
+     * Make 'line' the current line, and put 'pos' at its start. */
+    private void startLine (int line)
+    {
+        this.line = line;
+        lineStart = lineStarts[line];
+        lineEnd = lineEnd (line);
+        pos = lineStart;
+    }
+
+    /**
+     * Return the text of a line. */
+    private String lineText (int line)
+    {
+        int start = lineStarts[line];
+        return new String (src, start, lineEnd (line) - start,
+                           nonAscii.get (line) ? UTF8 : LATIN1);
+    }
+
+    /**
+     * Return the column of an offset on the current line, counted in
+     * characters as error messages count them. */
+    private int column (int offset)
+    {
+        if (!nonAscii.get (line))
+            return offset - lineStart;
+        return new String (src, lineStart, offset - lineStart, UTF8).length ();
+    }
+
+    /**
+     * Return the byte at an offset as a char. The bytes of a multibyte
+     * character come out above '~', so they only match default cases. */
+    private char at (int offset)
+    {
+        return (char) (src[offset] & 0xff);
     }
 
     /**
-     * Get the number of tokens. */
+     * Return the character which starts at an offset, for error messages. */
+    private char decode (int offset)
+    {
+        if (src[offset] >= 0)
+            return (char) src[offset];
+        int end = Math.min (offset + 4, lineEnd);
+        return new String (src, offset, end - offset, UTF8).charAt (0);
+    }
+
+    /**
+     * Return whether the current line has 'a' then 'b' at an offset. */
+    private boolean matches (int offset, char a, char b)
+    {
+        return offset + 1 < lineEnd
+            && src[offset] == a && src[offset + 1] == b;
+    }
+
+    /**
+     * Make a token of the bytes from 'first' to 'pos'. A scanner stops either
+     * on the last byte of its token or at the end of the line. Token text is
+     * always ASCII. */
+    private void addToken (int type, int first)
+    {
+        addToken (type, first, Math.min (pos + 1, lineEnd) - first);
+    }
+
+    /**
+     * Add a row to the token table. */
+    private void addToken (int type, int first, int length)
+    {
+        if (types == null) {
+            // A whole file has about one token for every five bytes
+            this.resize (streaming ? 2 * WINDOW : Math.max (16, src.length / 5));
+        } else if (ntokens == types.length) {
+            this.resize (ntokens * 2);
+        }
+        types[ntokens] = (byte) type;
+        starts[ntokens] = first;
+        lengths[ntokens] = length;
+        lines[ntokens] = line;
+        cols[ntokens] = column (first);
+        syms[ntokens] = (type == Token.WORD || type == Token.OPER
+                         || type == Token.EXTRA)
+            ? this.intern (first, length) : Symbols.NONE;
+        ++ntokens;
+    }
+
+    /**
+     * Return the symbol ID of the bytes at 'first'. */
+    private int intern (int first, int length)
+    {
+        int hash = 0;
+        for (int i = 0; i < length; ++i)
+            hash = 31 * hash + src[first + i];
+        if (symCache == null)
+            symCache = new int[256];
+        int mask = symCache.length - 1;
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        int sym;
+        while ((sym = symCache[slot]) != Symbols.NONE) {
+            if (this.isSymbol (sym, first, length))
+                return sym;
+            slot = (slot + 1) & mask;
+        }
+
+        sym = Symbols.intern (new String (src, first, length, LATIN1));
+        symCache[slot] = sym;
+        if (++nsymCache * 2 > symCache.length)
+            this.growSymCache ();
+        return sym;
+    }
+
+    /**
+     * Return whether the bytes at 'first' are the text of a symbol. */
+    private boolean isSymbol (int sym, int first, int length)
+    {
+        String name = Symbols.name (sym);
+        if (name.length () != length)
+            return false;
+        for (int i = 0; i < length; ++i) {
+            if (name.charAt (i) != src[first + i])
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Double the size of the symbol cache. */
+    private void growSymCache ()
+    {
+        int[] old = symCache;
+        symCache = new int[old.length * 2];
+        int mask = symCache.length - 1;
+        for (int sym: old) {
+            if (sym == Symbols.NONE)
+                continue;
+            String name = Symbols.name (sym);
+            int hash = 0;
+            for (int i = 0; i < name.length (); ++i)
+                hash = 31 * hash + name.charAt (i);
+            int slot = (hash ^ (hash >>> 16)) & mask;
+            while (symCache[slot] != Symbols.NONE)
+                slot = (slot + 1) & mask;
+            symCache[slot] = sym;
+        }
+    }
+
+    /**
+     * Reallocate the token table with room for 'capacity' rows. */
+    private void resize (int capacity)
+    {
+        if (types == null) {
+            types = new byte[capacity];
+            starts = new int[capacity];
+            lengths = new int[capacity];
+            lines = new int[capacity];
+            cols = new int[capacity];
+            syms = new int[capacity];
+            return;
+        }
+        types = Arrays.copyOf (types, capacity);
+        starts = Arrays.copyOf (starts, capacity);
+        lengths = Arrays.copyOf (lengths, capacity);
+        lines = Arrays.copyOf (lines, capacity);
+        cols = Arrays.copyOf (cols, capacity);
+        syms = Arrays.copyOf (syms, capacity);
+        if (rewritten != null)
+            rewritten = Arrays.copyOf (rewritten, capacity);
+    }
+
+    /**
+     * Get the number of tokens lexed so far: all of them, after lex(). */
     public int length () {
-        return tokens.size ();
+        return base + ntokens;
     }
 
     /**
-     * Get a token. */
+     * Return whether there is a token 'i', lexing up to it if needed. */
+    public boolean have (int i) throws CError {
+        while (i >= base + ntokens) {
+            if (done || !this.lexMore ())
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Make this a streaming lexer, which may drop the tokens before the
+     * reader's position. No one may ask for those again, so none of
+     * get(), set() or the field getters can be used with lower indices
+     * than release() was given, less a few (see KEEP). */
+    public void setStreaming () {
+        streaming = true;
+    }
+
+    /**
+     * Return whether this is a streaming lexer. */
+    public boolean isStreaming () {
+        return streaming;
+    }
+
+    /**
+     * Tokens kept behind the position given to release(), for
+     * TokenStream.last() and putback() */
+    static final int KEEP = 16;
+
+    /** Tokens which must be behind a streaming lexer before they are
+     * dropped; dropping them moves the rest of the table down. */
+    static final int WINDOW = 1024;
+
+    /**
+     * Say that the reader of a streaming lexer is at token 'i'. */
+    public void release (int i) {
+        int n = i - KEEP - base;
+        if (!streaming || n < WINDOW)
+            return;
+        int left = ntokens - n;
+        System.arraycopy (types, n, types, 0, left);
+        System.arraycopy (starts, n, starts, 0, left);
+        System.arraycopy (lengths, n, lengths, 0, left);
+        System.arraycopy (lines, n, lines, 0, left);
+        System.arraycopy (cols, n, cols, 0, left);
+        System.arraycopy (syms, n, syms, 0, left);
+        if (rewritten != null) {
+            System.arraycopy (rewritten, n, rewritten, 0, left);
+            Arrays.fill (rewritten, left, ntokens, null);
+        }
+        base += n;
+        ntokens = left;
+    }
+
+    /**
+     * Get a token. Unless it was rewritten, this is a new Token each time. */
     public Token get (int i) {
-        return tokens.get (i);
+        int r = i - base;
+        if (rewritten != null && rewritten[r] != null)
+            return rewritten[r];
+        return new Token (types[r], getValue (i), syms[r], lines[r], cols[r],
+                          this);
     }
 
     /**
      * Set (rewrite) a token. USE CAREFULLY. */
     public void set (int i, Token e) {
-        tokens.set (i, e);
+        int r = i - base;
+        if (rewritten == null) {
+            // Most tokens put back are just as they were lexed
+            if (isRow (r, e))
+                return;
+            synchronized (this) {
+                if (rewritten == null)
+                    rewritten = new Token[types.length];
+            }
+        }
+        rewritten[r] = e;
+    }
+
+    /**
+     * Return whether a Token is the same as row 'r' of the table. */
+    private boolean isRow (int r, Token e) {
+        if (e.type != types[r] || e.sym != syms[r] || e.line != lines[r]
+            || e.col != cols[r] || e.annotator != this || e.value.length () != lengths[r])
+            return false;
+        for (int j = 0; j < lengths[r]; ++j) {
+            if (e.value.charAt (j) != src[starts[r] + j])
+                return false;
+        }
+        return true;
     }
 
     /**
-     * Generate tokens */
+     * @name Token fields
+     * @{
+     * The fields of token 'i', without making a Token. */
+    public int getType (int i) {
+        int r = i - base;
+        if (rewritten != null && rewritten[r] != null)
+            return rewritten[r].type;
+        return types[r];
+    }
+
+    public String getValue (int i) {
+        int r = i - base;
+        if (rewritten != null && rewritten[r] != null)
+            return rewritten[r].value;
+        if (syms[r] != Symbols.NONE)
+            return Symbols.name (syms[r]);
+        return new String (src, starts[r], lengths[r], LATIN1);
+    }
+
+    public int getSym (int i) {
+        int r = i - base;
+        if (rewritten != null && rewritten[r] != null)
+            return rewritten[r].sym;
+        return syms[r];
+    }
+
+    public int getLine (int i) {
+        int r = i - base;
+        if (rewritten != null && rewritten[r] != null)
+            return rewritten[r].line;
+        return lines[r];
+    }
+
+    public int getCol (int i) {
+        int r = i - base;
+        if (rewritten != null && rewritten[r] != null)
+            return rewritten[r].col;
+        return cols[r];
+    }
+    /** @} */
+
+    /**
+     * Generate all tokens */
     public void lex () throws CError {
-        for (line = 0; line < lines.size (); ++line) {
-            for (col = 0; col < lines.get (line).length (); ++col) {
-                switch (lines.get (line).charAt (col)) {
-                case ' ':
-                case 0x0009:
-                case 0x000a:
-                case 0x000b:
-                case 0x000c:
-                case 0x000d:
-                    // Whitespace
-                    continue;
-                case '0':
-                case '1':
-                case '2':
-                case '3':
-                case '4':
-                case '5':
-                case '6':
-                case '7':
-                case '8':
-                case '9':
-                    consumeNumber ();
-                    break;
-                case '@':
-                case '_':
-                case 'A':
-                case 'B':
-                case 'C':
-                case 'D':
-                case 'E':
-                case 'F':
-                case 'G':
-                case 'H':
-                case 'I':
-                case 'J':
-                case 'K':
-                case 'L':
-                case 'M':
-                case 'N':
-                case 'O':
-                case 'P':
-                case 'Q':
-                case 'R':
-                case 'S':
-                case 'T':
-                case 'U':
-                case 'V':
-                case 'W':
-                case 'X':
-                case 'Y':
-                case 'Z':
-                case 'a':
-                case 'b':
-                case 'c':
-                case 'd':
-                case 'e':
-                case 'f':
-                case 'g':
-                case 'h':
-                case 'i':
-                case 'j':
-                case 'k':
-                case 'l':
-                case 'm':
-                case 'n':
-                case 'o':
-                case 'p':
-                case 'q':
-                case 'r':
-                case 's':
-                case 't':
-                case 'u':
-                case 'v':
-                case 'w':
-                case 'x':
-                case 'y':
-                case 'z':
-                    consumeWord ();
-                    break;
-                case '$':
-                    consumeExtrastandard ();
-                    break;
-                case '/':
-                    consumeOperOrComment ();
-                    break;
-                case '+':
-                case '-':
-                case '~':
-                case '*':
-                case '%':
-                case '<':
-                case '>':
-                case '&':
-                case '^':
-                case '|':
-                case '!':
-                case '=':
-                case '(':
-                case ')':
-                case '[':
-                case ']':
-                case '{':
-                case '}':
-                case ',':
-                case ';':
-                case ':':
-                case '.':
-                case '?':
-                    consumeOper ();
-                    break;
-                case '"':
-                    consumeString ();
-                    break;
-                default:
-                    throw new UnexpectedChar
-                        (lines.get (line).charAt (col), line, col, this);
+        while (this.lexMore ());
+
+        // The table is kept as long as the lexer, so give back the spare room
+        this.resize (ntokens);
+    }
+
+    /**
+     * Lex until there is one more token, or until the end of the file.
+     * @return Whether there was another token */
+    private boolean lexMore () throws CError {
+        int n = ntokens;
+        while (ntokens == n) {
+            if (pos >= lineEnd) {
+                if (line + 1 >= nlines) {
+                    done = true;
+                    return false;
                 }
+                startLine (line + 1);
+                continue;
             }
+            switch (at (pos)) {
+            case ' ':
+            case 0x0009:
+            case 0x000a:
+            case 0x000b:
+            case 0x000c:
+            case 0x000d:
+                // Whitespace
+                break;
+            case '0':
+            case '1':
+            case '2':
+            case '3':
+            case '4':
+            case '5':
+            case '6':
+            case '7':
+            case '8':
+            case '9':
+                consumeNumber ();
+                break;
+            case '@':
+            case '_':
+            case 'A':
+            case 'B':
+            case 'C':
+            case 'D':
+            case 'E':
+            case 'F':
+            case 'G':
+            case 'H':
+            case 'I':
+            case 'J':
+            case 'K':
+            case 'L':
+            case 'M':
+            case 'N':
+            case 'O':
+            case 'P':
+            case 'Q':
+            case 'R':
+            case 'S':
+            case 'T':
+            case 'U':
+            case 'V':
+            case 'W':
+            case 'X':
+            case 'Y':
+            case 'Z':
+            case 'a':
+            case 'b':
+            case 'c':
+            case 'd':
+            case 'e':
+            case 'f':
+            case 'g':
+            case 'h':
+            case 'i':
+            case 'j':
+            case 'k':
+            case 'l':
+            case 'm':
+            case 'n':
+            case 'o':
+            case 'p':
+            case 'q':
+            case 'r':
+            case 's':
+            case 't':
+            case 'u':
+            case 'v':
+            case 'w':
+            case 'x':
+            case 'y':
+            case 'z':
+                consumeWord ();
+                break;
+            case '$':
+                consumeExtrastandard ();
+                break;
+            case '/':
+                consumeOperOrComment ();
+                break;
+            case '+':
+            case '-':
+            case '~':
+            case '*':
+            case '%':
+            case '<':
+            case '>':
+            case '&':
+            case '^':
+            case '|':
+            case '!':
+            case '=':
+            case '(':
+            case ')':
+            case '[':
+            case ']':
+            case '{':
+            case '}':
+            case ',':
+            case ';':
+            case ':':
+            case '.':
+            case '?':
+                consumeOper ();
+                break;
+            case '"':
+                consumeString ();
+                break;
+            default:
+                throw new UnexpectedChar
+                    (decode (pos), line, column (pos), this);
+            }
+            ++pos;
         }
+        return true;
     }
 
     private void consumeNumber () throws CError {
@@ -187,31 +631,27 @@ public class Lexer implements ErrorAnnotator
         boolean radixAllowed = false;
         boolean dotAllowed = true;
         boolean expAllowed = true;
-        int firstCol = col;
+        int first = pos;
         int type = Token.INT;
-        int expCol = -2; // Must be at most -2
-        for (; col < lines.get (line).length (); ++col) {
-            char ch = lines.get (line).charAt (col);
+        int expPos = -2; // Must be at most -2
+        for (; pos < lineEnd; ++pos) {
+            char ch = at (pos);
             switch (ch) {
             case '+':
             case '-':
                 // Stop character or exponent sign.
-                if (col == expCol + 1) {
-                    collector.append (ch);
-                } else {
-                    --col;
+                if (pos != expPos + 1) {
+                    --pos;
                     breakFor = true;
                 }
                 break;
             case '0':
-                if (col == firstCol) {
+                if (pos == first) {
                     // Starting a number with 0 allows a radix to be specified.
                     radixAllowed = true;
                 }
-                collector.append (ch);
                 break;
             case '1':
-                collector.append (ch);
                 break;
             case '2':
             case '3':
@@ -222,20 +662,18 @@ public class Lexer implements ErrorAnnotator
                 // These characters are allowed in octal and above
                 if (radix < 8) {
                     throw new UnexpectedChar
-                        (ch, line, col, this,
+                        (ch, line, column (pos), this,
                          "in base " + radix + " number");
                 }
-                collector.append (ch);
                 break;
             case '8':
             case '9':
                 // These characters are allowed in decimal and above
                 if (radix < 10) {
                     throw new UnexpectedChar
-                        (ch, line, col, this,
+                        (ch, line, column (pos), this,
                          "in base " + radix + " number");
                 }
-                collector.append (ch);
                 break;
             case 'A':
             case 'C':
@@ -246,56 +684,51 @@ public class Lexer implements ErrorAnnotator
                 // These characters are allowed in hexadecimal
                 if (radix < 16) {
                     throw new UnexpectedChar
-                        (ch, line, col, this,
+                        (ch, line, column (pos), this,
                          "in base " + radix + " number");
                 }
-                collector.append (ch);
                 break;
             case 'B':
             case 'b':
                 // This is a hex 0xB or a binary radix specifier
-                if (col == firstCol + 1 && radixAllowed) {
+                if (pos == first + 1 && radixAllowed) {
                     expAllowed = false;
                     dotAllowed = false;
                     radix = 2;
                 } else if (radix < 16)
                     throw new UnexpectedChar
-                        (ch, line, col, this,
+                        (ch, line, column (pos), this,
                          "in base " + radix + " number");
-                collector.append (ch);
                 break;
             case 'D':
             case 'd':
                 // This is a hex 0xD or a decimal radix specifier
-                if (col == firstCol + 1 && radixAllowed) {
+                if (pos == first + 1 && radixAllowed) {
                     expAllowed = false;
                     dotAllowed = false;
                     radix = 10;
                 } else if (radix < 16)
                     throw new UnexpectedChar
-                        (ch, line, col, this,
+                        (ch, line, column (pos), this,
                          "in base " + radix + " number");
-                collector.append (ch);
                 break;
             case 'O':
             case 'o':
-                if (col == firstCol + 1 && radixAllowed) {
+                if (pos == first + 1 && radixAllowed) {
                     expAllowed = false;
                     dotAllowed = false;
                     radix = 8;
                 } else
-                    throw new UnexpectedChar (ch, line, col, this);
-                collector.append (ch);
+                    throw new UnexpectedChar (ch, line, column (pos), this);
                 break;
             case 'X':
             case 'x':
-                if (col == firstCol + 1 && radixAllowed) {
+                if (pos == first + 1 && radixAllowed) {
                     expAllowed = false;
                     dotAllowed = false;
                     radix = 16;
                 } else
-                    throw new UnexpectedChar (ch, line, col, this);
-                collector.append (ch);
+                    throw new UnexpectedChar (ch, line, column (pos), this);
                 break;
             case 'E':
             case 'e':
@@ -304,12 +737,11 @@ public class Lexer implements ErrorAnnotator
                     expAllowed = false;
                     dotAllowed = false;
                     type = Token.REAL;
-                    expCol = col;
+                    expPos = pos;
                 } else if (radix < 16)
                     throw new UnexpectedChar
-                        (ch, line, col, this,
+                        (ch, line, column (pos), this,
                          "in base " + radix + " number");
-                collector.append (ch);
                 break;
             case 'G':
             case 'H':
@@ -348,56 +780,50 @@ public class Lexer implements ErrorAnnotator
             case 'y':
             case 'z':
                 throw new UnexpectedChar
-                    (ch, line, col, this,
+                    (ch, line, column (pos), this,
                      "in base " + radix + " number");
             case '.':
                 if (!dotAllowed)
-                    throw new UnexpectedChar (ch, line, col, this);
+                    throw new UnexpectedChar (ch, line, column (pos), this);
                 type = Token.REAL;
                 dotAllowed = false;
-                collector.append (ch);
                 break;
             default:
-                --col;
+                --pos;
                 breakFor = true;
                 break;
             }
             if (breakFor) break;
         }
-        String val = collector.toString ();
-        collector.clear ();
-        tokens.add (new Token (type, val, line, firstCol, this));
+        addToken (type, first);
     }
 
     private void consumeString () throws CError {
-        int firstCol = col;
+        int first = pos;
         boolean inEscape = false;
-        for (; col < lines.get (line).length (); ++col) {
-            char ch = lines.get (line).charAt (col);
+        for (; pos < lineEnd; ++pos) {
+            char ch = at (pos);
             if (ch < ' ' || ch > '~')
-                throw new UnexpectedChar (ch, line, col, this);
-            collector.append (ch);
-            if (ch == '"' && !inEscape && col != firstCol) break;
+                throw new UnexpectedChar (decode (pos), line, column (pos),
+                                          this);
+            if (ch == '"' && !inEscape && pos != first) break;
             if (ch == '\\') inEscape = !inEscape;
         }
-        String val = collector.toString ();
-        collector.clear ();
-        tokens.add (new Token (Token.STRING, val, line, firstCol, this));
+        addToken (Token.STRING, first);
     }
 
     private void consumeWord () throws CError {
         boolean breakFor = false;
         boolean hasAt = false;
-        int firstCol = col;
-        for (; col < lines.get (line).length (); ++col) {
-            char ch = lines.get (line).charAt (col);
+        int first = pos;
+        for (; pos < lineEnd; ++pos) {
+            char ch = at (pos);
             switch (ch) {
             case '@':
                 // Only valid as the first character
-                if (col != firstCol)
-                    throw new UnexpectedChar (ch, line, col, this);
+                if (pos != first)
+                    throw new UnexpectedChar (ch, line, column (pos), this);
                 hasAt = true;
-                collector.append (ch);
                 break;
             case '0':
             case '1':
@@ -413,10 +839,10 @@ public class Lexer implements ErrorAnnotator
                 // hasAt == false case, because if the first character was a digit
                 // this wouldn't be picked up as a word anyway
                 if (hasAt) {
-                    if (col == firstCol + 1)
-                        throw new UnexpectedChar (ch, line, col, this);
+                    if (pos == first + 1)
+                        throw new UnexpectedChar
+                            (ch, line, column (pos), this);
                 }
-                collector.append (ch);
                 break;
             case '_':
             case 'A':
@@ -471,32 +897,28 @@ public class Lexer implements ErrorAnnotator
             case 'x':
             case 'y':
             case 'z':
-                collector.append (ch);
                 break;
             default:
-                --col;
+                --pos;
                 breakFor = true;
                 break;
             }
             if (breakFor) break;
         }
-        String val = collector.toString ();
-        collector.clear ();
-        tokens.add (new Token (Token.WORD, val, line, firstCol, this));
+        addToken (Token.WORD, first);
     }
 
     private void consumeExtrastandard () throws CError {
         boolean breakFor = false;
-        int firstCol = col;
-        for (; col < lines.get (line).length (); ++col) {
+        int first = pos;
+        for (; pos < lineEnd; ++pos) {
             // The first two characters must be $$
-            char ch = lines.get (line).charAt (col);
-            if (col == firstCol || col == (firstCol + 1)) {
+            char ch = at (pos);
+            if (pos == first || pos == (first + 1)) {
                 if (ch != '$')
                     throw new UnexpectedChar
-                        (ch, line, col, this,
+                        (ch, line, column (pos), this,
                          "extrastandard identifier must start with $$");
-                collector.append (ch);
                 continue;
             }
             switch (ch) {
@@ -511,9 +933,8 @@ public class Lexer implements ErrorAnnotator
             case '8':
             case '9':
                 // Not valid as the first character after $$
-                if (col == firstCol + 2)
-                    throw new UnexpectedChar (ch, line, col, this);
-                collector.append (ch);
+                if (pos == first + 2)
+                    throw new UnexpectedChar (ch, line, column (pos), this);
                 break;
             case '_':
             case 'A':
@@ -568,28 +989,24 @@ public class Lexer implements ErrorAnnotator
             case 'x':
             case 'y':
             case 'z':
-                collector.append (ch);
                 break;
             default:
-                --col;
+                --pos;
                 breakFor = true;
                 break;
             }
             if (breakFor) break;
         }
-        String val = collector.toString ();
-        collector.clear ();
-        tokens.add (new Token (Token.EXTRA, val, line, firstCol, this));
+        addToken (Token.EXTRA, first);
     }
 
     private void consumeOperOrComment () throws CError {
-        if (lines.get (line).regionMatches (col, "//", 0, 2)) {
+        if (matches (pos, '/', '/')) {
             // Line comment - just skip the rest of the line
-            ++line;
-            col = -1;
-        } else if (lines.get (line).regionMatches (col, "/*", 0, 2)) {
+            pos = lineEnd;
+        } else if (matches (pos, '/', '*')) {
             // Block comment
-            col += 2;
+            pos += 2;
             consumeBlockComment ();
         } else
             consumeOper ();
@@ -599,36 +1016,38 @@ public class Lexer implements ErrorAnnotator
         // Run to the ending */
         // Recurse for nesting
         // If we hit the end of the file, complain
-        for (; line < lines.size (); ++line) {
-            // Initialise col=0 after this loop so we can start at a nonzero col
-            for (; col < lines.get (line).length (); ++col) {
-                if (lines.get (line).regionMatches (col, "/*", 0, 2)) {
+        for (;;) {
+            // Start at 'pos', which may not be the start of the line
+            for (; pos < lineEnd; ++pos) {
+                if (matches (pos, '/', '*')) {
                     // Nested comment
-                    col += 2;
+                    pos += 2;
                     consumeBlockComment ();
-                } else if (lines.get (line).regionMatches (col, "*/", 0, 2)) {
-                    col += 2;
+                } else if (matches (pos, '*', '/')) {
+                    pos += 2;
                     return;
                 }
             }
-            col = 0;
+            if (line + 1 >= nlines)
+                break;
+            startLine (line + 1);
         }
         throw new UnexpectedEOF
-            ("*/", lines.size () - 1,
-             lines.get (lines.size () - 1).length () - 1, 0, 0, this);
+            ("*/", nlines - 1, lineText (nlines - 1).length () - 1, 0, 0,
+             this);
     }
 
     private void consumeOper () throws CError {
-        char ch1 = lines.get (line).charAt (col);
+        char ch1 = at (pos);
         char ch2;
         char ch3;
         String oper = null;
-        if (col + 1 < lines.get (line).length ())
-            ch2 = lines.get (line).charAt (col + 1);
+        if (pos + 1 < lineEnd)
+            ch2 = at (pos + 1);
         else
             ch2 = 0;
-        if (col + 2 < lines.get (line).length ())
-            ch3 = lines.get (line).charAt (col + 2);
+        if (pos + 2 < lineEnd)
+            ch3 = at (pos + 2);
         else
             ch3 = 0;
 
@@ -754,15 +1173,16 @@ public class Lexer implements ErrorAnnotator
         }
 
         if (oper == null)
-            throw new UnexpectedChar (ch1, line, col, this, " in operator");
-        tokens.add (new Token (Token.OPER, oper, line, col, this));
-        col += oper.length () - 1;
+            throw new UnexpectedChar (ch1, line, column (pos), this,
+                                      " in operator");
+        addToken (Token.OPER, pos, oper.length ());
+        pos += oper.length () - 1;
     }
 
     public void annotate (int line, int col, int start, int stop,
                           PrintStream out)
     {
-        String L = lines.get (line);
+        String L = lineText (line);
         out.println (L);
         for (int i = 0; i < L.length (); ++i) {
             if (i == col)
@@ -781,4 +1201,11 @@ public class Lexer implements ErrorAnnotator
     {
         return file.getName ();
     }
+
+    /**
+     * Return the file being lexed. */
+    public File getFile ()
+    {
+        return file;
+    }
 }
@@ -0,0 +1,101 @@
+// Copyright (c) 2011, Christopher Pavlina. All rights reserved.
+//
+// Map keyed by symbol ID
+
+package me.pavlina.alco.lex;
+
+import java.util.Arrays;
+
+/**
+ * Map from symbol IDs (see Symbols) to values. Keys are ints, so nothing is
+ * boxed or hashed as a String, and copying the map is copying two arrays.
+ * Entries cannot be removed; Symbols.NONE cannot be a key.
+ */
+public class SymbolMap<V>
+{
+    int[] keys;
+    Object[] values;
+    int size;
+
+    /**
+     * Create an empty map. */
+    public SymbolMap () {
+        keys = new int[16];
+        values = new Object[16];
+    }
+
+    /**
+     * Create a map holding the same entries as another. */
+    public SymbolMap (SymbolMap<V> other) {
+        keys = other.keys.clone ();
+        values = other.values.clone ();
+        size = other.size;
+    }
+
+    /**
+     * Get the value of a symbol, or null if it has none. */
+    @SuppressWarnings("unchecked")
+    public V get (int sym) {
+        int mask = keys.length - 1;
+        for (int i = slot (sym, mask); keys[i] != Symbols.NONE;
+             i = (i + 1) & mask) {
+            if (keys[i] == sym)
+                return (V) values[i];
+        }
+        return null;
+    }
+
+    /**
+     * Set the value of a symbol. */
+    public void put (int sym, V value) {
+        assert sym != Symbols.NONE;
+        int mask = keys.length - 1;
+        int i = slot (sym, mask);
+        for (; keys[i] != Symbols.NONE; i = (i + 1) & mask) {
+            if (keys[i] == sym) {
+                values[i] = value;
+                return;
+            }
+        }
+        keys[i] = sym;
+        values[i] = value;
+        if (++size * 2 > keys.length)
+            this.grow ();
+    }
+
+    /**
+     * Remove every entry. */
+    public void clear () {
+        Arrays.fill (keys, Symbols.NONE);
+        Arrays.fill (values, null);
+        size = 0;
+    }
+
+    /**
+     * Return the number of entries. */
+    public int size () {
+        return size;
+    }
+
+    private void grow () {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new Object[oldKeys.length * 2];
+        int mask = keys.length - 1;
+        for (int j = 0; j < oldKeys.length; ++j) {
+            if (oldKeys[j] == Symbols.NONE)
+                continue;
+            int i = slot (oldKeys[j], mask);
+            while (keys[i] != Symbols.NONE)
+                i = (i + 1) & mask;
+            keys[i] = oldKeys[j];
+            values[i] = oldValues[j];
+        }
+    }
+
+    private static int slot (int sym, int mask) {
+        int hash = sym * 0x9e3779b9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,274 @@
+// Copyright (c) 2011, Christopher Pavlina. All rights reserved.
+//
+// Symbol table: words and operators by number
+
+package me.pavlina.alco.lex;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Symbol table. Every word and operator token is interned here and given a
+ * symbol ID (Token.sym), so the parser and resolver compare ints and index
+ * arrays instead of comparing and hashing Strings. Keywords, type names and
+ * operators have the fixed IDs below, so they can be used in switches;
+ * other words are numbered from FIXED up as they are first seen.
+ *
+ * The table is shared by every compile in the JVM, so symbols agree across
+ * files and threads. Interning takes a lock; name() does not, and the
+ * lexer keeps its own cache in front of intern().
+ *
+ * The table only grows while it is in use. A compiler which lives longer
+ * than one compile must empty it with reset() from time to time, at a point
+ * where nothing holds a symbol ID other than the fixed ones: the compile
+ * server does so after each request, and -watch when it has more than
+ * WATCH_LIMIT symbols.
+ */
+public class Symbols
+{
+
+    private Symbols () {}
+
+    /** Not a symbol: a token other than a word or operator */
+    public static final int NONE =   0;
+
+    /**
+     * @name Keywords
+     * @{
+     * Keywords and then special type names must come first, in one run
+     * each, for Keywords.isKeyword().
+     */
+    public static final int ALLOWCONFLICT =   1; /**< allowconflict */
+    public static final int AS            =   2; /**< as */
+    public static final int CASE          =   3; /**< case */
+    public static final int CLASS         =   4; /**< class */
+    public static final int CONST         =   5; /**< const */
+    public static final int DEFAULT       =   6; /**< default */
+    public static final int DO            =   7; /**< do */
+    public static final int ELSE          =   8; /**< else */
+    public static final int EXTERN        =   9; /**< extern */
+    public static final int FALSE         =  10; /**< false */
+    public static final int FOR           =  11; /**< for */
+    public static final int FOREACH       =  12; /**< foreach */
+    public static final int GLOBAL        =  13; /**< global */
+    public static final int IF            =  14; /**< if */
+    public static final int LET           =  15; /**< let */
+    public static final int METHOD        =  16; /**< method */
+    public static final int NOMANGLE      =  17; /**< nomangle */
+    public static final int NULL          =  18; /**< null */
+    public static final int RECORD        =  19; /**< record */
+    public static final int RETURN        =  20; /**< return */
+    public static final int STATIC        =  21; /**< static */
+    public static final int SWITCH        =  22; /**< switch */
+    public static final int THREADLOCAL   =  23; /**< threadlocal */
+    public static final int TRUE          =  24; /**< true */
+    public static final int VOLATILE      =  25; /**< volatile */
+    public static final int WHILE         =  26; /**< while */
+    /** @} */
+
+    /**
+     * @name Special type names
+     * @{
+     */
+    public static final int BOOL          =  27; /**< bool */
+    public static final int DOUBLE        =  28; /**< double */
+    public static final int FLOAT         =  29; /**< float */
+    public static final int I16           =  30; /**< i16 */
+    public static final int I32           =  31; /**< i32 */
+    public static final int I64           =  32; /**< i64 */
+    public static final int I8            =  33; /**< i8 */
+    public static final int INT           =  34; /**< int */
+    public static final int SIZE          =  35; /**< size */
+    public static final int SSIZE         =  36; /**< ssize */
+    public static final int U16           =  37; /**< u16 */
+    public static final int U32           =  38; /**< u32 */
+    public static final int U64           =  39; /**< u64 */
+    public static final int U8            =  40; /**< u8 */
+    public static final int UNSIGNED      =  41; /**< unsigned */
+    public static final int VAR           =  42; /**< var */
+    public static final int VOID          =  43; /**< void */
+    /** @} */
+
+    /**
+     * @name Other words the parser looks for
+     * @{
+     */
+    public static final int BREAK         =  44; /**< break */
+    public static final int CONTINUE      =  45; /**< continue */
+    public static final int DELETE        =  46; /**< delete */
+    public static final int EXECUTABLE    =  47; /**< executable */
+    public static final int IMPORT        =  48; /**< import */
+    public static final int NEW           =  49; /**< new */
+    public static final int PACKAGE       =  50; /**< package */
+    public static final int DOLLAR_NAME   =  51; /**< $$name */
+    /** @} */
+
+    /**
+     * @name Operators
+     * @{
+     */
+    public static final int LNOT          =  52; /**< ! */
+    public static final int VNE           =  53; /**< != */
+    public static final int RNE           =  54; /**< !== */
+    public static final int MOD           =  55; /**< % */
+    public static final int REM           =  56; /**< %% */
+    public static final int REM_ASSIGN    =  57; /**< %%= */
+    public static final int MOD_ASSIGN    =  58; /**< %= */
+    public static final int AMP           =  59; /**< & */
+    public static final int LAND          =  60; /**< && */
+    public static final int AND_ASSIGN    =  61; /**< &= */
+    public static final int LPAREN        =  62; /**< ( */
+    public static final int RPAREN        =  63; /**< ) */
+    public static final int STAR          =  64; /**< * */
+    public static final int MUL_ASSIGN    =  65; /**< *= */
+    public static final int PLUS          =  66; /**< + */
+    public static final int INCREMENT     =  67; /**< ++ */
+    public static final int PLUS_ASSIGN   =  68; /**< += */
+    public static final int COMMA         =  69; /**< , */
+    public static final int MINUS         =  70; /**< - */
+    public static final int DECREMENT     =  71; /**< -- */
+    public static final int MINUS_ASSIGN  =  72; /**< -= */
+    public static final int DOT           =  73; /**< . */
+    public static final int ELLIPSIS      =  74; /**< ... */
+    public static final int SLASH         =  75; /**< / */
+    public static final int DIV_ASSIGN    =  76; /**< /= */
+    public static final int COLON         =  77; /**< : */
+    public static final int ASSIGN        =  78; /**< := */
+    public static final int SEMICOLON     =  79; /**< ; */
+    public static final int LT            =  80; /**< < */
+    public static final int SHL           =  81; /**< << */
+    public static final int SHL_ASSIGN    =  82; /**< <<= */
+    public static final int LE            =  83; /**< <= */
+    public static final int EQUALS        =  84; /**< = */
+    public static final int VEQ           =  85; /**< == */
+    public static final int REQ           =  86; /**< === */
+    public static final int GT            =  87; /**< > */
+    public static final int GE            =  88; /**< >= */
+    public static final int SHR           =  89; /**< >> */
+    public static final int SHR_ASSIGN    =  90; /**< >>= */
+    public static final int QUESTION      =  91; /**< ? */
+    public static final int LSQUARE       =  92; /**< [ */
+    public static final int RSQUARE       =  93; /**< ] */
+    public static final int XOR           =  94; /**< ^ */
+    public static final int XOR_ASSIGN    =  95; /**< ^= */
+    public static final int LBRACE        =  96; /**< { */
+    public static final int BAR           =  97; /**< | */
+    public static final int OR_ASSIGN     =  98; /**< |= */
+    public static final int LOR           =  99; /**< || */
+    public static final int RBRACE        = 100; /**< } */
+    public static final int TILDE         = 101; /**< ~ */
+    /** @} */
+
+    /** Number of fixed symbols; the first ID given to any other word */
+    public static final int FIXED = 102;
+
+    /** Number of symbols above which -watch empties the table */
+    public static final int WATCH_LIMIT = 1 << 20;
+
+    /**
+     * Text of the fixed symbols, in the order of their IDs */
+    private static final String[] FIXED_NAMES = {
+        "allowconflict", "as", "case", "class", "const", "default", "do",
+        "else", "extern", "false", "for", "foreach", "global", "if", "let",
+        "method", "nomangle", "null", "record", "return", "static", "switch",
+        "threadlocal", "true", "volatile", "while", "bool", "double", "float",
+        "i16", "i32", "i64", "i8", "int", "size", "ssize", "u16", "u32", "u64",
+        "u8", "unsigned", "var", "void", "break", "continue", "delete",
+        "executable", "import", "new", "package", "$$name", "!", "!=", "!==",
+        "%", "%%", "%%=", "%=", "&", "&&", "&=", "(", ")", "*", "*=", "+",
+        "++", "+=", ",", "-", "--", "-=", ".", "...", "/", "/=", ":", ":=", ";",
+        "<", "<<", "<<=", "<=", "=", "==", "===", ">", ">=", ">>", ">>=", "?",
+        "[", "]", "^", "^=", "{", "|", "|=", "||", "}", "~" };
+
+    private static final HashMap<String, Integer> ids;
+    private static volatile String[] names;
+    private static int count;
+
+    static {
+        ids = new HashMap<String, Integer> ();
+        names = new String[2 * FIXED];
+        names[NONE] = "";
+        count = 1;
+        for (String i: FIXED_NAMES)
+            Symbols.intern (i);
+        assert count == FIXED;
+    }
+
+    /**
+     * Get the ID of a symbol, adding it if it is new. */
+    public static int intern (String name)
+    {
+        synchronized (ids) {
+            Integer id = ids.get (name);
+            if (id != null)
+                return id.intValue ();
+            // A reader only sees an ID after it was made here, so the name is
+            // always in the array which 'names' holds by then
+            String[] array = names;
+            if (count == array.length) {
+                array = Arrays.copyOf (array, count * 2);
+                array[count] = name;
+                names = array;
+            } else {
+                array[count] = name;
+            }
+            ids.put (name, count);
+            return count++;
+        }
+    }
+
+    /**
+     * Forget every symbol but the fixed ones, so that their names can be
+     * collected. No compile may be running, and no Lexer, Token or AST made
+     * before may be used after. */
+    public static void reset ()
+    {
+        synchronized (ids) {
+            for (int i = FIXED; i < count; ++i)
+                ids.remove (names[i]);
+            names = Arrays.copyOf (names, 2 * FIXED);
+            count = FIXED;
+        }
+    }
+
+    /**
+     * Get the number of symbols, including the fixed ones. */
+    public static int size ()
+    {
+        synchronized (ids) {
+            return count;
+        }
+    }
+
+    /**
+     * Get the ID of a symbol, or NONE if it has never been interned. */
+    public static int lookup (String name)
+    {
+        synchronized (ids) {
+            Integer id = ids.get (name);
+            return id == null ? NONE : id.intValue ();
+        }
+    }
+
+    /**
+     * Get the symbol ID a token of the given type and text would have. */
+    public static int of (int type, String value)
+    {
+        switch (type) {
+        case Token.WORD:
+        case Token.OPER:
+        case Token.EXTRA:
+        case Token.SPECIAL:
+            return Symbols.intern (value);
+        default:
+            return NONE;
+        }
+    }
+
+    /**
+     * Get the text of a symbol. */
+    public static String name (int sym)
+    {
+        return names[sym];
+    }
+}
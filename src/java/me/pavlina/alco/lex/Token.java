@@ -38,6 +38,7 @@ public class Token
     public int col;       /**< Zero-based column number */
     public int type;      /**< Token's type flag */
     public String value;  /**< Token's text */
+    public int sym;       /**< Symbol of a word or operator (see Symbols) */
     /** Error message annotator (TokenStream) */
     public ErrorAnnotator annotator;
     /** @} */
@@ -52,9 +53,20 @@ public class Token
      */
     public Token (int type, String value, int line, int col,
                   ErrorAnnotator annotator)
+    {
+        this (type, value, Symbols.of (type, value), line, col, annotator);
+    }
+
+    /**
+     * Create a new token whose symbol is already known.
+     * @param sym Symbol ID of the text (see Symbols)
+     */
+    public Token (int type, String value, int sym, int line, int col,
+                  ErrorAnnotator annotator)
     {
         this.type = type;
         this.value = value;
+        this.sym = sym;
         this.line = line;
         this.col = col;
         this.annotator = annotator;
@@ -107,6 +119,18 @@ public class Token
         return (type == this.type) && value.equals (this.value);
     }
 
+    /**
+     * Return whether this token is of the given type and symbol. This is
+     * the same test as is(type, value), without comparing Strings.
+     * @param type Token type (see Token types)
+     * @param sym Symbol ID (see Symbols)
+     * @return Whether this token matches
+     */
+    public boolean is (int type, int sym)
+    {
+        return (type == this.type) && sym == this.sym;
+    }
+
     /**
      * Return whether this token is of the given value
      * @param value Token text
@@ -13,18 +13,37 @@ import me.pavlina.alco.compiler.ErrorAnnotator;
 import me.pavlina.alco.compiler.errors.*;
 
 /**
- * Stream of tokens.
+ * Stream of tokens. Tokens are lexed as they are asked for; with a streaming
+ * lexer, the ones passed are let go (see Lexer.release()).
  */
 public class TokenStream
 {
     Lexer lexer;
     int pos;
+    Token noMore;
+
+    // The lexer makes a new Token each time one is asked for, and the parser
+    // often peeks at a token before taking it, so the last few are kept.
+    static final int CACHE = 4;
+    Token[] cache;
+    int[] cacheIndex;
 
     /**
      * Initialise the token stream. */
     public TokenStream (Lexer lexer) {
+        this (lexer, 0);
+    }
+
+    /**
+     * Initialise the token stream at token 'pos' of the lexer, to parse
+     * part of a file again. */
+    public TokenStream (Lexer lexer, int pos) {
         this.lexer = lexer;
-        pos = 0;
+        this.pos = pos;
+        noMore = new Token (Token.NO_MORE, "", 0, 0, lexer);
+        cache = new Token[CACHE];
+        cacheIndex = new int[CACHE];
+        java.util.Arrays.fill (cacheIndex, -1);
     }
 
     /**
@@ -33,13 +52,20 @@ public class TokenStream
         return lexer;
     }
 
+    /**
+     * Return the index of the next token in the lexer. */
+    public int getPosition () {
+        return pos;
+    }
+
     /**
      * Get the next token */
-    public Token next () {
-        if (pos >= lexer.length ()) {
-            return new Token (Token.NO_MORE, "", 0, 0, lexer);
+    public Token next () throws CError {
+        if (!lexer.have (pos)) {
+            return noMore;
         }
-        return lexer.get (pos++);
+        lexer.release (pos);
+        return get (pos++);
     }
 
     /**
@@ -51,16 +77,16 @@ public class TokenStream
      */
     public Token last () {
         if (pos < 2) return null;
-        return lexer.get (pos - 2);
+        return get (pos - 2);
     }
 
     /**
      * Look at the next token without consuming */
-    public Token peek () {
-        if (pos >= lexer.length ()) {
-            return new Token (Token.NO_MORE, "", 0, 0, lexer);
+    public Token peek () throws CError {
+        if (!lexer.have (pos)) {
+            return noMore;
         }
-        return lexer.get (pos);
+        return get (pos);
     }
 
     /**
@@ -69,5 +95,18 @@ public class TokenStream
      */
     public void putback (Token token) {
         lexer.set (--pos, token);
+        cache[pos % CACHE] = token;
+        cacheIndex[pos % CACHE] = pos;
+    }
+
+    /**
+     * Get token 'i' from the lexer, or from the cache. */
+    private Token get (int i) {
+        int slot = i % CACHE;
+        if (cacheIndex[slot] != i) {
+            cache[slot] = lexer.get (i);
+            cacheIndex[slot] = i;
+        }
+        return cache[slot];
     }
 }
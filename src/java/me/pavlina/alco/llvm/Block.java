@@ -33,6 +33,12 @@ public class Block {
             && Terminator.class.isInstance (instructions.getLast ());
     }
 
+    /**
+     * Return the number of instructions in this block. */
+    public int size () {
+        return instructions.size ();
+    }
+
     /**
      * Get the ID of this block. */
     public String getId () { return id; }
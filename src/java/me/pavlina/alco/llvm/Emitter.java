@@ -4,25 +4,110 @@ package me.pavlina.alco.llvm;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.HashSet;
 
 /**
  * This class is an emitter for LLVM pseudoassembly code. To use this, you
  * should create LLVM code items (see the sibling classes), then add them to
  * this. When you are done, you can generate code with toString().
  *
- * One emitter represents one output file. */
+ * One emitter represents one output file. Parts of a file may be generated
+ * into separate emitters (for example, on different threads) and then merged
+ * in order with add(Emitter); the output is the same as if everything had
+ * been added to one emitter. */
 public class Emitter {
 
     List<RootObject> code;
+    List<Integer> unitStarts;
 
     public Emitter () {
         code = new ArrayList<RootObject> ();
+        unitStarts = new ArrayList<Integer> ();
     }
 
     public void add (RootObject o) {
         code.add (o);
     }
 
+    /**
+     * Append all code from another emitter, after the code already here. */
+    public void add (Emitter other) {
+        code.addAll (other.code);
+    }
+
+    /**
+     * Start a new unit. Everything added from now until the next unit starts
+     * belongs to it. A unit is the smallest piece which split() will not
+     * separate: its globals are only used by its own functions. Everything
+     * added before the first unit is shared by all. */
+    public void startUnit () {
+        unitStarts.add (code.size ());
+    }
+
+    /**
+     * Split the code into at most n emitters, each of which can be compiled
+     * on its own. Units are shared out so that each emitter has about the
+     * same number of instructions. Each emitter gets the shared code and all
+     * declarations, as well as its own units in their original order. This
+     * must be called before toString().
+     * @return The emitters. There are fewer than n if there are not enough
+     * units. */
+    public List<Emitter> split (int n) {
+        // Units, as [start, end) ranges, with their weights
+        int units = unitStarts.size ();
+        final int[] weight = new int[units];
+        int[] end = new int[units];
+        for (int i = 0; i < units; ++i) {
+            end[i] = (i + 1 < units) ? unitStarts.get (i + 1) : code.size ();
+            for (int j = unitStarts.get (i); j < end[i]; ++j)
+                weight[i] += code.get (j).getWeight ();
+        }
+        int shared = (units == 0) ? code.size () : unitStarts.get (0);
+        if (n > units)
+            n = Math.max (units, 1);
+
+        // Heaviest unit first, each to the lightest emitter so far
+        List<Integer> order = new ArrayList<Integer> ();
+        for (int i = 0; i < units; ++i)
+            order.add (i);
+        Collections.sort (order, new Comparator<Integer> () {
+                public int compare (Integer a, Integer b) {
+                    return weight[b] - weight[a];
+                }
+            });
+        int[] owner = new int[units];
+        long[] load = new long[n];
+        for (int i: order) {
+            int lightest = 0;
+            for (int j = 1; j < n; ++j) {
+                if (load[j] < load[lightest])
+                    lightest = j;
+            }
+            owner[i] = lightest;
+            load[lightest] += weight[i];
+        }
+
+        List<Emitter> emitters = new ArrayList<Emitter> (n);
+        for (int i = 0; i < n; ++i) {
+            Emitter e = new Emitter ();
+            e.code.addAll (code.subList (0, shared));
+            emitters.add (e);
+        }
+        for (int i = 0; i < units; ++i) {
+            for (int j = unitStarts.get (i); j < end[i]; ++j) {
+                RootObject o = code.get (j);
+                if (o.isDeclaration ()) {
+                    for (Emitter e: emitters)
+                        e.add (o);
+                } else
+                    emitters.get (owner[i]).add (o);
+            }
+        }
+        return emitters;
+    }
+
     public String toString () {
         Collections.sort (code);
         // Number everything
@@ -33,10 +118,15 @@ public class Emitter {
                 ++n;
             }
         }
-        // Output code
+        // Output code. Identical declarations (such as an extern for a
+        // function which is also declared internally) are only output once.
         StringBuilder sb = new StringBuilder ();
+        Set<String> declared = new HashSet<String> ();
         for (RootObject i: code) {
-            sb.append (i);
+            String s = i.toString ();
+            if (i.isDeclaration () && !declared.add (s))
+                continue;
+            sb.append (s);
         }
         return sb.toString ();
     }
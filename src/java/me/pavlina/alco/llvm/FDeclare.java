@@ -64,6 +64,8 @@ public class FDeclare extends RootObject {
 
     public int getLevel () { return RootObject.LEVEL_GLOBAL; }
 
+    public boolean isDeclaration () { return true; }
+
     public String toString () {
         StringBuffer sb = new StringBuffer ();
         sb.append ("declare");
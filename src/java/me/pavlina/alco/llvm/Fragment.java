@@ -0,0 +1,131 @@
+// Copyright (c) 2011, Christopher Pavlina. All rights reserved.
+
+package me.pavlina.alco.llvm;
+import java.util.List;
+import java.util.ArrayList;
+
+/**
+ * Reusable piece of an LLVM file, such as the code generated for one method.
+ * The text of each object is kept, with the numbers of its unnamed globals
+ * left open. Splicing a fragment into an emitter gives exactly the same
+ * output as generating the code again, even if those globals end up with
+ * different numbers. Fragments do not change once captured, so one may be
+ * spliced any number of times, from any thread. */
+public class Fragment {
+
+    /**
+     * Marks the index of an unnamed global in the text. This cannot appear in
+     * LLVM output otherwise, as strings are always escaped. */
+    static final char MARK = '\u0000';
+
+    List<Template> templates;
+    int size;
+
+    private Fragment () {
+        templates = new ArrayList<Template> ();
+    }
+
+    /**
+     * Capture all code in an emitter. The emitter's objects are used up by
+     * this, and must not be output; splice the fragment instead.
+     * @param emitter Emitter holding only the code for this fragment */
+    public static Fragment capture (Emitter emitter) {
+        Fragment f = new Fragment ();
+        boolean[] unnamed = new boolean[emitter.code.size ()];
+        int n = 0;
+        for (int i = 0; i < unnamed.length; ++i) {
+            RootObject o = emitter.code.get (i);
+            if (o.needsId ()) {
+                unnamed[i] = true;
+                o.setId ("@" + MARK + Integer.toString (n) + MARK);
+                ++n;
+            }
+        }
+        for (int i = 0; i < unnamed.length; ++i) {
+            RootObject o = emitter.code.get (i);
+            Template t = new Template (o.getLevel (), o.isDeclaration (),
+                                       unnamed[i], o.getWeight (),
+                                       o.toString ());
+            f.templates.add (t);
+            f.size += t.text.length ();
+        }
+        return f;
+    }
+
+    /**
+     * Add the code to an emitter. */
+    public void splice (Emitter emitter) {
+        List<Piece> unnamed = new ArrayList<Piece> ();
+        for (Template i: templates) {
+            Piece p = new Piece (i, unnamed);
+            if (i.unnamed)
+                unnamed.add (p);
+            emitter.add (p);
+        }
+    }
+
+    /**
+     * Return the approximate size of the fragment, in characters. */
+    public int size () {
+        return size;
+    }
+
+    /**
+     * One object, as text. */
+    private static class Template {
+        int level, weight;
+        boolean declaration, unnamed;
+        String text;
+
+        Template (int level, boolean declaration, boolean unnamed,
+                  int weight, String text) {
+            this.level = level;
+            this.declaration = declaration;
+            this.unnamed = unnamed;
+            this.weight = weight;
+            this.text = text;
+        }
+    }
+
+    /**
+     * Spliced object. Each splice gets new ones, which are numbered by the
+     * emitter like any other object. */
+    private static class Piece extends RootObject {
+        Template template;
+        List<Piece> unnamed;
+        String id;
+
+        Piece (Template template, List<Piece> unnamed) {
+            this.template = template;
+            this.unnamed = unnamed;
+        }
+
+        public int getLevel () { return template.level; }
+        public boolean isDeclaration () { return template.declaration; }
+        public int getWeight () { return template.weight; }
+        public boolean needsId () { return template.unnamed && id == null; }
+        public void setId (String id) { this.id = id; }
+        public String getId () { return id; }
+        public String getType () { return null; }
+
+        public String toString () {
+            String text = template.text;
+            int start = text.indexOf (MARK);
+            if (start == -1)
+                return text;
+            StringBuilder sb = new StringBuilder (text.length ());
+            int pos = 0;
+            while (start != -1) {
+                int end = text.indexOf (MARK, start + 1);
+                int n = Integer.parseInt (text.substring (start + 1, end));
+                // The global's id, minus the @
+                sb.append (text, pos, start)
+                    .append (unnamed.get (n).getId ().substring (1));
+                pos = end + 1;
+                start = text.indexOf (MARK, pos);
+            }
+            sb.append (text, pos, text.length ());
+            return sb.toString ();
+        }
+    }
+}
@@ -93,6 +93,13 @@ public class Function extends RootObject {
 
     public int getLevel () { return RootObject.LEVEL_FUNCTION; }
 
+    public int getWeight () {
+        int n = 0;
+        for (Block b: code)
+            n += b.size ();
+        return n;
+    }
+
     public String toString () {
         StringBuilder sb = new StringBuilder ();
         sb.append ("define");
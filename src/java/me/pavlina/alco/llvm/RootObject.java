@@ -35,6 +35,20 @@ public abstract class RootObject implements Comparable<RootObject> {
      * Get the string representation of this object. */
     public abstract String toString ();
 
+    /**
+     * Return roughly how much work this object is for the code generator.
+     * Functions count their instructions; everything else counts as one. */
+    public int getWeight () {
+        return 1;
+    }
+
+    /**
+     * Return whether this object is a declaration. Identical declarations
+     * are only output once. */
+    public boolean isDeclaration () {
+        return false;
+    }
+
     public int compareTo (RootObject o) {
         return getLevel () - o.getLevel ();
     }
@@ -7,19 +7,20 @@ import me.pavlina.alco.ast.*;
 import static me.pavlina.alco.ast.Expression.Operator;
 import me.pavlina.alco.lex.TokenStream;
 import me.pavlina.alco.lex.Token;
+import me.pavlina.alco.lex.Symbols;
 import me.pavlina.alco.language.Type;
 import me.pavlina.alco.language.HasType;
 import me.pavlina.alco.language.Resolver;
 import me.pavlina.alco.language.Keywords;
 import me.pavlina.alco.llvm.*;
-import java.util.Map;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.Stack;
 import java.util.List;
 
 /**
- * Expression parser. When adding operators, look at the static initialiser for
- * most (only a select few, like function calls, needs special wiring). */
+ * Expression parser. When adding operators, add them to BINARY or UNARY and
+ * to createBinary() or createUnary() (only a select few, like function calls,
+ * need special wiring). */
 public class ExpressionParser {
 
     // This expression parser implements a basic shunting-yard algorithm. This
@@ -149,7 +150,7 @@ public class ExpressionParser {
             output.push (new RealValue (env, stream));
             callPossible = unaryPossible = false;
 
-        } else if (token.is (Token.OPER, "{")) {
+        } else if (token.is (Token.OPER, Symbols.LBRACE)) {
             output.push (new ArrayValue (env, stream, method));
             callPossible = unaryPossible = false;
 
@@ -157,27 +158,27 @@ public class ExpressionParser {
             output.push (new StringValue (env, stream, method));
             callPossible = unaryPossible = false;
 
-        } else if (token.is (Token.WORD, "true") ||
-                   token.is (Token.WORD, "false")) {
+        } else if (token.is (Token.WORD, Symbols.TRUE) ||
+                   token.is (Token.WORD, Symbols.FALSE)) {
             output.push (new BoolValue (env, stream));
             callPossible = unaryPossible = false;
 
-        } else if (token.is (Token.WORD, "null")) {
+        } else if (token.is (Token.WORD, Symbols.NULL)) {
             output.push (new NullValue (env, stream));
             callPossible = unaryPossible = false;
 
-        } else if (token.is (Token.WORD, "new")) {
+        } else if (token.is (Token.WORD, Symbols.NEW)) {
             output.push (new NewValue (env, stream));
             callPossible = true;
             unaryPossible = false;
 
-        } else if (token.is (Token.EXTRA, "$$name")) {
+        } else if (token.is (Token.EXTRA, Symbols.DOLLAR_NAME)) {
             output.push (new NameValue (env, stream));
             callPossible = true;
             unaryPossible = false;
 
         } else if (token.is (Token.WORD) &&
-                   !Keywords.isKeyword (token.value)) {
+                   !Keywords.isKeyword (token.sym)) {
             output.push (new NameValue (env, stream));
             callPossible = true;
             unaryPossible = false;
@@ -192,7 +193,7 @@ public class ExpressionParser {
      * Check for and handle opening parentheses
      * @return Whether an item was found */
     private boolean readOpenParen (Token token) throws CError {
-        if (token.is (Token.OPER, "(")) {
+        if (token.is (Token.OPER, Symbols.LPAREN)) {
             // There are two things that can happen here.
             // 1. If callPossible is true, then this paren opens a function
             // call. The function name itself was just pushed to the output
@@ -210,7 +211,7 @@ public class ExpressionParser {
                 // operator, so we push a placeholder.
                 stream.next ();
                 Token peek = stream.peek ();
-                if (peek.is (Token.OPER, ")"))
+                if (peek.is (Token.OPER, Symbols.RPAREN))
                     output.push (new OpComma (peek));
             } else {
                 stack.push (new OpeningParen (token));
@@ -228,7 +229,7 @@ public class ExpressionParser {
      * Check for and handle closing parentheses
      * @return Whether an item was found */
     private boolean readCloseParen (Token token) throws CError {
-        if (token.is (Token.OPER, ")")) {
+        if (token.is (Token.OPER, Symbols.RPAREN)) {
             // Find the matching open parenthesis
             boolean foundOpen = false;
             while (! stack.empty ()) {
@@ -260,7 +261,7 @@ public class ExpressionParser {
      * Check for and handle opening square bracket
      * @return Whether an item was found */
     public boolean readOpenSquare (Token token) throws CError {
-        if (token.is (Token.OPER, "[")) {
+        if (token.is (Token.OPER, Symbols.LSQUARE)) {
             // This signifies an index, which is like a function call. For
             // this to show up, we need "callPossible".
             if (!callPossible)
@@ -282,7 +283,7 @@ public class ExpressionParser {
      * Check for and handle closing square bracket
      * @return Whether an item was found */
     public boolean readCloseSquare (Token token) throws CError {
-        if (token.is (Token.OPER, "]")) {
+        if (token.is (Token.OPER, Symbols.RSQUARE)) {
             boolean foundOpen = false;
             while (! stack.empty ()) {
                 Operator oper = stack.pop ();
@@ -313,23 +314,25 @@ public class ExpressionParser {
      * @return Whether an item was found */
     public boolean readOperator (Token token) throws CError {
         if (token.is (Token.OPER) ||
-            (token.is (Token.WORD) && Keywords.isKeyword (token.value))) {
-            Expression.OperatorCreator creator;
+            (token.is (Token.WORD) && Keywords.isKeyword (token.sym))) {
+            int kind;
             String message;
-            if (unaryPossible) {
-                creator = UNOPS.get (token.value);
+            boolean unary = unaryPossible;
+            if (unary) {
+                kind = UNOPS[token.sym];
                 message = "unary operator";
             } else {
-                creator = BINOPS.get (token.value);
+                kind = BINOPS[token.sym];
                 message = "binary operator";
             }
             callPossible = false;
             unaryPossible = true;
 
-            if (creator == null)
+            if (kind < 0)
                 throw Unexpected.at (message, token);
 
-            Operator oper = creator.create (env, stream, method);
+            Operator oper = unary ? createUnary (kind, env, stream, method)
+                : createBinary (kind, env, stream, method);
             shuntOper (oper);
 
             // The 'as' operator expects a TypeValue
@@ -388,65 +391,116 @@ public class ExpressionParser {
     }
 
     /**
-     * Map of all binary operators. This maps the operator text to an
-     * OperatorCreator. */
-    private static final Map<String, Expression.OperatorCreator> BINOPS;
+     * Create a binary operator. Operator classes are only referred to here
+     * and in createUnary(), so the JVM loads each one when it is first
+     * parsed, not all of them at startup.
+     * @param kind Index of the operator in BINARY */
+    private static Operator createBinary (int kind, Env env,
+                                          TokenStream stream, Method method)
+        throws CError
+    {
+        switch (kind) {
+        case 0:  return new OpAssign (env, stream, method);
+        case 1:  return new OpEqError (env, stream, method);
+        case 2:  return new OpComma (env, stream, method);
+        case 3:  return new OpCast (env, stream, method);
+        case 4:  return new OpMember (env, stream, method);
+        case 5:  return new OpPlus (env, stream, method);
+        case 6:  return new OpMinus (env, stream, method);
+        case 7:  return new OpMul (env, stream, method);
+        case 8:  return new OpDiv (env, stream, method);
+        case 9:  return new OpMod (env, stream, method);
+        case 10: return new OpRem (env, stream, method);
+        case 11: return new OpBAnd (env, stream, method);
+        case 12: return new OpBOr (env, stream, method);
+        case 13: return new OpBXor (env, stream, method);
+        case 14: return new OpLAnd (env, stream, method);
+        case 15: return new OpLOr (env, stream, method);
+        case 16: return new OpAssignPlus (env, stream, method);
+        case 17: return new OpAssignMinus (env, stream, method);
+        case 18: return new OpAssignMul (env, stream, method);
+        case 19: return new OpAssignDiv (env, stream, method);
+        case 20: return new OpAssignMod (env, stream, method);
+        case 21: return new OpAssignRem (env, stream, method);
+        case 22: return new OpAssignBAnd (env, stream, method);
+        case 23: return new OpAssignBOr (env, stream, method);
+        case 24: return new OpAssignBXor (env, stream, method);
+        case 25: return new OpLt (env, stream, method);
+        case 26: return new OpGt (env, stream, method);
+        case 27: return new OpLe (env, stream, method);
+        case 28: return new OpGe (env, stream, method);
+        case 29: return new OpVEq (env, stream, method);
+        case 30: return new OpVNe (env, stream, method);
+        case 31: return new OpREq (env, stream, method);
+        case 32: return new OpRNe (env, stream, method);
+        case 33: return new OpQuestion (env, stream, method);
+        case 34: return new OpColon (env, stream, method);
+        default:
+            assert false: kind;
+            return null;
+        }
+    }
+
+    /**
+     * Create a unary operator.
+     * @param kind Index of the operator in UNARY */
+    private static Operator createUnary (int kind, Env env,
+                                         TokenStream stream, Method method)
+        throws CError
+    {
+        switch (kind) {
+        case 0:  return new OpDeref (env, stream, method);
+        case 1:  return new OpAddress (env, stream, method);
+        case 2:  return new OpNeg (env, stream, method);
+        case 3:  return new OpLNot (env, stream, method);
+        case 4:  return new OpBNot (env, stream, method);
+        case 5:  return new OpIncrement (env, stream, method);
+        case 6:  return new OpDecrement (env, stream, method);
+        default:
+            assert false: kind;
+            return null;
+        }
+    }
+
+    /**
+     * Binary operators, in the order of the cases in createBinary(). */
+    private static final int[] BINARY = {
+        Symbols.ASSIGN, Symbols.EQUALS, Symbols.COMMA, Symbols.AS,
+        Symbols.DOT, Symbols.PLUS, Symbols.MINUS, Symbols.STAR,
+        Symbols.SLASH, Symbols.MOD, Symbols.REM, Symbols.AMP,
+        Symbols.BAR, Symbols.XOR, Symbols.LAND, Symbols.LOR,
+        Symbols.PLUS_ASSIGN, Symbols.MINUS_ASSIGN, Symbols.MUL_ASSIGN,
+        Symbols.DIV_ASSIGN, Symbols.MOD_ASSIGN, Symbols.REM_ASSIGN,
+        Symbols.AND_ASSIGN, Symbols.OR_ASSIGN, Symbols.XOR_ASSIGN,
+        Symbols.LT, Symbols.GT, Symbols.LE, Symbols.GE, Symbols.VEQ,
+        Symbols.VNE, Symbols.REQ, Symbols.RNE, Symbols.QUESTION,
+        Symbols.COLON };
 
     /**
-     * Map of all unary operators. This maps the operator text to an
-     * OperatorCreator. */
-    private static final Map<String, Expression.OperatorCreator> UNOPS;
+     * Unary operators, in the order of the cases in createUnary(). */
+    private static final int[] UNARY = {
+        Symbols.STAR, Symbols.AMP, Symbols.MINUS, Symbols.LNOT,
+        Symbols.TILDE, Symbols.INCREMENT, Symbols.DECREMENT };
 
     /**
-     * Operator-loading static initialiser. This loads all operators into the
-     * map. */
+     * Index in BINARY of each fixed symbol, or -1 if it is not a binary
+     * operator. Only fixed symbols reach readOperator(). */
+    private static final int[] BINOPS;
+
+    /**
+     * Index in UNARY of each fixed symbol, or -1 if it is not a unary
+     * operator. */
+    private static final int[] UNOPS;
+
     static {
-        BINOPS = new HashMap<String, Expression.OperatorCreator> ();
-        UNOPS = new HashMap<String, Expression.OperatorCreator> ();
-
-        BINOPS.put (":=", OpAssign.CREATOR);
-        BINOPS.put ("=", OpEqError.CREATOR);
-        BINOPS.put (",", OpComma.CREATOR);
-        BINOPS.put ("as", OpCast.CREATOR);
-        BINOPS.put (".", OpMember.CREATOR);
-        BINOPS.put ("+", OpPlus.CREATOR);
-        BINOPS.put ("-", OpMinus.CREATOR);
-        BINOPS.put ("*", OpMul.CREATOR);
-        BINOPS.put ("/", OpDiv.CREATOR);
-        BINOPS.put ("%", OpMod.CREATOR);
-        BINOPS.put ("%%", OpRem.CREATOR);
-        BINOPS.put ("&", OpBAnd.CREATOR);
-        BINOPS.put ("|", OpBOr.CREATOR);
-        BINOPS.put ("^", OpBXor.CREATOR);
-        BINOPS.put ("&&", OpLAnd.CREATOR);
-        BINOPS.put ("||", OpLOr.CREATOR);
-        BINOPS.put ("+=", OpAssignPlus.CREATOR);
-        BINOPS.put ("-=", OpAssignMinus.CREATOR);
-        BINOPS.put ("*=", OpAssignMul.CREATOR);
-        BINOPS.put ("/=", OpAssignDiv.CREATOR);
-        BINOPS.put ("%=", OpAssignMod.CREATOR);
-        BINOPS.put ("%%=", OpAssignRem.CREATOR);
-        BINOPS.put ("&=", OpAssignBAnd.CREATOR);
-        BINOPS.put ("|=", OpAssignBOr.CREATOR);
-        BINOPS.put ("^=", OpAssignBXor.CREATOR);
-        BINOPS.put ("<", OpLt.CREATOR);
-        BINOPS.put (">", OpGt.CREATOR);
-        BINOPS.put ("<=", OpLe.CREATOR);
-        BINOPS.put (">=", OpGe.CREATOR);
-        BINOPS.put ("==", OpVEq.CREATOR);
-        BINOPS.put ("!=", OpVNe.CREATOR);
-        BINOPS.put ("===", OpREq.CREATOR);
-        BINOPS.put ("!==", OpRNe.CREATOR);
-        BINOPS.put ("?", OpQuestion.CREATOR);
-        BINOPS.put (":", OpColon.CREATOR);
-        
-        UNOPS.put ("*", OpDeref.CREATOR);
-        UNOPS.put ("&", OpAddress.CREATOR);
-        UNOPS.put ("-", OpNeg.CREATOR);
-        UNOPS.put ("!", OpLNot.CREATOR);
-        UNOPS.put ("~", OpBNot.CREATOR);
-        UNOPS.put ("++", OpIncrement.CREATOR);
-        UNOPS.put ("--", OpDecrement.CREATOR);
+        BINOPS = new int[Symbols.FIXED];
+        UNOPS = new int[Symbols.FIXED];
+        Arrays.fill (BINOPS, -1);
+        Arrays.fill (UNOPS, -1);
+        for (int i = 0; i < BINARY.length; ++i)
+            BINOPS[BINARY[i]] = i;
+        for (int i = 0; i < UNARY.length; ++i)
+            UNOPS[UNARY[i]] = i;
     }
 }
 
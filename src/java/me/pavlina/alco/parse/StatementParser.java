@@ -6,8 +6,7 @@ import me.pavlina.alco.compiler.Env;
 import me.pavlina.alco.compiler.errors.*;
 import me.pavlina.alco.lex.TokenStream;
 import me.pavlina.alco.lex.Token;
-import java.util.Map;
-import java.util.HashMap;
+import me.pavlina.alco.lex.Symbols;
 
 // This class is ridiculously simple because all the statements have their own
 // parsers.
@@ -25,32 +24,32 @@ public class StatementParser {
     {
         Token token = stream.peek ();
         if (!token.is (Token.WORD)) return null;
-
-        Statement.StatementCreator sc = STATEMENTS.get (token.value);
-        if (sc == null) return null;
-        return sc.create (env, stream, method);
+        return create (token.sym, env, stream, method);
     }
 
     /**
-     * Map of all keywords to their statement creators. */
-    private static Map<String, Statement.StatementCreator> STATEMENTS;
-
-    /**
-     * Statement-loading static intiailiser. This loads all statements into the
-     * map. */
-    static {
-        STATEMENTS = new HashMap<String, Statement.StatementCreator> ();
-        
-        STATEMENTS.put ("let", StLet.CREATOR);
-        STATEMENTS.put ("const", StConst.CREATOR);
-        STATEMENTS.put ("static", StStatic.CREATOR);
-        STATEMENTS.put ("return", StReturn.CREATOR);
-        STATEMENTS.put ("if", StIf.CREATOR);
-        STATEMENTS.put ("while", StWhile.CREATOR);
-        STATEMENTS.put ("do", StDoWhile.CREATOR);
-        STATEMENTS.put ("for", StFor.CREATOR);
-        STATEMENTS.put ("break", StBreak.CREATOR);
-        STATEMENTS.put ("continue", StContinue.CREATOR);
-        STATEMENTS.put ("delete", StDelete.CREATOR);
+     * Create the statement which starts with the given keyword, or return
+     * null if it does not start a statement. Statement classes are only
+     * referred to here, so the JVM loads each one when it is first parsed,
+     * not all of them at startup.
+     * @param sym Symbol ID of the keyword (see Symbols) */
+    private static Statement create (int sym, Env env, TokenStream stream,
+                                     Method method) throws CError
+    {
+        switch (sym) {
+        case Symbols.LET:      return new StLet (env, stream, method);
+        case Symbols.CONST:    return new StConst (env, stream, method);
+        case Symbols.STATIC:   return new StStatic (env, stream, method);
+        case Symbols.RETURN:   return new StReturn (env, stream, method);
+        case Symbols.IF:       return new StIf (env, stream, method);
+        case Symbols.WHILE:    return new StWhile (env, stream, method);
+        case Symbols.DO:       return new StDoWhile (env, stream, method);
+        case Symbols.FOR:      return new StFor (env, stream, method);
+        case Symbols.BREAK:    return new StBreak (env, stream, method);
+        case Symbols.CONTINUE: return new StContinue (env, stream, method);
+        case Symbols.DELETE:   return new StDelete (env, stream, method);
+        default:
+            return null;
+        }
     }
 }
@@ -5,6 +5,7 @@ import me.pavlina.alco.compiler.errors.*;
 import me.pavlina.alco.compiler.Env;
 import me.pavlina.alco.lex.TokenStream;
 import me.pavlina.alco.lex.Token;
+import me.pavlina.alco.lex.Symbols;
 import me.pavlina.alco.language.Type;
 import java.util.List;
 import java.util.ArrayList;
@@ -38,25 +39,26 @@ public class TypeParser {
 
         // Arguments
         argsToken = stream.next ();
-        if (argsToken.is (Token.OPER, "<")) {
+        if (argsToken.is (Token.OPER, Symbols.LT)) {
             // There are arguments
             args = new ArrayList<Type> ();
             while (true) {
                 Type arg = TypeParser.parse (stream, env);
                 token = stream.next ();
-                if (token.is (Token.OPER, ">")) {
+                if (token.is (Token.OPER, Symbols.GT)) {
                     stream.next ();
                     break;
-                } else if (token.is (Token.OPER, ">>")) {
+                } else if (token.is (Token.OPER, Symbols.SHR)) {
                     // Rewrite >> to >
                     stream.next ();
                     token.value = ">";
+                    token.sym = Symbols.GT;
                     ++token.col;
                     stream.putback (token);
                     break;
                 } else if (token.is (Token.NO_MORE)) {
                     throw UnexpectedEOF.after (", or >", stream.last ());
-                } else if (!token.is (Token.OPER, ",")) {
+                } else if (!token.is (Token.OPER, Symbols.COMMA)) {
                     throw Unexpected.after (",", stream.last ());
                 }
             }
@@ -68,18 +70,18 @@ public class TypeParser {
         mods = new ArrayList<Type.Modifier> ();
         while (true) {
             token = stream.next ();
-            if (token.is (Token.OPER, "*")) {
+            if (token.is (Token.OPER, Symbols.STAR)) {
                 mods.add (Type.Modifier.POINTER);
-            } else if (token.is (Token.OPER, "[")) {
+            } else if (token.is (Token.OPER, Symbols.LSQUARE)) {
                 token = stream.next ();
                 if (token.is (Token.NO_MORE))
                     throw UnexpectedEOF.after ("]", stream.last ());
-                else if (!token.is (Token.OPER, "]"))
+                else if (!token.is (Token.OPER, Symbols.RSQUARE))
                     throw Unexpected.after ("]", stream.last ());
                 mods.add (Type.Modifier.ARRAY);
-            } else if (token.is (Token.WORD, "const")) {
+            } else if (token.is (Token.WORD, Symbols.CONST)) {
                 mods.add (Type.Modifier.CONST);
-            } else if (token.is (Token.WORD, "volatile")) {
+            } else if (token.is (Token.WORD, Symbols.VOLATILE)) {
                 mods.add (Type.Modifier.VOLATILE);
             } else {
                 stream.putback (token);
@@ -4,7 +4,7 @@
 
 # This is the tester for Alco. It runs all tests in test/ in order.
 
-import os, sys, subprocess, json
+import os, sys, subprocess, json, time, tempfile
 ALCO_C_HELPERS = ["test/helpers.c"]
 ALCO_C_HELPERS_O = ["test/helpers.o"]
 ALCO_STD_CMDLINE = ["./alco", "-path=runtime-32:Doxyfile",
@@ -46,6 +46,32 @@ def compile_helpers ():
         if p.wait ():
             sys.exit (1)
 
+def start_server (socket):
+    """
+    Start a compile server on the given socket, in this process's own
+    environment (not the test's), and wait until it is listening.
+    """
+    environ = dict (os.environ)
+    environ["ALCO_SOCKET"] = socket
+    devnull = open (os.devnull, "w")
+    proc = subprocess.Popen (["./alco", "-server"], env=environ,
+                             stdout=devnull, stderr=devnull)
+    devnull.close ()
+    for i in range (100):
+        if os.path.exists (socket) or proc.poll () is not None:
+            break
+        time.sleep (0.1)
+    return proc
+
+def stop_server (proc, socket):
+    """
+    Stop a compile server started by start_server().
+    """
+    environ = dict (os.environ)
+    environ["ALCO_SOCKET"] = socket
+    subprocess.call (["./alco", "-stop-server"], env=environ)
+    proc.wait ()
+
 def run_alpha_test (filename):
     """
     Run a test in a .al file. The first lines must start with // and describe
@@ -61,6 +87,8 @@ def run_alpha_test (filename):
     pout = ""
     perr = ""
     pexit = 0
+    server = False
+    environ = dict (os.environ)
     with open (filename) as f:
         for line in f:
             line = line.strip ("\n")
@@ -87,16 +115,33 @@ def run_alpha_test (filename):
                 perr += rest + "\n"
             elif tag == "PEXIT":
                 pexit = int (rest)
+            elif tag == "SERVER":
+                server = True
+            elif tag == "ENV":
+                key, sep, value = rest.partition ("=")
+                environ[key] = value
 
     start (os.path.basename (filename), name)
     # Compile
     cmdline = ALCO_STD_CMDLINE + [filename] + cmdline
-    compiler = subprocess.Popen (cmdline,
-                                 stdout=subprocess.PIPE,
-                                 stderr=subprocess.PIPE)
-    exitcode = compiler.wait ()
-    got_cout = compiler.stdout.read ()
-    got_cerr = compiler.stderr.read ()
+    if server:
+        socket_dir = tempfile.mkdtemp ()
+        environ["ALCO_SOCKET"] = os.path.join (socket_dir, "server")
+        environ.pop ("ALCO_NOSERVER", None)
+        server_proc = start_server (environ["ALCO_SOCKET"])
+    try:
+        compiler = subprocess.Popen (cmdline,
+                                     stdout=subprocess.PIPE,
+                                     stderr=subprocess.PIPE,
+                                     env=environ)
+        got_cout, got_cerr = compiler.communicate ()
+        exitcode = compiler.returncode
+    finally:
+        if server:
+            stop_server (server_proc, environ["ALCO_SOCKET"])
+            os.rmdir (socket_dir)
+    got_cout = got_cout.decode ("utf-8", "replace")
+    got_cerr = got_cerr.decode ("utf-8", "replace")
 
     if exitcode != cexit:
         msg = "GOT EXIT CODE %d (WANTED %d)\n" % (exitcode, cexit)
@@ -0,0 +1,9 @@
+#!/bin/sh
+# Stands in for a tool, for tests of the environment tools run in. It says
+# what ALCO_TEST_ENV is, and writes its -o file.
+cat > /dev/null
+echo "ALCO_TEST_ENV=$ALCO_TEST_ENV"
+while [ $# -gt 0 ]; do
+    if [ "$1" = "-o" ]; then shift; : > "$1"; fi
+    shift
+done
@@ -0,0 +1,39 @@
+// NAME Static variables split into several modules
+// COMPILE ["-o", "testout", "-j", "2"]
+// RUN ./testout
+// DELETE testout
+// POUT 1
+// POUT 11
+// POUT 2
+// POUT 12
+// POUT 5
+
+executable testout;
+
+extern void putint (int);
+
+int counter () {
+    static n = 0;
+    n += 1;
+    return n;
+}
+
+int other () {
+    static m = 10;
+    m += 1;
+    return m;
+}
+
+int third () {
+    static k = 5;
+    return k;
+}
+
+int main (int argc, u8** argv) nomangle {
+    putint (counter ());
+    putint (other ());
+    putint (counter ());
+    putint (other ());
+    putint (third ());
+    return 0;
+}
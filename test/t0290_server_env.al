@@ -0,0 +1,14 @@
+// NAME Compile server runs tools in the client's environment
+// SERVER
+// ENV ALCO_TEST_ENV=from-client
+// COMPILE ["-emit-llvm", "-path=llvm-as:test/envtool.sh", "-o", "testout.bc"]
+// CERR ALCO_TEST_ENV=from-client
+// DELETE testout.bc
+
+package testout;
+
+extern void putint (int);
+
+void f () {
+    putint (1);
+}
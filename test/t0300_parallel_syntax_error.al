@@ -0,0 +1,4019 @@
+// NAME Syntax error in a body with a missing brace, parsed in parallel
+// COMPILE ["-threads=4", "-emit-llvm", "-o", "testout.bc"]
+// CERR t0300_parallel_syntax_error.al:2016:12: error: expected expression
+// CERR     let n = ;
+// CERR            ^ 
+// CEXIT 1
+
+package testout;
+
+extern void putint (int);
+
+// The file must be big enough for its method bodies to be parsed in
+// parallel (see Compiler.PARALLEL_PARSE_MIN).
+
+void f0 () {
+    putint (0);
+}
+
+void f1 () {
+    putint (1);
+}
+
+void f2 () {
+    putint (2);
+}
+
+void f3 () {
+    putint (3);
+}
+
+void f4 () {
+    putint (4);
+}
+
+void f5 () {
+    putint (5);
+}
+
+void f6 () {
+    putint (6);
+}
+
+void f7 () {
+    putint (7);
+}
+
+void f8 () {
+    putint (8);
+}
+
+void f9 () {
+    putint (9);
+}
+
+void f10 () {
+    putint (10);
+}
+
+void f11 () {
+    putint (11);
+}
+
+void f12 () {
+    putint (12);
+}
+
+void f13 () {
+    putint (13);
+}
+
+void f14 () {
+    putint (14);
+}
+
+void f15 () {
+    putint (15);
+}
+
+void f16 () {
+    putint (16);
+}
+
+void f17 () {
+    putint (17);
+}
+
+void f18 () {
+    putint (18);
+}
+
+void f19 () {
+    putint (19);
+}
+
+void f20 () {
+    putint (20);
+}
+
+void f21 () {
+    putint (21);
+}
+
+void f22 () {
+    putint (22);
+}
+
+void f23 () {
+    putint (23);
+}
+
+void f24 () {
+    putint (24);
+}
+
+void f25 () {
+    putint (25);
+}
+
+void f26 () {
+    putint (26);
+}
+
+void f27 () {
+    putint (27);
+}
+
+void f28 () {
+    putint (28);
+}
+
+void f29 () {
+    putint (29);
+}
+
+void f30 () {
+    putint (30);
+}
+
+void f31 () {
+    putint (31);
+}
+
+void f32 () {
+    putint (32);
+}
+
+void f33 () {
+    putint (33);
+}
+
+void f34 () {
+    putint (34);
+}
+
+void f35 () {
+    putint (35);
+}
+
+void f36 () {
+    putint (36);
+}
+
+void f37 () {
+    putint (37);
+}
+
+void f38 () {
+    putint (38);
+}
+
+void f39 () {
+    putint (39);
+}
+
+void f40 () {
+    putint (40);
+}
+
+void f41 () {
+    putint (41);
+}
+
+void f42 () {
+    putint (42);
+}
+
+void f43 () {
+    putint (43);
+}
+
+void f44 () {
+    putint (44);
+}
+
+void f45 () {
+    putint (45);
+}
+
+void f46 () {
+    putint (46);
+}
+
+void f47 () {
+    putint (47);
+}
+
+void f48 () {
+    putint (48);
+}
+
+void f49 () {
+    putint (49);
+}
+
+void f50 () {
+    putint (50);
+}
+
+void f51 () {
+    putint (51);
+}
+
+void f52 () {
+    putint (52);
+}
+
+void f53 () {
+    putint (53);
+}
+
+void f54 () {
+    putint (54);
+}
+
+void f55 () {
+    putint (55);
+}
+
+void f56 () {
+    putint (56);
+}
+
+void f57 () {
+    putint (57);
+}
+
+void f58 () {
+    putint (58);
+}
+
+void f59 () {
+    putint (59);
+}
+
+void f60 () {
+    putint (60);
+}
+
+void f61 () {
+    putint (61);
+}
+
+void f62 () {
+    putint (62);
+}
+
+void f63 () {
+    putint (63);
+}
+
+void f64 () {
+    putint (64);
+}
+
+void f65 () {
+    putint (65);
+}
+
+void f66 () {
+    putint (66);
+}
+
+void f67 () {
+    putint (67);
+}
+
+void f68 () {
+    putint (68);
+}
+
+void f69 () {
+    putint (69);
+}
+
+void f70 () {
+    putint (70);
+}
+
+void f71 () {
+    putint (71);
+}
+
+void f72 () {
+    putint (72);
+}
+
+void f73 () {
+    putint (73);
+}
+
+void f74 () {
+    putint (74);
+}
+
+void f75 () {
+    putint (75);
+}
+
+void f76 () {
+    putint (76);
+}
+
+void f77 () {
+    putint (77);
+}
+
+void f78 () {
+    putint (78);
+}
+
+void f79 () {
+    putint (79);
+}
+
+void f80 () {
+    putint (80);
+}
+
+void f81 () {
+    putint (81);
+}
+
+void f82 () {
+    putint (82);
+}
+
+void f83 () {
+    putint (83);
+}
+
+void f84 () {
+    putint (84);
+}
+
+void f85 () {
+    putint (85);
+}
+
+void f86 () {
+    putint (86);
+}
+
+void f87 () {
+    putint (87);
+}
+
+void f88 () {
+    putint (88);
+}
+
+void f89 () {
+    putint (89);
+}
+
+void f90 () {
+    putint (90);
+}
+
+void f91 () {
+    putint (91);
+}
+
+void f92 () {
+    putint (92);
+}
+
+void f93 () {
+    putint (93);
+}
+
+void f94 () {
+    putint (94);
+}
+
+void f95 () {
+    putint (95);
+}
+
+void f96 () {
+    putint (96);
+}
+
+void f97 () {
+    putint (97);
+}
+
+void f98 () {
+    putint (98);
+}
+
+void f99 () {
+    putint (99);
+}
+
+void f100 () {
+    putint (100);
+}
+
+void f101 () {
+    putint (101);
+}
+
+void f102 () {
+    putint (102);
+}
+
+void f103 () {
+    putint (103);
+}
+
+void f104 () {
+    putint (104);
+}
+
+void f105 () {
+    putint (105);
+}
+
+void f106 () {
+    putint (106);
+}
+
+void f107 () {
+    putint (107);
+}
+
+void f108 () {
+    putint (108);
+}
+
+void f109 () {
+    putint (109);
+}
+
+void f110 () {
+    putint (110);
+}
+
+void f111 () {
+    putint (111);
+}
+
+void f112 () {
+    putint (112);
+}
+
+void f113 () {
+    putint (113);
+}
+
+void f114 () {
+    putint (114);
+}
+
+void f115 () {
+    putint (115);
+}
+
+void f116 () {
+    putint (116);
+}
+
+void f117 () {
+    putint (117);
+}
+
+void f118 () {
+    putint (118);
+}
+
+void f119 () {
+    putint (119);
+}
+
+void f120 () {
+    putint (120);
+}
+
+void f121 () {
+    putint (121);
+}
+
+void f122 () {
+    putint (122);
+}
+
+void f123 () {
+    putint (123);
+}
+
+void f124 () {
+    putint (124);
+}
+
+void f125 () {
+    putint (125);
+}
+
+void f126 () {
+    putint (126);
+}
+
+void f127 () {
+    putint (127);
+}
+
+void f128 () {
+    putint (128);
+}
+
+void f129 () {
+    putint (129);
+}
+
+void f130 () {
+    putint (130);
+}
+
+void f131 () {
+    putint (131);
+}
+
+void f132 () {
+    putint (132);
+}
+
+void f133 () {
+    putint (133);
+}
+
+void f134 () {
+    putint (134);
+}
+
+void f135 () {
+    putint (135);
+}
+
+void f136 () {
+    putint (136);
+}
+
+void f137 () {
+    putint (137);
+}
+
+void f138 () {
+    putint (138);
+}
+
+void f139 () {
+    putint (139);
+}
+
+void f140 () {
+    putint (140);
+}
+
+void f141 () {
+    putint (141);
+}
+
+void f142 () {
+    putint (142);
+}
+
+void f143 () {
+    putint (143);
+}
+
+void f144 () {
+    putint (144);
+}
+
+void f145 () {
+    putint (145);
+}
+
+void f146 () {
+    putint (146);
+}
+
+void f147 () {
+    putint (147);
+}
+
+void f148 () {
+    putint (148);
+}
+
+void f149 () {
+    putint (149);
+}
+
+void f150 () {
+    putint (150);
+}
+
+void f151 () {
+    putint (151);
+}
+
+void f152 () {
+    putint (152);
+}
+
+void f153 () {
+    putint (153);
+}
+
+void f154 () {
+    putint (154);
+}
+
+void f155 () {
+    putint (155);
+}
+
+void f156 () {
+    putint (156);
+}
+
+void f157 () {
+    putint (157);
+}
+
+void f158 () {
+    putint (158);
+}
+
+void f159 () {
+    putint (159);
+}
+
+void f160 () {
+    putint (160);
+}
+
+void f161 () {
+    putint (161);
+}
+
+void f162 () {
+    putint (162);
+}
+
+void f163 () {
+    putint (163);
+}
+
+void f164 () {
+    putint (164);
+}
+
+void f165 () {
+    putint (165);
+}
+
+void f166 () {
+    putint (166);
+}
+
+void f167 () {
+    putint (167);
+}
+
+void f168 () {
+    putint (168);
+}
+
+void f169 () {
+    putint (169);
+}
+
+void f170 () {
+    putint (170);
+}
+
+void f171 () {
+    putint (171);
+}
+
+void f172 () {
+    putint (172);
+}
+
+void f173 () {
+    putint (173);
+}
+
+void f174 () {
+    putint (174);
+}
+
+void f175 () {
+    putint (175);
+}
+
+void f176 () {
+    putint (176);
+}
+
+void f177 () {
+    putint (177);
+}
+
+void f178 () {
+    putint (178);
+}
+
+void f179 () {
+    putint (179);
+}
+
+void f180 () {
+    putint (180);
+}
+
+void f181 () {
+    putint (181);
+}
+
+void f182 () {
+    putint (182);
+}
+
+void f183 () {
+    putint (183);
+}
+
+void f184 () {
+    putint (184);
+}
+
+void f185 () {
+    putint (185);
+}
+
+void f186 () {
+    putint (186);
+}
+
+void f187 () {
+    putint (187);
+}
+
+void f188 () {
+    putint (188);
+}
+
+void f189 () {
+    putint (189);
+}
+
+void f190 () {
+    putint (190);
+}
+
+void f191 () {
+    putint (191);
+}
+
+void f192 () {
+    putint (192);
+}
+
+void f193 () {
+    putint (193);
+}
+
+void f194 () {
+    putint (194);
+}
+
+void f195 () {
+    putint (195);
+}
+
+void f196 () {
+    putint (196);
+}
+
+void f197 () {
+    putint (197);
+}
+
+void f198 () {
+    putint (198);
+}
+
+void f199 () {
+    putint (199);
+}
+
+void f200 () {
+    putint (200);
+}
+
+void f201 () {
+    putint (201);
+}
+
+void f202 () {
+    putint (202);
+}
+
+void f203 () {
+    putint (203);
+}
+
+void f204 () {
+    putint (204);
+}
+
+void f205 () {
+    putint (205);
+}
+
+void f206 () {
+    putint (206);
+}
+
+void f207 () {
+    putint (207);
+}
+
+void f208 () {
+    putint (208);
+}
+
+void f209 () {
+    putint (209);
+}
+
+void f210 () {
+    putint (210);
+}
+
+void f211 () {
+    putint (211);
+}
+
+void f212 () {
+    putint (212);
+}
+
+void f213 () {
+    putint (213);
+}
+
+void f214 () {
+    putint (214);
+}
+
+void f215 () {
+    putint (215);
+}
+
+void f216 () {
+    putint (216);
+}
+
+void f217 () {
+    putint (217);
+}
+
+void f218 () {
+    putint (218);
+}
+
+void f219 () {
+    putint (219);
+}
+
+void f220 () {
+    putint (220);
+}
+
+void f221 () {
+    putint (221);
+}
+
+void f222 () {
+    putint (222);
+}
+
+void f223 () {
+    putint (223);
+}
+
+void f224 () {
+    putint (224);
+}
+
+void f225 () {
+    putint (225);
+}
+
+void f226 () {
+    putint (226);
+}
+
+void f227 () {
+    putint (227);
+}
+
+void f228 () {
+    putint (228);
+}
+
+void f229 () {
+    putint (229);
+}
+
+void f230 () {
+    putint (230);
+}
+
+void f231 () {
+    putint (231);
+}
+
+void f232 () {
+    putint (232);
+}
+
+void f233 () {
+    putint (233);
+}
+
+void f234 () {
+    putint (234);
+}
+
+void f235 () {
+    putint (235);
+}
+
+void f236 () {
+    putint (236);
+}
+
+void f237 () {
+    putint (237);
+}
+
+void f238 () {
+    putint (238);
+}
+
+void f239 () {
+    putint (239);
+}
+
+void f240 () {
+    putint (240);
+}
+
+void f241 () {
+    putint (241);
+}
+
+void f242 () {
+    putint (242);
+}
+
+void f243 () {
+    putint (243);
+}
+
+void f244 () {
+    putint (244);
+}
+
+void f245 () {
+    putint (245);
+}
+
+void f246 () {
+    putint (246);
+}
+
+void f247 () {
+    putint (247);
+}
+
+void f248 () {
+    putint (248);
+}
+
+void f249 () {
+    putint (249);
+}
+
+void f250 () {
+    putint (250);
+}
+
+void f251 () {
+    putint (251);
+}
+
+void f252 () {
+    putint (252);
+}
+
+void f253 () {
+    putint (253);
+}
+
+void f254 () {
+    putint (254);
+}
+
+void f255 () {
+    putint (255);
+}
+
+void f256 () {
+    putint (256);
+}
+
+void f257 () {
+    putint (257);
+}
+
+void f258 () {
+    putint (258);
+}
+
+void f259 () {
+    putint (259);
+}
+
+void f260 () {
+    putint (260);
+}
+
+void f261 () {
+    putint (261);
+}
+
+void f262 () {
+    putint (262);
+}
+
+void f263 () {
+    putint (263);
+}
+
+void f264 () {
+    putint (264);
+}
+
+void f265 () {
+    putint (265);
+}
+
+void f266 () {
+    putint (266);
+}
+
+void f267 () {
+    putint (267);
+}
+
+void f268 () {
+    putint (268);
+}
+
+void f269 () {
+    putint (269);
+}
+
+void f270 () {
+    putint (270);
+}
+
+void f271 () {
+    putint (271);
+}
+
+void f272 () {
+    putint (272);
+}
+
+void f273 () {
+    putint (273);
+}
+
+void f274 () {
+    putint (274);
+}
+
+void f275 () {
+    putint (275);
+}
+
+void f276 () {
+    putint (276);
+}
+
+void f277 () {
+    putint (277);
+}
+
+void f278 () {
+    putint (278);
+}
+
+void f279 () {
+    putint (279);
+}
+
+void f280 () {
+    putint (280);
+}
+
+void f281 () {
+    putint (281);
+}
+
+void f282 () {
+    putint (282);
+}
+
+void f283 () {
+    putint (283);
+}
+
+void f284 () {
+    putint (284);
+}
+
+void f285 () {
+    putint (285);
+}
+
+void f286 () {
+    putint (286);
+}
+
+void f287 () {
+    putint (287);
+}
+
+void f288 () {
+    putint (288);
+}
+
+void f289 () {
+    putint (289);
+}
+
+void f290 () {
+    putint (290);
+}
+
+void f291 () {
+    putint (291);
+}
+
+void f292 () {
+    putint (292);
+}
+
+void f293 () {
+    putint (293);
+}
+
+void f294 () {
+    putint (294);
+}
+
+void f295 () {
+    putint (295);
+}
+
+void f296 () {
+    putint (296);
+}
+
+void f297 () {
+    putint (297);
+}
+
+void f298 () {
+    putint (298);
+}
+
+void f299 () {
+    putint (299);
+}
+
+void f300 () {
+    putint (300);
+}
+
+void f301 () {
+    putint (301);
+}
+
+void f302 () {
+    putint (302);
+}
+
+void f303 () {
+    putint (303);
+}
+
+void f304 () {
+    putint (304);
+}
+
+void f305 () {
+    putint (305);
+}
+
+void f306 () {
+    putint (306);
+}
+
+void f307 () {
+    putint (307);
+}
+
+void f308 () {
+    putint (308);
+}
+
+void f309 () {
+    putint (309);
+}
+
+void f310 () {
+    putint (310);
+}
+
+void f311 () {
+    putint (311);
+}
+
+void f312 () {
+    putint (312);
+}
+
+void f313 () {
+    putint (313);
+}
+
+void f314 () {
+    putint (314);
+}
+
+void f315 () {
+    putint (315);
+}
+
+void f316 () {
+    putint (316);
+}
+
+void f317 () {
+    putint (317);
+}
+
+void f318 () {
+    putint (318);
+}
+
+void f319 () {
+    putint (319);
+}
+
+void f320 () {
+    putint (320);
+}
+
+void f321 () {
+    putint (321);
+}
+
+void f322 () {
+    putint (322);
+}
+
+void f323 () {
+    putint (323);
+}
+
+void f324 () {
+    putint (324);
+}
+
+void f325 () {
+    putint (325);
+}
+
+void f326 () {
+    putint (326);
+}
+
+void f327 () {
+    putint (327);
+}
+
+void f328 () {
+    putint (328);
+}
+
+void f329 () {
+    putint (329);
+}
+
+void f330 () {
+    putint (330);
+}
+
+void f331 () {
+    putint (331);
+}
+
+void f332 () {
+    putint (332);
+}
+
+void f333 () {
+    putint (333);
+}
+
+void f334 () {
+    putint (334);
+}
+
+void f335 () {
+    putint (335);
+}
+
+void f336 () {
+    putint (336);
+}
+
+void f337 () {
+    putint (337);
+}
+
+void f338 () {
+    putint (338);
+}
+
+void f339 () {
+    putint (339);
+}
+
+void f340 () {
+    putint (340);
+}
+
+void f341 () {
+    putint (341);
+}
+
+void f342 () {
+    putint (342);
+}
+
+void f343 () {
+    putint (343);
+}
+
+void f344 () {
+    putint (344);
+}
+
+void f345 () {
+    putint (345);
+}
+
+void f346 () {
+    putint (346);
+}
+
+void f347 () {
+    putint (347);
+}
+
+void f348 () {
+    putint (348);
+}
+
+void f349 () {
+    putint (349);
+}
+
+void f350 () {
+    putint (350);
+}
+
+void f351 () {
+    putint (351);
+}
+
+void f352 () {
+    putint (352);
+}
+
+void f353 () {
+    putint (353);
+}
+
+void f354 () {
+    putint (354);
+}
+
+void f355 () {
+    putint (355);
+}
+
+void f356 () {
+    putint (356);
+}
+
+void f357 () {
+    putint (357);
+}
+
+void f358 () {
+    putint (358);
+}
+
+void f359 () {
+    putint (359);
+}
+
+void f360 () {
+    putint (360);
+}
+
+void f361 () {
+    putint (361);
+}
+
+void f362 () {
+    putint (362);
+}
+
+void f363 () {
+    putint (363);
+}
+
+void f364 () {
+    putint (364);
+}
+
+void f365 () {
+    putint (365);
+}
+
+void f366 () {
+    putint (366);
+}
+
+void f367 () {
+    putint (367);
+}
+
+void f368 () {
+    putint (368);
+}
+
+void f369 () {
+    putint (369);
+}
+
+void f370 () {
+    putint (370);
+}
+
+void f371 () {
+    putint (371);
+}
+
+void f372 () {
+    putint (372);
+}
+
+void f373 () {
+    putint (373);
+}
+
+void f374 () {
+    putint (374);
+}
+
+void f375 () {
+    putint (375);
+}
+
+void f376 () {
+    putint (376);
+}
+
+void f377 () {
+    putint (377);
+}
+
+void f378 () {
+    putint (378);
+}
+
+void f379 () {
+    putint (379);
+}
+
+void f380 () {
+    putint (380);
+}
+
+void f381 () {
+    putint (381);
+}
+
+void f382 () {
+    putint (382);
+}
+
+void f383 () {
+    putint (383);
+}
+
+void f384 () {
+    putint (384);
+}
+
+void f385 () {
+    putint (385);
+}
+
+void f386 () {
+    putint (386);
+}
+
+void f387 () {
+    putint (387);
+}
+
+void f388 () {
+    putint (388);
+}
+
+void f389 () {
+    putint (389);
+}
+
+void f390 () {
+    putint (390);
+}
+
+void f391 () {
+    putint (391);
+}
+
+void f392 () {
+    putint (392);
+}
+
+void f393 () {
+    putint (393);
+}
+
+void f394 () {
+    putint (394);
+}
+
+void f395 () {
+    putint (395);
+}
+
+void f396 () {
+    putint (396);
+}
+
+void f397 () {
+    putint (397);
+}
+
+void f398 () {
+    putint (398);
+}
+
+void f399 () {
+    putint (399);
+}
+
+void f400 () {
+    putint (400);
+}
+
+void f401 () {
+    putint (401);
+}
+
+void f402 () {
+    putint (402);
+}
+
+void f403 () {
+    putint (403);
+}
+
+void f404 () {
+    putint (404);
+}
+
+void f405 () {
+    putint (405);
+}
+
+void f406 () {
+    putint (406);
+}
+
+void f407 () {
+    putint (407);
+}
+
+void f408 () {
+    putint (408);
+}
+
+void f409 () {
+    putint (409);
+}
+
+void f410 () {
+    putint (410);
+}
+
+void f411 () {
+    putint (411);
+}
+
+void f412 () {
+    putint (412);
+}
+
+void f413 () {
+    putint (413);
+}
+
+void f414 () {
+    putint (414);
+}
+
+void f415 () {
+    putint (415);
+}
+
+void f416 () {
+    putint (416);
+}
+
+void f417 () {
+    putint (417);
+}
+
+void f418 () {
+    putint (418);
+}
+
+void f419 () {
+    putint (419);
+}
+
+void f420 () {
+    putint (420);
+}
+
+void f421 () {
+    putint (421);
+}
+
+void f422 () {
+    putint (422);
+}
+
+void f423 () {
+    putint (423);
+}
+
+void f424 () {
+    putint (424);
+}
+
+void f425 () {
+    putint (425);
+}
+
+void f426 () {
+    putint (426);
+}
+
+void f427 () {
+    putint (427);
+}
+
+void f428 () {
+    putint (428);
+}
+
+void f429 () {
+    putint (429);
+}
+
+void f430 () {
+    putint (430);
+}
+
+void f431 () {
+    putint (431);
+}
+
+void f432 () {
+    putint (432);
+}
+
+void f433 () {
+    putint (433);
+}
+
+void f434 () {
+    putint (434);
+}
+
+void f435 () {
+    putint (435);
+}
+
+void f436 () {
+    putint (436);
+}
+
+void f437 () {
+    putint (437);
+}
+
+void f438 () {
+    putint (438);
+}
+
+void f439 () {
+    putint (439);
+}
+
+void f440 () {
+    putint (440);
+}
+
+void f441 () {
+    putint (441);
+}
+
+void f442 () {
+    putint (442);
+}
+
+void f443 () {
+    putint (443);
+}
+
+void f444 () {
+    putint (444);
+}
+
+void f445 () {
+    putint (445);
+}
+
+void f446 () {
+    putint (446);
+}
+
+void f447 () {
+    putint (447);
+}
+
+void f448 () {
+    putint (448);
+}
+
+void f449 () {
+    putint (449);
+}
+
+void f450 () {
+    putint (450);
+}
+
+void f451 () {
+    putint (451);
+}
+
+void f452 () {
+    putint (452);
+}
+
+void f453 () {
+    putint (453);
+}
+
+void f454 () {
+    putint (454);
+}
+
+void f455 () {
+    putint (455);
+}
+
+void f456 () {
+    putint (456);
+}
+
+void f457 () {
+    putint (457);
+}
+
+void f458 () {
+    putint (458);
+}
+
+void f459 () {
+    putint (459);
+}
+
+void f460 () {
+    putint (460);
+}
+
+void f461 () {
+    putint (461);
+}
+
+void f462 () {
+    putint (462);
+}
+
+void f463 () {
+    putint (463);
+}
+
+void f464 () {
+    putint (464);
+}
+
+void f465 () {
+    putint (465);
+}
+
+void f466 () {
+    putint (466);
+}
+
+void f467 () {
+    putint (467);
+}
+
+void f468 () {
+    putint (468);
+}
+
+void f469 () {
+    putint (469);
+}
+
+void f470 () {
+    putint (470);
+}
+
+void f471 () {
+    putint (471);
+}
+
+void f472 () {
+    putint (472);
+}
+
+void f473 () {
+    putint (473);
+}
+
+void f474 () {
+    putint (474);
+}
+
+void f475 () {
+    putint (475);
+}
+
+void f476 () {
+    putint (476);
+}
+
+void f477 () {
+    putint (477);
+}
+
+void f478 () {
+    putint (478);
+}
+
+void f479 () {
+    putint (479);
+}
+
+void f480 () {
+    putint (480);
+}
+
+void f481 () {
+    putint (481);
+}
+
+void f482 () {
+    putint (482);
+}
+
+void f483 () {
+    putint (483);
+}
+
+void f484 () {
+    putint (484);
+}
+
+void f485 () {
+    putint (485);
+}
+
+void f486 () {
+    putint (486);
+}
+
+void f487 () {
+    putint (487);
+}
+
+void f488 () {
+    putint (488);
+}
+
+void f489 () {
+    putint (489);
+}
+
+void f490 () {
+    putint (490);
+}
+
+void f491 () {
+    putint (491);
+}
+
+void f492 () {
+    putint (492);
+}
+
+void f493 () {
+    putint (493);
+}
+
+void f494 () {
+    putint (494);
+}
+
+void f495 () {
+    putint (495);
+}
+
+void f496 () {
+    putint (496);
+}
+
+void f497 () {
+    putint (497);
+}
+
+void f498 () {
+    putint (498);
+}
+
+void f499 () {
+    putint (499);
+}
+
+void broken () {
+    let n = ;
+    if (true) {
+}
+
+void f500 () {
+    putint (500);
+}
+
+void f501 () {
+    putint (501);
+}
+
+void f502 () {
+    putint (502);
+}
+
+void f503 () {
+    putint (503);
+}
+
+void f504 () {
+    putint (504);
+}
+
+void f505 () {
+    putint (505);
+}
+
+void f506 () {
+    putint (506);
+}
+
+void f507 () {
+    putint (507);
+}
+
+void f508 () {
+    putint (508);
+}
+
+void f509 () {
+    putint (509);
+}
+
+void f510 () {
+    putint (510);
+}
+
+void f511 () {
+    putint (511);
+}
+
+void f512 () {
+    putint (512);
+}
+
+void f513 () {
+    putint (513);
+}
+
+void f514 () {
+    putint (514);
+}
+
+void f515 () {
+    putint (515);
+}
+
+void f516 () {
+    putint (516);
+}
+
+void f517 () {
+    putint (517);
+}
+
+void f518 () {
+    putint (518);
+}
+
+void f519 () {
+    putint (519);
+}
+
+void f520 () {
+    putint (520);
+}
+
+void f521 () {
+    putint (521);
+}
+
+void f522 () {
+    putint (522);
+}
+
+void f523 () {
+    putint (523);
+}
+
+void f524 () {
+    putint (524);
+}
+
+void f525 () {
+    putint (525);
+}
+
+void f526 () {
+    putint (526);
+}
+
+void f527 () {
+    putint (527);
+}
+
+void f528 () {
+    putint (528);
+}
+
+void f529 () {
+    putint (529);
+}
+
+void f530 () {
+    putint (530);
+}
+
+void f531 () {
+    putint (531);
+}
+
+void f532 () {
+    putint (532);
+}
+
+void f533 () {
+    putint (533);
+}
+
+void f534 () {
+    putint (534);
+}
+
+void f535 () {
+    putint (535);
+}
+
+void f536 () {
+    putint (536);
+}
+
+void f537 () {
+    putint (537);
+}
+
+void f538 () {
+    putint (538);
+}
+
+void f539 () {
+    putint (539);
+}
+
+void f540 () {
+    putint (540);
+}
+
+void f541 () {
+    putint (541);
+}
+
+void f542 () {
+    putint (542);
+}
+
+void f543 () {
+    putint (543);
+}
+
+void f544 () {
+    putint (544);
+}
+
+void f545 () {
+    putint (545);
+}
+
+void f546 () {
+    putint (546);
+}
+
+void f547 () {
+    putint (547);
+}
+
+void f548 () {
+    putint (548);
+}
+
+void f549 () {
+    putint (549);
+}
+
+void f550 () {
+    putint (550);
+}
+
+void f551 () {
+    putint (551);
+}
+
+void f552 () {
+    putint (552);
+}
+
+void f553 () {
+    putint (553);
+}
+
+void f554 () {
+    putint (554);
+}
+
+void f555 () {
+    putint (555);
+}
+
+void f556 () {
+    putint (556);
+}
+
+void f557 () {
+    putint (557);
+}
+
+void f558 () {
+    putint (558);
+}
+
+void f559 () {
+    putint (559);
+}
+
+void f560 () {
+    putint (560);
+}
+
+void f561 () {
+    putint (561);
+}
+
+void f562 () {
+    putint (562);
+}
+
+void f563 () {
+    putint (563);
+}
+
+void f564 () {
+    putint (564);
+}
+
+void f565 () {
+    putint (565);
+}
+
+void f566 () {
+    putint (566);
+}
+
+void f567 () {
+    putint (567);
+}
+
+void f568 () {
+    putint (568);
+}
+
+void f569 () {
+    putint (569);
+}
+
+void f570 () {
+    putint (570);
+}
+
+void f571 () {
+    putint (571);
+}
+
+void f572 () {
+    putint (572);
+}
+
+void f573 () {
+    putint (573);
+}
+
+void f574 () {
+    putint (574);
+}
+
+void f575 () {
+    putint (575);
+}
+
+void f576 () {
+    putint (576);
+}
+
+void f577 () {
+    putint (577);
+}
+
+void f578 () {
+    putint (578);
+}
+
+void f579 () {
+    putint (579);
+}
+
+void f580 () {
+    putint (580);
+}
+
+void f581 () {
+    putint (581);
+}
+
+void f582 () {
+    putint (582);
+}
+
+void f583 () {
+    putint (583);
+}
+
+void f584 () {
+    putint (584);
+}
+
+void f585 () {
+    putint (585);
+}
+
+void f586 () {
+    putint (586);
+}
+
+void f587 () {
+    putint (587);
+}
+
+void f588 () {
+    putint (588);
+}
+
+void f589 () {
+    putint (589);
+}
+
+void f590 () {
+    putint (590);
+}
+
+void f591 () {
+    putint (591);
+}
+
+void f592 () {
+    putint (592);
+}
+
+void f593 () {
+    putint (593);
+}
+
+void f594 () {
+    putint (594);
+}
+
+void f595 () {
+    putint (595);
+}
+
+void f596 () {
+    putint (596);
+}
+
+void f597 () {
+    putint (597);
+}
+
+void f598 () {
+    putint (598);
+}
+
+void f599 () {
+    putint (599);
+}
+
+void f600 () {
+    putint (600);
+}
+
+void f601 () {
+    putint (601);
+}
+
+void f602 () {
+    putint (602);
+}
+
+void f603 () {
+    putint (603);
+}
+
+void f604 () {
+    putint (604);
+}
+
+void f605 () {
+    putint (605);
+}
+
+void f606 () {
+    putint (606);
+}
+
+void f607 () {
+    putint (607);
+}
+
+void f608 () {
+    putint (608);
+}
+
+void f609 () {
+    putint (609);
+}
+
+void f610 () {
+    putint (610);
+}
+
+void f611 () {
+    putint (611);
+}
+
+void f612 () {
+    putint (612);
+}
+
+void f613 () {
+    putint (613);
+}
+
+void f614 () {
+    putint (614);
+}
+
+void f615 () {
+    putint (615);
+}
+
+void f616 () {
+    putint (616);
+}
+
+void f617 () {
+    putint (617);
+}
+
+void f618 () {
+    putint (618);
+}
+
+void f619 () {
+    putint (619);
+}
+
+void f620 () {
+    putint (620);
+}
+
+void f621 () {
+    putint (621);
+}
+
+void f622 () {
+    putint (622);
+}
+
+void f623 () {
+    putint (623);
+}
+
+void f624 () {
+    putint (624);
+}
+
+void f625 () {
+    putint (625);
+}
+
+void f626 () {
+    putint (626);
+}
+
+void f627 () {
+    putint (627);
+}
+
+void f628 () {
+    putint (628);
+}
+
+void f629 () {
+    putint (629);
+}
+
+void f630 () {
+    putint (630);
+}
+
+void f631 () {
+    putint (631);
+}
+
+void f632 () {
+    putint (632);
+}
+
+void f633 () {
+    putint (633);
+}
+
+void f634 () {
+    putint (634);
+}
+
+void f635 () {
+    putint (635);
+}
+
+void f636 () {
+    putint (636);
+}
+
+void f637 () {
+    putint (637);
+}
+
+void f638 () {
+    putint (638);
+}
+
+void f639 () {
+    putint (639);
+}
+
+void f640 () {
+    putint (640);
+}
+
+void f641 () {
+    putint (641);
+}
+
+void f642 () {
+    putint (642);
+}
+
+void f643 () {
+    putint (643);
+}
+
+void f644 () {
+    putint (644);
+}
+
+void f645 () {
+    putint (645);
+}
+
+void f646 () {
+    putint (646);
+}
+
+void f647 () {
+    putint (647);
+}
+
+void f648 () {
+    putint (648);
+}
+
+void f649 () {
+    putint (649);
+}
+
+void f650 () {
+    putint (650);
+}
+
+void f651 () {
+    putint (651);
+}
+
+void f652 () {
+    putint (652);
+}
+
+void f653 () {
+    putint (653);
+}
+
+void f654 () {
+    putint (654);
+}
+
+void f655 () {
+    putint (655);
+}
+
+void f656 () {
+    putint (656);
+}
+
+void f657 () {
+    putint (657);
+}
+
+void f658 () {
+    putint (658);
+}
+
+void f659 () {
+    putint (659);
+}
+
+void f660 () {
+    putint (660);
+}
+
+void f661 () {
+    putint (661);
+}
+
+void f662 () {
+    putint (662);
+}
+
+void f663 () {
+    putint (663);
+}
+
+void f664 () {
+    putint (664);
+}
+
+void f665 () {
+    putint (665);
+}
+
+void f666 () {
+    putint (666);
+}
+
+void f667 () {
+    putint (667);
+}
+
+void f668 () {
+    putint (668);
+}
+
+void f669 () {
+    putint (669);
+}
+
+void f670 () {
+    putint (670);
+}
+
+void f671 () {
+    putint (671);
+}
+
+void f672 () {
+    putint (672);
+}
+
+void f673 () {
+    putint (673);
+}
+
+void f674 () {
+    putint (674);
+}
+
+void f675 () {
+    putint (675);
+}
+
+void f676 () {
+    putint (676);
+}
+
+void f677 () {
+    putint (677);
+}
+
+void f678 () {
+    putint (678);
+}
+
+void f679 () {
+    putint (679);
+}
+
+void f680 () {
+    putint (680);
+}
+
+void f681 () {
+    putint (681);
+}
+
+void f682 () {
+    putint (682);
+}
+
+void f683 () {
+    putint (683);
+}
+
+void f684 () {
+    putint (684);
+}
+
+void f685 () {
+    putint (685);
+}
+
+void f686 () {
+    putint (686);
+}
+
+void f687 () {
+    putint (687);
+}
+
+void f688 () {
+    putint (688);
+}
+
+void f689 () {
+    putint (689);
+}
+
+void f690 () {
+    putint (690);
+}
+
+void f691 () {
+    putint (691);
+}
+
+void f692 () {
+    putint (692);
+}
+
+void f693 () {
+    putint (693);
+}
+
+void f694 () {
+    putint (694);
+}
+
+void f695 () {
+    putint (695);
+}
+
+void f696 () {
+    putint (696);
+}
+
+void f697 () {
+    putint (697);
+}
+
+void f698 () {
+    putint (698);
+}
+
+void f699 () {
+    putint (699);
+}
+
+void f700 () {
+    putint (700);
+}
+
+void f701 () {
+    putint (701);
+}
+
+void f702 () {
+    putint (702);
+}
+
+void f703 () {
+    putint (703);
+}
+
+void f704 () {
+    putint (704);
+}
+
+void f705 () {
+    putint (705);
+}
+
+void f706 () {
+    putint (706);
+}
+
+void f707 () {
+    putint (707);
+}
+
+void f708 () {
+    putint (708);
+}
+
+void f709 () {
+    putint (709);
+}
+
+void f710 () {
+    putint (710);
+}
+
+void f711 () {
+    putint (711);
+}
+
+void f712 () {
+    putint (712);
+}
+
+void f713 () {
+    putint (713);
+}
+
+void f714 () {
+    putint (714);
+}
+
+void f715 () {
+    putint (715);
+}
+
+void f716 () {
+    putint (716);
+}
+
+void f717 () {
+    putint (717);
+}
+
+void f718 () {
+    putint (718);
+}
+
+void f719 () {
+    putint (719);
+}
+
+void f720 () {
+    putint (720);
+}
+
+void f721 () {
+    putint (721);
+}
+
+void f722 () {
+    putint (722);
+}
+
+void f723 () {
+    putint (723);
+}
+
+void f724 () {
+    putint (724);
+}
+
+void f725 () {
+    putint (725);
+}
+
+void f726 () {
+    putint (726);
+}
+
+void f727 () {
+    putint (727);
+}
+
+void f728 () {
+    putint (728);
+}
+
+void f729 () {
+    putint (729);
+}
+
+void f730 () {
+    putint (730);
+}
+
+void f731 () {
+    putint (731);
+}
+
+void f732 () {
+    putint (732);
+}
+
+void f733 () {
+    putint (733);
+}
+
+void f734 () {
+    putint (734);
+}
+
+void f735 () {
+    putint (735);
+}
+
+void f736 () {
+    putint (736);
+}
+
+void f737 () {
+    putint (737);
+}
+
+void f738 () {
+    putint (738);
+}
+
+void f739 () {
+    putint (739);
+}
+
+void f740 () {
+    putint (740);
+}
+
+void f741 () {
+    putint (741);
+}
+
+void f742 () {
+    putint (742);
+}
+
+void f743 () {
+    putint (743);
+}
+
+void f744 () {
+    putint (744);
+}
+
+void f745 () {
+    putint (745);
+}
+
+void f746 () {
+    putint (746);
+}
+
+void f747 () {
+    putint (747);
+}
+
+void f748 () {
+    putint (748);
+}
+
+void f749 () {
+    putint (749);
+}
+
+void f750 () {
+    putint (750);
+}
+
+void f751 () {
+    putint (751);
+}
+
+void f752 () {
+    putint (752);
+}
+
+void f753 () {
+    putint (753);
+}
+
+void f754 () {
+    putint (754);
+}
+
+void f755 () {
+    putint (755);
+}
+
+void f756 () {
+    putint (756);
+}
+
+void f757 () {
+    putint (757);
+}
+
+void f758 () {
+    putint (758);
+}
+
+void f759 () {
+    putint (759);
+}
+
+void f760 () {
+    putint (760);
+}
+
+void f761 () {
+    putint (761);
+}
+
+void f762 () {
+    putint (762);
+}
+
+void f763 () {
+    putint (763);
+}
+
+void f764 () {
+    putint (764);
+}
+
+void f765 () {
+    putint (765);
+}
+
+void f766 () {
+    putint (766);
+}
+
+void f767 () {
+    putint (767);
+}
+
+void f768 () {
+    putint (768);
+}
+
+void f769 () {
+    putint (769);
+}
+
+void f770 () {
+    putint (770);
+}
+
+void f771 () {
+    putint (771);
+}
+
+void f772 () {
+    putint (772);
+}
+
+void f773 () {
+    putint (773);
+}
+
+void f774 () {
+    putint (774);
+}
+
+void f775 () {
+    putint (775);
+}
+
+void f776 () {
+    putint (776);
+}
+
+void f777 () {
+    putint (777);
+}
+
+void f778 () {
+    putint (778);
+}
+
+void f779 () {
+    putint (779);
+}
+
+void f780 () {
+    putint (780);
+}
+
+void f781 () {
+    putint (781);
+}
+
+void f782 () {
+    putint (782);
+}
+
+void f783 () {
+    putint (783);
+}
+
+void f784 () {
+    putint (784);
+}
+
+void f785 () {
+    putint (785);
+}
+
+void f786 () {
+    putint (786);
+}
+
+void f787 () {
+    putint (787);
+}
+
+void f788 () {
+    putint (788);
+}
+
+void f789 () {
+    putint (789);
+}
+
+void f790 () {
+    putint (790);
+}
+
+void f791 () {
+    putint (791);
+}
+
+void f792 () {
+    putint (792);
+}
+
+void f793 () {
+    putint (793);
+}
+
+void f794 () {
+    putint (794);
+}
+
+void f795 () {
+    putint (795);
+}
+
+void f796 () {
+    putint (796);
+}
+
+void f797 () {
+    putint (797);
+}
+
+void f798 () {
+    putint (798);
+}
+
+void f799 () {
+    putint (799);
+}
+
+void f800 () {
+    putint (800);
+}
+
+void f801 () {
+    putint (801);
+}
+
+void f802 () {
+    putint (802);
+}
+
+void f803 () {
+    putint (803);
+}
+
+void f804 () {
+    putint (804);
+}
+
+void f805 () {
+    putint (805);
+}
+
+void f806 () {
+    putint (806);
+}
+
+void f807 () {
+    putint (807);
+}
+
+void f808 () {
+    putint (808);
+}
+
+void f809 () {
+    putint (809);
+}
+
+void f810 () {
+    putint (810);
+}
+
+void f811 () {
+    putint (811);
+}
+
+void f812 () {
+    putint (812);
+}
+
+void f813 () {
+    putint (813);
+}
+
+void f814 () {
+    putint (814);
+}
+
+void f815 () {
+    putint (815);
+}
+
+void f816 () {
+    putint (816);
+}
+
+void f817 () {
+    putint (817);
+}
+
+void f818 () {
+    putint (818);
+}
+
+void f819 () {
+    putint (819);
+}
+
+void f820 () {
+    putint (820);
+}
+
+void f821 () {
+    putint (821);
+}
+
+void f822 () {
+    putint (822);
+}
+
+void f823 () {
+    putint (823);
+}
+
+void f824 () {
+    putint (824);
+}
+
+void f825 () {
+    putint (825);
+}
+
+void f826 () {
+    putint (826);
+}
+
+void f827 () {
+    putint (827);
+}
+
+void f828 () {
+    putint (828);
+}
+
+void f829 () {
+    putint (829);
+}
+
+void f830 () {
+    putint (830);
+}
+
+void f831 () {
+    putint (831);
+}
+
+void f832 () {
+    putint (832);
+}
+
+void f833 () {
+    putint (833);
+}
+
+void f834 () {
+    putint (834);
+}
+
+void f835 () {
+    putint (835);
+}
+
+void f836 () {
+    putint (836);
+}
+
+void f837 () {
+    putint (837);
+}
+
+void f838 () {
+    putint (838);
+}
+
+void f839 () {
+    putint (839);
+}
+
+void f840 () {
+    putint (840);
+}
+
+void f841 () {
+    putint (841);
+}
+
+void f842 () {
+    putint (842);
+}
+
+void f843 () {
+    putint (843);
+}
+
+void f844 () {
+    putint (844);
+}
+
+void f845 () {
+    putint (845);
+}
+
+void f846 () {
+    putint (846);
+}
+
+void f847 () {
+    putint (847);
+}
+
+void f848 () {
+    putint (848);
+}
+
+void f849 () {
+    putint (849);
+}
+
+void f850 () {
+    putint (850);
+}
+
+void f851 () {
+    putint (851);
+}
+
+void f852 () {
+    putint (852);
+}
+
+void f853 () {
+    putint (853);
+}
+
+void f854 () {
+    putint (854);
+}
+
+void f855 () {
+    putint (855);
+}
+
+void f856 () {
+    putint (856);
+}
+
+void f857 () {
+    putint (857);
+}
+
+void f858 () {
+    putint (858);
+}
+
+void f859 () {
+    putint (859);
+}
+
+void f860 () {
+    putint (860);
+}
+
+void f861 () {
+    putint (861);
+}
+
+void f862 () {
+    putint (862);
+}
+
+void f863 () {
+    putint (863);
+}
+
+void f864 () {
+    putint (864);
+}
+
+void f865 () {
+    putint (865);
+}
+
+void f866 () {
+    putint (866);
+}
+
+void f867 () {
+    putint (867);
+}
+
+void f868 () {
+    putint (868);
+}
+
+void f869 () {
+    putint (869);
+}
+
+void f870 () {
+    putint (870);
+}
+
+void f871 () {
+    putint (871);
+}
+
+void f872 () {
+    putint (872);
+}
+
+void f873 () {
+    putint (873);
+}
+
+void f874 () {
+    putint (874);
+}
+
+void f875 () {
+    putint (875);
+}
+
+void f876 () {
+    putint (876);
+}
+
+void f877 () {
+    putint (877);
+}
+
+void f878 () {
+    putint (878);
+}
+
+void f879 () {
+    putint (879);
+}
+
+void f880 () {
+    putint (880);
+}
+
+void f881 () {
+    putint (881);
+}
+
+void f882 () {
+    putint (882);
+}
+
+void f883 () {
+    putint (883);
+}
+
+void f884 () {
+    putint (884);
+}
+
+void f885 () {
+    putint (885);
+}
+
+void f886 () {
+    putint (886);
+}
+
+void f887 () {
+    putint (887);
+}
+
+void f888 () {
+    putint (888);
+}
+
+void f889 () {
+    putint (889);
+}
+
+void f890 () {
+    putint (890);
+}
+
+void f891 () {
+    putint (891);
+}
+
+void f892 () {
+    putint (892);
+}
+
+void f893 () {
+    putint (893);
+}
+
+void f894 () {
+    putint (894);
+}
+
+void f895 () {
+    putint (895);
+}
+
+void f896 () {
+    putint (896);
+}
+
+void f897 () {
+    putint (897);
+}
+
+void f898 () {
+    putint (898);
+}
+
+void f899 () {
+    putint (899);
+}
+
+void f900 () {
+    putint (900);
+}
+
+void f901 () {
+    putint (901);
+}
+
+void f902 () {
+    putint (902);
+}
+
+void f903 () {
+    putint (903);
+}
+
+void f904 () {
+    putint (904);
+}
+
+void f905 () {
+    putint (905);
+}
+
+void f906 () {
+    putint (906);
+}
+
+void f907 () {
+    putint (907);
+}
+
+void f908 () {
+    putint (908);
+}
+
+void f909 () {
+    putint (909);
+}
+
+void f910 () {
+    putint (910);
+}
+
+void f911 () {
+    putint (911);
+}
+
+void f912 () {
+    putint (912);
+}
+
+void f913 () {
+    putint (913);
+}
+
+void f914 () {
+    putint (914);
+}
+
+void f915 () {
+    putint (915);
+}
+
+void f916 () {
+    putint (916);
+}
+
+void f917 () {
+    putint (917);
+}
+
+void f918 () {
+    putint (918);
+}
+
+void f919 () {
+    putint (919);
+}
+
+void f920 () {
+    putint (920);
+}
+
+void f921 () {
+    putint (921);
+}
+
+void f922 () {
+    putint (922);
+}
+
+void f923 () {
+    putint (923);
+}
+
+void f924 () {
+    putint (924);
+}
+
+void f925 () {
+    putint (925);
+}
+
+void f926 () {
+    putint (926);
+}
+
+void f927 () {
+    putint (927);
+}
+
+void f928 () {
+    putint (928);
+}
+
+void f929 () {
+    putint (929);
+}
+
+void f930 () {
+    putint (930);
+}
+
+void f931 () {
+    putint (931);
+}
+
+void f932 () {
+    putint (932);
+}
+
+void f933 () {
+    putint (933);
+}
+
+void f934 () {
+    putint (934);
+}
+
+void f935 () {
+    putint (935);
+}
+
+void f936 () {
+    putint (936);
+}
+
+void f937 () {
+    putint (937);
+}
+
+void f938 () {
+    putint (938);
+}
+
+void f939 () {
+    putint (939);
+}
+
+void f940 () {
+    putint (940);
+}
+
+void f941 () {
+    putint (941);
+}
+
+void f942 () {
+    putint (942);
+}
+
+void f943 () {
+    putint (943);
+}
+
+void f944 () {
+    putint (944);
+}
+
+void f945 () {
+    putint (945);
+}
+
+void f946 () {
+    putint (946);
+}
+
+void f947 () {
+    putint (947);
+}
+
+void f948 () {
+    putint (948);
+}
+
+void f949 () {
+    putint (949);
+}
+
+void f950 () {
+    putint (950);
+}
+
+void f951 () {
+    putint (951);
+}
+
+void f952 () {
+    putint (952);
+}
+
+void f953 () {
+    putint (953);
+}
+
+void f954 () {
+    putint (954);
+}
+
+void f955 () {
+    putint (955);
+}
+
+void f956 () {
+    putint (956);
+}
+
+void f957 () {
+    putint (957);
+}
+
+void f958 () {
+    putint (958);
+}
+
+void f959 () {
+    putint (959);
+}
+
+void f960 () {
+    putint (960);
+}
+
+void f961 () {
+    putint (961);
+}
+
+void f962 () {
+    putint (962);
+}
+
+void f963 () {
+    putint (963);
+}
+
+void f964 () {
+    putint (964);
+}
+
+void f965 () {
+    putint (965);
+}
+
+void f966 () {
+    putint (966);
+}
+
+void f967 () {
+    putint (967);
+}
+
+void f968 () {
+    putint (968);
+}
+
+void f969 () {
+    putint (969);
+}
+
+void f970 () {
+    putint (970);
+}
+
+void f971 () {
+    putint (971);
+}
+
+void f972 () {
+    putint (972);
+}
+
+void f973 () {
+    putint (973);
+}
+
+void f974 () {
+    putint (974);
+}
+
+void f975 () {
+    putint (975);
+}
+
+void f976 () {
+    putint (976);
+}
+
+void f977 () {
+    putint (977);
+}
+
+void f978 () {
+    putint (978);
+}
+
+void f979 () {
+    putint (979);
+}
+
+void f980 () {
+    putint (980);
+}
+
+void f981 () {
+    putint (981);
+}
+
+void f982 () {
+    putint (982);
+}
+
+void f983 () {
+    putint (983);
+}
+
+void f984 () {
+    putint (984);
+}
+
+void f985 () {
+    putint (985);
+}
+
+void f986 () {
+    putint (986);
+}
+
+void f987 () {
+    putint (987);
+}
+
+void f988 () {
+    putint (988);
+}
+
+void f989 () {
+    putint (989);
+}
+
+void f990 () {
+    putint (990);
+}
+
+void f991 () {
+    putint (991);
+}
+
+void f992 () {
+    putint (992);
+}
+
+void f993 () {
+    putint (993);
+}
+
+void f994 () {
+    putint (994);
+}
+
+void f995 () {
+    putint (995);
+}
+
+void f996 () {
+    putint (996);
+}
+
+void f997 () {
+    putint (997);
+}
+
+void f998 () {
+    putint (998);
+}
+
+void f999 () {
+    putint (999);
+}
+